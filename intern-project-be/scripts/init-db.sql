@@ -1,5 +1,7 @@
 -- Initialization script untuk database
 -- Script ini akan dijalankan otomatis saat container postgres pertama kali dibuat
+-- Schema dikelola oleh Flyway (src/main/resources/db/migration); bagian schema di
+-- bawah harus sama dengan migration tersebut supaya sample data bisa di-insert
 
 -- Create extension untuk UUID support (optional)
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
@@ -19,12 +21,49 @@ CREATE TABLE IF NOT EXISTS students (
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Hibernate hands out ids from this sequence in blocks of 50 (pooled optimizer)
+ALTER SEQUENCE students_id_seq INCREMENT BY 50;
+
 -- Create indexes for performance
 CREATE UNIQUE INDEX IF NOT EXISTS idx_nomor_induk ON students(nomor_induk);
 CREATE INDEX IF NOT EXISTS idx_nama_depan ON students(nama_depan);
 CREATE INDEX IF NOT EXISTS idx_nama_belakang ON students(nama_belakang);
 CREATE INDEX IF NOT EXISTS idx_tanggal_lahir ON students(tanggal_lahir);
 
+-- Trigram index for name search (app.search.backend=trigram, migration V2)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_students_nama_lengkap_trgm
+    ON students USING gin ((lower(nama_depan || ' ' || coalesce(nama_belakang, ''))) gin_trgm_ops);
+
+-- ============================================
+-- NOMOR INDUK LEASES (app.nomor-induk.allocator=lease)
+-- ============================================
+
+-- Next unleased sequence per year
+CREATE TABLE IF NOT EXISTS nomor_induk_counters (
+    tahun INTEGER PRIMARY KEY,
+    next_sequence INTEGER NOT NULL
+);
+
+-- Blocks of sequences [range_start, range_end) held by a backend instance
+CREATE TABLE IF NOT EXISTS nomor_induk_leases (
+    id BIGSERIAL PRIMARY KEY,
+    node_id VARCHAR(255) NOT NULL,
+    tahun INTEGER NOT NULL,
+    range_start INTEGER NOT NULL,
+    range_end INTEGER NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_nomor_induk_leases_expires_at ON nomor_induk_leases(expires_at);
+
+-- Sequences freed by deletes or returned leases, reused before new blocks
+CREATE TABLE IF NOT EXISTS nomor_induk_reclaimed (
+    tahun INTEGER NOT NULL,
+    sequence INTEGER NOT NULL,
+    PRIMARY KEY (tahun, sequence)
+);
+
 -- Insert sample student data
 INSERT INTO students (nomor_induk, nama_depan, nama_belakang, tanggal_lahir, created_at, updated_at) VALUES
     ('2026001', 'Budi', 'Santoso', '2004-03-15', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
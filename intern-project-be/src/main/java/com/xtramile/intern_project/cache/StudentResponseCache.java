@@ -0,0 +1,197 @@
+package com.xtramile.intern_project.cache;
+
+import com.xtramile.intern_project.dto.ResponseCacheStatsDTO;
+import com.xtramile.intern_project.event.StudentChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serialized bodies of student GET responses, bounded by total size and
+ * evicted least recently used first.
+ * <p>
+ * A detail response belongs to one student and is dropped as soon as a write
+ * to that student commits. List and search responses can show any student, so
+ * they remember the write generation they were computed at and are stale once
+ * any student write has committed since. Every entry also expires at midnight
+ * because the responses contain each student's age.
+ * <p>
+ * Only write events published in this JVM invalidate entries, so the cache is
+ * correct for a single instance only; writes served by another instance stay
+ * invisible here until midnight.
+ */
+@Component
+public class StudentResponseCache {
+
+    /**
+     * Estimated bookkeeping per entry on top of key and body
+     */
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final long maxBytes;
+    private final long maxEntryBytes;
+
+    // Guarded by this. Access order, so iteration starts at the least recently used entry.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<String, Set<String>> keysByStudent = new HashMap<>();
+    private long generation;
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    @Autowired
+    public StudentResponseCache(@Value("${app.cache.responses.max-size:16MB}") DataSize maxSize,
+                                @Value("${app.cache.responses.max-entry-size:256KB}") DataSize maxEntrySize,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this.maxBytes = maxSize.toBytes();
+        this.maxEntryBytes = maxEntrySize.toBytes();
+        meterRegistry.ifAvailable(this::registerMeters);
+    }
+
+    /**
+     * The counters of {@link #stats()} as meters, read under the cache's lock when scraped
+     */
+    private void registerMeters(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("student.response.cache.hits", this, cache -> cache.stats().getHits())
+            .description("Student GETs answered from the response cache")
+            .register(meterRegistry);
+        FunctionCounter.builder("student.response.cache.misses", this, cache -> cache.stats().getMisses())
+            .description("Student GETs the response cache had no fresh response for")
+            .register(meterRegistry);
+        FunctionCounter.builder("student.response.cache.evictions", this, cache -> cache.stats().getEvictions())
+            .description("Cached responses dropped to stay within max-size")
+            .register(meterRegistry);
+        FunctionCounter.builder("student.response.cache.invalidations", this, cache -> cache.stats().getInvalidations())
+            .description("Cached detail responses dropped by a write to their student")
+            .register(meterRegistry);
+        Gauge.builder("student.response.cache.bytes", this, cache -> cache.stats().getBytes())
+            .description("Estimated size of the cached responses")
+            .baseUnit(BaseUnits.BYTES)
+            .register(meterRegistry);
+        Gauge.builder("student.response.cache.entries", this, cache -> cache.stats().getEntries())
+            .description("Cached responses")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Write generation to pass to {@link #put}; read it before computing the response
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Cached response for the key, or null when there is none or it is stale
+     */
+    public synchronized Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && (!entry.day().equals(LocalDate.now())
+                || entry.nomorInduk() == null && entry.generation() != generation)) {
+            remove(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return entry;
+    }
+
+    /**
+     * Store a response computed at {@code entry.generation()}. Ignored when a student
+     * write committed in the meantime, since the response may predate it.
+     */
+    public synchronized void put(String key, Entry entry) {
+        long weight = weight(key, entry);
+        if (entry.generation() != generation || weight > maxEntryBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            forget(key, previous);
+        }
+        bytes += weight;
+        if (entry.nomorInduk() != null) {
+            keysByStudent.computeIfAbsent(entry.nomorInduk(), nomorInduk -> new HashSet<>()).add(key);
+        }
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> evicted = eldest.next();
+            eldest.remove();
+            forget(evicted.getKey(), evicted.getValue());
+            evictions++;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStudentChanged(StudentChangedEvent event) {
+        generation++;
+        for (String nomorInduk : event.getNomorInduk()) {
+            Set<String> keys = keysByStudent.remove(nomorInduk);
+            if (keys == null) {
+                continue;
+            }
+            for (String key : keys) {
+                Entry entry = entries.remove(key);
+                if (entry != null) {
+                    bytes -= weight(key, entry);
+                    invalidations++;
+                }
+            }
+        }
+    }
+
+    public synchronized ResponseCacheStatsDTO stats() {
+        return new ResponseCacheStatsDTO(hits, misses, evictions, invalidations, entries.size(), bytes, maxBytes);
+    }
+
+    private void remove(String key, Entry entry) {
+        entries.remove(key);
+        forget(key, entry);
+    }
+
+    /**
+     * Bookkeeping of an entry already taken out of {@link #entries}
+     */
+    private void forget(String key, Entry entry) {
+        bytes -= weight(key, entry);
+        if (entry.nomorInduk() != null) {
+            Set<String> keys = keysByStudent.get(entry.nomorInduk());
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByStudent.remove(entry.nomorInduk());
+            }
+        }
+    }
+
+    private static long weight(String key, Entry entry) {
+        return ENTRY_OVERHEAD + 2L * key.length() + entry.body().length;
+    }
+
+    /**
+     * One cached response. {@code nomorInduk} is set for a student detail
+     * response and null for list and search responses; {@code eTag} is null
+     * when the response had none.
+     */
+    public record Entry(byte[] body, String contentType, String eTag, String nomorInduk, long generation,
+                        LocalDate day) {
+    }
+}
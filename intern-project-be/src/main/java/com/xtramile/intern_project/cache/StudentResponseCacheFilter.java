@@ -0,0 +1,132 @@
+package com.xtramile.intern_project.cache;
+
+import com.xtramile.intern_project.service.StudentETags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Answers repeated GETs of student details, lists and searches from
+ * {@link StudentResponseCache} without reaching the controller, and stores
+ * the bytes of successful responses for the next request with the same key.
+ * A cached response keeps its ETag, so a conditional repeat is answered with 304.
+ * Off unless enabled: only writes served by this instance invalidate the cache,
+ * so behind a load balancer other instances would keep serving stale responses.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.responses.enabled", havingValue = "true")
+public class StudentResponseCacheFilter extends OncePerRequestFilter {
+
+    /**
+     * GET /api/students, /api/students/search and /api/students/{nomorInduk}
+     */
+    private static final Pattern CACHEABLE_PATH =
+        Pattern.compile("/api/students(?:/search|/(?!(?:export|imports|batch)/?$)([^/]+))?/?");
+
+    private final StudentResponseCache cache;
+
+    @Autowired
+    public StudentResponseCacheFilter(StudentResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !CACHEABLE_PATH.matcher(path(request)).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = key(request);
+
+        StudentResponseCache.Entry cached = cache.get(key);
+        if (cached != null) {
+            // No handler mapping runs, so name the endpoint for the http.server.requests metrics
+            ServerHttpObservationFilter.findObservationContext(request)
+                .ifPresent(context -> context.setPathPattern(pathPattern(request)));
+            // Entries are per Accept header, as the controller's representations are
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            if (cached.eTag() != null) {
+                response.setHeader(HttpHeaders.ETAG, cached.eTag());
+                if (StudentETags.noneMatch(request.getHeader(HttpHeaders.IF_NONE_MATCH), cached.eTag())) {
+                    response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                    return;
+                }
+            }
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(cached.contentType());
+            response.setContentLength(cached.body().length);
+            response.getOutputStream().write(cached.body());
+            return;
+        }
+
+        long generation = cache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+            if (wrapper.getStatus() == HttpStatus.OK.value()) {
+                cache.put(key, new StudentResponseCache.Entry(wrapper.getContentAsByteArray(), wrapper.getContentType(),
+                    wrapper.getHeader(HttpHeaders.ETAG), detailNomorInduk(request), generation, LocalDate.now()));
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Nomor induk of a detail request, null for list and search
+     */
+    private static String detailNomorInduk(HttpServletRequest request) {
+        Matcher matcher = CACHEABLE_PATH.matcher(path(request));
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    /**
+     * The controller mapping a cached path belongs to
+     */
+    private static String pathPattern(HttpServletRequest request) {
+        String path = path(request);
+        if (detailNomorInduk(request) != null) {
+            return "/api/students/{nomorInduk}";
+        }
+        return path.startsWith("/api/students/search") ? "/api/students/search" : "/api/students";
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Path without trailing slash, decoded query parameters sorted by name and the
+     * Accept header, so that equivalent URLs share one entry
+     */
+    static String key(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(path(request).replaceAll("/$", ""));
+        char separator = '?';
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            for (String value : parameter.getValue()) {
+                key.append(separator).append(parameter.getKey()).append('=').append(value.replace("&", "%26"));
+                separator = '&';
+            }
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return key.append(" accept=").append(accept == null ? "*/*" : accept).toString();
+    }
+}
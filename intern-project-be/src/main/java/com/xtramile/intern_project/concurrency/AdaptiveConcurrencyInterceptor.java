@@ -0,0 +1,45 @@
+package com.xtramile.intern_project.concurrency;
+
+import com.xtramile.intern_project.exception.ServiceBusyException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rejects a student request with 503 at once when its read or write limit is
+ * reached, and reports the round trip of every admitted request back to the
+ * limit. The round trip includes the service calls {@link DatabaseBulkheadInterceptor}
+ * wraps, so time spent queueing for the database counts as latency, and a
+ * request the bulkhead gives up on counts as a failure.
+ */
+public class AdaptiveConcurrencyInterceptor implements HandlerInterceptor {
+
+    private static final String START = AdaptiveConcurrencyInterceptor.class.getName() + ".start";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public AdaptiveConcurrencyInterceptor(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        GradientConcurrencyLimit limit = limiter.limitFor(request.getMethod());
+        if (!limit.tryAcquire()) {
+            throw new ServiceBusyException(limit.retryAfterSeconds());
+        }
+        request.setAttribute(START, System.nanoTime());
+        return true;
+    }
+
+    /**
+     * Only called when {@link #preHandle} admitted the request
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        long rtt = System.nanoTime() - (Long) request.getAttribute(START);
+        boolean failed = ex != null || response.getStatus() >= 500;
+        limiter.limitFor(request.getMethod()).release(rtt, failed);
+    }
+}
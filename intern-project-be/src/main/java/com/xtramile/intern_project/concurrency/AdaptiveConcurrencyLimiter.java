@@ -0,0 +1,83 @@
+package com.xtramile.intern_project.concurrency;
+
+import com.xtramile.intern_project.dto.ConcurrencyLimitStatsDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load shedding for student endpoints (app.concurrency-limit.enabled=true):
+ * reads (GET, HEAD) and writes each get a {@link GradientConcurrencyLimit},
+ * so a burst of slow imports or batch inserts cannot shrink the limit that
+ * list and detail requests run under, and the other way round.
+ */
+@Component
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true")
+public class AdaptiveConcurrencyLimiter {
+
+    private final GradientConcurrencyLimit reads;
+    private final GradientConcurrencyLimit writes;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(@Value("${app.concurrency-limit.min-limit:2}") int minLimit,
+                                      @Value("${app.concurrency-limit.read.initial-limit:20}") int readInitialLimit,
+                                      @Value("${app.concurrency-limit.read.max-limit:200}") int readMaxLimit,
+                                      @Value("${app.concurrency-limit.write.initial-limit:10}") int writeInitialLimit,
+                                      @Value("${app.concurrency-limit.write.max-limit:50}") int writeMaxLimit,
+                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        this.reads = new GradientConcurrencyLimit(readInitialLimit, minLimit, readMaxLimit);
+        this.writes = new GradientConcurrencyLimit(writeInitialLimit, minLimit, writeMaxLimit);
+        meterRegistry.ifAvailable(registry -> {
+            registerMeters(registry, "read", reads);
+            registerMeters(registry, "write", writes);
+        });
+    }
+
+    /**
+     * The counters of {@link GradientConcurrencyLimit#stats()} as meters tagged with the request kind
+     */
+    private static void registerMeters(MeterRegistry meterRegistry, String kind, GradientConcurrencyLimit limit) {
+        Gauge.builder("concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+            .description("Concurrent student requests currently allowed")
+            .tag("kind", kind)
+            .register(meterRegistry);
+        Gauge.builder("concurrency.limit.in-flight", limit, l -> l.stats().getInFlight())
+            .description("Student requests running under the limit")
+            .tag("kind", kind)
+            .register(meterRegistry);
+        FunctionCounter.builder("concurrency.limit.accepted", limit, l -> l.stats().getAccepted())
+            .description("Student requests let through")
+            .tag("kind", kind)
+            .register(meterRegistry);
+        FunctionCounter.builder("concurrency.limit.rejected", limit, l -> l.stats().getRejected())
+            .description("Student requests answered with 503 because the limit was reached")
+            .tag("kind", kind)
+            .register(meterRegistry);
+        FunctionCounter.builder("concurrency.limit.failed", limit, l -> l.stats().getFailed())
+            .description("Student requests that failed, each lowering the limit")
+            .tag("kind", kind)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Limit that requests with the given HTTP method run under
+     */
+    public GradientConcurrencyLimit limitFor(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) ? reads : writes;
+    }
+
+    public Map<String, ConcurrencyLimitStatsDTO> stats() {
+        Map<String, ConcurrencyLimitStatsDTO> stats = new LinkedHashMap<>();
+        stats.put("read", reads.stats());
+        stats.put("write", writes.stats());
+        return stats;
+    }
+}
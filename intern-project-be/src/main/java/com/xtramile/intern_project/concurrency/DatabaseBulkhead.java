@@ -0,0 +1,112 @@
+package com.xtramile.intern_project.concurrency;
+
+import com.xtramile.intern_project.dto.BulkheadStatsDTO;
+import com.xtramile.intern_project.exception.ServiceBusyException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fair gate in front of the database (app.db.bulkhead.enabled=true): at most
+ * {@code max-concurrent} student service calls run at once, by default as many
+ * as the connection pool holds (see DatabaseBulkheadConfig). The rest wait in
+ * arrival order on a semaphore, which costs a parked virtual thread nothing,
+ * instead of in HikariCP, where each waiter holds a request thread and fails
+ * after the 30 s connection timeout. A call still waiting after
+ * {@code max-wait} is answered with 503. Queue depth, permits in use, waits and
+ * rejections are also published as {@code db.bulkhead.*} meters.
+ */
+@Component
+@ConditionalOnProperty(name = "app.db.bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkhead {
+
+    /**
+     * Retry-After of a rejected request; by then the queue has moved on several times over
+     */
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final Timer waitTimer;
+
+    @Autowired
+    public DatabaseBulkhead(@Value("${app.db.bulkhead.max-concurrent:10}") int maxConcurrent,
+                            @Value("${app.db.bulkhead.max-wait:PT20S}") Duration maxWait,
+                            MeterRegistry meterRegistry) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("app.db.bulkhead.max-concurrent must be at least 1");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.waitTimer = Timer.builder("db.bulkhead.wait")
+            .description("Time calls waited for a database bulkhead permit, rejected ones included")
+            .register(meterRegistry);
+        Gauge.builder("db.bulkhead.queued", queued, AtomicInteger::get)
+            .description("Calls waiting for a database bulkhead permit")
+            .register(meterRegistry);
+        Gauge.builder("db.bulkhead.in-use", permits, semaphore -> maxConcurrent - semaphore.availablePermits())
+            .description("Database bulkhead permits held")
+            .register(meterRegistry);
+        FunctionCounter.builder("db.bulkhead.rejected", rejected, LongAdder::sum)
+            .description("Calls answered with 503 after waiting max-wait for a permit")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Wait for a permit in arrival order; every successful call must be paired
+     * with {@link #release()}
+     *
+     * @throws ServiceBusyException when no permit became free within max-wait
+     */
+    public void acquire() {
+        long start = System.nanoTime();
+        queued.incrementAndGet();
+        boolean granted;
+        try {
+            // The timed tryAcquire honours fairness, unlike the untimed one
+            granted = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            granted = false;
+        } finally {
+            queued.decrementAndGet();
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!granted) {
+            rejected.increment();
+            throw new ServiceBusyException(RETRY_AFTER_SECONDS);
+        }
+        long waited = System.nanoTime() - start;
+        acquired.increment();
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public BulkheadStatsDTO stats() {
+        return new BulkheadStatsDTO(maxConcurrent, maxConcurrent - permits.availablePermits(), queued.get(),
+            acquired.sum(), rejected.sum(), totalWaitNanos.sum(), maxWaitNanos.get());
+    }
+}
@@ -0,0 +1,32 @@
+package com.xtramile.intern_project.concurrency;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Holds a {@link DatabaseBulkhead} permit for one service call, outside its
+ * transaction: the permit is taken before a connection is and given back once
+ * the transaction has ended, so rendering the response and writing it to a slow
+ * client never keep another request waiting.
+ */
+public class DatabaseBulkheadInterceptor implements MethodInterceptor {
+
+    // Looked up on first use: advisors are created before most beans can be
+    private final ObjectProvider<DatabaseBulkhead> bulkhead;
+
+    public DatabaseBulkheadInterceptor(ObjectProvider<DatabaseBulkhead> bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        DatabaseBulkhead permits = bulkhead.getObject();
+        permits.acquire();
+        try {
+            return invocation.proceed();
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.xtramile.intern_project.concurrency;
+
+import com.xtramile.intern_project.dto.ConcurrencyLimitStatsDTO;
+
+/**
+ * Concurrency limit estimated from latency, after the gradient algorithm of
+ * Netflix's concurrency-limits. Each completed request updates a short-term
+ * and a long-term average round-trip time. While they agree, the limit grows
+ * by about its square root (room for a small queue); when recent requests
+ * take longer than usual, the limit shrinks in proportion, at most halving.
+ * A failed request (5xx) backs the limit off by 10%. The limit only grows
+ * while at least half of it is in use, so an idle service does not talk
+ * itself into a limit it never tested.
+ */
+public class GradientConcurrencyLimit {
+
+    /**
+     * Weight of a new sample in the short-term average (about the last 10 requests)
+     */
+    private static final double SHORT_WEIGHT = 0.1;
+
+    /**
+     * Weight of a new sample in the long-term average (about the last 600 requests)
+     */
+    private static final double LONG_WEIGHT = 1.0 / 600;
+
+    /**
+     * Share of the new estimate taken into the limit per sample
+     */
+    private static final double SMOOTHING = 0.2;
+
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    // Guarded by this
+    private double limit;
+    private int inFlight;
+    private double shortRttNanos;
+    private double longRttNanos;
+    private long accepted;
+    private long rejected;
+    private long dropped;
+
+    // Constructors
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits need 1 <= min-limit <= max-limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * Take a slot if fewer requests than the limit are in flight; never waits
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            rejected++;
+            return false;
+        }
+        inFlight++;
+        accepted++;
+        return true;
+    }
+
+    /**
+     * Give back the slot of a completed request and learn from its round trip
+     */
+    public synchronized void release(long rttNanos, boolean failed) {
+        int inFlightDuringRequest = inFlight;
+        inFlight--;
+        if (failed) {
+            dropped++;
+            limit = clamp(limit * BACKOFF, minLimit, maxLimit);
+            return;
+        }
+
+        shortRttNanos = shortRttNanos == 0 ? rttNanos : shortRttNanos + (rttNanos - shortRttNanos) * SHORT_WEIGHT;
+        longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + (rttNanos - longRttNanos) * LONG_WEIGHT;
+        // After a long slow period the baseline has drifted up; let it follow a recovery faster
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlightDuringRequest < limit / 2) {
+            return;
+        }
+
+        double gradient = clamp(longRttNanos / shortRttNanos, 0.5, 1.0);
+        double estimate = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - SMOOTHING) + estimate * SMOOTHING, minLimit, maxLimit);
+    }
+
+    /**
+     * Seconds after which a rejected client should try again: the recent round trip, at least one second
+     */
+    public synchronized long retryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(shortRttNanos / 1e9));
+    }
+
+    public synchronized ConcurrencyLimitStatsDTO stats() {
+        return new ConcurrencyLimitStatsDTO((int) limit, minLimit, maxLimit, inFlight, accepted, rejected, dropped,
+            shortRttNanos / 1e6, longRttNanos / 1e6);
+    }
+
+    // Getters
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -1,20 +1,37 @@
 package com.xtramile.intern_project.config;
 
-import com.zaxxer.hikari.HikariConfig;
+import com.xtramile.intern_project.datasource.ReadWriteRoutingDataSource;
+import com.xtramile.intern_project.datasource.ReadYourWrites;
+import com.xtramile.intern_project.datasource.ReplicaSelection;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 
 /**
- * Explicit DataSource configuration with raw JDBC test before HikariCP.
+ * Explicit DataSource configuration. Pools open their first connection when
+ * one is first asked for, so creating these beans never waits for the
+ * database; the raw JDBC connectivity checks of old only run when
+ * app.datasource.connectivity-check=true. With app.datasource.replica-urls
+ * set, read-only transactions are routed to replica pools.
  */
 @Configuration
 public class DataSourceConfig {
@@ -25,89 +42,119 @@ public class DataSourceConfig {
         this.env = env;
     }
 
+    /**
+     * Off (zero window) without replicas, where every read sees every write anyway
+     */
+    @Bean
+    public ReadYourWrites readYourWrites() {
+        Duration window = Duration.parse(getConfigValue("DB_READ_YOUR_WRITES_WINDOW", "app.datasource.read-your-writes-window", "PT5S"));
+        return new ReadYourWrites(replicaUrls().isEmpty() ? Duration.ZERO : window);
+    }
+
     @Bean
     @Primary
-    public DataSource dataSource() {
+    public DataSource dataSource(ReadYourWrites readYourWrites, ObjectProvider<MeterRegistry> meterRegistry) {
         // Use full container name to avoid DNS issues when on multiple networks
         String jdbcUrl = getConfigValue("SPRING_DATASOURCE_URL", "spring.datasource.url", "jdbc:postgresql://student-management-db:5432/interndb");
         String username = getConfigValue("SPRING_DATASOURCE_USERNAME", "spring.datasource.username", "internuser");
         String password = getConfigValue("SPRING_DATASOURCE_PASSWORD", "spring.datasource.password", "internpass");
+        int poolSize = Integer.parseInt(getConfigValue("DB_POOL_SIZE", "app.datasource.pool-size", "10"));
+        List<String> replicaUrls = replicaUrls();
 
         System.out.println("==============================================");
         System.out.println("DataSource Configuration:");
         System.out.println("  JDBC URL: " + jdbcUrl);
+        replicaUrls.forEach(url -> System.out.println("  Replica JDBC URL: " + url));
         System.out.println("  Username: " + username);
-        System.out.println("  Password: '" + password + "'");
         System.out.println("  Password length: " + (password != null ? password.length() : 0));
-        System.out.println("  Password hex: " + toHex(password));
-        System.out.println("  Expected hex: " + toHex("internpass"));
-        System.out.println("  Password match: " + "internpass".equals(password));
+        System.out.println("  Pool size: " + poolSize);
         System.out.println("==============================================");
 
-        // TEST 1: Raw JDBC without password
-        System.out.println("TEST 1: Trying raw JDBC WITHOUT password...");
-        try {
-            Connection conn = DriverManager.getConnection(jdbcUrl, username, "");
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery("SELECT 1");
-            if (rs.next()) {
-                System.out.println("  SUCCESS! Raw JDBC without password works!");
-            }
-            conn.close();
-        } catch (Exception e) {
-            System.out.println("  FAILED: " + e.getMessage());
+        if (Boolean.parseBoolean(getConfigValue("DB_CONNECTIVITY_CHECK", "app.datasource.connectivity-check", "false"))) {
+            checkConnectivity(jdbcUrl, username, password);
         }
 
-        // TEST 2: Raw JDBC with password
-        System.out.println("TEST 2: Trying raw JDBC WITH password...");
-        try {
-            Connection conn = DriverManager.getConnection(jdbcUrl, username, password);
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery("SELECT 1");
-            if (rs.next()) {
-                System.out.println("  SUCCESS! Raw JDBC with password works!");
-            }
-            conn.close();
-        } catch (Exception e) {
-            System.out.println("  FAILED: " + e.getMessage());
+        // Every pool reports hikaricp.connections.* meters tagged with its name, replicas included
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        MetricsTrackerFactory metrics = registry != null ? new MicrometerMetricsTrackerFactory(registry) : null;
+        HikariDataSource primary = createPool("primary", jdbcUrl, username, password, poolSize, metrics);
+        if (replicaUrls.isEmpty()) {
+            return primary;
+        }
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            replicas.add(createPool("replica-" + (i + 1), replicaUrls.get(i), username, password, poolSize, metrics));
+        }
+        ReplicaSelection selection = ReplicaSelection.valueOf(getConfigValue("DB_REPLICA_SELECTION",
+            "app.datasource.replica-selection", "round-robin").trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+
+        // Routing happens on the first statement, once the transaction is known to be read-only
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(primary, replicas, selection, readYourWrites));
+        // Known defaults, so the proxy does not fetch a connection at startup to find them out
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+
+    /**
+     * The no-argument constructor defers starting the pool to the first getConnection()
+     */
+    private HikariDataSource createPool(String name, String jdbcUrl, String username, String password, int poolSize,
+                                        MetricsTrackerFactory metrics) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(jdbcUrl);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName("org.postgresql.Driver");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(2);
+        dataSource.setConnectionTimeout(30000);
+        // Let pgjdbc turn JDBC insert batches into multi-row INSERT statements
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        if (metrics != null) {
+            dataSource.setMetricsTrackerFactory(metrics);
         }
+        return dataSource;
+    }
 
-        // TEST 3: Raw JDBC with URL containing credentials
-        String urlWithCreds = jdbcUrl + "?user=" + username + "&password=" + password;
-        System.out.println("TEST 3: Trying raw JDBC with credentials in URL...");
-        try {
-            Connection conn = DriverManager.getConnection(urlWithCreds);
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery("SELECT 1");
+    private List<String> replicaUrls() {
+        return Arrays.stream(getConfigValue("DB_REPLICA_URLS", "app.datasource.replica-urls", "").split(","))
+            .map(String::trim)
+            .filter(url -> !url.isEmpty())
+            .toList();
+    }
+
+    /**
+     * Diagnoses credential problems before HikariCP hides them behind its own
+     * retries: tries raw JDBC without password, with password, and with the
+     * credentials in the URL. Each attempt can take up to the driver's connect
+     * timeout, so this is for troubleshooting only.
+     */
+    private void checkConnectivity(String jdbcUrl, String username, String password) {
+        tryConnect("TEST 1: Trying raw JDBC WITHOUT password...", () -> DriverManager.getConnection(jdbcUrl, username, ""));
+        tryConnect("TEST 2: Trying raw JDBC WITH password...", () -> DriverManager.getConnection(jdbcUrl, username, password));
+        tryConnect("TEST 3: Trying raw JDBC with credentials in URL...",
+            () -> DriverManager.getConnection(jdbcUrl + "?user=" + username + "&password=" + password));
+    }
+
+    private void tryConnect(String description, ConnectionOpener opener) {
+        System.out.println(description);
+        try (Connection conn = opener.open();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT 1")) {
             if (rs.next()) {
-                System.out.println("  SUCCESS! Raw JDBC with URL credentials works!");
+                System.out.println("  SUCCESS!");
             }
-            conn.close();
         } catch (Exception e) {
             System.out.println("  FAILED: " + e.getMessage());
         }
-
-        // Now try HikariCP - use whichever method worked
-        System.out.println("Creating HikariCP DataSource...");
-        HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(jdbcUrl);
-        config.setUsername(username);
-        config.setPassword(password);
-        config.setDriverClassName("org.postgresql.Driver");
-        config.setMaximumPoolSize(10);
-        config.setMinimumIdle(2);
-        config.setConnectionTimeout(30000);
-        
-        return new HikariDataSource(config);
     }
 
-    private String toHex(String s) {
-        if (s == null) return "null";
-        StringBuilder sb = new StringBuilder();
-        for (char c : s.toCharArray()) {
-            sb.append(String.format("%02x ", (int) c));
-        }
-        return sb.toString().trim();
+    private interface ConnectionOpener {
+        Connection open() throws SQLException;
     }
 
     private String getConfigValue(String envName, String propertyName, String defaultValue) {
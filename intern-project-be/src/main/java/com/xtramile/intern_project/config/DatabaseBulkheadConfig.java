@@ -0,0 +1,70 @@
+package com.xtramile.intern_project.config;
+
+import com.xtramile.intern_project.concurrency.DatabaseBulkhead;
+import com.xtramile.intern_project.concurrency.DatabaseBulkheadInterceptor;
+import com.xtramile.intern_project.service.StudentService;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+/**
+ * The database bulkhead around each transactional {@link StudentService}
+ * method, so a permit is held only while the database is in use
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkheadConfig {
+
+    /**
+     * Exports hold a connection for as long as the file takes, minutes for a
+     * large one, and would keep a permit from short requests all that time
+     */
+    private static final Set<String> LONG_RUNNING_METHODS = Set.of("export");
+
+    /**
+     * Outside the transaction advice, so a request queues before it takes a
+     * connection; inside the statement counting of QueryBudgetConfig
+     */
+    @Bean
+    public static Advisor databaseBulkheadAdvisor(ObjectProvider<DatabaseBulkhead> bulkhead) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new TransactionalStudentServiceMethods(),
+            new DatabaseBulkheadInterceptor(bulkhead));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+
+    /**
+     * Student service methods that run in a transaction of their own or run
+     * their own transactions (propagation other than SUPPORTS)
+     */
+    static final class TransactionalStudentServiceMethods extends StaticMethodMatcherPointcut {
+
+        private final TransactionAttributeSource transactions = new AnnotationTransactionAttributeSource();
+
+        TransactionalStudentServiceMethods() {
+            setClassFilter(StudentService.class::isAssignableFrom);
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            if (LONG_RUNNING_METHODS.contains(method.getName())) {
+                return false;
+            }
+            TransactionAttribute transaction = transactions.getTransactionAttribute(method, targetClass);
+            return transaction != null
+                && transaction.getPropagationBehavior() != TransactionDefinition.PROPAGATION_SUPPORTS;
+        }
+    }
+}
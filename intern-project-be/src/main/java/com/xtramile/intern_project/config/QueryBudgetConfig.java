@@ -0,0 +1,33 @@
+package com.xtramile.intern_project.config;
+
+import com.xtramile.intern_project.querycount.QueryBudgets;
+import com.xtramile.intern_project.querycount.ServiceQueryBudgetInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+
+/**
+ * Statement counting around every {@link Service} method. Requests are
+ * counted by QueryBudgetInterceptor, registered in WebConfig.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.query-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetConfig {
+
+    /**
+     * Outside the transaction advice, so statements flushed on commit count too
+     */
+    @Bean
+    public static Advisor serviceQueryBudgetAdvisor(ObjectProvider<QueryBudgets> budgets) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            new AnnotationMatchingPointcut(Service.class, true), new ServiceQueryBudgetInterceptor(budgets));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,24 @@
+package com.xtramile.intern_project.config;
+
+import com.xtramile.intern_project.querymonitor.RepositoryMonitorPostProcessor;
+import com.xtramile.intern_project.querymonitor.SlowQueryLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Row counts and slow query capture on every repository method. Their
+ * latency is timed by Boot (spring.data.repository.invocations).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.repository-monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryMonitorConfig {
+
+    @Bean
+    public static RepositoryMonitorPostProcessor repositoryMonitorPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new RepositoryMonitorPostProcessor(meterRegistry, slowQueryLog);
+    }
+}
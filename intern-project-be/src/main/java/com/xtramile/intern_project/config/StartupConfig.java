@@ -0,0 +1,22 @@
+package com.xtramile.intern_project.config;
+
+import com.xtramile.intern_project.controller.StudentController;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * With spring.main.lazy-initialization=true (prod profile) beans are created
+ * on first use. The student endpoints and everything they depend on, down to
+ * the EntityManagerFactory, are still built during startup, so the first
+ * request does not pay for bootstrapping Hibernate; imports, exports, admin
+ * endpoints and the API docs wait until they are called.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerStudentEndpoints() {
+        return LazyInitializationExcludeFilter.forBeanTypes(StudentController.class);
+    }
+}
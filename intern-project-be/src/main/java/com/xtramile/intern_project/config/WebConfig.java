@@ -1,25 +1,108 @@
 package com.xtramile.intern_project.config;
 
+import com.xtramile.intern_project.concurrency.AdaptiveConcurrencyInterceptor;
+import com.xtramile.intern_project.concurrency.AdaptiveConcurrencyLimiter;
+import com.xtramile.intern_project.datasource.ReadYourWrites;
+import com.xtramile.intern_project.datasource.ReadYourWritesInterceptor;
+import com.xtramile.intern_project.json.StudentJsonHttpMessageConverter;
+import com.xtramile.intern_project.protobuf.StudentProtobufHttpMessageConverter;
+import com.xtramile.intern_project.querycount.QueryBudgetInterceptor;
+import com.xtramile.intern_project.querycount.QueryBudgets;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    /**
+     * Imports and exports hold a connection for as long as the file takes,
+     * minutes for a large one
+     */
+    private static final String[] LONG_RUNNING_PATHS = {
+        "/api/students/imports", "/api/students/imports/**", "/api/students/export"
+    };
+
+    private final ObjectProvider<AdaptiveConcurrencyLimiter> adaptiveConcurrencyLimiter;
+    private final ObjectProvider<ReadYourWrites> readYourWrites;
+    private final ObjectProvider<QueryBudgets> queryBudgets;
+
+    public WebConfig(ObjectProvider<AdaptiveConcurrencyLimiter> adaptiveConcurrencyLimiter,
+                     ObjectProvider<ReadYourWrites> readYourWrites,
+                     ObjectProvider<QueryBudgets> queryBudgets) {
+        this.adaptiveConcurrencyLimiter = adaptiveConcurrencyLimiter;
+        this.readYourWrites = readYourWrites;
+        this.queryBudgets = queryBudgets;
+    }
+
+    /**
+     * CORS as the first servlet filter rather than a Spring MVC mapping, so that
+     * responses answered by later filters (the student response cache) get the headers too
+     */
+    @Bean
+    public FilterRegistrationBean<CorsFilter> corsFilter() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(List.of(
+            "http://localhost:5173", 
+            "http://localhost:6173", 
+            "http://localhost:3000",
+            "https://student-management.nafhan.com",
+            "https://api-student.nafhan.com"
+        ));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.addAllowedHeader("*");
+        // Readable by the frontend, which sends it back in If-Match
+        configuration.addExposedHeader(HttpHeaders.ETAG);
+        configuration.setAllowCredentials(true);
+        configuration.setMaxAge(3600L);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", configuration);
+
+        FilterRegistrationBean<CorsFilter> registration = new FilterRegistrationBean<>(new CorsFilter(source));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Student endpoints pass the adaptive concurrency limit when enabled;
+     * imports and exports bypass it, so they do not skew the latency the limit
+     * follows (the database bulkhead wraps service calls instead, see
+     * DatabaseBulkheadConfig). With read replicas, clients that just wrote read
+     * from the primary. SQL statements of every API request are counted against
+     * its query budget
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        adaptiveConcurrencyLimiter.ifAvailable(limiter -> registry.addInterceptor(new AdaptiveConcurrencyInterceptor(limiter))
+            .addPathPatterns("/api/students", "/api/students/**")
+            .excludePathPatterns(LONG_RUNNING_PATHS));
+        readYourWrites.stream().filter(ReadYourWrites::isEnabled).forEach(pinning -> registry
+            .addInterceptor(new ReadYourWritesInterceptor(pinning))
+            .addPathPatterns("/api/students", "/api/students/**"));
+        queryBudgets.ifAvailable(budgets -> registry.addInterceptor(new QueryBudgetInterceptor(budgets))
+            .addPathPatterns("/api/**"));
+    }
+
+    /**
+     * Student pages and details as JSON without Jackson (the same bytes), and
+     * as protobuf for the student reads that offer it; CBOR and Smile come with
+     * the Jackson dataformat modules on the class path
+     */
     @Override
-    public void addCorsMappings(CorsRegistry registry) {
-        registry.addMapping("/api/**")
-                .allowedOrigins(
-                    "http://localhost:5173", 
-                    "http://localhost:6173", 
-                    "http://localhost:3000",
-                    "https://student-management.nafhan.com",
-                    "https://api-student.nafhan.com"
-                )
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                .allowedHeaders("*")
-                .allowCredentials(true)
-                .maxAge(3600);
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.addCustomConverter(new StudentJsonHttpMessageConverter())
+            .addCustomConverter(new StudentProtobufHttpMessageConverter());
     }
 }
@@ -0,0 +1,42 @@
+package com.xtramile.intern_project.controller;
+
+import com.xtramile.intern_project.concurrency.DatabaseBulkhead;
+import com.xtramile.intern_project.dto.ApiResponse;
+import com.xtramile.intern_project.dto.BulkheadStatsDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/bulkhead")
+@ConditionalOnProperty(name = "app.db.bulkhead.enabled", havingValue = "true")
+@Tag(name = "Bulkhead", description = "Queue of student requests waiting for the database")
+public class BulkheadController {
+
+    private final DatabaseBulkhead databaseBulkhead;
+
+    @Autowired
+    public BulkheadController(DatabaseBulkhead databaseBulkhead) {
+        this.databaseBulkhead = databaseBulkhead;
+    }
+
+    /**
+     * Permits in use, queue depth and wait times of the database bulkhead
+     * GET /api/admin/bulkhead
+     */
+    @Operation(
+        summary = "Get database bulkhead statistics",
+        description = "Requests holding a permit, requests queued for one, permits granted, requests " +
+                      "rejected with 503 and the average and longest wait since startup"
+    )
+    @GetMapping
+    public ResponseEntity<ApiResponse<BulkheadStatsDTO>> getBulkheadStats() {
+        return ResponseEntity.ok(ApiResponse.success("Bulkhead statistics retrieved successfully",
+            databaseBulkhead.stats()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.xtramile.intern_project.controller;
+
+import com.xtramile.intern_project.cache.StudentResponseCache;
+import com.xtramile.intern_project.dto.ApiResponse;
+import com.xtramile.intern_project.dto.ResponseCacheStatsDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@Tag(name = "Cache", description = "Statistics of the in-process response cache")
+public class CacheController {
+
+    private final StudentResponseCache studentResponseCache;
+
+    @Autowired
+    public CacheController(StudentResponseCache studentResponseCache) {
+        this.studentResponseCache = studentResponseCache;
+    }
+
+    /**
+     * Hit ratio, evictions and size of the student response cache
+     * GET /api/admin/cache/responses
+     */
+    @Operation(
+        summary = "Get response cache statistics",
+        description = "Hits, misses, hit ratio, evictions, invalidations and bytes held by the cache of " +
+                      "student detail, list and search responses since startup"
+    )
+    @GetMapping("/responses")
+    public ResponseEntity<ApiResponse<ResponseCacheStatsDTO>> getResponseCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved successfully",
+            studentResponseCache.stats()));
+    }
+}
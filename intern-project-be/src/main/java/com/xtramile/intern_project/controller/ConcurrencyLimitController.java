@@ -0,0 +1,44 @@
+package com.xtramile.intern_project.controller;
+
+import com.xtramile.intern_project.concurrency.AdaptiveConcurrencyLimiter;
+import com.xtramile.intern_project.dto.ApiResponse;
+import com.xtramile.intern_project.dto.ConcurrencyLimitStatsDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/concurrency-limit")
+@ConditionalOnProperty(name = "app.concurrency-limit.enabled", havingValue = "true")
+@Tag(name = "Concurrency Limit", description = "Adaptive load shedding of student requests")
+public class ConcurrencyLimitController {
+
+    private final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    @Autowired
+    public ConcurrencyLimitController(AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter) {
+        this.adaptiveConcurrencyLimiter = adaptiveConcurrencyLimiter;
+    }
+
+    /**
+     * Current read and write limits with their in-flight requests and rejections
+     * GET /api/admin/concurrency-limit
+     */
+    @Operation(
+        summary = "Get adaptive concurrency limit statistics",
+        description = "For reads and writes separately: the limit estimated from latency, requests in flight, " +
+                      "requests accepted, rejected with 503 and failed, and the short and long-term round trip"
+    )
+    @GetMapping
+    public ResponseEntity<ApiResponse<Map<String, ConcurrencyLimitStatsDTO>>> getConcurrencyLimitStats() {
+        return ResponseEntity.ok(ApiResponse.success("Concurrency limit statistics retrieved successfully",
+            adaptiveConcurrencyLimiter.stats()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.xtramile.intern_project.controller;
+
+import com.xtramile.intern_project.dto.ApiResponse;
+import com.xtramile.intern_project.dto.QueryStatisticsDTO;
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/queries")
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+@Tag(name = "Query Statistics", description = "Hibernate statistics of the queries run since startup")
+public class QueryStatisticsController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final Statistics statistics;
+
+    @Autowired
+    public QueryStatisticsController(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Slowest queries first, by their slowest single execution
+     * GET /api/admin/queries?limit=10
+     */
+    @Operation(
+        summary = "Get the slowest queries",
+        description = "Executions, rows returned, total and longest execution time of each query since " +
+                      "startup, ordered by the longest execution. Query counts and the slowest execution " +
+                      "overall are also exported as hibernate_* metrics on /actuator/prometheus"
+    )
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<QueryStatisticsDTO>>> getSlowestQueries(
+            @Parameter(description = "Number of queries (1-100)")
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidStudentDataException("limit harus antara 1 dan " + MAX_LIMIT);
+        }
+        List<QueryStatisticsDTO> queries = Arrays.stream(statistics.getQueries())
+            .map(query -> {
+                QueryStatistics stats = statistics.getQueryStatistics(query);
+                return new QueryStatisticsDTO(query, stats.getExecutionCount(), stats.getExecutionRowCount(),
+                    stats.getExecutionTotalTime(), stats.getExecutionMaxTime());
+            })
+            .filter(query -> query.getExecutions() > 0)
+            .sorted(Comparator.comparingLong(QueryStatisticsDTO::getMaxMillis).reversed())
+            .limit(limit)
+            .toList();
+        return ResponseEntity.ok(ApiResponse.success("Query statistics retrieved successfully", queries));
+    }
+}
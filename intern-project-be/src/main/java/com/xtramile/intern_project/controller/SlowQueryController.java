@@ -0,0 +1,72 @@
+package com.xtramile.intern_project.controller;
+
+import com.xtramile.intern_project.dto.ApiResponse;
+import com.xtramile.intern_project.dto.SlowQueryDTO;
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import com.xtramile.intern_project.querymonitor.SlowQuery;
+import com.xtramile.intern_project.querymonitor.SlowQueryLog;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/queries/slow")
+@ConditionalOnProperty(name = "app.repository-monitor.enabled", havingValue = "true", matchIfMissing = true)
+@Tag(name = "Query Statistics", description = "Hibernate statistics of the queries run since startup")
+public class SlowQueryController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final SlowQueryLog slowQueryLog;
+
+    @Autowired
+    public SlowQueryController(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    /**
+     * Most recent slow repository calls first
+     * GET /api/admin/queries/slow?limit=20
+     */
+    @Operation(
+        summary = "Get the most recent slow queries",
+        description = "Repository calls that took longer than app.repository-monitor.slow-threshold, most recent " +
+                      "first, with their SQL, redacted arguments and, for a sample, the generic plan. " +
+                      "Latency and rows of every repository method are exported as " +
+                      "spring_data_repository_invocations and repository_rows on /actuator/prometheus"
+    )
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SlowQueryDTO>>> getSlowQueries(
+            @Parameter(description = "Number of slow queries (1-100)")
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidStudentDataException("limit harus antara 1 dan " + MAX_LIMIT);
+        }
+        List<SlowQueryDTO> slowQueries = slowQueryLog.recent(limit).stream()
+            .map(SlowQueryController::toDTO)
+            .toList();
+        return ResponseEntity.ok(ApiResponse.success("Slow queries retrieved successfully", slowQueries));
+    }
+
+    private static SlowQueryDTO toDTO(SlowQuery slowQuery) {
+        List<String> plans = slowQuery.getPlans();
+        List<SlowQueryDTO.Statement> statements = new ArrayList<>();
+        for (int i = 0; i < slowQuery.getStatements().size(); i++) {
+            statements.add(new SlowQueryDTO.Statement(slowQuery.getStatements().get(i),
+                plans == null ? null : plans.get(i)));
+        }
+        return new SlowQueryDTO(slowQuery.getOccurredAt(), slowQuery.getMethod(),
+            slowQuery.getDurationNanos() / 1_000_000.0, slowQuery.getRows() < 0 ? null : slowQuery.getRows(),
+            slowQuery.getArguments(), slowQuery.getStatementCount(), statements);
+    }
+}
@@ -1,11 +1,25 @@
 package com.xtramile.intern_project.controller;
 
 import com.xtramile.intern_project.dto.ApiResponse;
+import com.xtramile.intern_project.dto.BirthDateRange;
 import com.xtramile.intern_project.dto.ErrorResponseDTO;
 import com.xtramile.intern_project.dto.PagedResponse;
+import com.xtramile.intern_project.dto.PartialStudentDetailDTO;
+import com.xtramile.intern_project.dto.StudentBatchResultDTO;
+import com.xtramile.intern_project.dto.StudentCursor;
+import com.xtramile.intern_project.dto.StudentCursorPage;
 import com.xtramile.intern_project.dto.StudentDetailDTO;
+import com.xtramile.intern_project.dto.StudentField;
+import com.xtramile.intern_project.dto.StudentPage;
+import com.xtramile.intern_project.dto.StudentQuery;
 import com.xtramile.intern_project.dto.StudentRequestDTO;
 import com.xtramile.intern_project.dto.StudentResponseDTO;
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import com.xtramile.intern_project.protobuf.StudentProtobufHttpMessageConverter;
+import com.xtramile.intern_project.querycount.QueryBudget;
+import com.xtramile.intern_project.service.CountStrategy;
+import com.xtramile.intern_project.service.StudentETags;
+import com.xtramile.intern_project.service.StudentExportWriter;
 import com.xtramile.intern_project.service.StudentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,23 +27,46 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.HandlerMapping;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/students")
 @Tag(name = "Student Management", description = "APIs for managing college students")
 public class StudentController {
     
+    private static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    private static final String APPLICATION_X_PROTOBUF = StudentProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF_VALUE;
+    private static final String APPLICATION_PROTOBUF = StudentProtobufHttpMessageConverter.APPLICATION_PROTOBUF_VALUE;
+    
+    private static final String FIELDS_DESCRIPTION = "Comma-separated fields to return instead of the usual ones: " +
+        "nomorInduk, namaDepan, namaBelakang, namaLengkap, tanggalLahir, usia, createdAt, updatedAt. " +
+        "Only these are read from the database";
+    
     private final StudentService studentService;
     
     @Autowired
@@ -70,16 +107,56 @@ public class StudentController {
             "Student created successfully", 
             student
         );
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(StudentETags.detail(student)).body(response);
+    }
+    
+    /**
+     * Create many students in one request
+     * POST /api/students/batch
+     */
+    @Operation(
+        summary = "Create students in batch",
+        description = "Creates many students in one transaction using batched inserts. " +
+                     "Each item is validated on its own (same rules as single create); " +
+                     "invalid items are reported per index and the rest are still created."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Batch processed, see per-item results"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Empty batch or batch too large",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+        )
+    })
+    @PostMapping("/batch")
+    @QueryBudget(25)
+    public ResponseEntity<ApiResponse<StudentBatchResultDTO>> createStudentsBatch(
+            @RequestBody
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Students to create",
+                required = true
+            )
+            List<StudentRequestDTO> requests) {
+        StudentBatchResultDTO result = studentService.createBatch(requests);
+        ApiResponse<StudentBatchResultDTO> response = ApiResponse.success(
+            "Batch processed: " + result.getCreated() + " created, " + result.getRejected() + " rejected",
+            result
+        );
+        return ResponseEntity.ok(response);
     }
     
     /**
      * Get all students with pagination and sorting
-     * GET /api/students?page=0&size=10&sort=namaDepan,asc
+     * GET /api/students?page=0&size=10&sort=namaDepan,asc&minAge=18&maxAge=25
      */
     @Operation(
         summary = "Get all students",
-        description = "Retrieves a paginated list of students. Shows Nomor Induk, Nama Lengkap, and Usia (age)."
+        description = "Retrieves a paginated list of students. Shows Nomor Induk, Nama Lengkap, and Usia (age). " +
+                      "Can be restricted to an age or birth date range, and narrowed to chosen fields. " +
+                      "Also served as CBOR, Smile or protobuf (src/main/proto/student.proto) on request."
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -87,7 +164,9 @@ public class StudentController {
             description = "Successfully retrieved student list"
         )
     })
-    @GetMapping
+    // JSON first: it is what a wildcard Accept header gets
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE,
+                            APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF})
     public ResponseEntity<PagedResponse<StudentResponseDTO>> getAllStudents(
             @Parameter(description = "Page number (0-based)", example = "0")
             @RequestParam(defaultValue = "0") int page,
@@ -96,23 +175,113 @@ public class StudentController {
             @RequestParam(defaultValue = "10") int size,
             
             @Parameter(description = "Sort criteria in format: field,direction (e.g., namaDepan,asc)", example = "namaDepan,asc")
-            @RequestParam(defaultValue = "nomorInduk,asc") String[] sort) {
+            @RequestParam(defaultValue = "nomorInduk,asc") String[] sort,
+            
+            @Parameter(description = "How the total is obtained: exact, cached, estimated or none " +
+                                     "(default from app.pagination.count-strategy)", example = "exact")
+            @RequestParam(required = false) String count,
+            
+            @Parameter(description = "Cursor mode (keyset pagination): meta.nextCursor of the previous page, " +
+                                     "or empty for the first page. Replaces page; sort must be nomorInduk, " +
+                                     "namaDepan, namaBelakang or tanggalLahir", example = "")
+            @RequestParam(required = false) String after,
+            
+            @Parameter(description = "Minimum age in whole years (inclusive)", example = "18")
+            @RequestParam(required = false) Integer minAge,
+            
+            @Parameter(description = "Maximum age in whole years (inclusive)", example = "25")
+            @RequestParam(required = false) Integer maxAge,
+            
+            @Parameter(description = "Earliest birth date (inclusive, yyyy-MM-dd)", example = "2000-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornFrom,
+            
+            @Parameter(description = "Latest birth date (inclusive, yyyy-MM-dd)", example = "2005-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornTo,
+            
+            @Parameter(description = FIELDS_DESCRIPTION, example = "nomorInduk,namaLengkap")
+            @RequestParam(required = false) String fields,
+            
+            @Parameter(description = "ETag of a previous response; answered with 304 while no student has changed")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            
+            HttpServletRequest request) {
+        
+        // Invalid parameters get 400 even when the tag matches
+        StudentQuery query = StudentQuery.of(null,
+            BirthDateRange.of(minAge, maxAge, bornFrom, bornTo, LocalDate.now()), StudentField.parse(fields));
+        StudentCursor cursor = after != null ? createCursor(after, size, sort) : null;
+        Pageable pageable = after == null ? createPageable(page, size, sort) : null;
+        if (pageable != null) {
+            studentService.checkSort(query, pageable.getSort());
+        }
+        CountStrategy countStrategy = parseCountStrategy(count);
+        
+        if (ifNoneMatch != null) {
+            String eTag = listETag(studentService.listVersion(), request);
+            if (StudentETags.noneMatch(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
         
-        Pageable pageable = createPageable(page, size, sort);
-        Page<StudentResponseDTO> studentsPage = studentService.findAll(pageable);
+        // A 200 is tagged with the version its own transaction read, from the
+        // database that served the page, so a lagging replica never gets the
+        // primary's newer version
+        if (cursor != null) {
+            StudentCursorPage cursorPage = studentService.findAfter(query, cursor, size);
+            return ResponseEntity.ok().eTag(listETag(cursorPage.getVersion(), request)).varyBy(HttpHeaders.ACCEPT)
+                .body(createCursorResponse("Students retrieved successfully", cursorPage));
+        }
+        
+        StudentPage studentsPage = studentService.search(query, pageable, countStrategy);
         
         PagedResponse<StudentResponseDTO> response = PagedResponse.success(
             "Students retrieved successfully",
             studentsPage.getContent(),
             studentsPage.getNumber(),
             studentsPage.getSize(),
-            studentsPage.getTotalElements(),
+            studentsPage.getTotalItems(),
             studentsPage.getTotalPages(),
             studentsPage.hasNext(),
-            studentsPage.hasPrevious()
+            studentsPage.hasPrevious(),
+            studentsPage.getCountStrategy()
         );
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(listETag(studentsPage.getVersion(), request)).varyBy(HttpHeaders.ACCEPT)
+            .body(response);
+    }
+    
+    /**
+     * Export all students, streamed row by row
+     * GET /api/students/export?format=csv
+     */
+    @Operation(
+        summary = "Export all students",
+        description = "Streams every student as CSV or NDJSON straight from a database cursor, " +
+                     "without paging or counting. Memory use stays flat regardless of table size."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Export stream"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Unsupported format",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+        )
+    })
+    @GetMapping("/export")
+    public void exportStudents(
+            @Parameter(description = "Output format: csv or ndjson", example = "csv")
+            @RequestParam(defaultValue = StudentExportWriter.FORMAT_CSV) String format,
+            HttpServletResponse response) throws IOException {
+        if (!StudentExportWriter.FORMAT_CSV.equals(format) && !StudentExportWriter.FORMAT_NDJSON.equals(format)) {
+            throw new InvalidStudentDataException("Format export tidak didukung: " + format);
+        }
+        response.setContentType(StudentExportWriter.contentType(format));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("students." + format).build().toString());
+        studentService.export(format, response.getOutputStream());
     }
     
     /**
@@ -121,29 +290,58 @@ public class StudentController {
      */
     @Operation(
         summary = "Get student by Nomor Induk",
-        description = "Retrieves detailed information of a single student by their Nomor Induk Mahasiswa."
+        description = "Retrieves detailed information of a single student by their Nomor Induk Mahasiswa, " +
+                      "optionally narrowed to chosen fields. Also served as CBOR, Smile or protobuf on request."
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "200",
             description = "Student found"
         ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "Student unchanged since the ETag in If-None-Match"
+        ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "404",
             description = "Student not found",
             content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
         )
     })
-    @GetMapping("/{nomorInduk}")
+    @GetMapping(value = "/{nomorInduk}",
+                produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE,
+                            APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF})
     public ResponseEntity<ApiResponse<StudentDetailDTO>> getStudentByNomorInduk(
             @Parameter(description = "Student's Nomor Induk Mahasiswa", example = "2026001", required = true)
-            @PathVariable String nomorInduk) {
-        StudentDetailDTO student = studentService.findByNomorInduk(nomorInduk);
+            @PathVariable String nomorInduk,
+            
+            @Parameter(description = FIELDS_DESCRIPTION, example = "nomorInduk,namaLengkap")
+            @RequestParam(required = false) String fields,
+            
+            @Parameter(description = "ETag of a previous response; answered with 304 while the student is unchanged")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            
+            HttpServletRequest request) {
+        Set<StudentField> requestedFields = StudentField.parse(fields);
+        MediaType mediaType = representation(request);
+        // A repeat poll is answered from one indexed lookup, without loading the student
+        if (ifNoneMatch != null) {
+            String eTag = StudentETags.representation(studentService.detailETag(nomorInduk), mediaType);
+            if (StudentETags.noneMatch(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
+        
+        StudentDetailDTO student = studentService.findByNomorInduk(nomorInduk, requestedFields);
         ApiResponse<StudentDetailDTO> response = ApiResponse.success(
             "Student found", 
             student
         );
-        return ResponseEntity.ok(response);
+        // Same tag as the full detail: the fields requested are part of the URL
+        String eTag = StudentETags.representation(student instanceof PartialStudentDetailDTO partial
+            ? StudentETags.detail(nomorInduk, partial.getModifiedAt())
+            : StudentETags.detail(student), mediaType);
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(response);
     }
     
     /**
@@ -159,6 +357,11 @@ public class StudentController {
             responseCode = "200",
             description = "Student updated successfully"
         ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "412",
+            description = "Student changed since the ETag in If-Match",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+        ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "404",
             description = "Student not found",
@@ -180,13 +383,16 @@ public class StudentController {
                 description = "Updated student data",
                 required = true
             )
-            StudentRequestDTO request) {
-        StudentDetailDTO student = studentService.update(nomorInduk, request);
+            StudentRequestDTO request,
+            
+            @Parameter(description = "ETag the client last saw; the update is refused with 412 if the student changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        StudentDetailDTO student = studentService.update(nomorInduk, request, ifMatch);
         ApiResponse<StudentDetailDTO> response = ApiResponse.success(
             "Student updated successfully", 
             student
         );
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(StudentETags.detail(student)).body(response);
     }
     
     /**
@@ -202,6 +408,11 @@ public class StudentController {
             responseCode = "200",
             description = "Student deleted successfully"
         ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "412",
+            description = "Student changed since the ETag in If-Match",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+        ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "404",
             description = "Student not found",
@@ -211,8 +422,11 @@ public class StudentController {
     @DeleteMapping("/{nomorInduk}")
     public ResponseEntity<ApiResponse<Void>> deleteStudent(
             @Parameter(description = "Student's Nomor Induk Mahasiswa", example = "2026001", required = true)
-            @PathVariable String nomorInduk) {
-        studentService.delete(nomorInduk);
+            @PathVariable String nomorInduk,
+            
+            @Parameter(description = "ETag the client last saw; the delete is refused with 412 if the student changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        studentService.delete(nomorInduk, ifMatch);
         ApiResponse<Void> response = ApiResponse.success(
             "Student deleted successfully", 
             null
@@ -226,7 +440,11 @@ public class StudentController {
      */
     @Operation(
         summary = "Search students by name",
-        description = "Searches for students by first name or last name (case-insensitive partial match)."
+        description = "Searches for students by first name or last name (case-insensitive partial match). " +
+                      "With app.search.backend=trigram the keyword is matched against the full name " +
+                      "and results can be sorted by relevance. Can be restricted to an age or birth date range, " +
+                      "and narrowed to chosen fields. " +
+                      "Also served as CBOR, Smile or protobuf on request."
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -234,7 +452,9 @@ public class StudentController {
             description = "Search completed successfully"
         )
     })
-    @GetMapping("/search")
+    @GetMapping(value = "/search",
+                produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE,
+                            APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF})
     public ResponseEntity<PagedResponse<StudentResponseDTO>> searchStudents(
             @Parameter(description = "Search keyword (searches in first and last name)", example = "Budi", required = true)
             @RequestParam String keyword,
@@ -245,30 +465,158 @@ public class StudentController {
             @Parameter(description = "Number of items per page", example = "10")
             @RequestParam(defaultValue = "10") int size,
             
-            @Parameter(description = "Sort criteria", example = "namaDepan,asc")
-            @RequestParam(defaultValue = "namaDepan,asc") String[] sort) {
+            @Parameter(description = "Sort criteria, or relevance (trigram backend only)", example = "namaDepan,asc")
+            @RequestParam(defaultValue = "namaDepan,asc") String[] sort,
+            
+            @Parameter(description = "How the total is obtained: exact, cached, estimated or none " +
+                                     "(default from app.pagination.count-strategy)", example = "exact")
+            @RequestParam(required = false) String count,
+            
+            @Parameter(description = "Cursor mode (keyset pagination): meta.nextCursor of the previous page, " +
+                                     "or empty for the first page. Replaces page; sort must be nomorInduk, " +
+                                     "namaDepan, namaBelakang or tanggalLahir", example = "")
+            @RequestParam(required = false) String after,
+            
+            @Parameter(description = "Minimum age in whole years (inclusive)", example = "18")
+            @RequestParam(required = false) Integer minAge,
+            
+            @Parameter(description = "Maximum age in whole years (inclusive)", example = "25")
+            @RequestParam(required = false) Integer maxAge,
+            
+            @Parameter(description = "Earliest birth date (inclusive, yyyy-MM-dd)", example = "2000-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornFrom,
+            
+            @Parameter(description = "Latest birth date (inclusive, yyyy-MM-dd)", example = "2005-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate bornTo,
+            
+            @Parameter(description = FIELDS_DESCRIPTION, example = "nomorInduk,namaLengkap")
+            @RequestParam(required = false) String fields,
+            
+            @Parameter(description = "ETag of a previous response; answered with 304 while no student has changed")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            
+            HttpServletRequest request) {
         
-        Pageable pageable = createPageable(page, size, sort);
-        Page<StudentResponseDTO> studentsPage = studentService.search(keyword, pageable);
+        // Invalid parameters get 400 even when the tag matches
+        StudentQuery query = StudentQuery.of(keyword,
+            BirthDateRange.of(minAge, maxAge, bornFrom, bornTo, LocalDate.now()), StudentField.parse(fields));
+        StudentCursor cursor = after != null ? createCursor(after, size, sort) : null;
+        Pageable pageable = after == null ? createPageable(page, size, sort) : null;
+        if (pageable != null) {
+            studentService.checkSort(query, pageable.getSort());
+        }
+        CountStrategy countStrategy = parseCountStrategy(count);
+        
+        if (ifNoneMatch != null) {
+            String eTag = listETag(studentService.listVersion(), request);
+            if (StudentETags.noneMatch(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
+        
+        if (cursor != null) {
+            StudentCursorPage cursorPage = studentService.findAfter(query, cursor, size);
+            return ResponseEntity.ok().eTag(listETag(cursorPage.getVersion(), request)).varyBy(HttpHeaders.ACCEPT)
+                .body(createCursorResponse("Search completed successfully", cursorPage));
+        }
+        
+        StudentPage studentsPage = studentService.search(query, pageable, countStrategy);
         
         PagedResponse<StudentResponseDTO> response = PagedResponse.success(
             "Search completed successfully",
             studentsPage.getContent(),
             studentsPage.getNumber(),
             studentsPage.getSize(),
-            studentsPage.getTotalElements(),
+            studentsPage.getTotalItems(),
             studentsPage.getTotalPages(),
             studentsPage.hasNext(),
-            studentsPage.hasPrevious()
+            studentsPage.hasPrevious(),
+            studentsPage.getCountStrategy()
         );
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(listETag(studentsPage.getVersion(), request)).varyBy(HttpHeaders.ACCEPT)
+            .body(response);
+    }
+    
+    /**
+     * Helper method to find the media type a read's body will be written as:
+     * of the types its mapping produces (and the Accept header allows), the
+     * one the client prefers, as Spring MVC picks it
+     */
+    @SuppressWarnings("unchecked")
+    private static MediaType representation(HttpServletRequest request) {
+        Collection<MediaType> producible = (Collection<MediaType>) request.getAttribute(
+            HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+        if (producible == null) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> candidates = new ArrayList<>();
+        try {
+            List<String> accept = Collections.list(request.getHeaders(HttpHeaders.ACCEPT));
+            for (MediaType accepted : accept.isEmpty() ? List.of(MediaType.ALL) : MediaType.parseMediaTypes(accept)) {
+                for (MediaType type : producible) {
+                    if (accepted.isCompatibleWith(type)) {
+                        candidates.add(type.copyQualityValue(accepted));
+                    }
+                }
+            }
+            MimeTypeUtils.sortBySpecificity(candidates);
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException e) {
+            // Spring MVC answers 406 for such a header before any tag is sent
+            return MediaType.APPLICATION_JSON;
+        }
+        return candidates.isEmpty() ? MediaType.APPLICATION_JSON : candidates.get(0);
+    }
+    
+    /**
+     * Helper method to tag a list or search response with a table version
+     */
+    private static String listETag(String version, HttpServletRequest request) {
+        return StudentETags.representation(StudentETags.list(version), representation(request));
+    }
+    
+    /**
+     * Helper method to wrap a keyset-paginated listing (cursor mode)
+     */
+    private PagedResponse<StudentResponseDTO> createCursorResponse(String message, StudentCursorPage cursorPage) {
+        return PagedResponse.cursor(
+            message,
+            cursorPage.getContent(),
+            cursorPage.getSize(),
+            !cursorPage.isFirst(),
+            cursorPage.getNextCursor()
+        );
     }
     
     /**
-     * Helper method to create Pageable with sorting
+     * Helper method to read the cursor mode parameters
      */
-    private Pageable createPageable(int page, int size, String[] sort) {
+    private static StudentCursor createCursor(String after, int size, String[] sort) {
+        if (size < 1) {
+            throw new InvalidStudentDataException("Ukuran halaman minimal 1");
+        }
+        boolean descending = sort.length > 1 && sort[1].equalsIgnoreCase("desc");
+        return StudentCursor.of(after, sort[0], descending);
+    }
+    
+    /**
+     * Helper method to read the optional count strategy parameter
+     */
+    private CountStrategy parseCountStrategy(String count) {
+        return count == null || count.isBlank() ? null : CountStrategy.parse(count);
+    }
+    
+    /**
+     * Helper method to create Pageable with sorting (package-private for StudentControllerBenchmark)
+     */
+    static Pageable createPageable(int page, int size, String[] sort) {
+        if (page < 0) {
+            throw new InvalidStudentDataException("Nomor halaman tidak boleh negatif");
+        }
+        if (size < 1) {
+            throw new InvalidStudentDataException("Ukuran halaman minimal 1");
+        }
+        
         // Parse sort parameter: "field,direction"
         String sortField = sort[0];
         String sortDirection = sort.length > 1 ? sort[1] : "asc";
@@ -0,0 +1,145 @@
+package com.xtramile.intern_project.controller;
+
+import com.xtramile.intern_project.dto.ApiResponse;
+import com.xtramile.intern_project.dto.ErrorResponseDTO;
+import com.xtramile.intern_project.dto.StudentImportStatusDTO;
+import com.xtramile.intern_project.exception.ImportInProgressException;
+import com.xtramile.intern_project.service.StudentImportJob;
+import com.xtramile.intern_project.service.StudentImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/students/imports")
+@Tag(name = "Student Import", description = "Bulk import of students from CSV or NDJSON files")
+public class StudentImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final StudentImportService studentImportService;
+
+    @Autowired
+    public StudentImportController(StudentImportService studentImportService) {
+        this.studentImportService = studentImportService;
+    }
+
+    /**
+     * Import students from the request body
+     * POST /api/students/imports (Content-Type: text/csv or application/x-ndjson)
+     */
+    @Operation(
+        summary = "Import students",
+        description = "Streams the request body into the students table with PostgreSQL COPY. " +
+                     "CSV needs a header row with namaDepan, namaBelakang, tanggalLahir and optionally " +
+                     "nomorInduk (kept as is for students migrated from the old system); NDJSON uses the " +
+                     "same field names. Rows are validated like single create; rejected rows are listed " +
+                     "in the error report. The body is stored first and imported in the background; " +
+                     "progress can be followed at the Location of the response."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "202",
+            description = "Import started, Location points to its status"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Unsupported format or CSV header without required columns",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+        )
+    })
+    @PostMapping(consumes = {TEXT_CSV, APPLICATION_NDJSON})
+    public ResponseEntity<ApiResponse<StudentImportStatusDTO>> importStudents(HttpServletRequest request)
+            throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        String format = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+            ? StudentImportService.FORMAT_CSV
+            : StudentImportService.FORMAT_NDJSON;
+        StudentImportJob job = studentImportService.startImport(format, request.getInputStream());
+        URI status = ServletUriComponentsBuilder.fromCurrentRequestUri()
+            .path("/{id}")
+            .buildAndExpand(job.getId())
+            .toUri();
+        ApiResponse<StudentImportStatusDTO> response = ApiResponse.success("Import started", job.toStatusDTO());
+        return ResponseEntity.accepted().location(status).body(response);
+    }
+
+    /**
+     * List recent imports, running ones included
+     * GET /api/students/imports
+     */
+    @Operation(summary = "List imports", description = "Recent imports (newest first) with progress and rows/second")
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<StudentImportStatusDTO>>> getImports() {
+        List<StudentImportStatusDTO> imports = studentImportService.findAll().stream()
+            .map(StudentImportJob::toStatusDTO)
+            .toList();
+        return ResponseEntity.ok(ApiResponse.success("Imports retrieved successfully", imports));
+    }
+
+    /**
+     * Get progress of one import
+     * GET /api/students/imports/{id}
+     */
+    @Operation(summary = "Get import status", description = "Progress and rows/second of a single import")
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<StudentImportStatusDTO>> getImport(@PathVariable String id) {
+        StudentImportJob job = studentImportService.findById(id);
+        return ResponseEntity.ok(ApiResponse.success("Import retrieved successfully", job.toStatusDTO()));
+    }
+
+    /**
+     * Download rejected rows of an import as CSV (line, errors, raw), once the import has finished
+     * GET /api/students/imports/{id}/errors
+     */
+    @Operation(summary = "Download import error report", description = "CSV with line number, errors and raw input of every rejected row")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Error report of a finished import"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "204",
+            description = "Every row was accepted"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "409",
+            description = "Import still running",
+            content = @Content(schema = @Schema(implementation = ErrorResponseDTO.class))
+        )
+    })
+    @GetMapping(value = "/{id}/errors", produces = TEXT_CSV)
+    public ResponseEntity<Resource> getImportErrors(@PathVariable String id) {
+        StudentImportJob job = studentImportService.findById(id);
+        if (!job.isFinished()) {
+            // The report is still being written
+            throw new ImportInProgressException(id);
+        }
+        Path report = job.getErrorReport();
+        if (report == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("import-" + id + "-errors.csv").build().toString())
+            .body(new FileSystemResource(report));
+    }
+}
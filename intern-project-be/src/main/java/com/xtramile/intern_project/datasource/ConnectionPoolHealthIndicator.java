@@ -0,0 +1,117 @@
+package com.xtramile.intern_project.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.health.contributor.AbstractHealthIndicator;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Readiness of the connection pools (contributor {@code connectionPool}): the
+ * primary and every replica pool must hand out a valid connection within
+ * {@code app.health.connection-pool.timeout}, well below HikariCP's 30 s
+ * connection timeout that Boot's {@code db} indicator would wait for. A pool
+ * whose connections are all in use is busy, not broken, and is reported UP
+ * without queueing behind the requests it is serving.
+ */
+@Component
+public class ConnectionPoolHealthIndicator extends AbstractHealthIndicator {
+
+    private final List<HikariDataSource> pools;
+    private final Duration timeout;
+    // Left-behind checks of an unreachable database park a virtual thread until HikariCP gives up
+    private final Executor executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public ConnectionPoolHealthIndicator(DataSource dataSource,
+                                         @Value("${app.health.connection-pool.timeout:PT2S}") Duration timeout)
+            throws SQLException {
+        this(pools(dataSource), timeout);
+    }
+
+    ConnectionPoolHealthIndicator(List<HikariDataSource> pools, Duration timeout) {
+        super("Connection pool health check failed");
+        this.pools = List.copyOf(pools);
+        this.timeout = timeout;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        boolean up = true;
+        for (HikariDataSource pool : pools) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            if (mxBean != null) {
+                details.put("active", mxBean.getActiveConnections());
+                details.put("idle", mxBean.getIdleConnections());
+                details.put("pending", mxBean.getThreadsAwaitingConnection());
+                details.put("total", mxBean.getTotalConnections());
+            }
+            details.put("max", pool.getMaximumPoolSize());
+
+            if (mxBean != null && mxBean.getIdleConnections() == 0
+                    && mxBean.getTotalConnections() >= pool.getMaximumPoolSize()) {
+                details.put("status", "saturated");
+            } else {
+                String error = check(pool);
+                details.put("status", error == null ? "available" : "unavailable");
+                if (error != null) {
+                    details.put("error", error);
+                    up = false;
+                }
+            }
+            builder.withDetail(pool.getPoolName(), details);
+        }
+        if (up) {
+            builder.up();
+        } else {
+            builder.down();
+        }
+    }
+
+    /**
+     * Borrows and validates a connection; null when that worked in time, otherwise why not
+     */
+    private String check(HikariDataSource pool) {
+        CompletableFuture<Boolean> valid = CompletableFuture.supplyAsync(() -> {
+            try (Connection connection = pool.getConnection()) {
+                return connection.isValid((int) Math.max(1, timeout.toSeconds()));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }, executor);
+        try {
+            return valid.get(timeout.toMillis(), TimeUnit.MILLISECONDS) ? null : "Connection is not valid";
+        } catch (TimeoutException e) {
+            return "No connection within " + timeout.toMillis() + " ms";
+        } catch (ExecutionException e) {
+            return e.getCause().getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "Interrupted";
+        }
+    }
+
+    private static List<HikariDataSource> pools(DataSource dataSource) throws SQLException {
+        if (dataSource.isWrapperFor(ReadWriteRoutingDataSource.class)) {
+            return dataSource.unwrap(ReadWriteRoutingDataSource.class).getPools();
+        }
+        return List.of(dataSource.unwrap(HikariDataSource.class));
+    }
+}
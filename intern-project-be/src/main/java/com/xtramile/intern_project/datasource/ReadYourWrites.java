@@ -0,0 +1,45 @@
+package com.xtramile.intern_project.datasource;
+
+import java.time.Duration;
+
+/**
+ * Decides when reads must go to the primary although replicas are configured:
+ * only those of a thread serving a client that wrote within the window, which
+ * the client proves with a cookie (see ReadYourWritesInterceptor) on whichever
+ * instance answers. Other clients keep reading from the replicas. A zero
+ * window turns pinning off.
+ */
+public class ReadYourWrites {
+
+    private final Duration window;
+    private final ThreadLocal<Boolean> pinned = new ThreadLocal<>();
+
+    // Constructors
+    public ReadYourWrites(Duration window) {
+        this.window = window;
+    }
+
+    /**
+     * Reads of the current thread go to the primary until {@link #unpinCurrentThread()}
+     */
+    public void pinCurrentThread() {
+        pinned.set(Boolean.TRUE);
+    }
+
+    public void unpinCurrentThread() {
+        pinned.remove();
+    }
+
+    public boolean readsFromPrimary() {
+        return isEnabled() && pinned.get() != null;
+    }
+
+    // Getters
+    public boolean isEnabled() {
+        return !window.isZero();
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+}
@@ -0,0 +1,18 @@
+package com.xtramile.intern_project.datasource;
+
+/**
+ * How {@link ReadWriteRoutingDataSource} picks the replica for a read-only transaction
+ */
+public enum ReplicaSelection {
+
+    /**
+     * Each replica in turn
+     */
+    ROUND_ROBIN,
+
+    /**
+     * The replica whose pool has the fewest connections handed out, so a
+     * replica that has slowed down gets fewer new reads
+     */
+    LEAST_IN_FLIGHT
+}
@@ -0,0 +1,91 @@
+package com.xtramile.intern_project.dto;
+
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+
+import java.time.LocalDate;
+
+/**
+ * Inclusive range of birth dates a listing is restricted to; either end may
+ * be open. Age bounds are turned into birth dates here, so the database
+ * compares tanggal_lahir with constants and idx_tanggal_lahir serves the
+ * filter as a range scan.
+ */
+public final class BirthDateRange {
+
+    /**
+     * No restriction
+     */
+    public static final BirthDateRange ALL = new BirthDateRange(null, null);
+
+    private final LocalDate from;
+    private final LocalDate to;
+
+    private BirthDateRange(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Birth dates of students whose age on {@code today} is within
+     * {@code minAge..maxAge} and who were born within {@code bornFrom..bornTo}.
+     * Any bound may be null. Age is counted like {@link java.time.Period#between},
+     * so someone born on 29 February turns a year older on 1 March in common years.
+     */
+    public static BirthDateRange of(Integer minAge, Integer maxAge, LocalDate bornFrom, LocalDate bornTo,
+                                    LocalDate today) {
+        if (minAge != null && minAge < 0 || maxAge != null && maxAge < 0) {
+            throw new InvalidStudentDataException("Batas usia tidak boleh negatif");
+        }
+        if (minAge != null && maxAge != null && minAge > maxAge) {
+            throw new InvalidStudentDataException("minAge tidak boleh lebih besar dari maxAge");
+        }
+        if (bornFrom != null && bornTo != null && bornFrom.isAfter(bornTo)) {
+            throw new InvalidStudentDataException("bornFrom tidak boleh setelah bornTo");
+        }
+
+        LocalDate from = bornFrom;
+        LocalDate to = bornTo;
+        if (minAge != null) {
+            // At least minAge: the minAge-th birthday is today or earlier
+            to = earlier(to, today.minusYears(minAge));
+        }
+        if (maxAge != null) {
+            // At most maxAge: not yet maxAge + 1, so born after that birthday's date maxAge + 1 years ago
+            from = later(from, today.minusYears(maxAge + 1L).plusDays(1));
+        }
+        return from == null && to == null ? ALL : new BirthDateRange(from, to);
+    }
+
+    // Computed Methods
+    public boolean isUnbounded() {
+        return from == null && to == null;
+    }
+
+    public boolean contains(LocalDate tanggalLahir) {
+        return (from == null || !tanggalLahir.isBefore(from)) && (to == null || !tanggalLahir.isAfter(to));
+    }
+
+    /**
+     * Stable text form, e.g. for cache keys
+     */
+    public String key() {
+        return (from == null ? "" : from.toString()) + ".." + (to == null ? "" : to.toString());
+    }
+
+    private static LocalDate earlier(LocalDate a, LocalDate b) {
+        return a == null || b.isBefore(a) ? b : a;
+    }
+
+    private static LocalDate later(LocalDate a, LocalDate b) {
+        return a == null || b.isAfter(a) ? b : a;
+    }
+
+    // Getters
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+}
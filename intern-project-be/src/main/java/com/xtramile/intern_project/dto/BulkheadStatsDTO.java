@@ -0,0 +1,69 @@
+package com.xtramile.intern_project.dto;
+
+/**
+ * State and counters of the database bulkhead since startup
+ */
+public class BulkheadStatsDTO {
+
+    private final int maxConcurrent;
+    private final int inUse;
+    private final int queued;
+    private final long acquired;
+    private final long rejected;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+
+    // Constructors
+    public BulkheadStatsDTO(int maxConcurrent, int inUse, int queued, long acquired, long rejected,
+                            long totalWaitNanos, long maxWaitNanos) {
+        this.maxConcurrent = maxConcurrent;
+        this.inUse = inUse;
+        this.queued = queued;
+        this.acquired = acquired;
+        this.rejected = rejected;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    // Computed Methods
+    public double getAverageWaitMillis() {
+        return acquired == 0 ? 0 : totalWaitNanos / 1e6 / acquired;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos / 1e6;
+    }
+
+    // Getters
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * Requests currently holding a permit
+     */
+    public int getInUse() {
+        return inUse;
+    }
+
+    /**
+     * Requests currently waiting for a permit
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * Permits granted, after however long a wait
+     */
+    public long getAcquired() {
+        return acquired;
+    }
+
+    /**
+     * Requests answered with 503 after waiting the maximum time
+     */
+    public long getRejected() {
+        return rejected;
+    }
+}
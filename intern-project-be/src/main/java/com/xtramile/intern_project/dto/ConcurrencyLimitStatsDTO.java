@@ -0,0 +1,83 @@
+package com.xtramile.intern_project.dto;
+
+/**
+ * Current state and counters of one adaptive concurrency limit since startup
+ */
+public class ConcurrencyLimitStatsDTO {
+
+    private final int limit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int inFlight;
+    private final long accepted;
+    private final long rejected;
+    private final long failed;
+    private final double shortRttMillis;
+    private final double longRttMillis;
+
+    // Constructors
+    public ConcurrencyLimitStatsDTO(int limit, int minLimit, int maxLimit, int inFlight, long accepted,
+                                    long rejected, long failed, double shortRttMillis, double longRttMillis) {
+        this.limit = limit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.inFlight = inFlight;
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.failed = failed;
+        this.shortRttMillis = shortRttMillis;
+        this.longRttMillis = longRttMillis;
+    }
+
+    // Getters
+    /**
+     * Requests currently allowed in flight at once
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public long getAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Requests answered with 503 because the limit was reached
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Admitted requests that ended with a server error, each backing the limit off
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Average round trip of about the last 10 requests
+     */
+    public double getShortRttMillis() {
+        return shortRttMillis;
+    }
+
+    /**
+     * Average round trip of about the last 600 requests, the baseline
+     */
+    public double getLongRttMillis() {
+        return longRttMillis;
+    }
+}
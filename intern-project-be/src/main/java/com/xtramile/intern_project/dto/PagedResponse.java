@@ -0,0 +1,216 @@
+package com.xtramile.intern_project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Paginated API response wrapper")
+public class PagedResponse<T> {
+
+    @Schema(description = "Response status", example = "success")
+    private String status;
+
+    @Schema(description = "Response message", example = "Students retrieved successfully")
+    private String message;
+
+    @Schema(description = "Page content")
+    private List<T> data;
+
+    @Schema(description = "Pagination metadata")
+    private PageMeta meta;
+
+    @Schema(description = "Response timestamp")
+    private LocalDateTime timestamp;
+
+    // Constructors
+    public PagedResponse() {
+        this.timestamp = LocalDateTime.now();
+    }
+
+    public PagedResponse(String status, String message, List<T> data, PageMeta meta) {
+        this.status = status;
+        this.message = message;
+        this.data = data;
+        this.meta = meta;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    // Static factory methods
+    public static <T> PagedResponse<T> success(String message, List<T> data, int currentPage, int pageSize,
+                                               long totalItems, int totalPages,
+                                               boolean hasNext, boolean hasPrevious) {
+        PageMeta meta = new PageMeta(currentPage, totalItems, totalPages, pageSize, hasNext, hasPrevious);
+        return new PagedResponse<>("success", message, data, meta);
+    }
+
+    /**
+     * Offset page whose total was produced by the named count strategy (null total when none)
+     */
+    public static <T> PagedResponse<T> success(String message, List<T> data, int currentPage, int pageSize,
+                                               Long totalItems, Integer totalPages,
+                                               boolean hasNext, boolean hasPrevious, String countStrategy) {
+        PageMeta meta = new PageMeta(currentPage, totalItems, totalPages, pageSize, hasNext, hasPrevious);
+        meta.setCountStrategy(countStrategy);
+        return new PagedResponse<>("success", message, data, meta);
+    }
+
+    /**
+     * Keyset-paginated page: a next cursor instead of page numbers and totals
+     */
+    public static <T> PagedResponse<T> cursor(String message, List<T> data, int pageSize,
+                                              boolean hasPrevious, String nextCursor) {
+        PageMeta meta = new PageMeta(null, null, null, pageSize, nextCursor != null, hasPrevious);
+        meta.setNextCursor(nextCursor);
+        return new PagedResponse<>("success", message, data, meta);
+    }
+
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public List<T> getData() {
+        return data;
+    }
+
+    public void setData(List<T> data) {
+        this.data = data;
+    }
+
+    public PageMeta getMeta() {
+        return meta;
+    }
+
+    public void setMeta(PageMeta meta) {
+        this.meta = meta;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Schema(description = "Pagination metadata")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class PageMeta {
+
+        @Schema(description = "Current page number (0-based); absent in cursor mode", example = "0")
+        private Integer currentPage;
+
+        @Schema(description = "Total number of items; absent in cursor mode", example = "42")
+        private Long totalItems;
+
+        @Schema(description = "Total number of pages; absent in cursor mode", example = "5")
+        private Integer totalPages;
+
+        @Schema(description = "Number of items per page", example = "10")
+        private int pageSize;
+
+        @Schema(description = "Whether a next page exists")
+        private boolean hasNext;
+
+        @Schema(description = "Whether a previous page exists")
+        private boolean hasPrevious;
+
+        @Schema(description = "Token for the next page in cursor mode (pass as ?after=)")
+        private String nextCursor;
+
+        @Schema(description = "How totalItems was obtained: exact, cached, estimated or none", example = "exact")
+        private String countStrategy;
+
+        // Constructors
+        public PageMeta() {
+        }
+
+        public PageMeta(Integer currentPage, Long totalItems, Integer totalPages, int pageSize,
+                        boolean hasNext, boolean hasPrevious) {
+            this.currentPage = currentPage;
+            this.totalItems = totalItems;
+            this.totalPages = totalPages;
+            this.pageSize = pageSize;
+            this.hasNext = hasNext;
+            this.hasPrevious = hasPrevious;
+        }
+
+        // Getters and Setters
+        public Integer getCurrentPage() {
+            return currentPage;
+        }
+
+        public void setCurrentPage(Integer currentPage) {
+            this.currentPage = currentPage;
+        }
+
+        public Long getTotalItems() {
+            return totalItems;
+        }
+
+        public void setTotalItems(Long totalItems) {
+            this.totalItems = totalItems;
+        }
+
+        public Integer getTotalPages() {
+            return totalPages;
+        }
+
+        public void setTotalPages(Integer totalPages) {
+            this.totalPages = totalPages;
+        }
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        public boolean isHasNext() {
+            return hasNext;
+        }
+
+        public void setHasNext(boolean hasNext) {
+            this.hasNext = hasNext;
+        }
+
+        public boolean isHasPrevious() {
+            return hasPrevious;
+        }
+
+        public void setHasPrevious(boolean hasPrevious) {
+            this.hasPrevious = hasPrevious;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        public void setNextCursor(String nextCursor) {
+            this.nextCursor = nextCursor;
+        }
+
+        public String getCountStrategy() {
+            return countStrategy;
+        }
+
+        public void setCountStrategy(String countStrategy) {
+            this.countStrategy = countStrategy;
+        }
+    }
+}
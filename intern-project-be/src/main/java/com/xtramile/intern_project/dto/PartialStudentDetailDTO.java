@@ -0,0 +1,97 @@
+package com.xtramile.intern_project.dto;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.annotation.JsonSerialize;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Student detail narrowed with {@code ?fields=}: only the requested fields
+ * were read from the database, and only those are serialized, in
+ * {@link StudentField} order and including nulls like the full detail
+ */
+@JsonSerialize(using = PartialStudentDetailDTO.FieldsSerializer.class)
+public class PartialStudentDetailDTO extends StudentDetailDTO {
+
+    private final Set<StudentField> fields;
+    private LocalDateTime modifiedAt;
+
+    // Constructors
+    public PartialStudentDetailDTO(Set<StudentField> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * The requested fields of a student read in full
+     */
+    public static PartialStudentDetailDTO of(StudentDetailDTO student, Set<StudentField> fields) {
+        PartialStudentDetailDTO partial = new PartialStudentDetailDTO(fields);
+        for (StudentField field : fields) {
+            partial.set(field, field.read(student));
+        }
+        return partial;
+    }
+
+    // Computed Methods
+    /**
+     * Sets a requested field from the database value read for it
+     */
+    public void set(StudentField field, Object value) {
+        switch (field) {
+            case NOMOR_INDUK -> setNomorInduk((String) value);
+            case NAMA_DEPAN -> setNamaDepan((String) value);
+            case NAMA_BELAKANG -> setNamaBelakang((String) value);
+            case NAMA_LENGKAP -> setNamaLengkap((String) value);
+            case TANGGAL_LAHIR -> setTanggalLahir(value instanceof Date date ? date.toLocalDate() : (LocalDate) value);
+            case USIA -> setUsia(value != null ? ((Number) value).intValue() : null);
+            case CREATED_AT -> setCreatedAt(dateTime(value));
+            case UPDATED_AT -> setUpdatedAt(dateTime(value));
+        }
+    }
+
+    private static LocalDateTime dateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    // Getters and Setters
+    public Set<StudentField> getFields() {
+        return fields;
+    }
+
+    /**
+     * Last modification time (creation time if never updated), read alongside
+     * the fields for the ETag; never serialized
+     */
+    public LocalDateTime getModifiedAt() {
+        return modifiedAt;
+    }
+
+    public void setModifiedAt(LocalDateTime modifiedAt) {
+        this.modifiedAt = modifiedAt;
+    }
+
+    /**
+     * Writes the requested fields only, so JSON, CBOR and Smile all carry the narrowed shape
+     */
+    static class FieldsSerializer extends StdSerializer<PartialStudentDetailDTO> {
+
+        FieldsSerializer() {
+            super(PartialStudentDetailDTO.class);
+        }
+
+        @Override
+        public void serialize(PartialStudentDetailDTO student, JsonGenerator generator, SerializationContext context) {
+            generator.writeStartObject(student);
+            for (StudentField field : student.fields) {
+                context.defaultSerializeProperty(field.getJsonName(), field.read(student), generator);
+            }
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.xtramile.intern_project.dto;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * List row narrowed with {@code ?fields=}, which may ask for any field of the
+ * detail; serialized as its {@link PartialStudentDetailDTO}
+ */
+public class PartialStudentResponseDTO extends StudentResponseDTO {
+
+    private final PartialStudentDetailDTO student;
+
+    // Constructors
+    public PartialStudentResponseDTO(PartialStudentDetailDTO student) {
+        super(student.getNomorInduk(), student.getNamaLengkap(), student.getUsia());
+        this.student = student;
+    }
+
+    // Getters
+    @JsonValue
+    public PartialStudentDetailDTO getStudent() {
+        return student;
+    }
+}
@@ -0,0 +1,57 @@
+package com.xtramile.intern_project.dto;
+
+/**
+ * Hibernate's execution statistics of one query since startup
+ */
+public class QueryStatisticsDTO {
+
+    private final String query;
+    private final long executions;
+    private final long rows;
+    private final long totalMillis;
+    private final long maxMillis;
+
+    // Constructors
+    public QueryStatisticsDTO(String query, long executions, long rows, long totalMillis, long maxMillis) {
+        this.query = query;
+        this.executions = executions;
+        this.rows = rows;
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    // Computed Methods
+    public double getAverageMillis() {
+        return executions == 0 ? 0 : (double) totalMillis / executions;
+    }
+
+    // Getters
+    /**
+     * HQL or native SQL as the application wrote it
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    public long getExecutions() {
+        return executions;
+    }
+
+    /**
+     * Rows returned over all executions
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Slowest single execution
+     */
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+}
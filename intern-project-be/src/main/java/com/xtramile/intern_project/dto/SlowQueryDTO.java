@@ -0,0 +1,141 @@
+package com.xtramile.intern_project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "A repository call slower than the slow query threshold")
+public class SlowQueryDTO {
+
+    @Schema(description = "When the call finished")
+    private LocalDateTime occurredAt;
+
+    @Schema(description = "Repository and method", example = "StudentRepository.findRows")
+    private String method;
+
+    @Schema(description = "Duration of the call in milliseconds", example = "412.7")
+    private double millis;
+
+    @Schema(description = "Rows returned; null for streams", example = "20")
+    private Long rows;
+
+    @Schema(description = "Type of each argument, values redacted; paging and sorting as given",
+            example = "[\"String(4)\", \"BirthDateRange\", \"LocalDate\", \"Page request [number: 0, size 20, sort: UNSORTED]\"]")
+    private List<String> arguments;
+
+    @Schema(description = "SQL statements run by the call (only the first five are listed)", example = "2")
+    private int statementCount;
+
+    @Schema(description = "The first statements, with their generic plan when the call was sampled for EXPLAIN")
+    private List<Statement> statements;
+
+    // Constructors
+    public SlowQueryDTO() {
+    }
+
+    public SlowQueryDTO(LocalDateTime occurredAt, String method, double millis, Long rows, List<String> arguments,
+                        int statementCount, List<Statement> statements) {
+        this.occurredAt = occurredAt;
+        this.method = method;
+        this.millis = millis;
+        this.rows = rows;
+        this.arguments = arguments;
+        this.statementCount = statementCount;
+        this.statements = statements;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public double getMillis() {
+        return millis;
+    }
+
+    public void setMillis(double millis) {
+        this.millis = millis;
+    }
+
+    public Long getRows() {
+        return rows;
+    }
+
+    public void setRows(Long rows) {
+        this.rows = rows;
+    }
+
+    public List<String> getArguments() {
+        return arguments;
+    }
+
+    public void setArguments(List<String> arguments) {
+        this.arguments = arguments;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public void setStatementCount(int statementCount) {
+        this.statementCount = statementCount;
+    }
+
+    public List<Statement> getStatements() {
+        return statements;
+    }
+
+    public void setStatements(List<Statement> statements) {
+        this.statements = statements;
+    }
+
+    /**
+     * One SQL statement of a slow call
+     */
+    public static class Statement {
+
+        @Schema(description = "SQL as sent to the database, parameters as ?")
+        private String sql;
+
+        @Schema(description = "Generic plan (EXPLAIN with parameters unknown); null unless sampled, or not a query")
+        private String plan;
+
+        // Constructors
+        public Statement() {
+        }
+
+        public Statement(String sql, String plan) {
+            this.sql = sql;
+            this.plan = plan;
+        }
+
+        // Getters and Setters
+        public String getSql() {
+            return sql;
+        }
+
+        public void setSql(String sql) {
+            this.sql = sql;
+        }
+
+        public String getPlan() {
+            return plan;
+        }
+
+        public void setPlan(String plan) {
+            this.plan = plan;
+        }
+    }
+}
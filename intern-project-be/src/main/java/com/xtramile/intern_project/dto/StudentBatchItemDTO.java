@@ -0,0 +1,76 @@
+package com.xtramile.intern_project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Outcome of one item of a batch create")
+public class StudentBatchItemDTO {
+    
+    public static final String STATUS_CREATED = "created";
+    public static final String STATUS_REJECTED = "rejected";
+    
+    @Schema(description = "Position of the item in the request array (0-based)", example = "0")
+    private int index;
+    
+    @Schema(description = "Item status", example = "created")
+    private String status;
+    
+    @Schema(description = "Created student (only when status is created)")
+    private StudentDetailDTO data;
+    
+    @Schema(description = "Reasons the item was rejected (only when status is rejected)")
+    private List<String> errors;
+    
+    // Constructors
+    public StudentBatchItemDTO() {
+    }
+    
+    public StudentBatchItemDTO(int index, String status, StudentDetailDTO data, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.data = data;
+        this.errors = errors;
+    }
+    
+    // Static factory methods
+    public static StudentBatchItemDTO created(int index, StudentDetailDTO data) {
+        return new StudentBatchItemDTO(index, STATUS_CREATED, data, null);
+    }
+    
+    public static StudentBatchItemDTO rejected(int index, List<String> errors) {
+        return new StudentBatchItemDTO(index, STATUS_REJECTED, null, errors);
+    }
+    
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+    
+    public void setIndex(int index) {
+        this.index = index;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public StudentDetailDTO getData() {
+        return data;
+    }
+    
+    public void setData(StudentDetailDTO data) {
+        this.data = data;
+    }
+    
+    public List<String> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
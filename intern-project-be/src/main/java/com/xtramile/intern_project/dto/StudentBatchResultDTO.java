@@ -0,0 +1,66 @@
+package com.xtramile.intern_project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Result of a batch create, one entry per request item in request order")
+public class StudentBatchResultDTO {
+    
+    @Schema(description = "Number of items received", example = "3")
+    private int total;
+    
+    @Schema(description = "Number of students created", example = "2")
+    private int created;
+    
+    @Schema(description = "Number of items rejected", example = "1")
+    private int rejected;
+    
+    @Schema(description = "Per-item results")
+    private List<StudentBatchItemDTO> items;
+    
+    // Constructors
+    public StudentBatchResultDTO() {
+    }
+    
+    public StudentBatchResultDTO(List<StudentBatchItemDTO> items) {
+        this.items = items;
+        this.total = items.size();
+        this.created = (int) items.stream()
+            .filter(item -> StudentBatchItemDTO.STATUS_CREATED.equals(item.getStatus()))
+            .count();
+        this.rejected = total - created;
+    }
+    
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+    
+    public void setTotal(int total) {
+        this.total = total;
+    }
+    
+    public int getCreated() {
+        return created;
+    }
+    
+    public void setCreated(int created) {
+        this.created = created;
+    }
+    
+    public int getRejected() {
+        return rejected;
+    }
+    
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+    
+    public List<StudentBatchItemDTO> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<StudentBatchItemDTO> items) {
+        this.items = items;
+    }
+}
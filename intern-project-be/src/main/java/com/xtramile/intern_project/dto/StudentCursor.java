@@ -0,0 +1,126 @@
+package com.xtramile.intern_project.dto;
+
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Position in a keyset-paginated student listing: the sort key of the last
+ * row returned plus its id as tiebreaker. Sent to clients as an opaque
+ * URL-safe token ({@code ?after=...}).
+ */
+public final class StudentCursor {
+
+    /**
+     * Fields that can be used for keyset pagination (each backed by an index)
+     */
+    public static final List<String> SORT_FIELDS = List.of("nomorInduk", "namaDepan", "namaBelakang", "tanggalLahir");
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final String sortField;
+    private final boolean descending;
+    private final Object value;
+    private final Long id;
+
+    private StudentCursor(String sortField, boolean descending, Object value, Long id) {
+        this.sortField = sortField;
+        this.descending = descending;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Position before the first row of the given ordering
+     */
+    public static StudentCursor start(String sortField, boolean descending) {
+        checkSortField(sortField);
+        return new StudentCursor(sortField, descending, null, null);
+    }
+
+    /**
+     * Position of the {@code after} parameter: the start of the given ordering
+     * for a blank one, else the decoded token, whose ordering wins
+     */
+    public static StudentCursor of(String after, String sortField, boolean descending) {
+        return after == null || after.isBlank() ? start(sortField, descending) : decode(after);
+    }
+
+    /**
+     * Position right after the given student
+     */
+    public StudentCursor after(StudentIndexRow student) {
+        Object key = switch (sortField) {
+            case "nomorInduk" -> student.getNomorInduk();
+            case "namaDepan" -> student.getNamaDepan();
+            case "namaBelakang" -> student.getNamaBelakang();
+            default -> student.getTanggalLahir();
+        };
+        return new StudentCursor(sortField, descending, key, student.getId());
+    }
+
+    /**
+     * Token format (before base64): field|asc or desc|id|n for a null key, or v followed by the key
+     */
+    public String encode() {
+        String raw = sortField + '|' + (descending ? "desc" : "asc") + '|' + id + '|'
+            + (value == null ? "n" : "v" + value);
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static StudentCursor decode(String token) {
+        try {
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split("\\|", 4);
+            if (parts.length != 4 || !SORT_FIELDS.contains(parts[0]) || parts[3].isEmpty()
+                    || !(parts[1].equals("asc") || parts[1].equals("desc"))) {
+                throw new IllegalArgumentException(token);
+            }
+            Object key = null;
+            if (parts[3].charAt(0) == 'v') {
+                String text = parts[3].substring(1);
+                key = parts[0].equals("tanggalLahir") ? LocalDate.parse(text) : text;
+            } else if (parts[3].charAt(0) != 'n' || parts[3].length() != 1 || !parts[0].equals("namaBelakang")) {
+                throw new IllegalArgumentException(token);
+            }
+            return new StudentCursor(parts[0], parts[1].equals("desc"), key, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidStudentDataException("Cursor tidak valid: " + token);
+        }
+    }
+
+    private static void checkSortField(String sortField) {
+        if (!SORT_FIELDS.contains(sortField)) {
+            throw new InvalidStudentDataException(
+                "Pagination dengan cursor hanya mendukung sort " + String.join(", ", SORT_FIELDS));
+        }
+    }
+
+    /**
+     * Whether this is the start of the listing rather than a position after a row
+     */
+    public boolean isStart() {
+        return id == null;
+    }
+
+    // Getters
+    public String getSortField() {
+        return sortField;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,60 @@
+package com.xtramile.intern_project.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing
+ */
+public class StudentCursorPage {
+    
+    private final List<StudentResponseDTO> content;
+    private final int size;
+    private final boolean first;
+    private final String nextCursor;
+    private final String version;
+    
+    // Constructors
+    public StudentCursorPage(List<StudentResponseDTO> content, int size, boolean first, String nextCursor,
+                             String version) {
+        this.content = content;
+        this.size = size;
+        this.first = first;
+        this.nextCursor = nextCursor;
+        this.version = version;
+    }
+    
+    // Getters
+    public List<StudentResponseDTO> getContent() {
+        return content;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    /**
+     * Whether this page starts at the beginning of the listing
+     */
+    public boolean isFirst() {
+        return first;
+    }
+    
+    /**
+     * Token for the following page, or null on the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+    
+    /**
+     * Write version of the students table as the transaction that read the
+     * page saw it, from the same database
+     */
+    public String getVersion() {
+        return version;
+    }
+}
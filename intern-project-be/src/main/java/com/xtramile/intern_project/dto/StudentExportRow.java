@@ -0,0 +1,46 @@
+package com.xtramile.intern_project.dto;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * One exported student, read as a JPQL constructor projection so that
+ * streamed rows never become managed entities
+ */
+public class StudentExportRow {
+
+    private final String nomorInduk;
+    private final String namaDepan;
+    private final String namaBelakang;
+    private final LocalDate tanggalLahir;
+
+    // Constructors
+    public StudentExportRow(String nomorInduk, String namaDepan, String namaBelakang, LocalDate tanggalLahir) {
+        this.nomorInduk = nomorInduk;
+        this.namaDepan = namaDepan;
+        this.namaBelakang = namaBelakang;
+        this.tanggalLahir = tanggalLahir;
+    }
+
+    // Computed Methods
+    public int getUsia(LocalDate today) {
+        return Period.between(tanggalLahir, today).getYears();
+    }
+
+    // Getters
+    public String getNomorInduk() {
+        return nomorInduk;
+    }
+
+    public String getNamaDepan() {
+        return namaDepan;
+    }
+
+    public String getNamaBelakang() {
+        return namaBelakang;
+    }
+
+    public LocalDate getTanggalLahir() {
+        return tanggalLahir;
+    }
+}
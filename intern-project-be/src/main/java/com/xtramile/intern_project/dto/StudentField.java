@@ -0,0 +1,80 @@
+package com.xtramile.intern_project.dto;
+
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Student fields a read can be narrowed to with {@code ?fields=}: those of
+ * StudentDetailDTO, in the order responses list them
+ */
+public enum StudentField {
+
+    NOMOR_INDUK("nomorInduk"),
+    NAMA_DEPAN("namaDepan"),
+    NAMA_BELAKANG("namaBelakang"),
+    NAMA_LENGKAP("namaLengkap"),
+    TANGGAL_LAHIR("tanggalLahir"),
+    USIA("usia"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    private final String jsonName;
+
+    StudentField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    /**
+     * Fields of a comma-separated {@code fields} parameter such as
+     * "nomorInduk,namaLengkap"; null when the parameter is absent, meaning the
+     * endpoint's usual shape. Names are the JSON names and may repeat.
+     */
+    public static Set<StudentField> parse(String fields) {
+        if (fields == null) {
+            return null;
+        }
+        EnumSet<StudentField> parsed = EnumSet.noneOf(StudentField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(Arrays.stream(values())
+                .filter(field -> field.jsonName.equals(trimmed))
+                .findFirst()
+                .orElseThrow(() -> new InvalidStudentDataException("Field tidak didukung: " + trimmed
+                    + " (pilihan: " + Arrays.stream(values()).map(StudentField::getJsonName)
+                        .collect(Collectors.joining(", ")) + ")")));
+        }
+        if (parsed.isEmpty()) {
+            throw new InvalidStudentDataException("Parameter fields tidak boleh kosong");
+        }
+        return Collections.unmodifiableSet(parsed);
+    }
+
+    /**
+     * This field's value in the student
+     */
+    public Object read(StudentDetailDTO student) {
+        return switch (this) {
+            case NOMOR_INDUK -> student.getNomorInduk();
+            case NAMA_DEPAN -> student.getNamaDepan();
+            case NAMA_BELAKANG -> student.getNamaBelakang();
+            case NAMA_LENGKAP -> student.getNamaLengkap();
+            case TANGGAL_LAHIR -> student.getTanggalLahir();
+            case USIA -> student.getUsia();
+            case CREATED_AT -> student.getCreatedAt();
+            case UPDATED_AT -> student.getUpdatedAt();
+        };
+    }
+
+    // Getters
+    public String getJsonName() {
+        return jsonName;
+    }
+}
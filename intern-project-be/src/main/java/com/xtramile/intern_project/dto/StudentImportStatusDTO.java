@@ -0,0 +1,150 @@
+package com.xtramile.intern_project.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+
+@Schema(description = "Progress of a student import")
+public class StudentImportStatusDTO {
+
+    @Schema(description = "Import id", example = "3f2b8c1e-5d7a-4c1b-9a0e-2f6d8b7c4a11")
+    private String id;
+
+    @Schema(description = "Import status: RUNNING, COMPLETED or FAILED", example = "RUNNING")
+    private String status;
+
+    @Schema(description = "Input format: csv or ndjson", example = "csv")
+    private String format;
+
+    @Schema(description = "Data rows read so far", example = "120000")
+    private long rowsRead;
+
+    @Schema(description = "Rows committed to the database", example = "119500")
+    private long rowsImported;
+
+    @Schema(description = "Rows rejected (see error report)", example = "500")
+    private long rowsRejected;
+
+    @Schema(description = "Rows processed per second since the import started", example = "45000.5")
+    private double rowsPerSecond;
+
+    @Schema(description = "Import start time")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Import end time (null while running)")
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Failure reason when status is FAILED")
+    private String message;
+
+    @Schema(description = "Whether an error report with rejected rows can be downloaded")
+    private boolean errorReportAvailable;
+
+    // Constructors
+    public StudentImportStatusDTO() {
+    }
+
+    public StudentImportStatusDTO(String id, String status, String format, long rowsRead, long rowsImported,
+                                  long rowsRejected, double rowsPerSecond, LocalDateTime startedAt,
+                                  LocalDateTime finishedAt, String message, boolean errorReportAvailable) {
+        this.id = id;
+        this.status = status;
+        this.format = format;
+        this.rowsRead = rowsRead;
+        this.rowsImported = rowsImported;
+        this.rowsRejected = rowsRejected;
+        this.rowsPerSecond = rowsPerSecond;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.message = message;
+        this.errorReportAvailable = errorReportAvailable;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public boolean isErrorReportAvailable() {
+        return errorReportAvailable;
+    }
+
+    public void setErrorReportAvailable(boolean errorReportAvailable) {
+        this.errorReportAvailable = errorReportAvailable;
+    }
+}
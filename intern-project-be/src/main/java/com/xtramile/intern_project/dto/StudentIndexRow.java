@@ -0,0 +1,66 @@
+package com.xtramile.intern_project.dto;
+
+import com.xtramile.intern_project.model.Student;
+
+import java.time.LocalDate;
+
+/**
+ * One student as held in memory by the name search index and as read for a
+ * keyset page, fetched as a JPQL constructor projection so that neither
+ * creates managed entities
+ */
+public class StudentIndexRow {
+
+    private final Long id;
+    private final String nomorInduk;
+    private final String namaDepan;
+    private final String namaBelakang;
+    private final LocalDate tanggalLahir;
+
+    // Constructors
+    public StudentIndexRow(Long id, String nomorInduk, String namaDepan, String namaBelakang, LocalDate tanggalLahir) {
+        this.id = id;
+        this.nomorInduk = nomorInduk;
+        this.namaDepan = namaDepan;
+        this.namaBelakang = namaBelakang;
+        this.tanggalLahir = tanggalLahir;
+    }
+
+    // Computed Methods
+    /**
+     * Detached student carrying everything StudentResponseDTO shows
+     */
+    public Student toStudent() {
+        Student student = new Student(nomorInduk, namaDepan, namaBelakang, tanggalLahir);
+        student.setId(id);
+        return student;
+    }
+
+    /**
+     * List row of this student, with nama lengkap and usia as the entity computes them
+     */
+    public StudentResponseDTO toResponseDTO() {
+        return StudentResponseDTO.fromEntity(toStudent());
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getNomorInduk() {
+        return nomorInduk;
+    }
+
+    public String getNamaDepan() {
+        return namaDepan;
+    }
+
+    public String getNamaBelakang() {
+        return namaBelakang;
+    }
+
+    public LocalDate getTanggalLahir() {
+        return tanggalLahir;
+    }
+}
@@ -0,0 +1,78 @@
+package com.xtramile.intern_project.dto;
+
+import java.util.List;
+
+/**
+ * One page of students with a total obtained by a count strategy
+ * (exact, cached, estimated or none)
+ */
+public class StudentPage {
+    
+    private final List<StudentResponseDTO> content;
+    private final int number;
+    private final int size;
+    private final Long totalItems;
+    private final boolean hasNext;
+    private final String countStrategy;
+    private final String version;
+    
+    // Constructors
+    public StudentPage(List<StudentResponseDTO> content, int number, int size, Long totalItems,
+                       boolean hasNext, String countStrategy, String version) {
+        this.content = content;
+        this.number = number;
+        this.size = size;
+        this.totalItems = totalItems;
+        this.hasNext = hasNext;
+        this.countStrategy = countStrategy;
+        this.version = version;
+    }
+    
+    // Computed Methods
+    public Integer getTotalPages() {
+        if (totalItems == null) {
+            return null;
+        }
+        return size == 0 ? 1 : (int) Math.ceil((double) totalItems / size);
+    }
+    
+    public boolean hasPrevious() {
+        return number > 0;
+    }
+    
+    // Getters
+    public List<StudentResponseDTO> getContent() {
+        return content;
+    }
+    
+    public int getNumber() {
+        return number;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    /**
+     * Total number of items, or null when the count strategy is none
+     */
+    public Long getTotalItems() {
+        return totalItems;
+    }
+    
+    public boolean hasNext() {
+        return hasNext;
+    }
+    
+    public String getCountStrategy() {
+        return countStrategy;
+    }
+    
+    /**
+     * Write version of the students table as the transaction that read the
+     * page saw it, from the same database
+     */
+    public String getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,67 @@
+package com.xtramile.intern_project.dto;
+
+import java.util.Set;
+
+/**
+ * What a student listing is restricted to and what its rows carry: an
+ * optional name keyword, a birth date range and, for {@code ?fields=}, the
+ * requested fields. The same for offset and cursor pages.
+ */
+public final class StudentQuery {
+
+    /**
+     * Every student, as the usual list row
+     */
+    public static final StudentQuery ALL = new StudentQuery(null, BirthDateRange.ALL, null);
+
+    private final String keyword;
+    private final BirthDateRange range;
+    private final Set<StudentField> fields;
+
+    private StudentQuery(String keyword, BirthDateRange range, Set<StudentField> fields) {
+        this.keyword = keyword;
+        this.range = range;
+        this.fields = fields;
+    }
+
+    /**
+     * Students whose name matches the keyword (all of them for a null or blank
+     * one) and who were born within the range, as rows holding only the given
+     * fields (the usual list row for null)
+     */
+    public static StudentQuery of(String keyword, BirthDateRange range, Set<StudentField> fields) {
+        String trimmed = keyword == null || keyword.trim().isEmpty() ? null : keyword.trim();
+        return new StudentQuery(trimmed, range, fields);
+    }
+
+    /**
+     * Students whose name matches the keyword, as the usual list row
+     */
+    public static StudentQuery keyword(String keyword) {
+        return of(keyword, BirthDateRange.ALL, null);
+    }
+
+    // Computed Methods
+    public boolean hasKeyword() {
+        return keyword != null;
+    }
+
+    // Getters
+    /**
+     * Trimmed keyword, null when the listing is not a search
+     */
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public BirthDateRange getRange() {
+        return range;
+    }
+
+    /**
+     * Requested fields, null for the usual list row
+     */
+    public Set<StudentField> getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,39 @@
+package com.xtramile.intern_project.event;
+
+import java.util.List;
+
+/**
+ * Published by {@code StudentService} and the import whenever students are
+ * written. Listeners that cache student data should use
+ * {@code @TransactionalEventListener(fallbackExecution = true)} so they only
+ * react once the change is committed.
+ */
+public class StudentChangedEvent {
+    
+    public enum Type { CREATED, UPDATED, DELETED }
+    
+    private final Type type;
+    private final List<String> nomorInduk;
+    
+    // Constructors
+    public StudentChangedEvent(Type type, List<String> nomorInduk) {
+        this.type = type;
+        this.nomorInduk = nomorInduk;
+    }
+    
+    public static StudentChangedEvent of(Type type, String nomorInduk) {
+        return new StudentChangedEvent(type, List.of(nomorInduk));
+    }
+    
+    // Getters
+    public Type getType() {
+        return type;
+    }
+    
+    /**
+     * Nomor induk of the affected students
+     */
+    public List<String> getNomorInduk() {
+        return nomorInduk;
+    }
+}
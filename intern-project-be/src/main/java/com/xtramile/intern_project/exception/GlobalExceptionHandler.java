@@ -1,13 +1,17 @@
 package com.xtramile.intern_project.exception;
 
 import com.xtramile.intern_project.dto.ErrorResponseDTO;
+import com.xtramile.intern_project.protobuf.StudentProtobufHttpMessageConverter;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,7 +19,15 @@ import java.util.List;
 @ControllerAdvice
 public class GlobalExceptionHandler {
     
-    @ExceptionHandler(StudentNotFoundException.class)
+    // Error bodies come in the representations the student reads offer, JSON first as the default
+    private static final String APPLICATION_JSON = MediaType.APPLICATION_JSON_VALUE;
+    private static final String APPLICATION_CBOR = MediaType.APPLICATION_CBOR_VALUE;
+    private static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    private static final String APPLICATION_X_PROTOBUF = StudentProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF_VALUE;
+    private static final String APPLICATION_PROTOBUF = StudentProtobufHttpMessageConverter.APPLICATION_PROTOBUF_VALUE;
+    
+    @ExceptionHandler(value = StudentNotFoundException.class,
+                      produces = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE, APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF})
     public ResponseEntity<ErrorResponseDTO> handleStudentNotFoundException(
             StudentNotFoundException ex, HttpServletRequest request) {
         ErrorResponseDTO error = new ErrorResponseDTO(
@@ -27,7 +39,8 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
     
-    @ExceptionHandler(InvalidStudentDataException.class)
+    @ExceptionHandler(value = InvalidStudentDataException.class,
+                      produces = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE, APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF})
     public ResponseEntity<ErrorResponseDTO> handleInvalidStudentDataException(
             InvalidStudentDataException ex, HttpServletRequest request) {
         ErrorResponseDTO error = new ErrorResponseDTO(
@@ -39,7 +52,8 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
     
-    @ExceptionHandler(DuplicateStudentException.class)
+    @ExceptionHandler(value = DuplicateStudentException.class,
+                      produces = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE, APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF})
     public ResponseEntity<ErrorResponseDTO> handleDuplicateStudentException(
             DuplicateStudentException ex, HttpServletRequest request) {
         ErrorResponseDTO error = new ErrorResponseDTO(
@@ -51,7 +65,49 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
     
-    @ExceptionHandler(MethodArgumentNotValidException.class)
+    @ExceptionHandler(value = ImportInProgressException.class,
+                      produces = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE, APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF})
+    public ResponseEntity<ErrorResponseDTO> handleImportInProgressException(
+            ImportInProgressException ex, HttpServletRequest request) {
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+    
+    @ExceptionHandler(value = StudentModifiedException.class,
+                      produces = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE, APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF})
+    public ResponseEntity<ErrorResponseDTO> handleStudentModifiedException(
+            StudentModifiedException ex, HttpServletRequest request) {
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            HttpStatus.PRECONDITION_FAILED.value(),
+            "Precondition Failed",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+    
+    @ExceptionHandler(value = ServiceBusyException.class,
+                      produces = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE, APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF})
+    public ResponseEntity<ErrorResponseDTO> handleServiceBusyException(
+            ServiceBusyException ex, HttpServletRequest request) {
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(error);
+    }
+    
+    @ExceptionHandler(value = MethodArgumentNotValidException.class,
+                      produces = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE, APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF})
     public ResponseEntity<ErrorResponseDTO> handleValidationException(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
         List<String> errors = new ArrayList<>();
@@ -69,7 +125,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
     
-    @ExceptionHandler(Exception.class)
+    @ExceptionHandler(value = MethodArgumentTypeMismatchException.class,
+                      produces = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE, APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF})
+    public ResponseEntity<ErrorResponseDTO> handleTypeMismatchException(
+            MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            HttpStatus.BAD_REQUEST.value(),
+            "Bad Request",
+            "Parameter '" + ex.getName() + "' tidak valid: " + ex.getValue(),
+            request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+    
+    @ExceptionHandler(value = Exception.class,
+                      produces = {APPLICATION_JSON, APPLICATION_CBOR, APPLICATION_SMILE, APPLICATION_X_PROTOBUF, APPLICATION_PROTOBUF})
     public ResponseEntity<ErrorResponseDTO> handleGeneralException(
             Exception ex, HttpServletRequest request) {
         ErrorResponseDTO error = new ErrorResponseDTO(
@@ -0,0 +1,11 @@
+package com.xtramile.intern_project.exception;
+
+/**
+ * The error report of an import was requested before the import finished
+ */
+public class ImportInProgressException extends RuntimeException {
+
+    public ImportInProgressException(String id) {
+        super("Import dengan id '" + id + "' masih berjalan, laporan kesalahan tersedia setelah selesai");
+    }
+}
@@ -0,0 +1,18 @@
+package com.xtramile.intern_project.exception;
+
+/**
+ * A request could not get its turn at the database in time
+ */
+public class ServiceBusyException extends RuntimeException {
+    
+    private final long retryAfterSeconds;
+    
+    public ServiceBusyException(long retryAfterSeconds) {
+        super("Server sedang sibuk, coba lagi dalam " + retryAfterSeconds + " detik");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
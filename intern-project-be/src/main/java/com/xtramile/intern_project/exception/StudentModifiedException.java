@@ -0,0 +1,11 @@
+package com.xtramile.intern_project.exception;
+
+/**
+ * The If-Match header of a write no longer matches the student
+ */
+public class StudentModifiedException extends RuntimeException {
+
+    public StudentModifiedException(String nomorInduk) {
+        super("Mahasiswa dengan nomor induk '" + nomorInduk + "' sudah diubah, muat ulang data sebelum menyimpan");
+    }
+}
@@ -0,0 +1,277 @@
+package com.xtramile.intern_project.json;
+
+import com.xtramile.intern_project.dto.ApiResponse;
+import com.xtramile.intern_project.dto.PagedResponse;
+import com.xtramile.intern_project.dto.PartialStudentDetailDTO;
+import com.xtramile.intern_project.dto.PartialStudentResponseDTO;
+import com.xtramile.intern_project.dto.StudentDetailDTO;
+import com.xtramile.intern_project.dto.StudentField;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractSmartHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static com.xtramile.intern_project.json.Utf8JsonOutput.ascii;
+
+/**
+ * Writes student pages and student details as JSON without going through
+ * Jackson: the field names are encoded once up front and the values go
+ * straight into a per-thread UTF-8 buffer. The bytes are the ones Jackson
+ * writes for the same response (same field order, null handling, escaping
+ * and date format), which StudentJsonHttpMessageConverterTest checks; that
+ * includes students narrowed with {@code ?fields=}.
+ * Everything else, request bodies included, is left to Jackson.
+ * <p>
+ * With virtual threads every request runs on a new thread, so the buffer is
+ * per request there.
+ */
+public class StudentJsonHttpMessageConverter extends AbstractSmartHttpMessageConverter<Object> {
+
+    private static final ThreadLocal<Utf8JsonOutput> OUTPUT = ThreadLocal.withInitial(Utf8JsonOutput::new);
+
+    // Envelope
+    private static final byte[] STATUS = ascii("{\"status\":");
+    private static final byte[] MESSAGE = ascii(",\"message\":");
+    private static final byte[] DATA = ascii(",\"data\":");
+    private static final byte[] META = ascii(",\"meta\":");
+    private static final byte[] TIMESTAMP = ascii(",\"timestamp\":");
+
+    // PageMeta, whose null fields are left out
+    private static final byte[] CURRENT_PAGE = ascii("\"currentPage\":");
+    private static final byte[] TOTAL_ITEMS = ascii("\"totalItems\":");
+    private static final byte[] TOTAL_PAGES = ascii("\"totalPages\":");
+    private static final byte[] PAGE_SIZE = ascii("\"pageSize\":");
+    private static final byte[] HAS_NEXT = ascii(",\"hasNext\":");
+    private static final byte[] HAS_PREVIOUS = ascii(",\"hasPrevious\":");
+    private static final byte[] NEXT_CURSOR = ascii(",\"nextCursor\":");
+    private static final byte[] COUNT_STRATEGY = ascii(",\"countStrategy\":");
+
+    // StudentResponseDTO and StudentDetailDTO
+    private static final byte[] NOMOR_INDUK = ascii("{\"nomorInduk\":");
+    private static final byte[] NAMA_DEPAN = ascii(",\"namaDepan\":");
+    private static final byte[] NAMA_BELAKANG = ascii(",\"namaBelakang\":");
+    private static final byte[] NAMA_LENGKAP = ascii(",\"namaLengkap\":");
+    private static final byte[] TANGGAL_LAHIR = ascii(",\"tanggalLahir\":");
+    private static final byte[] USIA = ascii(",\"usia\":");
+    private static final byte[] CREATED_AT = ascii(",\"createdAt\":");
+    private static final byte[] UPDATED_AT = ascii(",\"updatedAt\":");
+    
+    // Students narrowed with ?fields=, by StudentField ordinal
+    private static final byte[][] FIELD_NAMES = Arrays.stream(StudentField.values())
+        .map(field -> ascii("\"" + field.getJsonName() + "\":"))
+        .toArray(byte[][]::new);
+
+    public StudentJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == PagedResponse.class || clazz == ApiResponse.class;
+    }
+
+    @Override
+    public boolean canRead(ResolvableType type, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * Only pages of StudentResponseDTO and ApiResponse of StudentDetailDTO
+     */
+    @Override
+    public boolean canWrite(ResolvableType targetType, Class<?> valueClass, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType type = targetType.resolve() == valueClass ? targetType : ResolvableType.forClass(valueClass);
+        Class<?> data = type.getGeneric(0).resolve();
+        return valueClass == PagedResponse.class && data == StudentResponseDTO.class
+            || valueClass == ApiResponse.class && data == StudentDetailDTO.class;
+    }
+
+    @Override
+    public Object read(ResolvableType type, HttpInputMessage inputMessage, Map<String, Object> hints) {
+        throw new HttpMessageNotReadableException("Student responses are read by Jackson", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, ResolvableType type, HttpOutputMessage outputMessage,
+                                 Map<String, Object> hints) throws IOException {
+        write(value, outputMessage.getBody());
+    }
+
+    /**
+     * The JSON of a page or detail response, onto the stream
+     */
+    static void write(Object value, OutputStream stream) throws IOException {
+        Utf8JsonOutput output = OUTPUT.get();
+        output.start(stream);
+        try {
+            if (value instanceof PagedResponse<?> page) {
+                writePage(output, page);
+            } else {
+                writeDetailResponse(output, (ApiResponse<?>) value);
+            }
+        } finally {
+            output.finish();
+        }
+    }
+
+    private static void writePage(Utf8JsonOutput output, PagedResponse<?> page) throws IOException {
+        output.writeRaw(STATUS);
+        output.writeString(page.getStatus());
+        output.writeRaw(MESSAGE);
+        output.writeString(page.getMessage());
+        output.writeRaw(DATA);
+        List<?> data = page.getData();
+        if (data == null) {
+            output.writeNull();
+        } else {
+            output.writeByte((byte) '[');
+            for (int i = 0; i < data.size(); i++) {
+                if (i > 0) {
+                    output.writeByte((byte) ',');
+                }
+                writeStudent(output, (StudentResponseDTO) data.get(i));
+            }
+            output.writeByte((byte) ']');
+        }
+        output.writeRaw(META);
+        writeMeta(output, page.getMeta());
+        output.writeRaw(TIMESTAMP);
+        output.writeDateTime(page.getTimestamp());
+        output.writeByte((byte) '}');
+    }
+
+    private static void writeStudent(Utf8JsonOutput output, StudentResponseDTO student) throws IOException {
+        if (student == null) {
+            output.writeNull();
+            return;
+        }
+        if (student instanceof PartialStudentResponseDTO partial) {
+            writePartialStudent(output, partial.getStudent());
+            return;
+        }
+        output.writeRaw(NOMOR_INDUK);
+        output.writeString(student.getNomorInduk());
+        output.writeRaw(NAMA_LENGKAP);
+        output.writeString(student.getNamaLengkap());
+        output.writeRaw(USIA);
+        writeInteger(output, student.getUsia());
+        output.writeByte((byte) '}');
+    }
+
+    private static void writeMeta(Utf8JsonOutput output, PagedResponse.PageMeta meta) throws IOException {
+        if (meta == null) {
+            output.writeNull();
+            return;
+        }
+        output.writeByte((byte) '{');
+        // pageSize is never null, so it always follows a comma when one of these came first
+        if (meta.getCurrentPage() != null) {
+            output.writeRaw(CURRENT_PAGE);
+            output.writeInt(meta.getCurrentPage());
+            output.writeByte((byte) ',');
+        }
+        if (meta.getTotalItems() != null) {
+            output.writeRaw(TOTAL_ITEMS);
+            output.writeLong(meta.getTotalItems());
+            output.writeByte((byte) ',');
+        }
+        if (meta.getTotalPages() != null) {
+            output.writeRaw(TOTAL_PAGES);
+            output.writeInt(meta.getTotalPages());
+            output.writeByte((byte) ',');
+        }
+        output.writeRaw(PAGE_SIZE);
+        output.writeInt(meta.getPageSize());
+        output.writeRaw(HAS_NEXT);
+        output.writeBoolean(meta.isHasNext());
+        output.writeRaw(HAS_PREVIOUS);
+        output.writeBoolean(meta.isHasPrevious());
+        if (meta.getNextCursor() != null) {
+            output.writeRaw(NEXT_CURSOR);
+            output.writeString(meta.getNextCursor());
+        }
+        if (meta.getCountStrategy() != null) {
+            output.writeRaw(COUNT_STRATEGY);
+            output.writeString(meta.getCountStrategy());
+        }
+        output.writeByte((byte) '}');
+    }
+
+    private static void writeDetailResponse(Utf8JsonOutput output, ApiResponse<?> response) throws IOException {
+        output.writeRaw(STATUS);
+        output.writeString(response.getStatus());
+        output.writeRaw(MESSAGE);
+        output.writeString(response.getMessage());
+        output.writeRaw(DATA);
+        StudentDetailDTO student = (StudentDetailDTO) response.getData();
+        if (student == null) {
+            output.writeNull();
+        } else if (student instanceof PartialStudentDetailDTO partial) {
+            writePartialStudent(output, partial);
+        } else {
+            output.writeRaw(NOMOR_INDUK);
+            output.writeString(student.getNomorInduk());
+            output.writeRaw(NAMA_DEPAN);
+            output.writeString(student.getNamaDepan());
+            output.writeRaw(NAMA_BELAKANG);
+            output.writeString(student.getNamaBelakang());
+            output.writeRaw(NAMA_LENGKAP);
+            output.writeString(student.getNamaLengkap());
+            output.writeRaw(TANGGAL_LAHIR);
+            output.writeDate(student.getTanggalLahir());
+            output.writeRaw(USIA);
+            writeInteger(output, student.getUsia());
+            output.writeRaw(CREATED_AT);
+            output.writeDateTime(student.getCreatedAt());
+            output.writeRaw(UPDATED_AT);
+            output.writeDateTime(student.getUpdatedAt());
+            output.writeByte((byte) '}');
+        }
+        output.writeRaw(TIMESTAMP);
+        output.writeDateTime(response.getTimestamp());
+        output.writeByte((byte) '}');
+    }
+
+    /**
+     * The requested fields only, as PartialStudentDetailDTO's Jackson serializer writes them
+     */
+    private static void writePartialStudent(Utf8JsonOutput output, PartialStudentDetailDTO student) throws IOException {
+        output.writeByte((byte) '{');
+        boolean first = true;
+        for (StudentField field : student.getFields()) {
+            if (!first) {
+                output.writeByte((byte) ',');
+            }
+            first = false;
+            output.writeRaw(FIELD_NAMES[field.ordinal()]);
+            switch (field) {
+                case TANGGAL_LAHIR -> output.writeDate(student.getTanggalLahir());
+                case USIA -> writeInteger(output, student.getUsia());
+                case CREATED_AT -> output.writeDateTime(student.getCreatedAt());
+                case UPDATED_AT -> output.writeDateTime(student.getUpdatedAt());
+                default -> output.writeString((String) field.read(student));
+            }
+        }
+        output.writeByte((byte) '}');
+    }
+    
+    private static void writeInteger(Utf8JsonOutput output, Integer value) throws IOException {
+        if (value == null) {
+            output.writeNull();
+        } else {
+            output.writeInt(value);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.xtramile.intern_project.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * JSON values as UTF-8 into a fixed buffer that is written to the stream
+ * whenever it fills up. Strings are escaped as Jackson escapes them, and
+ * dates and date-times come out as ISO-8601 text as Jackson writes them, so
+ * the bytes match the Jackson output for the same values.
+ */
+final class Utf8JsonOutput {
+
+    static final int BUFFER_SIZE = 8192;
+
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+    private static final byte[] MIN_LONG = ascii(Long.toString(Long.MIN_VALUE));
+
+    // Per ASCII character: 0 as is, 'u' as \\u00XX, otherwise the character after the backslash
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = 'u';
+        }
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+    }
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private OutputStream stream;
+
+    void start(OutputStream stream) {
+        this.stream = stream;
+        this.position = 0;
+    }
+
+    /**
+     * Writes what is left in the buffer and lets go of the stream
+     */
+    void finish() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            stream = null;
+            position = 0;
+        }
+    }
+
+    /**
+     * A fragment encoded up front, such as a field name with its quotes and colon
+     */
+    void writeRaw(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                stream.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    void writeByte(byte b) throws IOException {
+        ensure(1);
+        buffer[position++] = b;
+    }
+
+    void writeNull() throws IOException {
+        writeRaw(NULL);
+    }
+
+    void writeBoolean(boolean value) throws IOException {
+        writeRaw(value ? TRUE : FALSE);
+    }
+
+    void writeString(String value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        writeByte((byte) '"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                byte escape = ESCAPES[c];
+                if (escape == 0) {
+                    ensure(1);
+                    buffer[position++] = (byte) c;
+                } else if (escape == 'u') {
+                    writeUnicodeEscape(c);
+                } else {
+                    ensure(2);
+                    buffer[position++] = '\\';
+                    buffer[position++] = escape;
+                }
+            } else if (c < 0x800) {
+                ensure(2);
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                ensure(4);
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired: not encodable in UTF-8, escaped as Jackson does
+                writeUnicodeEscape(c);
+            } else {
+                ensure(3);
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        writeByte((byte) '"');
+    }
+
+    void writeInt(int value) throws IOException {
+        writeLong(value);
+    }
+
+    void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeRaw(MIN_LONG);
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = digits(value);
+        writeDigits(value, position += digits, digits);
+    }
+
+    /**
+     * yyyy-MM-dd, quoted
+     */
+    void writeDate(LocalDate date) throws IOException {
+        if (date == null) {
+            writeNull();
+            return;
+        }
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            writeString(DateTimeFormatter.ISO_LOCAL_DATE.format(date));
+            return;
+        }
+        ensure(12);
+        buffer[position++] = '"';
+        writeDateDigits(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+        buffer[position++] = '"';
+    }
+
+    /**
+     * yyyy-MM-ddTHH:mm:ss followed by the fraction of a second without its
+     * trailing zeros, if any, quoted
+     */
+    void writeDateTime(LocalDateTime dateTime) throws IOException {
+        if (dateTime == null) {
+            writeNull();
+            return;
+        }
+        if (dateTime.getYear() < 0 || dateTime.getYear() > 9999) {
+            writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+            return;
+        }
+        ensure(32);
+        buffer[position++] = '"';
+        writeDateDigits(dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth());
+        buffer[position++] = 'T';
+        writeDigits(dateTime.getHour(), position += 2, 2);
+        buffer[position++] = ':';
+        writeDigits(dateTime.getMinute(), position += 2, 2);
+        buffer[position++] = ':';
+        writeDigits(dateTime.getSecond(), position += 2, 2);
+        int nano = dateTime.getNano();
+        if (nano != 0) {
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            buffer[position++] = '.';
+            writeDigits(nano, position += width, width);
+        }
+        buffer[position++] = '"';
+    }
+
+    private void writeDateDigits(int year, int month, int day) {
+        writeDigits(year, position += 4, 4);
+        buffer[position++] = '-';
+        writeDigits(month, position += 2, 2);
+        buffer[position++] = '-';
+        writeDigits(day, position += 2, 2);
+    }
+
+    /**
+     * The last width decimal digits of value, zero-padded, ending before end
+     */
+    private void writeDigits(long value, int end, int width) {
+        for (int i = end - 1; i >= end - width; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private void writeUnicodeEscape(char c) throws IOException {
+        ensure(6);
+        buffer[position++] = '\\';
+        buffer[position++] = 'u';
+        buffer[position++] = HEX[c >> 12];
+        buffer[position++] = HEX[(c >> 8) & 0xF];
+        buffer[position++] = HEX[(c >> 4) & 0xF];
+        buffer[position++] = HEX[c & 0xF];
+    }
+
+    private void ensure(int length) throws IOException {
+        if (length > buffer.length - position) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            stream.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,330 @@
+package com.xtramile.intern_project.protobuf;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.xtramile.intern_project.dto.ApiResponse;
+import com.xtramile.intern_project.dto.ErrorResponseDTO;
+import com.xtramile.intern_project.dto.PagedResponse;
+import com.xtramile.intern_project.dto.PartialStudentDetailDTO;
+import com.xtramile.intern_project.dto.PartialStudentResponseDTO;
+import com.xtramile.intern_project.dto.StudentDetailDTO;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractSmartHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes student pages, student details and error responses as the
+ * StudentPage, StudentDetailResponse and ErrorResponse messages of
+ * src/main/proto/student.proto. The DTOs are encoded directly with
+ * CodedOutputStream instead of being copied into protoc-generated messages
+ * first: sizes are computed once, then the response is written into an
+ * array of exactly that length. Fields left out with {@code ?fields=} are
+ * null and therefore absent from the message.
+ * <p>
+ * Only handlers that list the protobuf types in produces use this converter,
+ * so a wildcard Accept header keeps getting JSON.
+ */
+public class StudentProtobufHttpMessageConverter extends AbstractSmartHttpMessageConverter<Object> {
+
+    public static final String APPLICATION_X_PROTOBUF_VALUE = "application/x-protobuf";
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/protobuf";
+
+    public StudentProtobufHttpMessageConverter() {
+        super(MediaType.parseMediaType(APPLICATION_X_PROTOBUF_VALUE), MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == PagedResponse.class || clazz == ApiResponse.class || clazz == ErrorResponseDTO.class;
+    }
+
+    @Override
+    public boolean canRead(ResolvableType type, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * None, so that the protobuf types are never picked for a wildcard Accept
+     * header ahead of JSON: converters are consulted in registration order and
+     * custom ones come first
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return List.of();
+    }
+
+    /**
+     * Only the response types the schema describes: pages of StudentResponseDTO,
+     * ApiResponse of StudentDetailDTO and ErrorResponseDTO
+     */
+    @Override
+    public boolean canWrite(ResolvableType targetType, Class<?> valueClass, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType type = targetType.resolve() == valueClass ? targetType : ResolvableType.forClass(valueClass);
+        Class<?> data = type.getGeneric(0).resolve();
+        return valueClass == ErrorResponseDTO.class
+            || valueClass == PagedResponse.class && data == StudentResponseDTO.class
+            || valueClass == ApiResponse.class && data == StudentDetailDTO.class;
+    }
+
+    @Override
+    public Object read(ResolvableType type, HttpInputMessage inputMessage, Map<String, Object> hints) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, ResolvableType type, HttpOutputMessage outputMessage,
+                                 Map<String, Object> hints) throws IOException {
+        byte[] bytes = encode(value);
+        outputMessage.getHeaders().setContentLength(bytes.length);
+        outputMessage.getBody().write(bytes);
+    }
+
+    /**
+     * The message for a page, detail or error response
+     */
+    static byte[] encode(Object value) throws IOException {
+        if (value instanceof PagedResponse<?> page) {
+            return encodePage(page);
+        }
+        if (value instanceof ApiResponse<?> response) {
+            return encodeDetailResponse(response);
+        }
+        return encodeError((ErrorResponseDTO) value);
+    }
+
+    // StudentPage
+
+    private static byte[] encodePage(PagedResponse<?> page) throws IOException {
+        List<?> data = page.getData() != null ? page.getData() : List.of();
+        int[] studentSizes = new int[data.size()];
+        String timestamp = format(page.getTimestamp());
+
+        int size = stringSize(1, page.getStatus()) + stringSize(2, page.getMessage()) + stringSize(5, timestamp);
+        for (int i = 0; i < studentSizes.length; i++) {
+            studentSizes[i] = studentSize((StudentResponseDTO) data.get(i));
+            size += messageSize(3, studentSizes[i]);
+        }
+        PagedResponse.PageMeta meta = page.getMeta();
+        int metaSize = meta != null ? metaSize(meta) : 0;
+        if (meta != null) {
+            size += messageSize(4, metaSize);
+        }
+
+        byte[] bytes = new byte[size];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        writeString(output, 1, page.getStatus());
+        writeString(output, 2, page.getMessage());
+        for (int i = 0; i < studentSizes.length; i++) {
+            writeMessageHeader(output, 3, studentSizes[i]);
+            writeStudent(output, (StudentResponseDTO) data.get(i));
+        }
+        if (meta != null) {
+            writeMessageHeader(output, 4, metaSize);
+            writeMeta(output, meta);
+        }
+        writeString(output, 5, timestamp);
+        output.checkNoSpaceLeft();
+        return bytes;
+    }
+
+    private static int studentSize(StudentResponseDTO student) {
+        int size = stringSize(1, student.getNomorInduk())
+            + stringSize(2, student.getNamaLengkap())
+            + (student.getUsia() != null ? CodedOutputStream.computeInt32Size(3, student.getUsia()) : 0);
+        if (student instanceof PartialStudentResponseDTO partial) {
+            // Detail fields requested with ?fields=; those not requested are null and left out
+            PartialStudentDetailDTO detail = partial.getStudent();
+            size += stringSize(4, detail.getNamaDepan())
+                + stringSize(5, detail.getNamaBelakang())
+                + stringSize(6, format(detail.getTanggalLahir()))
+                + stringSize(7, format(detail.getCreatedAt()))
+                + stringSize(8, format(detail.getUpdatedAt()));
+        }
+        return size;
+    }
+
+    private static void writeStudent(CodedOutputStream output, StudentResponseDTO student) throws IOException {
+        writeString(output, 1, student.getNomorInduk());
+        writeString(output, 2, student.getNamaLengkap());
+        if (student.getUsia() != null) {
+            output.writeInt32(3, student.getUsia());
+        }
+        if (student instanceof PartialStudentResponseDTO partial) {
+            PartialStudentDetailDTO detail = partial.getStudent();
+            writeString(output, 4, detail.getNamaDepan());
+            writeString(output, 5, detail.getNamaBelakang());
+            writeString(output, 6, format(detail.getTanggalLahir()));
+            writeString(output, 7, format(detail.getCreatedAt()));
+            writeString(output, 8, format(detail.getUpdatedAt()));
+        }
+    }
+
+    private static int metaSize(PagedResponse.PageMeta meta) {
+        int size = 0;
+        if (meta.getCurrentPage() != null) {
+            size += CodedOutputStream.computeInt32Size(1, meta.getCurrentPage());
+        }
+        if (meta.getTotalItems() != null) {
+            size += CodedOutputStream.computeInt64Size(2, meta.getTotalItems());
+        }
+        if (meta.getTotalPages() != null) {
+            size += CodedOutputStream.computeInt32Size(3, meta.getTotalPages());
+        }
+        if (meta.getPageSize() != 0) {
+            size += CodedOutputStream.computeInt32Size(4, meta.getPageSize());
+        }
+        if (meta.isHasNext()) {
+            size += CodedOutputStream.computeBoolSize(5, true);
+        }
+        if (meta.isHasPrevious()) {
+            size += CodedOutputStream.computeBoolSize(6, true);
+        }
+        return size + stringSize(7, meta.getNextCursor()) + stringSize(8, meta.getCountStrategy());
+    }
+
+    private static void writeMeta(CodedOutputStream output, PagedResponse.PageMeta meta) throws IOException {
+        if (meta.getCurrentPage() != null) {
+            output.writeInt32(1, meta.getCurrentPage());
+        }
+        if (meta.getTotalItems() != null) {
+            output.writeInt64(2, meta.getTotalItems());
+        }
+        if (meta.getTotalPages() != null) {
+            output.writeInt32(3, meta.getTotalPages());
+        }
+        if (meta.getPageSize() != 0) {
+            output.writeInt32(4, meta.getPageSize());
+        }
+        if (meta.isHasNext()) {
+            output.writeBool(5, true);
+        }
+        if (meta.isHasPrevious()) {
+            output.writeBool(6, true);
+        }
+        writeString(output, 7, meta.getNextCursor());
+        writeString(output, 8, meta.getCountStrategy());
+    }
+
+    // StudentDetailResponse
+
+    private static byte[] encodeDetailResponse(ApiResponse<?> response) throws IOException {
+        StudentDetailDTO student = (StudentDetailDTO) response.getData();
+        String timestamp = format(response.getTimestamp());
+        String tanggalLahir = format(student != null ? student.getTanggalLahir() : null);
+        String createdAt = format(student != null ? student.getCreatedAt() : null);
+        String updatedAt = format(student != null ? student.getUpdatedAt() : null);
+
+        int size = stringSize(1, response.getStatus()) + stringSize(2, response.getMessage())
+            + stringSize(4, timestamp);
+        int studentSize = 0;
+        if (student != null) {
+            studentSize = stringSize(1, student.getNomorInduk())
+                + stringSize(2, student.getNamaDepan())
+                + stringSize(3, student.getNamaBelakang())
+                + stringSize(4, student.getNamaLengkap())
+                + stringSize(5, tanggalLahir)
+                + (student.getUsia() != null ? CodedOutputStream.computeInt32Size(6, student.getUsia()) : 0)
+                + stringSize(7, createdAt)
+                + stringSize(8, updatedAt);
+            size += messageSize(3, studentSize);
+        }
+
+        byte[] bytes = new byte[size];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        writeString(output, 1, response.getStatus());
+        writeString(output, 2, response.getMessage());
+        if (student != null) {
+            writeMessageHeader(output, 3, studentSize);
+            writeString(output, 1, student.getNomorInduk());
+            writeString(output, 2, student.getNamaDepan());
+            writeString(output, 3, student.getNamaBelakang());
+            writeString(output, 4, student.getNamaLengkap());
+            writeString(output, 5, tanggalLahir);
+            if (student.getUsia() != null) {
+                output.writeInt32(6, student.getUsia());
+            }
+            writeString(output, 7, createdAt);
+            writeString(output, 8, updatedAt);
+        }
+        writeString(output, 4, timestamp);
+        output.checkNoSpaceLeft();
+        return bytes;
+    }
+
+    // ErrorResponse
+
+    private static byte[] encodeError(ErrorResponseDTO error) throws IOException {
+        String timestamp = format(error.getTimestamp());
+        List<String> errors = error.getErrors() != null ? error.getErrors() : List.of();
+
+        int size = stringSize(1, timestamp)
+            + (error.getStatus() != 0 ? CodedOutputStream.computeInt32Size(2, error.getStatus()) : 0)
+            + stringSize(3, error.getError())
+            + stringSize(4, error.getMessage())
+            + stringSize(5, error.getPath());
+        for (String message : errors) {
+            size += stringSize(6, message);
+        }
+
+        byte[] bytes = new byte[size];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        writeString(output, 1, timestamp);
+        if (error.getStatus() != 0) {
+            output.writeInt32(2, error.getStatus());
+        }
+        writeString(output, 3, error.getError());
+        writeString(output, 4, error.getMessage());
+        writeString(output, 5, error.getPath());
+        for (String message : errors) {
+            writeString(output, 6, message);
+        }
+        output.checkNoSpaceLeft();
+        return bytes;
+    }
+
+    // Wire helpers; absent (null) values are left out, as proto3 does for unset fields
+
+    private static int stringSize(int field, String value) {
+        return value != null ? CodedOutputStream.computeStringSize(field, value) : 0;
+    }
+
+    private static int messageSize(int field, int size) {
+        return CodedOutputStream.computeTagSize(field) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    private static void writeString(CodedOutputStream output, int field, String value) throws IOException {
+        if (value != null) {
+            output.writeString(field, value);
+        }
+    }
+
+    private static void writeMessageHeader(CodedOutputStream output, int field, int size) throws IOException {
+        output.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(size);
+    }
+
+    /**
+     * Same text as the JSON representation
+     */
+    private static String format(LocalDateTime dateTime) {
+        return dateTime != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime) : null;
+    }
+
+    private static String format(LocalDate date) {
+        return date != null ? DateTimeFormatter.ISO_LOCAL_DATE.format(date) : null;
+    }
+}
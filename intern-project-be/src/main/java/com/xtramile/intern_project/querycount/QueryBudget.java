@@ -0,0 +1,21 @@
+package com.xtramile.intern_project.querycount;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most SQL statements a controller handler (per request) or a service method
+ * (per call) is expected to run, instead of the configured default. Methods
+ * whose statement count grows with their input, like batch inserts, declare a
+ * budget for the largest input they accept.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface QueryBudget {
+
+    int value();
+}
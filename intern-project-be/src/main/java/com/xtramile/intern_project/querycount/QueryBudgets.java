@@ -0,0 +1,84 @@
+package com.xtramile.intern_project.querycount;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Statement budgets of HTTP requests and service methods
+ * (app.query-budget.enabled=true): a scope that ran more SQL statements than
+ * its {@link QueryBudget}, or the configured default, is logged with every
+ * statement and the application frames it came from, and counted in the
+ * sql.budget.exceeded metric. Nothing is rejected; the budgets are enforced by
+ * the query count tests.
+ */
+@Component
+@ConditionalOnProperty(name = "app.query-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgets {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgets.class);
+
+    private final int requestBudget;
+    private final int serviceMethodBudget;
+    private final MeterRegistry meterRegistry;
+    // Looked up once per method, not on every request or call
+    private final Map<Method, Integer> requestBudgets = new ConcurrentHashMap<>();
+    private final Map<Method, Integer> serviceMethodBudgets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public QueryBudgets(@Value("${app.query-budget.request:10}") int requestBudget,
+                        @Value("${app.query-budget.service-method:10}") int serviceMethodBudget,
+                        MeterRegistry meterRegistry) {
+        this.requestBudget = requestBudget;
+        this.serviceMethodBudget = serviceMethodBudget;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Budget of a request handled by the controller method
+     */
+    public int forRequest(Method handler) {
+        return requestBudgets.computeIfAbsent(handler, method -> budget(method, requestBudget));
+    }
+
+    /**
+     * Budget of one call of the service method
+     */
+    public int forServiceMethod(Method method) {
+        return serviceMethodBudgets.computeIfAbsent(method, key -> budget(key, serviceMethodBudget));
+    }
+
+    /**
+     * Log the closed scope if it went over its budget, unless a scope nested in
+     * it already reported the same statements
+     */
+    public void check(QueryCounter.Scope scope) {
+        if (scope.getCount() <= scope.getBudget() || !scope.markReported()) {
+            return;
+        }
+        Counter.builder("sql.budget.exceeded")
+            .description("Requests and service method calls that ran more SQL statements than their budget")
+            .tag("scope", scope.getName())
+            .register(meterRegistry)
+            .increment();
+        log.warn("Query budget of {} exceeded: {}", scope.getBudget(), scope.describe());
+    }
+
+    private static int budget(Method method, int defaultBudget) {
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(method, QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), QueryBudget.class);
+        }
+        return budget != null ? budget.value() : defaultBudget;
+    }
+}
@@ -0,0 +1,173 @@
+package com.xtramile.intern_project.querycount;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * SQL statements run by the current thread, counted in nested scopes: an HTTP
+ * request, a service method called by it, or a test. Statements are reported
+ * by {@link QueryCountingStatementInspector}, so everything Hibernate runs is
+ * counted (repositories, JPQL, native queries, sequence calls, inserts and
+ * updates; a JDBC batch counts once) but plain JdbcTemplate calls are not.
+ * Statements run outside any open scope cost one ThreadLocal lookup, within
+ * budget one increment per open scope; the SQL and the code that ran it are
+ * only kept by a scope past its budget, or by a test's scope.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private static final String APPLICATION_PACKAGE = "com.xtramile.intern_project.";
+    private static final String OWN_PACKAGE = QueryCounter.class.getPackageName() + ".";
+    private static final int CALL_SITE_FRAMES = 3;
+    private static final int MAX_SQL_LENGTH = 200;
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Start counting the statements of the current thread under {@code name},
+     * also still counting them for the scopes already open; close in reverse
+     * order. Keeps every statement, for tests.
+     */
+    public static Scope open(String name) {
+        return open(name, 0);
+    }
+
+    /**
+     * {@link #open(String)} keeping only the statements run after the first
+     * {@code budget}, so a scope within budget costs a counter
+     */
+    public static Scope open(String name, int budget) {
+        Scope scope = new Scope(name, budget, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void record(String sql) {
+        Scope scope = CURRENT.get();
+        Statement statement = null;
+        for (; scope != null; scope = scope.parent) {
+            if (++scope.count > scope.budget) {
+                // Where it was run from is looked up once, and only for a scope past its budget
+                if (statement == null) {
+                    statement = new Statement(sql, callSite());
+                }
+                scope.statements.add(statement);
+            }
+        }
+    }
+
+    /**
+     * The innermost application frames that led to the statement, e.g.
+     * StudentService.update:262 &lt;- StudentController.updateStudent:337
+     */
+    private static String callSite() {
+        return STACK_WALKER.walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                && !frame.getClassName().startsWith(OWN_PACKAGE)
+                && !frame.getClassName().contains("$$"))
+            .limit(CALL_SITE_FRAMES)
+            .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+            .collect(Collectors.joining(" <- ")));
+    }
+
+    /**
+     * One statement and where it was run from
+     */
+    public record Statement(String sql, String callSite) {
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final String name;
+        private final int budget;
+        private final Scope parent;
+        private final List<Statement> statements = new ArrayList<>();
+        private int count;
+        private boolean reported;
+
+        private Scope(String name, int budget, Scope parent) {
+            this.name = name;
+            this.budget = budget;
+            this.parent = parent;
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() != this) {
+                throw new IllegalStateException("Query count scope " + name + " is not the innermost open scope");
+            }
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+
+        /**
+         * Marks this scope and the enclosing ones as reported, so that one
+         * offence is logged once, by the innermost scope over its budget
+         */
+        boolean markReported() {
+            if (reported) {
+                return false;
+            }
+            for (Scope scope = this; scope != null; scope = scope.parent) {
+                scope.reported = true;
+            }
+            return true;
+        }
+
+        /**
+         * Statements kept, those past the budget, grouped by SQL and call
+         * site, most repeated first: a statement repeated once per row of an
+         * earlier query is an N+1
+         */
+        public String describe() {
+            Map<Statement, Integer> repeats = new LinkedHashMap<>();
+            statements.forEach(statement -> repeats.merge(statement, 1, Integer::sum));
+            StringBuilder description = new StringBuilder(name).append(" ran ").append(count)
+                .append(" SQL statement(s)");
+            if (statements.size() < count) {
+                description.append(", those after the first ").append(count - statements.size()).append(':');
+            }
+            repeats.entrySet().stream()
+                .sorted(Map.Entry.<Statement, Integer>comparingByValue().reversed())
+                .forEach(entry -> description.append("\n  ").append(entry.getValue()).append("x ")
+                    .append(abbreviate(entry.getKey().sql())).append("\n      at ").append(entry.getKey().callSite()));
+            return description.toString();
+        }
+
+        private static String abbreviate(String sql) {
+            String singleLine = sql.replaceAll("\\s+", " ").trim();
+            return singleLine.length() <= MAX_SQL_LENGTH ? singleLine : singleLine.substring(0, MAX_SQL_LENGTH) + "...";
+        }
+
+        // Getters
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getBudget() {
+            return budget;
+        }
+
+        /**
+         * The statements kept: all of them for a test's scope, else those past the budget
+         */
+        public List<Statement> getStatements() {
+            return List.copyOf(statements);
+        }
+    }
+}
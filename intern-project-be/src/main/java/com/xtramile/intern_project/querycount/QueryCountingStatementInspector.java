@@ -0,0 +1,20 @@
+package com.xtramile.intern_project.querycount;
+
+import com.xtramile.intern_project.querymonitor.RepositoryCall;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate hands every SQL statement to this inspector before preparing it
+ * (hibernate.session_factory.statement_inspector); it is passed on unchanged
+ * and counted for the scopes open on the current thread. The repository call
+ * running on the thread keeps it for the slow query log.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql);
+        RepositoryCall.record(sql);
+        return sql;
+    }
+}
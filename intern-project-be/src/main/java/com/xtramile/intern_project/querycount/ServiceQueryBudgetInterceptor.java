@@ -0,0 +1,38 @@
+package com.xtramile.intern_project.querycount;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+
+/**
+ * Counts the SQL statements of each call of a service method, named like
+ * StudentService.update, including those run when its transaction commits,
+ * and checks the count against the method's budget.
+ */
+public class ServiceQueryBudgetInterceptor implements MethodInterceptor {
+
+    // Looked up on first use: advisors are created before most beans can be
+    private final ObjectProvider<QueryBudgets> budgets;
+
+    public ServiceQueryBudgetInterceptor(ObjectProvider<QueryBudgets> budgets) {
+        this.budgets = budgets;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(),
+            AopUtils.getTargetClass(invocation.getThis()));
+        QueryBudgets queryBudgets = budgets.getObject();
+        QueryCounter.Scope scope = QueryCounter.open(method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+            queryBudgets.forServiceMethod(method));
+        try {
+            return invocation.proceed();
+        } finally {
+            scope.close();
+            queryBudgets.check(scope);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.xtramile.intern_project.querymonitor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The repository method call running on the current thread and the first SQL
+ * statements it ran, handed over by the statement inspector, so that a slow
+ * call can be reported with its SQL.
+ */
+public final class RepositoryCall {
+
+    static final int MAX_STATEMENTS = 5;
+
+    private static final ThreadLocal<RepositoryCall> CURRENT = new ThreadLocal<>();
+
+    private final RepositoryCall outer;
+    private String[] statements;
+    private int statementCount;
+
+    private RepositoryCall(RepositoryCall outer) {
+        this.outer = outer;
+    }
+
+    static RepositoryCall start() {
+        RepositoryCall call = new RepositoryCall(CURRENT.get());
+        CURRENT.set(call);
+        return call;
+    }
+
+    /**
+     * Records a statement for the repository call running on the current
+     * thread, if there is one
+     */
+    public static void record(String sql) {
+        RepositoryCall call = CURRENT.get();
+        if (call == null) {
+            return;
+        }
+        if (call.statements == null) {
+            call.statements = new String[MAX_STATEMENTS];
+        }
+        if (call.statementCount < MAX_STATEMENTS) {
+            call.statements[call.statementCount] = sql;
+        }
+        call.statementCount++;
+    }
+
+    void end() {
+        CURRENT.set(outer);
+    }
+
+    // Getters
+    /**
+     * The first {@value #MAX_STATEMENTS} statements
+     */
+    List<String> getStatements() {
+        return statements == null ? List.of()
+            : Arrays.asList(statements).subList(0, Math.min(statementCount, MAX_STATEMENTS));
+    }
+
+    int getStatementCount() {
+        return statementCount;
+    }
+}
@@ -0,0 +1,97 @@
+package com.xtramile.intern_project.querymonitor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Added to a repository proxy: records the rows each method returns
+ * (repository.rows; latency is Boot's spring.data.repository.invocations) and
+ * hands calls slower than the threshold to the {@link SlowQueryLog}. Calls
+ * under the threshold cost two clock reads, a thread-local swap and one
+ * summary update.
+ */
+public class RepositoryMonitorInterceptor implements MethodInterceptor {
+
+    private final String repository;
+    private final MeterRegistry meterRegistry;
+    private final SlowQueryLog slowQueryLog;
+    private final long thresholdNanos;
+    private final ConcurrentMap<Method, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    public RepositoryMonitorInterceptor(String repository, MeterRegistry meterRegistry, SlowQueryLog slowQueryLog) {
+        this.repository = repository;
+        this.meterRegistry = meterRegistry;
+        this.slowQueryLog = slowQueryLog;
+        this.thresholdNanos = slowQueryLog.getThresholdNanos();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        RepositoryCall call = RepositoryCall.start();
+        long start = System.nanoTime();
+        long rows = -1;
+        try {
+            Object result = invocation.proceed();
+            if (method.getReturnType() == void.class) {
+                return result;
+            }
+            if (result instanceof Stream<?> stream) {
+                // Counted as the caller consumes it
+                DistributionSummary summary = rowSummary(method);
+                long[] streamed = new long[1];
+                return stream.peek(row -> streamed[0]++).onClose(() -> summary.record(streamed[0]));
+            }
+            rows = rows(result);
+            rowSummary(method).record(rows);
+            return result;
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            call.end();
+            if (durationNanos >= thresholdNanos) {
+                slowQueryLog.capture(repository + "." + method.getName(), invocation.getArguments(), durationNanos,
+                    rows, call);
+            }
+        }
+    }
+
+    private DistributionSummary rowSummary(Method method) {
+        DistributionSummary summary = rowSummaries.get(method);
+        if (summary == null) {
+            summary = rowSummaries.computeIfAbsent(method, key -> DistributionSummary.builder("repository.rows")
+                .description("Rows returned by a repository method call")
+                .baseUnit("rows")
+                .tag("repository", repository)
+                .tag("method", key.getName())
+                .register(meterRegistry));
+        }
+        return summary;
+    }
+
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        // An entity, a projection, or a single value such as a count
+        return 1;
+    }
+}
@@ -0,0 +1,35 @@
+package com.xtramile.intern_project.querymonitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Adds a {@link RepositoryMonitorInterceptor} to every Spring Data repository
+ * proxy as the repository is created.
+ */
+public class RepositoryMonitorPostProcessor implements BeanPostProcessor {
+
+    // Looked up when the first repository is created: post-processors are created before most beans can be
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    public RepositoryMonitorPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                          ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+            repositoryFactoryBean.addRepositoryFactoryCustomizer(repositoryFactory ->
+                repositoryFactory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                    proxyFactory.addAdvice(new RepositoryMonitorInterceptor(
+                        repositoryInformation.getRepositoryInterface().getSimpleName(),
+                        meterRegistry.getObject(), slowQueryLog.getObject()))));
+        }
+        return bean;
+    }
+}
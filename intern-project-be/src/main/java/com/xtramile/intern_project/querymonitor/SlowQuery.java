@@ -0,0 +1,94 @@
+package com.xtramile.intern_project.querymonitor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A repository method call that took longer than the slow query threshold.
+ * Only the SQL with its placeholders and the kind of each argument are kept,
+ * never the values, which may be personal data.
+ */
+public final class SlowQuery {
+
+    private final long sequence;
+    private final LocalDateTime occurredAt;
+    private final String method;
+    private final List<String> arguments;
+    private final long durationNanos;
+    private final long rows;
+    private final List<String> statements;
+    private final int statementCount;
+    // Filled in by the sampled EXPLAIN, after the entry is published
+    private volatile List<String> plans;
+
+    // Constructors
+    SlowQuery(long sequence, LocalDateTime occurredAt, String method, List<String> arguments, long durationNanos,
+              long rows, List<String> statements, int statementCount) {
+        this.sequence = sequence;
+        this.occurredAt = occurredAt;
+        this.method = method;
+        this.arguments = arguments;
+        this.durationNanos = durationNanos;
+        this.rows = rows;
+        this.statements = statements;
+        this.statementCount = statementCount;
+    }
+
+    // Getters and Setters
+    long getSequence() {
+        return sequence;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    /**
+     * Repository and method, e.g. StudentRepository.findRows
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Redacted arguments: the type of each, with the length of strings and
+     * collections; paging and sorting as given
+     */
+    public List<String> getArguments() {
+        return arguments;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Rows returned, or -1 when not known when the method returned (streams)
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * The first statements run by the call, as sent to the database
+     */
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * Generic plan of each of the statements when this call was sampled for
+     * EXPLAIN, otherwise null
+     */
+    public List<String> getPlans() {
+        return plans;
+    }
+
+    void setPlans(List<String> plans) {
+        this.plans = plans;
+    }
+}
@@ -0,0 +1,184 @@
+package com.xtramile.intern_project.querymonitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The last {@code app.repository-monitor.slow-capacity} repository calls that
+ * took longer than {@code app.repository-monitor.slow-threshold}, in a
+ * lock-free ring buffer: a writer claims a sequence number and overwrites the
+ * oldest slot, readers skip slots overwritten while they read. Every
+ * {@code explain-every}th slow call is explained in the background, one at a
+ * time, as a prepared statement forced onto its generic plan, so no argument
+ * values are needed.
+ */
+@Component
+@ConditionalOnProperty(name = "app.repository-monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static final String EXPLAINED_STATEMENT = "slow_query_explain";
+
+    private final long thresholdNanos;
+    private final int explainEvery;
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicReferenceArray<SlowQuery> slots;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean explaining = new AtomicBoolean();
+    private final Executor executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public SlowQueryLog(@Value("${app.repository-monitor.slow-threshold:PT0.1S}") Duration threshold,
+                        @Value("${app.repository-monitor.slow-capacity:100}") int capacity,
+                        @Value("${app.repository-monitor.explain-every:10}") int explainEvery,
+                        JdbcTemplate jdbcTemplate) {
+        this.thresholdNanos = threshold.toNanos();
+        this.explainEvery = explainEvery;
+        this.jdbcTemplate = jdbcTemplate;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    long getThresholdNanos() {
+        return thresholdNanos;
+    }
+
+    void capture(String method, Object[] arguments, long durationNanos, long rows, RepositoryCall call) {
+        long number = sequence.getAndIncrement();
+        SlowQuery slowQuery = new SlowQuery(number, LocalDateTime.now(), method, redact(arguments), durationNanos,
+            rows, List.copyOf(call.getStatements()), call.getStatementCount());
+        slots.set((int) (number % slots.length()), slowQuery);
+        log.warn("Slow repository call {} took {} ms ({} SQL statement(s))",
+            method, durationNanos / 1_000_000, call.getStatementCount());
+
+        if (explainEvery > 0 && number % explainEvery == 0 && !slowQuery.getStatements().isEmpty()
+                && explaining.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    slowQuery.setPlans(slowQuery.getStatements().stream().map(this::explain).toList());
+                } finally {
+                    explaining.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Most recent first
+     */
+    public List<SlowQuery> recent(int limit) {
+        long next = sequence.get();
+        List<SlowQuery> recent = new ArrayList<>();
+        for (long number = next - 1; number >= Math.max(0, next - slots.length()) && recent.size() < limit; number--) {
+            SlowQuery slowQuery = slots.get((int) (number % slots.length()));
+            // Not written yet by its writer, or already overwritten by a newer call
+            if (slowQuery != null && slowQuery.getSequence() == number) {
+                recent.add(slowQuery);
+            }
+        }
+        return recent;
+    }
+
+    private String explain(String sql) {
+        String statement = sql.strip().toLowerCase(Locale.ROOT);
+        if (!statement.startsWith("select") && !statement.startsWith("with")) {
+            return null;
+        }
+        Numbered numbered = numberPlaceholders(sql);
+        String arguments = String.join(", ", Collections.nCopies(numbered.parameters(), "NULL"));
+        try {
+            // The plan for unknown parameter values; PREPARE and the setting are undone before the connection goes back
+            return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+                try (Statement jdbcStatement = connection.createStatement()) {
+                    jdbcStatement.execute("PREPARE " + EXPLAINED_STATEMENT + " AS " + numbered.sql());
+                    try {
+                        jdbcStatement.execute("SET plan_cache_mode = force_generic_plan");
+                        List<String> plan = new ArrayList<>();
+                        try (ResultSet rows = jdbcStatement.executeQuery("EXPLAIN EXECUTE " + EXPLAINED_STATEMENT
+                                + (arguments.isEmpty() ? "" : "(" + arguments + ")"))) {
+                            while (rows.next()) {
+                                plan.add(rows.getString(1));
+                            }
+                        }
+                        return String.join("\n", plan);
+                    } finally {
+                        jdbcStatement.execute("RESET plan_cache_mode");
+                        jdbcStatement.execute("DEALLOCATE " + EXPLAINED_STATEMENT);
+                    }
+                }
+            });
+        } catch (DataAccessException e) {
+            return "EXPLAIN failed: " + e.getMostSpecificCause().getMessage();
+        }
+    }
+
+    /**
+     * JDBC's ? placeholders as PostgreSQL's $1, $2, ..., leaving string literals alone
+     */
+    static Numbered numberPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        boolean inLiteral = false;
+        int parameter = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return new Numbered(numbered.toString(), parameter);
+    }
+
+    record Numbered(String sql, int parameters) {
+    }
+
+    /**
+     * The kind of each argument without its value; paging and sorting are kept
+     * since they shape the query
+     */
+    static List<String> redact(Object[] arguments) {
+        List<String> redacted = new ArrayList<>(arguments.length);
+        for (Object argument : arguments) {
+            if (argument == null) {
+                redacted.add("null");
+            } else if (argument instanceof Pageable || argument instanceof Sort) {
+                redacted.add(argument.toString());
+            } else if (argument instanceof CharSequence text) {
+                redacted.add("String(" + text.length() + ")");
+            } else if (argument instanceof Collection<?> collection) {
+                redacted.add(argument.getClass().getSimpleName() + "(" + collection.size() + ")");
+            } else {
+                redacted.add(argument.getClass().getSimpleName());
+            }
+        }
+        return redacted;
+    }
+}
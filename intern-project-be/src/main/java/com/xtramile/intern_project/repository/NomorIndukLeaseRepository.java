@@ -0,0 +1,183 @@
+package com.xtramile.intern_project.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Block leases of nomor induk sequences shared by all backend instances.
+ * Tables: nomor_induk_counters, nomor_induk_leases, nomor_induk_reclaimed
+ * (see scripts/init-db.sql).
+ */
+@Repository
+public class NomorIndukLeaseRepository {
+
+    /**
+     * Create the year's counter after the highest existing sequence, and put the
+     * gaps below it into the reclaimed pool. Does nothing if the counter exists.
+     */
+    private static final String SEED_YEAR = """
+        WITH seeded AS (
+            INSERT INTO nomor_induk_counters (tahun, next_sequence)
+            SELECT :year, COALESCE(MAX(CAST(SUBSTRING(nomor_induk FROM 5) AS INTEGER)), 0) + 1
+            FROM students
+            WHERE nomor_induk LIKE :prefix AND nomor_induk ~ '^[0-9]{7}$'
+            ON CONFLICT (tahun) DO NOTHING
+            RETURNING next_sequence
+        )
+        INSERT INTO nomor_induk_reclaimed (tahun, sequence)
+        SELECT :year, g.seq
+        FROM seeded, generate_series(1, seeded.next_sequence - 1) AS g(seq)
+        WHERE NOT EXISTS (
+            SELECT 1 FROM students s WHERE s.nomor_induk = :yearText || LPAD(g.seq::text, 3, '0'))
+        ON CONFLICT DO NOTHING
+        """;
+
+    /**
+     * Move up to :limit reclaimed sequences into single-number leases of this
+     * node, lowest sequence first
+     */
+    private static final String LEASE_RECLAIMED = """
+        WITH claimed AS (
+            DELETE FROM nomor_induk_reclaimed
+            WHERE (tahun, sequence) IN (
+                SELECT tahun, sequence FROM nomor_induk_reclaimed
+                WHERE tahun = :year
+                ORDER BY sequence
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            RETURNING tahun, sequence
+        ),
+        leased AS (
+            INSERT INTO nomor_induk_leases (node_id, tahun, range_start, range_end, expires_at)
+            SELECT :nodeId, tahun, sequence, sequence + 1, CURRENT_TIMESTAMP + make_interval(secs => :ttlSeconds)
+            FROM claimed
+            RETURNING id, range_start
+        )
+        SELECT id, range_start FROM leased ORDER BY range_start
+        """;
+
+    /**
+     * Advance the year's counter by up to :size (capped at 999) and lease the block
+     */
+    private static final String LEASE_BLOCK = """
+        WITH block AS (
+            UPDATE nomor_induk_counters c
+            SET next_sequence = LEAST(c.next_sequence + :size, :maxSequence + 1)
+            FROM (SELECT tahun, next_sequence FROM nomor_induk_counters WHERE tahun = :year FOR UPDATE) old
+            WHERE c.tahun = old.tahun AND old.next_sequence <= :maxSequence
+            RETURNING old.next_sequence AS range_start, c.next_sequence AS range_end
+        )
+        INSERT INTO nomor_induk_leases (node_id, tahun, range_start, range_end, expires_at)
+        SELECT :nodeId, :year, range_start, range_end, CURRENT_TIMESTAMP + make_interval(secs => :ttlSeconds)
+        FROM block
+        RETURNING id, range_start, range_end
+        """;
+
+    private static final String RETURN_SEQUENCES = """
+        INSERT INTO nomor_induk_reclaimed (tahun, sequence)
+        SELECT :year, seq FROM unnest(ARRAY[:sequences]::INTEGER[]) AS seq
+        ON CONFLICT DO NOTHING
+        """;
+
+    /**
+     * Drop leases past their expiry (plus grace) and reclaim every sequence in
+     * them that did not end up in the students table. Leases whose sequences all
+     * ended up there are dropped before expiry: an owner only moves on from a
+     * block once it is used up, so those would otherwise linger for the whole ttl.
+     */
+    private static final String SWEEP_EXPIRED = """
+        WITH expired AS (
+            DELETE FROM nomor_induk_leases l
+            WHERE l.expires_at < CURRENT_TIMESTAMP - make_interval(secs => :graceSeconds)
+               OR NOT EXISTS (
+                    SELECT 1 FROM generate_series(l.range_start, l.range_end - 1) AS g(seq)
+                    WHERE NOT EXISTS (
+                        SELECT 1 FROM students s WHERE s.nomor_induk = l.tahun::text || LPAD(g.seq::text, 3, '0')))
+            RETURNING tahun, range_start, range_end
+        )
+        INSERT INTO nomor_induk_reclaimed (tahun, sequence)
+        SELECT e.tahun, g.seq
+        FROM expired e, generate_series(e.range_start, e.range_end - 1) AS g(seq)
+        WHERE NOT EXISTS (
+            SELECT 1 FROM students s WHERE s.nomor_induk = e.tahun::text || LPAD(g.seq::text, 3, '0'))
+        ON CONFLICT DO NOTHING
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public NomorIndukLeaseRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void seedYear(int year) {
+        String yearText = String.valueOf(year);
+        jdbcTemplate.update(SEED_YEAR, new MapSqlParameterSource()
+            .addValue("year", year)
+            .addValue("yearText", yearText)
+            .addValue("prefix", yearText + "%"));
+    }
+
+    public List<Lease> leaseReclaimed(int year, int limit, String nodeId, Duration ttl) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("year", year)
+            .addValue("limit", limit)
+            .addValue("nodeId", nodeId)
+            .addValue("ttlSeconds", ttl.toSeconds());
+        return jdbcTemplate.query(LEASE_RECLAIMED, params, (rs, rowNum) -> {
+            int sequence = rs.getInt("range_start");
+            return new Lease(rs.getLong("id"), sequence, sequence + 1);
+        });
+    }
+
+    /**
+     * @return the leased block, or null when the year has no sequences left
+     */
+    public Lease leaseBlock(int year, int size, int maxSequence, String nodeId, Duration ttl) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("year", year)
+            .addValue("size", size)
+            .addValue("maxSequence", maxSequence)
+            .addValue("nodeId", nodeId)
+            .addValue("ttlSeconds", ttl.toSeconds());
+        List<Lease> leases = jdbcTemplate.query(LEASE_BLOCK, params, (rs, rowNum) ->
+            new Lease(rs.getLong("id"), rs.getInt("range_start"), rs.getInt("range_end")));
+        return leases.isEmpty() ? null : leases.get(0);
+    }
+
+    /**
+     * Put sequences into the reclaimed pool
+     */
+    public void reclaim(int year, List<Integer> sequences) {
+        if (sequences.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(RETURN_SEQUENCES, new MapSqlParameterSource()
+            .addValue("year", year)
+            .addValue("sequences", sequences));
+    }
+
+    public void deleteLeases(List<Long> leaseIds) {
+        if (leaseIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM nomor_induk_leases WHERE id IN (:ids)",
+            new MapSqlParameterSource("ids", leaseIds));
+    }
+
+    public int sweepExpired(Duration grace) {
+        return jdbcTemplate.update(SWEEP_EXPIRED,
+            new MapSqlParameterSource("graceSeconds", grace.toSeconds()));
+    }
+
+    /**
+     * Leased sequences [rangeStart, rangeEnd)
+     */
+    public record Lease(long id, int rangeStart, int rangeEnd) {
+    }
+}
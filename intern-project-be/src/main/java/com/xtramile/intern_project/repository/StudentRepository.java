@@ -1,18 +1,28 @@
 package com.xtramile.intern_project.repository;
 
+import com.xtramile.intern_project.dto.StudentExportRow;
+import com.xtramile.intern_project.dto.StudentIndexRow;
 import com.xtramile.intern_project.model.Student;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
     
     /**
      * Find student by nomor induk (unique identifier)
@@ -20,17 +30,30 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByNomorInduk(String nomorInduk);
     
     /**
-     * Check if student with nomor induk exists
+     * Find student by nomor induk and lock its row until the transaction ends
      */
-    boolean existsByNomorInduk(String nomorInduk);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Student s WHERE s.nomorInduk = :nomorInduk")
+    Optional<Student> findForUpdateByNomorInduk(@Param("nomorInduk") String nomorInduk);
+    
+    /**
+     * Last modification time of a student (creation time if never updated),
+     * without loading the row into an entity
+     */
+    @Query("SELECT COALESCE(s.updatedAt, s.createdAt) FROM Student s WHERE s.nomorInduk = :nomorInduk")
+    Optional<LocalDateTime> findUpdatedAtByNomorInduk(@Param("nomorInduk") String nomorInduk);
     
     /**
-     * Search students by name (first name or last name)
+     * Write version of the students table (see V3__students_version.sql) as
+     * the current transaction sees it
      */
-    @Query("SELECT s FROM Student s WHERE " +
-           "LOWER(s.namaDepan) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(s.namaBelakang) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<Student> searchByName(@Param("keyword") String keyword, Pageable pageable);
+    @Query(value = "SELECT CAST(COALESCE(SUM(version), 0) AS BIGINT) FROM students_version", nativeQuery = true)
+    long findTableVersion();
+    
+    /**
+     * Check if student with nomor induk exists
+     */
+    boolean existsByNomorInduk(String nomorInduk);
     
     /**
      * Count students with nomor induk starting with given prefix
@@ -49,4 +72,36 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
      * Find all students with pagination
      */
     Page<Student> findAll(Pageable pageable);
+    
+    /**
+     * All students in id order for export, read through a forward-only cursor,
+     * 1000 rows per round trip.
+     * Must be consumed (and closed) inside a transaction so PostgreSQL honours the fetch size.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.xtramile.intern_project.dto.StudentExportRow(" +
+           "s.nomorInduk, s.namaDepan, s.namaBelakang, s.tanggalLahir) FROM Student s ORDER BY s.id")
+    Stream<StudentExportRow> streamAllForExport();
+    
+    /**
+     * All students for the in-memory name search index, streamed like {@link #streamAllForExport}
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.xtramile.intern_project.dto.StudentIndexRow(" +
+           "s.id, s.nomorInduk, s.namaDepan, s.namaBelakang, s.tanggalLahir) FROM Student s ORDER BY s.id")
+    Stream<StudentIndexRow> streamAllForIndex();
+    
+    /**
+     * Current state of the given students for the in-memory name search index
+     */
+    @Query("SELECT new com.xtramile.intern_project.dto.StudentIndexRow(" +
+           "s.id, s.nomorInduk, s.namaDepan, s.namaBelakang, s.tanggalLahir) FROM Student s " +
+           "WHERE s.nomorInduk IN :nomorInduk")
+    List<StudentIndexRow> findIndexRowsByNomorInduk(@Param("nomorInduk") Collection<String> nomorInduk);
 }
@@ -0,0 +1,110 @@
+package com.xtramile.intern_project.repository;
+
+import com.xtramile.intern_project.dto.BirthDateRange;
+import com.xtramile.intern_project.dto.PartialStudentDetailDTO;
+import com.xtramile.intern_project.dto.PartialStudentResponseDTO;
+import com.xtramile.intern_project.dto.StudentCursor;
+import com.xtramile.intern_project.dto.StudentField;
+import com.xtramile.intern_project.dto.StudentIndexRow;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Queries of {@link StudentRepository} that Spring Data cannot derive
+ */
+public interface StudentRepositoryCustom {
+    
+    /**
+     * Sort property of {@link #searchByFullName} ordering by similarity to the keyword
+     */
+    String SORT_RELEVANCE = "relevance";
+    
+    /**
+     * Student properties listings can be sorted by
+     */
+    Set<String> SORT_PROPERTIES = Set.of("id", "nomorInduk", "namaDepan", "namaBelakang", "tanggalLahir",
+        "createdAt", "updatedAt");
+    
+    /**
+     * List rows of the students, optionally filtered by name keyword (LIKE on
+     * nama depan or nama belakang) and birth date range, without a count query.
+     * Usia is counted up to {@code today}.
+     */
+    Slice<StudentResponseDTO> findRows(String keyword, BirthDateRange range, LocalDate today, Pageable pageable);
+    
+    /**
+     * {@link #findRows} narrowed to the requested fields: only their columns are
+     * selected, nama lengkap and usia are computed only when requested. The rows
+     * are {@link PartialStudentResponseDTO}s.
+     */
+    Slice<StudentResponseDTO> findRows(String keyword, BirthDateRange range, LocalDate today, Pageable pageable,
+                                       Set<StudentField> fields);
+    
+    /**
+     * Number of students matched by {@link #findRows}
+     */
+    long countRows(String keyword, BirthDateRange range);
+    
+    /**
+     * Up to {@code limit} students after the cursor position (keyset pagination),
+     * optionally filtered like {@link #findRows}
+     */
+    List<StudentIndexRow> findAfter(StudentCursor cursor, String keyword, BirthDateRange range, int limit);
+    
+    /**
+     * PostgreSQL planner estimate of {@link #countRows}; -1 when the table has
+     * no statistics yet
+     */
+    long estimateCount(String keyword, BirthDateRange range);
+    
+    /**
+     * Students whose full name ("nama depan nama belakang") contains the keyword,
+     * served by the pg_trgm index idx_students_nama_lengkap_trgm. Besides the
+     * student properties, the pageable may sort by {@link #SORT_RELEVANCE}.
+     * Optionally restricted to a birth date range.
+     */
+    Slice<StudentResponseDTO> searchByFullName(String keyword, BirthDateRange range, LocalDate today,
+                                               Pageable pageable);
+    
+    /**
+     * {@link #searchByFullName} narrowed to the requested fields like
+     * {@link #findRows(String, BirthDateRange, LocalDate, Pageable, Set)}
+     */
+    Slice<StudentResponseDTO> searchByFullName(String keyword, BirthDateRange range, LocalDate today,
+                                               Pageable pageable, Set<StudentField> fields);
+    
+    /**
+     * Number of students matched by {@link #searchByFullName}
+     */
+    long countByFullName(String keyword, BirthDateRange range);
+    
+    /**
+     * PostgreSQL planner estimate of {@link #countByFullName}; -1 when unknown
+     */
+    long estimateCountByFullName(String keyword, BirthDateRange range);
+    
+    /**
+     * {@link #findAfter} matching the keyword on the full name like
+     * {@link #searchByFullName}
+     */
+    List<StudentIndexRow> findAfterByFullName(StudentCursor cursor, String keyword, BirthDateRange range, int limit);
+    
+    /**
+     * The requested fields of one student, plus its last modification time for the ETag
+     */
+    Optional<PartialStudentDetailDTO> findFieldsByNomorInduk(String nomorInduk, Set<StudentField> fields,
+                                                             LocalDate today);
+    
+    /**
+     * List rows with the requested fields for students already read as index
+     * rows, in the same order. Computed from the index rows unless a timestamp
+     * is requested, which takes one query by primary key for the whole list.
+     */
+    List<StudentResponseDTO> completeRows(List<StudentIndexRow> rows, Set<StudentField> fields, LocalDate today);
+}
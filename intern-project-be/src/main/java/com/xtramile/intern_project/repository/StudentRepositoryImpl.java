@@ -0,0 +1,536 @@
+package com.xtramile.intern_project.repository;
+
+import com.xtramile.intern_project.dto.BirthDateRange;
+import com.xtramile.intern_project.dto.PartialStudentDetailDTO;
+import com.xtramile.intern_project.dto.PartialStudentResponseDTO;
+import com.xtramile.intern_project.dto.StudentCursor;
+import com.xtramile.intern_project.dto.StudentDetailDTO;
+import com.xtramile.intern_project.dto.StudentField;
+import com.xtramile.intern_project.dto.StudentIndexRow;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset pagination: {@code WHERE (sort_col, id) > (?, ?) ORDER BY sort_col, id LIMIT ?},
+ * so every page is an index range scan no matter how deep it is.
+ * Full-name search: native queries on the expression indexed by idx_students_nama_lengkap_trgm.
+ * Birth date ranges become plain bounds on tanggal_lahir, served by idx_tanggal_lahir;
+ * a bound is only written into the query when present, so each query shape gets its own plan.
+ * Reads narrowed with {@code ?fields=} select only the requested fields' columns and expressions.
+ * All read projections, never managed entities.
+ */
+public class StudentRepositoryImpl implements StudentRepositoryCustom {
+    
+    private static final String NAMA_BELAKANG = "namaBelakang";
+    
+    private static final String TABLE_ROW_ESTIMATE =
+        "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass('students')";
+    
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+    
+    /**
+     * Indexed expression of migration V2__trigram_name_search.sql; must match it exactly
+     */
+    public static final String FULL_NAME = "lower(nama_depan || ' ' || coalesce(nama_belakang, ''))";
+    
+    /**
+     * Nama lengkap joined like {@link com.xtramile.intern_project.model.Student#getNamaLengkap()}
+     */
+    private static final String NAMA_LENGKAP_EXPRESSION =
+        "CASE WHEN s.namaBelakang IS NULL OR TRIM(s.namaBelakang) = '' THEN s.namaDepan " +
+        "ELSE CONCAT(s.namaDepan, ' ', s.namaBelakang) END";
+    
+    /**
+     * Usia in whole years up to {@code :today} like
+     * {@link com.xtramile.intern_project.model.Student#getUsia()}
+     * ({@code :today} is cast so PostgreSQL knows its type)
+     */
+    private static final String USIA_EXPRESSION =
+        "YEAR(CAST(:today AS LocalDate)) - YEAR(s.tanggalLahir) - " +
+        "CASE WHEN MONTH(s.tanggalLahir) * 100 + DAY(s.tanggalLahir) > " +
+        "MONTH(CAST(:today AS LocalDate)) * 100 + DAY(CAST(:today AS LocalDate)) THEN 1 ELSE 0 END";
+    
+    /**
+     * JPQL projection onto StudentResponseDTO, so list pages read three values per
+     * row instead of managed entities
+     */
+    private static final String RESPONSE_ROW = "SELECT new com.xtramile.intern_project.dto.StudentResponseDTO(" +
+        "s.nomorInduk, " + NAMA_LENGKAP_EXPRESSION + ", " + USIA_EXPRESSION + ") FROM Student s";
+    
+    private static final String NAME_MATCH = "(LOWER(s.namaDepan) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+        "LOWER(s.namaBelakang) LIKE LOWER(CONCAT('%', :keyword, '%')))";
+    
+    private static final String NAMA_LENGKAP_COLUMN = "CASE WHEN nama_belakang IS NULL OR trim(nama_belakang) = '' " +
+        "THEN nama_depan ELSE nama_depan || ' ' || nama_belakang END";
+    
+    private static final String USIA_COLUMN = "CAST(extract(year FROM age(CAST(:today AS date), tanggal_lahir)) AS integer)";
+    
+    /**
+     * Native counterpart of RESPONSE_ROW: nomor induk, nama lengkap, usia on :today
+     */
+    private static final String RESPONSE_COLUMNS = "nomor_induk, " + NAMA_LENGKAP_COLUMN + ", " + USIA_COLUMN;
+    
+    /**
+     * What each field of a {@code ?fields=} read selects, in JPQL and in SQL;
+     * only usia needs {@code :today}
+     */
+    private static final Map<StudentField, String> FIELD_EXPRESSIONS = new EnumMap<>(Map.of(
+        StudentField.NOMOR_INDUK, "s.nomorInduk",
+        StudentField.NAMA_DEPAN, "s.namaDepan",
+        StudentField.NAMA_BELAKANG, "s.namaBelakang",
+        StudentField.NAMA_LENGKAP, NAMA_LENGKAP_EXPRESSION,
+        StudentField.TANGGAL_LAHIR, "s.tanggalLahir",
+        StudentField.USIA, USIA_EXPRESSION,
+        StudentField.CREATED_AT, "s.createdAt",
+        StudentField.UPDATED_AT, "s.updatedAt"));
+    
+    private static final Map<StudentField, String> FIELD_COLUMNS = new EnumMap<>(Map.of(
+        StudentField.NOMOR_INDUK, "nomor_induk",
+        StudentField.NAMA_DEPAN, "nama_depan",
+        StudentField.NAMA_BELAKANG, "nama_belakang",
+        StudentField.NAMA_LENGKAP, NAMA_LENGKAP_COLUMN,
+        StudentField.TANGGAL_LAHIR, "tanggal_lahir",
+        StudentField.USIA, USIA_COLUMN,
+        StudentField.CREATED_AT, "created_at",
+        StudentField.UPDATED_AT, "updated_at"));
+    
+    /**
+     * Keyword match of keyset pages on each name, like NAME_MATCH
+     */
+    private static final String KEYSET_NAME_MATCH =
+        "(LOWER(s.namaDepan) LIKE :pattern OR LOWER(s.namaBelakang) LIKE :pattern)";
+    
+    /**
+     * Keyword match of keyset pages on the full name, the JPQL form of FULL_NAME
+     */
+    private static final String KEYSET_FULL_NAME_MATCH =
+        "LOWER(CONCAT(s.namaDepan, ' ', COALESCE(s.namaBelakang, ''))) LIKE :pattern";
+    
+    private static final String INDEX_ROW = "SELECT new com.xtramile.intern_project.dto.StudentIndexRow(" +
+        "s.id, s.nomorInduk, s.namaDepan, s.namaBelakang, s.tanggalLahir) FROM Student s";
+    
+    /**
+     * Columns of the {@link #SORT_PROPERTIES}
+     */
+    private static final Map<String, String> COLUMNS = Map.of(
+        "id", "id",
+        "nomorInduk", "nomor_induk",
+        "namaDepan", "nama_depan",
+        "namaBelakang", "nama_belakang",
+        "tanggalLahir", "tanggal_lahir",
+        "createdAt", "created_at",
+        "updatedAt", "updated_at");
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Slice<StudentResponseDTO> findRows(String keyword, BirthDateRange range, LocalDate today,
+                                              Pageable pageable) {
+        TypedQuery<StudentResponseDTO> query = entityManager.createQuery(
+                RESPONSE_ROW + where(keyword, range) + orderBy(pageable), StudentResponseDTO.class)
+            .setParameter("today", today);
+        bind(query, keyword, range);
+        limit(query, pageable);
+        return slice(query.getResultList(), pageable);
+    }
+    
+    @Override
+    public Slice<StudentResponseDTO> findRows(String keyword, BirthDateRange range, LocalDate today,
+                                              Pageable pageable, Set<StudentField> fields) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+            "SELECT " + select(FIELD_EXPRESSIONS, fields) + " FROM Student s" + where(keyword, range)
+                + orderBy(pageable), Object[].class);
+        bindToday(query, fields, today);
+        bind(query, keyword, range);
+        limit(query, pageable);
+        return slice(rows(query.getResultList(), fields), pageable);
+    }
+    
+    @Override
+    public long countRows(String keyword, BirthDateRange range) {
+        TypedQuery<Long> query = entityManager.createQuery(
+            "SELECT COUNT(s) FROM Student s" + where(keyword, range), Long.class);
+        bind(query, keyword, range);
+        return query.getSingleResult();
+    }
+    
+    @Override
+    public List<StudentIndexRow> findAfter(StudentCursor cursor, String keyword, BirthDateRange range, int limit) {
+        return keyset(cursor, KEYSET_NAME_MATCH, keyword, range, limit);
+    }
+    
+    @Override
+    public List<StudentIndexRow> findAfterByFullName(StudentCursor cursor, String keyword, BirthDateRange range,
+                                                     int limit) {
+        return keyset(cursor, KEYSET_FULL_NAME_MATCH, keyword, range, limit);
+    }
+    
+    /**
+     * Keyset page with the keyword, when there is one, bound as :pattern into the given match
+     */
+    private List<StudentIndexRow> keyset(StudentCursor cursor, String match, String keyword, BirthDateRange range,
+                                         int limit) {
+        String nameMatch = keyword == null ? null : match;
+        String column = "s." + cursor.getSortField();
+        String comparison = cursor.isDescending() ? " < " : " > ";
+        String direction = cursor.isDescending() ? " DESC" : " ASC";
+        boolean bounded = !cursor.isStart();
+        
+        if (!NAMA_BELAKANG.equals(cursor.getSortField())) {
+            String condition = bounded ? "(" + column + ", s.id)" + comparison + "(:value, :id)" : null;
+            return fetch(cursor, nameMatch, keyword, range, condition, column + direction + ", s.id" + direction,
+                bounded, bounded, limit);
+        }
+        
+        // Nama belakang is nullable and PostgreSQL sorts NULLs last ascending, first descending.
+        // Rows with and without a value are read as two segments, each an ordered index range,
+        // instead of one "OR IS NULL" predicate that no index can serve in order.
+        boolean[] segments = cursor.isDescending() ? new boolean[] {false, true} : new boolean[] {true, false};
+        int first = bounded && (cursor.getValue() == null) == segments[0] ? 1 : 0;
+        
+        List<StudentIndexRow> students = new ArrayList<>(limit);
+        for (int i = first; i < segments.length && students.size() < limit; i++) {
+            boolean withValue = segments[i];
+            boolean boundedSegment = bounded && i == first;
+            String condition;
+            String orderBy;
+            if (withValue) {
+                condition = column + " IS NOT NULL"
+                    + (boundedSegment ? " AND (" + column + ", s.id)" + comparison + "(:value, :id)" : "");
+                orderBy = column + direction + ", s.id" + direction;
+            } else {
+                condition = column + " IS NULL" + (boundedSegment ? " AND s.id" + comparison + ":id" : "");
+                orderBy = "s.id" + direction;
+            }
+            students.addAll(fetch(cursor, nameMatch, keyword, range, condition, orderBy,
+                boundedSegment && withValue, boundedSegment, limit - students.size()));
+        }
+        return students;
+    }
+    
+    @Override
+    public long estimateCount(String keyword, BirthDateRange range) {
+        if (keyword == null && range.isUnbounded()) {
+            List<?> estimate = entityManager.createNativeQuery(TABLE_ROW_ESTIMATE).getResultList();
+            // reltuples is -1 until the table is first vacuumed or analyzed
+            return estimate.isEmpty() || estimate.get(0) == null ? -1 : ((Number) estimate.get(0)).longValue();
+        }
+        List<String> predicates = new ArrayList<>(3);
+        if (keyword != null) {
+            predicates.add("(LOWER(nama_depan) LIKE :pattern OR LOWER(nama_belakang) LIKE :pattern)");
+        }
+        addRange(predicates, "tanggal_lahir", range);
+        return plannedRows("EXPLAIN SELECT 1 FROM students WHERE " + String.join(" AND ", predicates),
+            keyword, range);
+    }
+    
+    @Override
+    public Slice<StudentResponseDTO> searchByFullName(String keyword, BirthDateRange range, LocalDate today,
+                                                      Pageable pageable) {
+        Query query = entityManager.createNativeQuery(
+                "SELECT " + RESPONSE_COLUMNS + fullNameMatch(range) + fullNameOrderBy(pageable))
+            .setParameter("today", today);
+        bindFullNameMatch(query, keyword, range, pageable);
+        List<StudentResponseDTO> students = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            students.add(new StudentResponseDTO((String) columns[0], (String) columns[1],
+                ((Number) columns[2]).intValue()));
+        }
+        return slice(students, pageable);
+    }
+    
+    @Override
+    public Slice<StudentResponseDTO> searchByFullName(String keyword, BirthDateRange range, LocalDate today,
+                                                      Pageable pageable, Set<StudentField> fields) {
+        Query query = entityManager.createNativeQuery(
+            "SELECT " + select(FIELD_COLUMNS, fields) + fullNameMatch(range) + fullNameOrderBy(pageable));
+        bindToday(query, fields, today);
+        bindFullNameMatch(query, keyword, range, pageable);
+        List<Object[]> rows = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            // A single selected column comes back on its own, not in an array
+            rows.add(row instanceof Object[] columns ? columns : new Object[] {row});
+        }
+        return slice(rows(rows, fields), pageable);
+    }
+    
+    @Override
+    public long countByFullName(String keyword, BirthDateRange range) {
+        Query query = entityManager.createNativeQuery("SELECT COUNT(*)" + fullNameMatch(range))
+            .setParameter("pattern", pattern(keyword));
+        bindRange(query, range);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+    
+    @Override
+    public long estimateCountByFullName(String keyword, BirthDateRange range) {
+        return plannedRows("EXPLAIN SELECT 1" + fullNameMatch(range), keyword, range);
+    }
+    
+    @Override
+    public Optional<PartialStudentDetailDTO> findFieldsByNomorInduk(String nomorInduk, Set<StudentField> fields,
+                                                                    LocalDate today) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT COALESCE(s.updatedAt, s.createdAt), " + select(FIELD_EXPRESSIONS, fields)
+                    + " FROM Student s WHERE s.nomorInduk = :nomorInduk", Object[].class)
+            .setParameter("nomorInduk", nomorInduk);
+        bindToday(query, fields, today);
+        return query.getResultList().stream().findFirst().map(columns -> {
+            PartialStudentDetailDTO student = student(columns, 1, fields);
+            student.setModifiedAt((LocalDateTime) columns[0]);
+            return student;
+        });
+    }
+    
+    @Override
+    public List<StudentResponseDTO> completeRows(List<StudentIndexRow> rows, Set<StudentField> fields,
+                                                 LocalDate today) {
+        if (!fields.contains(StudentField.CREATED_AT) && !fields.contains(StudentField.UPDATED_AT)) {
+            List<StudentResponseDTO> students = new ArrayList<>(rows.size());
+            for (StudentIndexRow row : rows) {
+                students.add(new PartialStudentResponseDTO(
+                    PartialStudentDetailDTO.of(StudentDetailDTO.fromEntity(row.toStudent()), fields)));
+            }
+            return students;
+        }
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "SELECT s.id, " + select(FIELD_EXPRESSIONS, fields) + " FROM Student s WHERE s.id IN :ids",
+                Object[].class)
+            .setParameter("ids", rows.stream().map(StudentIndexRow::getId).toList());
+        bindToday(query, fields, today);
+        Map<Long, PartialStudentDetailDTO> byId = new HashMap<>();
+        for (Object[] columns : query.getResultList()) {
+            byId.put((Long) columns[0], student(columns, 1, fields));
+        }
+        // In the order of the index rows; a student deleted in between is left out
+        List<StudentResponseDTO> students = new ArrayList<>(rows.size());
+        for (StudentIndexRow row : rows) {
+            PartialStudentDetailDTO student = byId.get(row.getId());
+            if (student != null) {
+                students.add(new PartialStudentResponseDTO(student));
+            }
+        }
+        return students;
+    }
+    
+    /**
+     * Row estimate of the top plan node of an EXPLAIN with the :pattern (if there
+     * is a keyword) and range parameters,
+     * e.g. "Seq Scan on students  (cost=0.00..2041.00 rows=1234 width=4)"
+     */
+    private long plannedRows(String explain, String keyword, BirthDateRange range) {
+        Query query = entityManager.createNativeQuery(explain);
+        if (keyword != null) {
+            query.setParameter("pattern", pattern(keyword));
+        }
+        bindRange(query, range);
+        List<?> plan = query.getResultList();
+        Matcher matcher = plan.isEmpty() ? null : PLAN_ROWS.matcher(String.valueOf(plan.get(0)));
+        return matcher != null && matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+    
+    private static String pattern(String keyword) {
+        return "%" + keyword.toLowerCase(Locale.ROOT) + "%";
+    }
+    
+    private static String fullNameMatch(BirthDateRange range) {
+        List<String> predicates = new ArrayList<>(3);
+        predicates.add(FULL_NAME + " LIKE :pattern");
+        addRange(predicates, "tanggal_lahir", range);
+        return " FROM students WHERE " + String.join(" AND ", predicates);
+    }
+    
+    /**
+     * ORDER BY of a full-name search: the pageable's sort, where relevance
+     * means word similarity to the keyword, then id
+     */
+    private static String fullNameOrderBy(Pageable pageable) {
+        // word_similarity: how well the keyword matches some part of the name, 1 for an exact word
+        return orderBy(pageable, COLUMNS::get, "word_similarity(:keyword, " + FULL_NAME + ") DESC", "id");
+    }
+    
+    private static void bindFullNameMatch(Query query, String keyword, BirthDateRange range, Pageable pageable) {
+        query.setParameter("pattern", pattern(keyword));
+        bindRange(query, range);
+        if (pageable.getSort().getOrderFor(SORT_RELEVANCE) != null) {
+            query.setParameter("keyword", keyword.toLowerCase(Locale.ROOT));
+        }
+        limit(query, pageable);
+    }
+    
+    /**
+     * ORDER BY of a JPQL listing: the pageable's sort, then id
+     */
+    private static String orderBy(Pageable pageable) {
+        return orderBy(pageable, property -> COLUMNS.containsKey(property) ? "s." + property : null, null, "s.id");
+    }
+    
+    /**
+     * ORDER BY of the pageable's sort, each property sorting by the column the
+     * mapping gives it (and relevance by the given expression, where supported),
+     * then by id: ties and unsorted pages go in id order so that pages do not overlap
+     */
+    private static String orderBy(Pageable pageable, Function<String, String> columns, String relevance, String id) {
+        List<String> orderBy = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            if (relevance != null && SORT_RELEVANCE.equals(order.getProperty())) {
+                orderBy.add(relevance);
+                continue;
+            }
+            String column = columns.apply(order.getProperty());
+            if (column == null) {
+                throw new InvalidStudentDataException("Sort tidak didukung: " + order.getProperty());
+            }
+            orderBy.add(column + (order.isDescending() ? " DESC" : " ASC"));
+        }
+        orderBy.add(id);
+        return " ORDER BY " + String.join(", ", orderBy);
+    }
+    
+    private static void limit(Query query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            // One extra row tells whether another page follows
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize() + 1);
+        }
+    }
+    
+    /**
+     * Select list of the requested fields, in the set's order
+     */
+    private static String select(Map<StudentField, String> expressions, Set<StudentField> fields) {
+        return fields.stream().map(expressions::get).collect(Collectors.joining(", "));
+    }
+    
+    /**
+     * :today is only in the query when usia was requested
+     */
+    private static void bindToday(Query query, Set<StudentField> fields, LocalDate today) {
+        if (fields.contains(StudentField.USIA)) {
+            query.setParameter("today", today);
+        }
+    }
+    
+    private static List<StudentResponseDTO> rows(List<Object[]> rows, Set<StudentField> fields) {
+        List<StudentResponseDTO> students = new ArrayList<>(rows.size());
+        for (Object[] columns : rows) {
+            students.add(new PartialStudentResponseDTO(student(columns, 0, fields)));
+        }
+        return students;
+    }
+    
+    /**
+     * Student from the requested fields' columns, starting at {@code first}
+     */
+    private static PartialStudentDetailDTO student(Object[] columns, int first, Set<StudentField> fields) {
+        PartialStudentDetailDTO student = new PartialStudentDetailDTO(fields);
+        int column = first;
+        for (StudentField field : fields) {
+            student.set(field, columns[column++]);
+        }
+        return student;
+    }
+    
+    private static String where(String keyword, BirthDateRange range) {
+        List<String> predicates = new ArrayList<>(3);
+        if (keyword != null) {
+            predicates.add(NAME_MATCH);
+        }
+        addRange(predicates, "s.tanggalLahir", range);
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+    
+    private static void bind(Query query, String keyword, BirthDateRange range) {
+        if (keyword != null) {
+            query.setParameter("keyword", keyword);
+        }
+        bindRange(query, range);
+    }
+    
+    /**
+     * Adds the bounds the range has on the given birth date column or attribute
+     */
+    private static void addRange(List<String> predicates, String tanggalLahir, BirthDateRange range) {
+        if (range.getFrom() != null) {
+            predicates.add(tanggalLahir + " >= :bornFrom");
+        }
+        if (range.getTo() != null) {
+            predicates.add(tanggalLahir + " <= :bornTo");
+        }
+    }
+    
+    private static void bindRange(Query query, BirthDateRange range) {
+        if (range.getFrom() != null) {
+            query.setParameter("bornFrom", range.getFrom());
+        }
+        if (range.getTo() != null) {
+            query.setParameter("bornTo", range.getTo());
+        }
+    }
+    
+    /**
+     * Page of rows read with one row beyond the page size
+     */
+    private static <T> Slice<T> slice(List<T> rows, Pageable pageable) {
+        boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+    
+    private List<StudentIndexRow> fetch(StudentCursor cursor, String nameMatch, String keyword, BirthDateRange range,
+                                        String condition, String orderBy, boolean bindValue, boolean bindId,
+                                        int limit) {
+        List<String> predicates = new ArrayList<>(4);
+        if (nameMatch != null) {
+            predicates.add(nameMatch);
+        }
+        addRange(predicates, "s.tanggalLahir", range);
+        if (condition != null) {
+            predicates.add(condition);
+        }
+        String jpql = INDEX_ROW
+            + (predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates))
+            + " ORDER BY " + orderBy;
+        
+        TypedQuery<StudentIndexRow> query = entityManager.createQuery(jpql, StudentIndexRow.class)
+            .setMaxResults(limit);
+        if (keyword != null) {
+            query.setParameter("pattern", pattern(keyword));
+        }
+        bindRange(query, range);
+        if (bindValue) {
+            query.setParameter("value", cursor.getValue());
+        }
+        if (bindId) {
+            query.setParameter("id", cursor.getId());
+        }
+        return query.getResultList();
+    }
+}
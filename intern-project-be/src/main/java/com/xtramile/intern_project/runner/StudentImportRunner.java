@@ -0,0 +1,76 @@
+package com.xtramile.intern_project.runner;
+
+import com.xtramile.intern_project.dto.StudentImportStatusDTO;
+import com.xtramile.intern_project.service.StudentImportJob;
+import com.xtramile.intern_project.service.StudentImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line import, for loading rosters without going through HTTP:
+ * <pre>
+ * java -jar intern-project.jar --spring.main.web-application-type=none \
+ *      --app.import.file=roster.csv [--app.import.format=csv|ndjson]
+ * </pre>
+ * The application exits when the import is done (exit code 1 if it failed).
+ */
+@Component
+@ConditionalOnProperty(name = "app.import.file")
+public class StudentImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentImportRunner.class);
+
+    private final StudentImportService studentImportService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final String format;
+
+    @Autowired
+    public StudentImportRunner(StudentImportService studentImportService,
+                               ConfigurableApplicationContext context,
+                               @Value("${app.import.file}") Path file,
+                               @Value("${app.import.format:}") String format) {
+        this.studentImportService = studentImportService;
+        this.context = context;
+        this.file = file;
+        this.format = format;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String importFormat = !format.isBlank() ? format
+            : file.getFileName().toString().endsWith(".csv") ? StudentImportService.FORMAT_CSV
+            : StudentImportService.FORMAT_NDJSON;
+
+        log.info("Importing students from {} ({})", file.toAbsolutePath(), importFormat);
+        int exitCode = 0;
+        try (InputStream input = Files.newInputStream(file)) {
+            StudentImportJob job = studentImportService.importStudents(importFormat, input);
+            StudentImportStatusDTO status = job.toStatusDTO();
+            log.info("Import {} done: {} rows read, {} imported, {} rejected, {} rows/s",
+                job.getId(), status.getRowsRead(), status.getRowsImported(), status.getRowsRejected(),
+                Math.round(status.getRowsPerSecond()));
+            if (job.getErrorReport() != null) {
+                log.warn("Rejected rows of import {} are listed in {}", job.getId(), job.getErrorReport());
+            }
+        } catch (RuntimeException e) {
+            log.error("Import from {} failed: {}", file.toAbsolutePath(), e.getMessage());
+            exitCode = 1;
+        }
+
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
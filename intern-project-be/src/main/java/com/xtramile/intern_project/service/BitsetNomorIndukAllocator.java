@@ -0,0 +1,200 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import com.xtramile.intern_project.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Hands out nomor induk from an in-memory bitset per year.
+ * The used sequences of a year are loaded from the database once; after that
+ * claiming and releasing a sequence is a CAS on a single 64-bit word.
+ * Only safe when this is the sole instance creating students.
+ */
+@Component
+@ConditionalOnProperty(name = "app.nomor-induk.allocator", havingValue = "memory", matchIfMissing = true)
+public class BitsetNomorIndukAllocator implements NomorIndukAllocator {
+
+    private final StudentRepository studentRepository;
+    private final ConcurrentMap<Integer, YearSequences> years = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BitsetNomorIndukAllocator(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * Claim the lowest free nomor induk of the current year
+     */
+    @Override
+    public String allocate() {
+        int year = Year.now().getValue();
+        int sequence = sequencesFor(year).claimLowest();
+        if (sequence < 0) {
+            throw new InvalidStudentDataException(
+                "Maximum number of students for year " + year + " has been reached (" + MAX_SEQUENCE + ")");
+        }
+        return NomorIndukAllocator.format(year, sequence);
+    }
+
+    /**
+     * Claims several sequences per CAS, lowest first
+     */
+    @Override
+    public List<String> allocate(int count) {
+        int year = Year.now().getValue();
+        int[] sequences = sequencesFor(year).claimLowest(count);
+        List<String> allocated = new ArrayList<>(sequences.length);
+        for (int sequence : sequences) {
+            allocated.add(NomorIndukAllocator.format(year, sequence));
+        }
+        return allocated;
+    }
+
+    @Override
+    public void release(String nomorInduk) {
+        int year = NomorIndukAllocator.parseYear(nomorInduk);
+        int sequence = NomorIndukAllocator.parseSequence(nomorInduk);
+        if (year < 0 || sequence < 0) {
+            return;
+        }
+        YearSequences sequences = years.get(year);
+        if (sequences != null) {
+            sequences.clear(sequence);
+        }
+    }
+
+    /**
+     * Released only after commit, so a concurrent create cannot reuse the
+     * number while the deleted row still exists
+     */
+    @Override
+    public void reclaim(String nomorInduk) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(nomorInduk);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(nomorInduk);
+            }
+        });
+    }
+
+    private YearSequences sequencesFor(int year) {
+        YearSequences sequences = years.get(year);
+        if (sequences != null) {
+            return sequences;
+        }
+        return years.computeIfAbsent(year, this::load);
+    }
+
+    private YearSequences load(int year) {
+        String yearPrefix = String.valueOf(year);
+        List<String> existingNomorInduk = studentRepository.findAllNomorIndukByPrefix(yearPrefix);
+
+        YearSequences sequences = new YearSequences();
+        for (String nomorInduk : existingNomorInduk) {
+            if (NomorIndukAllocator.parseYear(nomorInduk) == year) {
+                int sequence = NomorIndukAllocator.parseSequence(nomorInduk);
+                if (sequence >= 1) {
+                    sequences.set(sequence);
+                }
+            }
+        }
+        return sequences;
+    }
+
+    /**
+     * Bitset of used sequences 1..999 (bit 0 is permanently taken)
+     */
+    static final class YearSequences {
+
+        private static final int WORDS = (MAX_SEQUENCE + 64) / 64;
+
+        private final AtomicLongArray words = new AtomicLongArray(WORDS);
+
+        YearSequences() {
+            set(0);
+        }
+
+        int claimLowest() {
+            for (int w = 0; w < WORDS; w++) {
+                long current = words.get(w);
+                long free = ~current & validMask(w);
+                while (free != 0) {
+                    long bit = Long.lowestOneBit(free);
+                    if (words.compareAndSet(w, current, current | bit)) {
+                        return w * 64 + Long.numberOfTrailingZeros(bit);
+                    }
+                    current = words.get(w);
+                    free = ~current & validMask(w);
+                }
+            }
+            return -1;
+        }
+
+        int[] claimLowest(int count) {
+            int[] claimed = new int[count];
+            int n = 0;
+            for (int w = 0; w < WORDS && n < count; w++) {
+                long current = words.get(w);
+                long free = ~current & validMask(w);
+                while (free != 0 && n < count) {
+                    // Take as many of this word's lowest free bits as still needed
+                    long take = 0;
+                    long remaining = free;
+                    for (int k = n; k < count && remaining != 0; k++) {
+                        long bit = Long.lowestOneBit(remaining);
+                        take |= bit;
+                        remaining &= ~bit;
+                    }
+                    if (words.compareAndSet(w, current, current | take)) {
+                        while (take != 0) {
+                            claimed[n++] = w * 64 + Long.numberOfTrailingZeros(take);
+                            take &= take - 1;
+                        }
+                    }
+                    current = words.get(w);
+                    free = ~current & validMask(w);
+                }
+            }
+            return n == count ? claimed : Arrays.copyOf(claimed, n);
+        }
+
+        void set(int sequence) {
+            int w = sequence >>> 6;
+            long bit = 1L << sequence;
+            long current;
+            do {
+                current = words.get(w);
+            } while ((current & bit) == 0 && !words.compareAndSet(w, current, current | bit));
+        }
+
+        void clear(int sequence) {
+            int w = sequence >>> 6;
+            long bit = 1L << sequence;
+            long current;
+            do {
+                current = words.get(w);
+            } while ((current & bit) != 0 && !words.compareAndSet(w, current, current & ~bit));
+        }
+
+        private static long validMask(int word) {
+            int remaining = MAX_SEQUENCE + 1 - word * 64;
+            return remaining >= 64 ? -1L : (1L << remaining) - 1;
+        }
+    }
+}
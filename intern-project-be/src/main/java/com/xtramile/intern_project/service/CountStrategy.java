@@ -0,0 +1,36 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+
+import java.util.Locale;
+
+/**
+ * How paged student listings obtain their total number of items
+ */
+public enum CountStrategy {
+    
+    /** SELECT count(*) on every request */
+    EXACT,
+    
+    /** Exact count, memoised per query until the next write (see {@link StudentChangeTracker}) */
+    CACHED,
+    
+    /** PostgreSQL planner estimate (pg_class statistics or EXPLAIN row estimate) */
+    ESTIMATED,
+    
+    /** No total at all, only whether a next page exists */
+    NONE;
+    
+    public static CountStrategy parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidStudentDataException(
+                "Count strategy tidak dikenal: " + value + " (exact, cached, estimated, none)");
+        }
+    }
+    
+    public String toParameter() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,69 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.dto.BirthDateRange;
+import com.xtramile.intern_project.dto.StudentCursor;
+import com.xtramile.intern_project.dto.StudentField;
+import com.xtramile.intern_project.dto.StudentIndexRow;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import com.xtramile.intern_project.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Case-insensitive LIKE on nama depan and nama belakang separately.
+ * Needs no extension, but a leading wildcard rules out the B-tree indexes,
+ * so every search scans the whole table.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "jpql", matchIfMissing = true)
+public class JpqlStudentSearchBackend implements StudentSearchBackend {
+
+    private final StudentRepository studentRepository;
+
+    @Autowired
+    public JpqlStudentSearchBackend(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    @Override
+    public Slice<StudentResponseDTO> search(String keyword, BirthDateRange range, Pageable pageable) {
+        rejectRelevance(pageable);
+        return studentRepository.findRows(keyword, range, LocalDate.now(), pageable);
+    }
+
+    @Override
+    public Slice<StudentResponseDTO> search(String keyword, BirthDateRange range, Pageable pageable,
+                                            Set<StudentField> fields) {
+        rejectRelevance(pageable);
+        return studentRepository.findRows(keyword, range, LocalDate.now(), pageable, fields);
+    }
+
+    @Override
+    public List<StudentIndexRow> searchAfter(StudentCursor cursor, String keyword, BirthDateRange range, int limit) {
+        return studentRepository.findAfter(cursor, keyword, range, limit);
+    }
+
+    @Override
+    public long count(String keyword, BirthDateRange range) {
+        return studentRepository.countRows(keyword, range);
+    }
+
+    @Override
+    public long estimateCount(String keyword, BirthDateRange range) {
+        return studentRepository.estimateCount(keyword, range);
+    }
+
+    private static void rejectRelevance(Pageable pageable) {
+        if (pageable.getSort().getOrderFor(StudentRepository.SORT_RELEVANCE) != null) {
+            throw new InvalidStudentDataException("Sort relevance hanya tersedia dengan app.search.backend=trigram");
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import com.xtramile.intern_project.repository.NomorIndukLeaseRepository;
+import com.xtramile.intern_project.repository.NomorIndukLeaseRepository.Lease;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out nomor induk from blocks leased in the database, so several backend
+ * instances can create students without picking the same number.
+ *
+ * Each instance reserves a block of sequences with a single statement and then
+ * serves creates from memory. Unused numbers go back to the shared reclaimed
+ * pool on lease expiry or shutdown, and numbers of deleted students are put in
+ * that pool too; refills take from the pool before opening a new block, so gaps
+ * are still reused. Leases of instances that died are swept after expiry.
+ */
+@Component
+@ConditionalOnProperty(name = "app.nomor-induk.allocator", havingValue = "lease")
+public class LeasedNomorIndukAllocator implements NomorIndukAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(LeasedNomorIndukAllocator.class);
+
+    private final NomorIndukLeaseRepository leaseRepository;
+    private final int blockSize;
+    private final Duration leaseTtl;
+    private final Duration sweepGrace;
+    private final String nodeId;
+    private final ConcurrentMap<Integer, YearLeases> years = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LeasedNomorIndukAllocator(NomorIndukLeaseRepository leaseRepository,
+                                     @Value("${app.nomor-induk.lease.block-size:20}") int blockSize,
+                                     @Value("${app.nomor-induk.lease.ttl:PT10M}") Duration leaseTtl,
+                                     @Value("${app.nomor-induk.lease.sweep-grace:PT1M}") Duration sweepGrace) {
+        this.leaseRepository = leaseRepository;
+        this.blockSize = blockSize;
+        this.leaseTtl = leaseTtl;
+        this.sweepGrace = sweepGrace;
+        this.nodeId = resolveNodeId();
+    }
+
+    @Override
+    public String allocate() {
+        int year = Year.now().getValue();
+        YearLeases leases = years.computeIfAbsent(year, YearLeases::new);
+
+        Integer released = leases.released.poll();
+        if (released != null) {
+            return NomorIndukAllocator.format(year, released);
+        }
+
+        while (true) {
+            Block block = leases.current;
+            if (block != null && !block.isExpired()) {
+                int index = block.cursor.getAndIncrement();
+                if (index < block.sequences.length) {
+                    return NomorIndukAllocator.format(year, block.sequences[index]);
+                }
+            }
+            refill(leases, block);
+        }
+    }
+
+    @Override
+    public void release(String nomorInduk) {
+        int year = NomorIndukAllocator.parseYear(nomorInduk);
+        int sequence = NomorIndukAllocator.parseSequence(nomorInduk);
+        if (year < 0 || sequence < 0) {
+            return;
+        }
+        years.computeIfAbsent(year, YearLeases::new).released.offer(sequence);
+    }
+
+    /**
+     * Joins the delete's transaction, so the number only enters the shared pool
+     * if the delete commits
+     */
+    @Override
+    public void reclaim(String nomorInduk) {
+        int year = NomorIndukAllocator.parseYear(nomorInduk);
+        int sequence = NomorIndukAllocator.parseSequence(nomorInduk);
+        if (year < 0 || sequence < 0) {
+            return;
+        }
+        leaseRepository.reclaim(year, List.of(sequence));
+    }
+
+    /**
+     * Reclaim the unused part of leases whose owner did not give them back
+     */
+    @Scheduled(fixedDelayString = "${app.nomor-induk.lease.sweep-interval:PT1M}")
+    public void sweepExpiredLeases() {
+        int reclaimed = leaseRepository.sweepExpired(sweepGrace);
+        if (reclaimed > 0) {
+            log.info("Reclaimed {} nomor induk from expired leases", reclaimed);
+        }
+    }
+
+    /**
+     * Return every number this instance holds but has not handed out
+     */
+    @PreDestroy
+    public void returnLeases() {
+        for (YearLeases leases : years.values()) {
+            leases.lock.lock();
+            try {
+                Block block = leases.current;
+                leases.current = null;
+                giveBack(leases, block);
+            } finally {
+                leases.lock.unlock();
+            }
+        }
+    }
+
+    private void refill(YearLeases leases, Block exhausted) {
+        leases.lock.lock();
+        try {
+            if (leases.current != exhausted) {
+                // Another thread already refilled
+                return;
+            }
+            if (exhausted != null && exhausted.isExpired()) {
+                giveBack(leases, exhausted);
+            }
+            leases.current = leaseNextBlock(leases);
+        } finally {
+            leases.lock.unlock();
+        }
+    }
+
+    private Block leaseNextBlock(YearLeases leases) {
+        int year = leases.year;
+        if (!leases.seeded) {
+            leaseRepository.seedYear(year);
+            leases.seeded = true;
+        }
+        List<Lease> reclaimed = leaseRepository.leaseReclaimed(year, blockSize, nodeId, leaseTtl);
+        if (!reclaimed.isEmpty()) {
+            int[] sequences = new int[reclaimed.size()];
+            long[] leaseIds = new long[reclaimed.size()];
+            for (int i = 0; i < reclaimed.size(); i++) {
+                sequences[i] = reclaimed.get(i).rangeStart();
+                leaseIds[i] = reclaimed.get(i).id();
+            }
+            return new Block(sequences, leaseIds, deadline());
+        }
+
+        Lease lease = leaseRepository.leaseBlock(year, blockSize, MAX_SEQUENCE, nodeId, leaseTtl);
+        if (lease == null) {
+            throw new InvalidStudentDataException(
+                "Maximum number of students for year " + year + " has been reached (" + MAX_SEQUENCE + ")");
+        }
+        int[] sequences = new int[lease.rangeEnd() - lease.rangeStart()];
+        for (int i = 0; i < sequences.length; i++) {
+            sequences[i] = lease.rangeStart() + i;
+        }
+        return new Block(sequences, new long[] {lease.id()}, deadline());
+    }
+
+    /**
+     * Close a block and put its unused and released numbers into the reclaimed pool
+     */
+    private void giveBack(YearLeases leases, Block block) {
+        List<Integer> unused = new ArrayList<>();
+        Integer released;
+        while ((released = leases.released.poll()) != null) {
+            unused.add(released);
+        }
+        List<Long> leaseIds = new ArrayList<>();
+        if (block != null) {
+            int handedOut = Math.min(block.cursor.getAndSet(block.sequences.length), block.sequences.length);
+            for (int i = handedOut; i < block.sequences.length; i++) {
+                unused.add(block.sequences[i]);
+            }
+            for (long leaseId : block.leaseIds) {
+                leaseIds.add(leaseId);
+            }
+        }
+        leaseRepository.reclaim(leases.year, unused);
+        leaseRepository.deleteLeases(leaseIds);
+    }
+
+    /**
+     * Stop serving a block a little before the database considers its lease expired
+     */
+    private long deadline() {
+        return System.nanoTime() + leaseTtl.toNanos() * 9 / 10;
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "/" + ManagementFactory.getRuntimeMXBean().getPid();
+    }
+
+    private static final class YearLeases {
+
+        private final int year;
+        private final Queue<Integer> released = new ConcurrentLinkedQueue<>();
+        private volatile Block current;
+        // Held while leasing from the database; a monitor there would pin a virtual thread's carrier
+        private final ReentrantLock lock = new ReentrantLock();
+        // Guarded by lock
+        private boolean seeded;
+
+        private YearLeases(int year) {
+            this.year = year;
+        }
+    }
+
+    private static final class Block {
+
+        private final int[] sequences;
+        private final long[] leaseIds;
+        private final long deadlineNanos;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        private Block(int[] sequences, long[] leaseIds, long deadlineNanos) {
+            this.sequences = sequences;
+            this.leaseIds = leaseIds;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - deadlineNanos > 0;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Source of nomor induk (format YYYY###) for new students.
+ * Selected with {@code app.nomor-induk.allocator}: {@code memory} for a single
+ * instance, {@code lease} when several instances share the database.
+ */
+public interface NomorIndukAllocator {
+
+    int MAX_SEQUENCE = 999;
+
+    /**
+     * Claim the next free nomor induk of the current year
+     */
+    String allocate();
+
+    /**
+     * Claim up to {@code count} nomor induk of the current year in one go;
+     * returns fewer when the year runs out of sequences
+     */
+    default List<String> allocate(int count) {
+        List<String> allocated = new ArrayList<>(count);
+        try {
+            while (allocated.size() < count) {
+                allocated.add(allocate());
+            }
+        } catch (InvalidStudentDataException e) {
+            // Year is full, hand out what we have
+        }
+        return allocated;
+    }
+
+    /**
+     * Give back a nomor induk that was allocated but never persisted
+     */
+    void release(String nomorInduk);
+
+    /**
+     * Make the nomor induk of a deleted student available again;
+     * takes effect once the surrounding transaction commits
+     */
+    void reclaim(String nomorInduk);
+
+    static String format(int year, int sequence) {
+        return year + String.format("%03d", sequence);
+    }
+
+    /**
+     * Year part of a well-formed nomor induk, or -1
+     */
+    static int parseYear(String nomorInduk) {
+        if (nomorInduk == null || nomorInduk.length() != 7) {
+            return -1;
+        }
+        return parseDigits(nomorInduk, 0, 4);
+    }
+
+    /**
+     * Sequence part (1..999) of a well-formed nomor induk, or -1
+     */
+    static int parseSequence(String nomorInduk) {
+        if (nomorInduk == null || nomorInduk.length() != 7) {
+            return -1;
+        }
+        int sequence = parseDigits(nomorInduk, 4, 7);
+        return sequence >= 1 && sequence <= MAX_SEQUENCE ? sequence : -1;
+    }
+
+    private static int parseDigits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+}
@@ -0,0 +1,33 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.event.StudentChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write generation of the students table: a counter bumped after every
+ * committed create, update, delete and import chunk. Anything derived from
+ * student data can remember the generation it was computed at and treat
+ * itself as stale once the counter has moved on. Only writes on this
+ * instance move it; what clients see across instances is versioned by the
+ * database instead (see {@link StudentService#listVersion()}).
+ */
+@Component
+public class StudentChangeTracker {
+    
+    private final AtomicLong generation = new AtomicLong();
+    
+    /**
+     * Current write generation; read it before running the query whose result is cached
+     */
+    public long generation() {
+        return generation.get();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        generation.incrementAndGet();
+    }
+}
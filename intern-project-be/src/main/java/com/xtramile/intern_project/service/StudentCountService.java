@@ -0,0 +1,102 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.dto.BirthDateRange;
+import com.xtramile.intern_project.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Total number of students behind a listing or search, obtained according to
+ * a {@link CountStrategy}. The default comes from {@code app.pagination.count-strategy}.
+ */
+@Service
+public class StudentCountService {
+    
+    /**
+     * Distinct query shapes (listing plus one per search keyword and birth date range) kept by the cached strategy
+     */
+    private static final int MAX_CACHED_QUERIES = 1000;
+    
+    private final StudentRepository studentRepository;
+    private final StudentSearchBackend searchBackend;
+    private final StudentChangeTracker changeTracker;
+    private final CountStrategy defaultStrategy;
+    private final Map<String, CachedCount> cache = new ConcurrentHashMap<>();
+    
+    @Autowired
+    public StudentCountService(StudentRepository studentRepository,
+                               StudentSearchBackend searchBackend,
+                               StudentChangeTracker changeTracker,
+                               @Value("${app.pagination.count-strategy:exact}") String defaultStrategy) {
+        this.studentRepository = studentRepository;
+        this.searchBackend = searchBackend;
+        this.changeTracker = changeTracker;
+        this.defaultStrategy = CountStrategy.parse(defaultStrategy);
+    }
+    
+    /**
+     * Strategy requested by the client, or the configured default
+     */
+    public CountStrategy resolve(CountStrategy requested) {
+        return requested != null ? requested : defaultStrategy;
+    }
+    
+    /**
+     * Total for all students ({@code keyword} null) or for a name search; null with {@link CountStrategy#NONE}
+     */
+    public Long count(CountStrategy strategy, String keyword) {
+        return count(strategy, keyword, BirthDateRange.ALL);
+    }
+    
+    /**
+     * Total for all students ({@code keyword} null) or for a name search, born
+     * within the range; null with {@link CountStrategy#NONE}
+     */
+    public Long count(CountStrategy strategy, String keyword, BirthDateRange range) {
+        return switch (strategy) {
+            case EXACT -> exactCount(keyword, range);
+            case CACHED -> cachedCount(keyword, range);
+            case ESTIMATED -> {
+                long estimate = keyword == null
+                    ? studentRepository.estimateCount(null, range)
+                    : searchBackend.estimateCount(keyword, range);
+                // No statistics yet (table never analyzed): fall back to a real count
+                yield estimate >= 0 ? estimate : cachedCount(keyword, range);
+            }
+            case NONE -> null;
+        };
+    }
+    
+    private long cachedCount(String keyword, BirthDateRange range) {
+        // Range first: its key never contains '|', a keyword may
+        String key = (range.isUnbounded() ? "" : "born:" + range.key() + "|")
+            + (keyword == null ? "" : "search:" + keyword.toLowerCase(Locale.ROOT));
+        // Read the generation before counting so a concurrent write can only make the entry stale, never wrong
+        long generation = changeTracker.generation();
+        CachedCount cached = cache.get(key);
+        if (cached != null && cached.generation() == generation) {
+            return cached.count();
+        }
+        long count = exactCount(keyword, range);
+        if (cache.size() >= MAX_CACHED_QUERIES) {
+            cache.clear();
+        }
+        cache.put(key, new CachedCount(generation, count));
+        return count;
+    }
+    
+    private long exactCount(String keyword, BirthDateRange range) {
+        if (keyword != null) {
+            return searchBackend.count(keyword, range);
+        }
+        return range.isUnbounded() ? studentRepository.count() : studentRepository.countRows(null, range);
+    }
+    
+    private record CachedCount(long generation, long count) {
+    }
+}
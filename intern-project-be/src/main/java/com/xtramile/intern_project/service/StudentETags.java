@@ -0,0 +1,102 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.dto.StudentDetailDTO;
+import org.springframework.http.ETag;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Entity tags of student responses.
+ * <p>
+ * A student detail is tagged with its nomor induk and {@code updatedAt}, lists
+ * and searches with the write version of the whole table kept by the
+ * database (see {@link StudentService#listVersion()}). Both also carry the current date,
+ * because every response shows each student's age. Only the envelope's
+ * timestamp is left out, so the tags are strong; being strong, they also name
+ * the representation (see {@link #representation}).
+ */
+public final class StudentETags {
+
+    private StudentETags() {
+    }
+
+    /**
+     * Tag of one student's detail response
+     */
+    public static String detail(StudentDetailDTO student) {
+        return detail(student.getNomorInduk(),
+            student.getUpdatedAt() != null ? student.getUpdatedAt() : student.getCreatedAt());
+    }
+
+    /**
+     * Tag of one student's detail response, from its last modification time
+     * (creation time if never updated)
+     */
+    public static String detail(String nomorInduk, LocalDateTime modifiedAt) {
+        long micros = modifiedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + modifiedAt.getNano() / 1_000;
+        String version = Long.toString(micros, 36);
+        return "\"" + nomorInduk + "-" + version + "-" + today() + "\"";
+    }
+
+    /**
+     * Tag of list and search responses computed at the given table version
+     */
+    public static String list(String tableVersion) {
+        return "\"t" + tableVersion + "-" + today() + "\"";
+    }
+
+    /**
+     * Tag of the response body written as the given media type: the JSON tag
+     * itself, with the subtype appended for CBOR, Smile and protobuf, whose
+     * bytes differ
+     */
+    public static String representation(String eTag, MediaType mediaType) {
+        if (MediaType.APPLICATION_JSON.equalsTypeAndSubtype(mediaType)) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + "-" + mediaType.getSubtype() + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header lists the tag (weak comparison, as for GET)
+     */
+    public static boolean noneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        ETag current = ETag.create(eTag);
+        for (ETag candidate : ETag.parse(ifNoneMatch)) {
+            if (candidate.isWildcard() || candidate.compare(current, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether an If-Match header allows a write to the resource with the (JSON)
+     * tag: strong comparison, where the tag of any representation of the
+     * current version will do; absent header allows it
+     */
+    public static boolean match(String ifMatch, String eTag) {
+        if (ifMatch == null) {
+            return true;
+        }
+        ETag current = ETag.create(eTag);
+        for (ETag candidate : ETag.parse(ifMatch)) {
+            if (candidate.isWildcard() || candidate.compare(current, true)
+                    || !candidate.weak() && candidate.tag().startsWith(current.tag() + "-")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String today() {
+        return LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+}
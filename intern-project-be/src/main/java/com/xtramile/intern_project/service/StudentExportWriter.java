@@ -0,0 +1,124 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.dto.StudentExportRow;
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.ObjectWriteContext;
+import tools.jackson.core.json.JsonFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Writes exported students one at a time as CSV or NDJSON; nothing is kept
+ * besides a fixed-size output buffer. The CSV columns match what
+ * {@link StudentImportService} reads, so an export can be imported again.
+ */
+public abstract class StudentExportWriter implements AutoCloseable {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder().rootValueSeparator("\n").build();
+
+    protected final Writer writer;
+    protected final LocalDate today = LocalDate.now();
+
+    private StudentExportWriter(OutputStream output) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    public static StudentExportWriter create(String format, OutputStream output) throws IOException {
+        if (FORMAT_CSV.equals(format)) {
+            return new Csv(output);
+        }
+        if (FORMAT_NDJSON.equals(format)) {
+            return new Ndjson(output);
+        }
+        throw new InvalidStudentDataException("Format export tidak didukung: " + format);
+    }
+
+    public static String contentType(String format) {
+        return FORMAT_CSV.equals(format) ? "text/csv;charset=UTF-8" : "application/x-ndjson";
+    }
+
+    public abstract void write(StudentExportRow row) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static final class Csv extends StudentExportWriter {
+
+        Csv(OutputStream output) throws IOException {
+            super(output);
+            writer.write("nomorInduk,namaDepan,namaBelakang,tanggalLahir,usia\n");
+        }
+
+        @Override
+        public void write(StudentExportRow row) throws IOException {
+            writeField(row.getNomorInduk());
+            writer.write(',');
+            writeField(row.getNamaDepan());
+            writer.write(',');
+            if (row.getNamaBelakang() != null) {
+                writeField(row.getNamaBelakang());
+            }
+            writer.write(',');
+            writer.write(row.getTanggalLahir().toString());
+            writer.write(',');
+            writer.write(Integer.toString(row.getUsia(today)));
+            writer.write('\n');
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static final class Ndjson extends StudentExportWriter {
+
+        private final JsonGenerator generator;
+        private boolean empty = true;
+
+        Ndjson(OutputStream output) {
+            super(output);
+            this.generator = JSON_FACTORY.createGenerator(ObjectWriteContext.empty(), writer);
+        }
+
+        @Override
+        public void write(StudentExportRow row) {
+            generator.writeStartObject();
+            generator.writeStringProperty("nomorInduk", row.getNomorInduk());
+            generator.writeStringProperty("namaDepan", row.getNamaDepan());
+            generator.writeStringProperty("namaBelakang", row.getNamaBelakang());
+            generator.writeStringProperty("tanggalLahir", row.getTanggalLahir().toString());
+            generator.writeNumberProperty("usia", row.getUsia(today));
+            generator.writeEndObject();
+            empty = false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.close();
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.dto.StudentImportStatusDTO;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live state of one import. Counters are updated by the importing thread and
+ * read by status requests at any time.
+ */
+public class StudentImportJob {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String format;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile long finishedNanos;
+    private volatile String message;
+    private volatile Path errorReport;
+
+    StudentImportJob(String format) {
+        this.format = format;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void imported(int rows) {
+        rowsImported.addAndGet(rows);
+    }
+
+    void rejected() {
+        rowsRejected.incrementAndGet();
+    }
+
+    void errorReport(Path errorReport) {
+        this.errorReport = errorReport;
+    }
+
+    void complete() {
+        finish(Status.COMPLETED, null);
+    }
+
+    void fail(String message) {
+        finish(Status.FAILED, message);
+    }
+
+    private void finish(Status status, String message) {
+        this.finishedNanos = System.nanoTime();
+        this.finishedAt = LocalDateTime.now();
+        this.message = message;
+        this.status = status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+
+    public long getRowsImported() {
+        return rowsImported.get();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+
+    /**
+     * Error report of rejected rows, or null when every row was accepted
+     */
+    public Path getErrorReport() {
+        return rowsRejected.get() > 0 ? errorReport : null;
+    }
+
+    public StudentImportStatusDTO toStatusDTO() {
+        Status current = status;
+        long end = current == Status.RUNNING ? System.nanoTime() : finishedNanos;
+        double seconds = (end - startNanos) / 1e9;
+        long read = rowsRead.get();
+        double rowsPerSecond = seconds > 0 ? Math.round(read / seconds * 10) / 10.0 : 0;
+        return new StudentImportStatusDTO(id, current.name(), format, read, rowsImported.get(),
+            rowsRejected.get(), rowsPerSecond, startedAt, finishedAt, message, getErrorReport() != null);
+    }
+}
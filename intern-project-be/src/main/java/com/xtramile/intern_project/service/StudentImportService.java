@@ -0,0 +1,623 @@
+package com.xtramile.intern_project.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.xtramile.intern_project.dto.StudentRequestDTO;
+import com.xtramile.intern_project.event.StudentChangedEvent;
+import com.xtramile.intern_project.exception.DuplicateStudentException;
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import com.xtramile.intern_project.exception.StudentNotFoundException;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Bulk student import from CSV or NDJSON. The input is read line by line, each
+ * row is validated as it arrives, and valid rows are written with PostgreSQL
+ * COPY in chunks of {@code app.import.chunk-size}, one transaction per chunk.
+ * Rejected rows end up in a CSV error report.
+ */
+@Service
+public class StudentImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentImportService.class);
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final String COPY_STUDENTS = "COPY students (id, nomor_induk, nama_depan, nama_belakang, "
+        + "tanggal_lahir, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String SEQUENCE_INCREMENT = "SELECT increment_by FROM pg_sequences "
+        + "WHERE schemaname = current_schema() AND sequencename = 'students_id_seq'";
+
+    private static final String NEXT_ID_BLOCKS = "SELECT nextval('students_id_seq') FROM generate_series(1, ?)";
+
+    private static final String EXISTING_NOMOR_INDUK =
+        "SELECT nomor_induk FROM students WHERE nomor_induk = ANY (?)";
+
+    private static final int NOMOR_INDUK_MAX_LENGTH = 20;
+
+    private final DataSource dataSource;
+    private final StudentService studentService;
+    private final NomorIndukAllocator nomorIndukAllocator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int retainedJobs;
+
+    private final Map<String, StudentImportJob> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<StudentImportJob> jobOrder = new ConcurrentLinkedDeque<>();
+    // Imports started over HTTP, one virtual thread each; they spend most of their time in COPY
+    private final Executor executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public StudentImportService(DataSource dataSource,
+                                StudentService studentService,
+                                NomorIndukAllocator nomorIndukAllocator,
+                                ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${app.import.chunk-size:5000}") int chunkSize,
+                                @Value("${app.import.retained-jobs:20}") int retainedJobs) {
+        this.dataSource = dataSource;
+        this.studentService = studentService;
+        this.nomorIndukAllocator = nomorIndukAllocator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.retainedJobs = retainedJobs;
+    }
+
+    /**
+     * Import students from a CSV (with header row) or NDJSON stream. Runs in the
+     * calling thread; progress is visible through {@link #findAll()} meanwhile.
+     */
+    public StudentImportJob importStudents(String format, InputStream input) {
+        checkFormat(format);
+        StudentImportJob job = register(new StudentImportJob(format));
+        run(job, input);
+        return job;
+    }
+
+    /**
+     * Copy the stream to a temporary file and import it in the background. The
+     * returned job is still running; only a bad format or CSV header fails here.
+     */
+    public StudentImportJob startImport(String format, InputStream input) throws IOException {
+        checkFormat(format);
+        Path upload = Files.createTempFile("student-import-upload-", "." + format);
+        try {
+            Files.copy(input, upload, StandardCopyOption.REPLACE_EXISTING);
+            if (FORMAT_CSV.equals(format)) {
+                checkCsvHeader(upload);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+
+        StudentImportJob job = register(new StudentImportJob(format));
+        executor.execute(() -> {
+            try (InputStream spooled = Files.newInputStream(upload)) {
+                run(job, spooled);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Import {} failed: {}", job.getId(), e.getMessage());
+            } finally {
+                try {
+                    Files.deleteIfExists(upload);
+                } catch (IOException e) {
+                    log.warn("Could not delete import upload {}", upload, e);
+                }
+            }
+        });
+        return job;
+    }
+
+    private static void checkFormat(String format) {
+        if (!FORMAT_CSV.equals(format) && !FORMAT_NDJSON.equals(format)) {
+            throw new InvalidStudentDataException("Format import tidak didukung: " + format);
+        }
+    }
+
+    private static void checkCsvHeader(Path upload) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(upload, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    parseHeader(line);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * The job is marked finished only after its error report is closed, so a
+     * finished job's report is complete
+     */
+    private void run(StudentImportJob job, InputStream input) {
+        ImportRun run = new ImportRun(job, FORMAT_CSV.equals(job.getFormat()));
+        try {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                run.readAll(reader);
+            } finally {
+                run.closeErrorReport();
+            }
+            job.complete();
+        } catch (InvalidStudentDataException e) {
+            job.fail(e.getMessage());
+            throw e;
+        } catch (IOException e) {
+            job.fail(e.getMessage());
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            job.fail(e.getMessage());
+            throw new IllegalStateException("Import mahasiswa gagal", e);
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Recent imports, newest first
+     */
+    public List<StudentImportJob> findAll() {
+        List<StudentImportJob> result = new ArrayList<>();
+        jobOrder.descendingIterator().forEachRemaining(result::add);
+        return result;
+    }
+
+    public StudentImportJob findById(String id) {
+        StudentImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new StudentNotFoundException("Import dengan id '" + id + "' tidak ditemukan", null);
+        }
+        return job;
+    }
+
+    private StudentImportJob register(StudentImportJob job) {
+        jobs.put(job.getId(), job);
+        jobOrder.addLast(job);
+        // Forget the oldest finished imports (and their error reports) beyond the retention limit
+        int excess = jobOrder.size() - retainedJobs;
+        for (Iterator<StudentImportJob> it = jobOrder.iterator(); excess > 0 && it.hasNext(); ) {
+            StudentImportJob old = it.next();
+            if (old.isFinished()) {
+                it.remove();
+                jobs.remove(old.getId());
+                deleteErrorReport(old);
+                excess--;
+            }
+        }
+        return job;
+    }
+
+    private static void deleteErrorReport(StudentImportJob job) {
+        Path report = job.getErrorReport();
+        if (report != null) {
+            try {
+                Files.deleteIfExists(report);
+            } catch (IOException e) {
+                log.warn("Could not delete import error report {}", report, e);
+            }
+        }
+    }
+
+    /**
+     * Column positions of nama depan, nama belakang, tanggal lahir and (optional) nomor induk
+     */
+    static int[] parseHeader(String line) {
+        int[] positions = {-1, -1, -1, -1};
+        List<String> header = splitCsvLine(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        for (int i = 0; i < header.size(); i++) {
+            switch (header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT)) {
+                case "namadepan" -> positions[0] = i;
+                case "namabelakang" -> positions[1] = i;
+                case "tanggallahir" -> positions[2] = i;
+                case "nomorinduk" -> positions[3] = i;
+                default -> { }
+            }
+        }
+        if (positions[0] < 0 || positions[2] < 0) {
+            throw new InvalidStudentDataException(
+                "Header CSV harus memuat kolom namaDepan dan tanggalLahir");
+        }
+        return positions;
+    }
+
+    /**
+     * Split one CSV line into fields (RFC 4180 quoting, no line breaks inside fields)
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String csvQuote(String value) {
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    /**
+     * One NDJSON line; same field names as the create request
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ImportRecord(String namaDepan, String namaBelakang, String tanggalLahir, String nomorInduk) {
+    }
+
+    /**
+     * An accepted input row waiting in the current chunk
+     */
+    private static final class Row {
+        final long line;
+        final String raw;
+        final StudentRequestDTO request;
+        String nomorInduk;
+        boolean allocated;
+
+        Row(long line, String raw, StudentRequestDTO request, String nomorInduk) {
+            this.line = line;
+            this.raw = raw;
+            this.request = request;
+            this.nomorInduk = nomorInduk;
+        }
+    }
+
+    /**
+     * State of a single import while it runs
+     */
+    private final class ImportRun {
+
+        private final StudentImportJob job;
+        private final boolean csv;
+        private final List<Row> chunk = new ArrayList<>();
+        private final Set<String> chunkNomorInduk = new HashSet<>();
+        private int[] columns;
+        private long idIncrement;
+        private BufferedWriter errorReport;
+
+        ImportRun(StudentImportJob job, boolean csv) {
+            this.job = job;
+            this.csv = csv;
+        }
+
+        void readAll(BufferedReader reader) throws IOException, SQLException {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && columns == null) {
+                    columns = parseHeader(line);
+                    continue;
+                }
+                job.rowRead();
+                accept(lineNumber, line);
+                if (chunk.size() >= chunkSize) {
+                    flush();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                flush();
+            }
+        }
+
+        private void accept(long lineNumber, String line) throws IOException {
+            String namaDepan;
+            String namaBelakang;
+            String tanggalLahir;
+            String nomorInduk;
+            if (columns != null) {
+                List<String> fields = splitCsvLine(line);
+                namaDepan = field(fields, columns[0]);
+                namaBelakang = field(fields, columns[1]);
+                tanggalLahir = field(fields, columns[2]);
+                nomorInduk = field(fields, columns[3]);
+            } else {
+                ImportRecord record;
+                try {
+                    record = objectMapper.readValue(line, ImportRecord.class);
+                } catch (JacksonException e) {
+                    reject(lineNumber, line, List.of("Baris JSON tidak valid: " + e.getOriginalMessage()));
+                    return;
+                }
+                namaDepan = record.namaDepan();
+                namaBelakang = record.namaBelakang();
+                tanggalLahir = record.tanggalLahir();
+                nomorInduk = record.nomorInduk();
+            }
+
+            List<String> errors = new ArrayList<>();
+            LocalDate parsedTanggalLahir = null;
+            if (blankToNull(tanggalLahir) != null) {
+                try {
+                    parsedTanggalLahir = LocalDate.parse(tanggalLahir.trim());
+                } catch (DateTimeParseException e) {
+                    errors.add("tanggalLahir: Format tanggal harus YYYY-MM-DD");
+                }
+            }
+            StudentRequestDTO request = new StudentRequestDTO(
+                namaDepan == null ? null : namaDepan.trim(), blankToNull(namaBelakang), parsedTanggalLahir);
+            if (errors.isEmpty()) {
+                errors.addAll(studentService.validate(request));
+            }
+            nomorInduk = blankToNull(nomorInduk);
+            if (nomorInduk != null) {
+                if (nomorInduk.length() > NOMOR_INDUK_MAX_LENGTH) {
+                    errors.add("nomorInduk: Maksimal " + NOMOR_INDUK_MAX_LENGTH + " karakter");
+                } else if (errors.isEmpty() && !chunkNomorInduk.add(nomorInduk)) {
+                    errors.add("nomorInduk: Nomor induk " + nomorInduk + " muncul lebih dari sekali");
+                }
+            }
+            if (!errors.isEmpty()) {
+                reject(lineNumber, line, errors);
+                return;
+            }
+            chunk.add(new Row(lineNumber, line, request, nomorInduk));
+        }
+
+        private String field(List<String> fields, int position) {
+            return position >= 0 && position < fields.size() ? fields.get(position) : null;
+        }
+
+        /**
+         * Write the current chunk with COPY in its own transaction
+         */
+        private void flush() throws IOException, SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    rejectExistingNomorInduk(connection);
+                    assignNomorInduk();
+                    if (!chunk.isEmpty()) {
+                        copy(connection, nextIds(connection, chunk.size()));
+                        job.imported(chunk.size());
+                        eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.CREATED,
+                            chunk.stream().map(row -> row.nomorInduk).toList()));
+                    }
+                } catch (IOException | SQLException | RuntimeException e) {
+                    connection.rollback();
+                    releaseAllocated();
+                    throw e;
+                }
+            } finally {
+                chunk.clear();
+                chunkNomorInduk.clear();
+            }
+        }
+
+        /**
+         * Rows carrying a nomor induk from the old system are rejected when it is already taken
+         */
+        private void rejectExistingNomorInduk(Connection connection) throws IOException, SQLException {
+            if (chunkNomorInduk.isEmpty()) {
+                return;
+            }
+            Set<String> existing = new HashSet<>();
+            try (PreparedStatement statement = connection.prepareStatement(EXISTING_NOMOR_INDUK)) {
+                statement.setArray(1, connection.createArrayOf("varchar", chunkNomorInduk.toArray()));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        existing.add(resultSet.getString(1));
+                    }
+                }
+            }
+            for (Iterator<Row> it = chunk.iterator(); it.hasNext(); ) {
+                Row row = it.next();
+                if (row.nomorInduk != null && existing.contains(row.nomorInduk)) {
+                    it.remove();
+                    reject(row, "nomorInduk: Nomor induk " + row.nomorInduk + " sudah terdaftar");
+                }
+            }
+        }
+
+        /**
+         * Claim nomor induk in bulk for rows without one; rows beyond the year's capacity are rejected
+         */
+        private void assignNomorInduk() throws IOException {
+            List<Row> needed = chunk.stream().filter(row -> row.nomorInduk == null).toList();
+            if (needed.isEmpty()) {
+                return;
+            }
+            List<String> allocated = nomorIndukAllocator.allocate(needed.size());
+            for (int i = 0; i < needed.size(); i++) {
+                Row row = needed.get(i);
+                if (i < allocated.size()) {
+                    row.nomorInduk = allocated.get(i);
+                    row.allocated = true;
+                } else {
+                    reject(row, yearFullMessage());
+                }
+            }
+            chunk.removeIf(row -> row.nomorInduk == null);
+        }
+
+        private void releaseAllocated() {
+            chunk.stream().filter(row -> row.allocated).forEach(row -> nomorIndukAllocator.release(row.nomorInduk));
+        }
+
+        /**
+         * Ids from students_id_seq, used the same way as Hibernate's pooled optimizer:
+         * every nextval value v covers the ids (v - increment, v]
+         */
+        private List<Long> nextIds(Connection connection, int count) throws SQLException {
+            if (idIncrement == 0) {
+                try (PreparedStatement statement = connection.prepareStatement(SEQUENCE_INCREMENT);
+                     ResultSet resultSet = statement.executeQuery()) {
+                    idIncrement = resultSet.next() ? Math.max(1, resultSet.getLong(1)) : 1;
+                }
+            }
+            List<Long> ids = new ArrayList<>(count);
+            try (PreparedStatement statement = connection.prepareStatement(NEXT_ID_BLOCKS)) {
+                statement.setLong(1, (count + idIncrement - 1) / idIncrement + 1);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next() && ids.size() < count) {
+                        long hi = resultSet.getLong(1);
+                        for (long id = Math.max(1, hi - idIncrement + 1); id <= hi && ids.size() < count; id++) {
+                            ids.add(id);
+                        }
+                    }
+                }
+            }
+            if (ids.size() < count) {
+                throw new IllegalStateException("students_id_seq returned too few ids");
+            }
+            return ids;
+        }
+
+        /**
+         * COPY the chunk and commit. A nomor induk taken concurrently is replaced
+         * (or the row rejected, for legacy numbers) and the COPY retried.
+         */
+        private void copy(Connection connection, List<Long> ids) throws IOException, SQLException {
+            for (int attempt = 1; ; attempt++) {
+                String now = LocalDateTime.now().toString();
+                StringBuilder data = new StringBuilder(chunk.size() * 80);
+                for (int i = 0; i < chunk.size(); i++) {
+                    Row row = chunk.get(i);
+                    StudentRequestDTO request = row.request;
+                    data.append(ids.get(i)).append(',')
+                        .append(csvQuote(row.nomorInduk)).append(',')
+                        .append(csvQuote(request.getNamaDepan())).append(',')
+                        .append(request.getNamaBelakang() == null ? "" : csvQuote(request.getNamaBelakang())).append(',')
+                        .append(request.getTanggalLahir()).append(',')
+                        .append(now).append(',')
+                        .append(now).append('\n');
+                }
+                try {
+                    connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STUDENTS, new StringReader(data.toString()));
+                    connection.commit();
+                    return;
+                } catch (SQLException e) {
+                    connection.rollback();
+                    if (!StudentService.isUniqueViolation(e)) {
+                        throw e;
+                    }
+                    String taken = StudentService.duplicateNomorInduk(e);
+                    Row row = taken == null ? null : chunk.stream()
+                        .filter(r -> taken.equals(r.nomorInduk)).findFirst().orElse(null);
+                    if (row == null || attempt >= StudentService.MAX_CREATE_ATTEMPTS) {
+                        if (row != null && row.allocated) {
+                            // The number really is in use, keep it claimed
+                            row.allocated = false;
+                        }
+                        throw new DuplicateStudentException(
+                            "Gagal mendapatkan nomor induk unik setelah " + attempt + " percobaan", e);
+                    }
+                    if (!row.allocated) {
+                        chunk.remove(row);
+                        reject(row, "nomorInduk: Nomor induk " + row.nomorInduk + " sudah terdaftar");
+                    } else {
+                        List<String> replacement = nomorIndukAllocator.allocate(1);
+                        if (replacement.isEmpty()) {
+                            row.allocated = false;
+                            chunk.remove(row);
+                            reject(row, yearFullMessage());
+                        } else {
+                            row.nomorInduk = replacement.get(0);
+                        }
+                    }
+                    if (chunk.isEmpty()) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        private String yearFullMessage() {
+            return "Maximum number of students for year " + Year.now().getValue()
+                + " has been reached (" + NomorIndukAllocator.MAX_SEQUENCE + ")";
+        }
+
+        private void reject(Row row, String error) throws IOException {
+            reject(row.line, row.raw, List.of(error));
+        }
+
+        private void reject(long lineNumber, String raw, List<String> errors) throws IOException {
+            if (errorReport == null) {
+                Path path = Files.createTempFile("student-import-" + job.getId() + "-", ".csv");
+                job.errorReport(path);
+                errorReport = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+                errorReport.write("line,errors,raw\n");
+            }
+            errorReport.write(lineNumber + "," + csvQuote(String.join("; ", errors)) + "," + csvQuote(raw) + "\n");
+            job.rejected();
+        }
+
+        void closeErrorReport() {
+            if (errorReport != null) {
+                try {
+                    errorReport.close();
+                } catch (IOException e) {
+                    log.warn("Could not close import error report", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.dto.BirthDateRange;
+import com.xtramile.intern_project.dto.StudentCursor;
+import com.xtramile.intern_project.dto.StudentField;
+import com.xtramile.intern_project.dto.StudentIndexRow;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import com.xtramile.intern_project.repository.StudentRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Answers name searches. Selected with {@code app.search.backend}: {@code jpql}
+ * (LIKE on each name column), {@code trigram} (pg_trgm index on the full name,
+ * which also supports sorting by {@code relevance}) or {@code memory}
+ * ({@link StudentSearchIndex}, the jpql results without a database round trip).
+ * Every backend also restricts results to a birth date range, and matches the
+ * same students whether pages are read by number or after a keyset cursor.
+ */
+public interface StudentSearchBackend {
+
+    /**
+     * List rows of the students matching the keyword and born within the range,
+     * without a count query
+     */
+    Slice<StudentResponseDTO> search(String keyword, BirthDateRange range, Pageable pageable);
+
+    /**
+     * {@link #search} with rows holding only the requested fields
+     */
+    Slice<StudentResponseDTO> search(String keyword, BirthDateRange range, Pageable pageable,
+                                     Set<StudentField> fields);
+
+    /**
+     * Up to {@code limit} of the students {@link #search} matches, after the
+     * cursor position (keyset pagination)
+     */
+    List<StudentIndexRow> searchAfter(StudentCursor cursor, String keyword, BirthDateRange range, int limit);
+
+    /**
+     * Exact number of students matched by {@link #search}
+     */
+    long count(String keyword, BirthDateRange range);
+
+    /**
+     * Cheap estimate of {@link #count}; -1 when none is available
+     */
+    long estimateCount(String keyword, BirthDateRange range);
+
+    /**
+     * Whether results can be sorted by the property: any of
+     * {@link StudentRepository#SORT_PROPERTIES} unless the backend says otherwise
+     */
+    default boolean supportsSort(String property) {
+        return StudentRepository.SORT_PROPERTIES.contains(property);
+    }
+}
@@ -0,0 +1,419 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.dto.BirthDateRange;
+import com.xtramile.intern_project.dto.StudentCursor;
+import com.xtramile.intern_project.dto.StudentField;
+import com.xtramile.intern_project.dto.StudentIndexRow;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import com.xtramile.intern_project.event.StudentChangedEvent;
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import com.xtramile.intern_project.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Name search served from memory (app.search.backend=memory): every student's
+ * names plus a trigram to posting list index in int arrays, so searches never
+ * reach PostgreSQL. Built from a streaming scan at startup and kept current from
+ * {@link StudentChangedEvent} once each write has committed.
+ * <p>
+ * Matches exactly what {@link StudentRepository#findRows} matches: the
+ * keyword is part of a LIKE pattern ({@code %} and {@code _} are wildcards,
+ * backslash escapes), tested against each name lower-cased the way LOWER() does
+ * under the C locale the database is created with. Trigrams of the literal parts
+ * only narrow down the candidates; each candidate is checked against the pattern
+ * and the birth date range.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "memory")
+public class StudentSearchIndex implements StudentSearchBackend {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentSearchIndex.class);
+
+    /**
+     * Removed students tolerated in the posting lists before they are rebuilt
+     */
+    private static final int MIN_REMOVED_FOR_COMPACTION = 10_000;
+
+    /**
+     * Properties the indexed rows carry, and so can be sorted by
+     */
+    private static final Set<String> SORT_PROPERTIES = Set.of("id", "nomorInduk", "namaDepan", "namaBelakang",
+        "tanggalLahir");
+
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate primaryTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // A lock rather than a monitor: it is held across a query, which must not pin a virtual thread's carrier
+    private final Lock updateLock = new ReentrantLock();
+
+    // Guarded by lock. Students by ordinal (null once removed); posting lists hold ordinals in ascending order.
+    private final List<StudentIndexRow> rows = new ArrayList<>();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private int removed;
+
+    @Autowired
+    public StudentSearchIndex(StudentRepository studentRepository, PlatformTransactionManager transactionManager) {
+        this.studentRepository = studentRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        // Also used from after-commit callbacks, where the finished transaction cannot be joined
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        // Not read-only, so routed to the primary: a replica may not have the commit being indexed yet
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    void build() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            readTransaction.executeWithoutResult(status -> {
+                try (Stream<StudentIndexRow> students = studentRepository.streamAllForIndex()) {
+                    students.forEach(this::add);
+                }
+            });
+            log.info("Student search index built: {} students, {} trigrams in {} ms",
+                ordinals.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        // One change at a time, so a reload started before a later commit cannot overwrite what that commit loaded
+        updateLock.lock();
+        try {
+            List<StudentIndexRow> current = event.getType() == StudentChangedEvent.Type.DELETED
+                ? List.of()
+                : primaryTransaction.execute(status -> studentRepository.findIndexRowsByNomorInduk(event.getNomorInduk()));
+            lock.writeLock().lock();
+            try {
+                event.getNomorInduk().forEach(this::remove);
+                current.forEach(this::add);
+                if (removed >= MIN_REMOVED_FOR_COMPACTION && removed > ordinals.size()) {
+                    compact();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @Override
+    public Slice<StudentResponseDTO> search(String keyword, BirthDateRange range, Pageable pageable) {
+        Slice<StudentIndexRow> page = page(keyword, range, pageable);
+        return new SliceImpl<>(page.getContent().stream().map(StudentIndexRow::toResponseDTO).toList(), pageable,
+            page.hasNext());
+    }
+
+    /**
+     * Timestamps are not held in memory, so requesting one costs a query for the page
+     */
+    @Override
+    public Slice<StudentResponseDTO> search(String keyword, BirthDateRange range, Pageable pageable,
+                                            Set<StudentField> fields) {
+        Slice<StudentIndexRow> page = page(keyword, range, pageable);
+        return new SliceImpl<>(studentRepository.completeRows(page.getContent(), fields, LocalDate.now()), pageable,
+            page.hasNext());
+    }
+
+    private Slice<StudentIndexRow> page(String keyword, BirthDateRange range, Pageable pageable) {
+        Comparator<StudentIndexRow> order = comparator(pageable.getSort());
+        List<StudentIndexRow> matches = matches(keyword, range);
+        matches.sort(order);
+
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(matches, pageable, false);
+        }
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return new SliceImpl<>(matches.subList(from, to), pageable, to < matches.size());
+    }
+
+    /**
+     * In the order {@link StudentRepository#findAfter} reads: the cursor's
+     * field, then id, both reversed when descending
+     */
+    @Override
+    public List<StudentIndexRow> searchAfter(StudentCursor cursor, String keyword, BirthDateRange range, int limit) {
+        Comparator<StudentIndexRow> ascending = comparator(Sort.by(cursor.getSortField()));
+        Comparator<StudentIndexRow> order = cursor.isDescending() ? ascending.reversed() : ascending;
+        Stream<StudentIndexRow> matches = matches(keyword, range).stream();
+        if (!cursor.isStart()) {
+            StudentIndexRow last = cursorRow(cursor);
+            matches = matches.filter(row -> order.compare(row, last) > 0);
+        }
+        return matches.sorted(order).limit(limit).toList();
+    }
+
+    @Override
+    public long count(String keyword, BirthDateRange range) {
+        return matches(keyword, range).size();
+    }
+
+    /**
+     * Counting in memory is as cheap as estimating
+     */
+    @Override
+    public long estimateCount(String keyword, BirthDateRange range) {
+        return count(keyword, range);
+    }
+
+    @Override
+    public boolean supportsSort(String property) {
+        return SORT_PROPERTIES.contains(property);
+    }
+
+    private List<StudentIndexRow> matches(String keyword, BirthDateRange range) {
+        LikePattern pattern = LikePattern.compile(keyword);
+        List<StudentIndexRow> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int[] candidates = candidates(pattern.literals);
+            int size = candidates == null ? rows.size() : candidates.length;
+            for (int i = 0; i < size; i++) {
+                StudentIndexRow row = rows.get(candidates == null ? i : candidates[i]);
+                if (row != null && range.contains(row.getTanggalLahir())
+                    && (pattern.matches(row.getNamaDepan()) || pattern.matches(row.getNamaBelakang()))) {
+                    matches.add(row);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    /**
+     * Ordinals of students containing every trigram of the literal parts, or null
+     * when no literal part is long enough to have one (every student is a candidate)
+     */
+    private int[] candidates(List<String> literals) {
+        List<Postings> lists = new ArrayList<>();
+        for (String literal : literals) {
+            for (int i = 0; i + 3 <= literal.length(); i++) {
+                Postings list = postings.get(trigram(literal, i));
+                if (list == null) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty()) {
+            return null;
+        }
+        // Shortest list first keeps every intersection small
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        int[] result = Arrays.copyOf(lists.get(0).ordinals, lists.get(0).size);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] ordinals, Postings list) {
+        int[] result = new int[Math.min(ordinals.length, list.size)];
+        int size = 0;
+        for (int i = 0, j = 0; i < ordinals.length && j < list.size; ) {
+            if (ordinals[i] < list.ordinals[j]) {
+                i++;
+            } else if (ordinals[i] > list.ordinals[j]) {
+                j++;
+            } else {
+                result[size++] = ordinals[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Order of the requested sort, with ties by id. Nama belakang sorts NULLs the
+     * way PostgreSQL does: last ascending, first descending.
+     */
+    private static Comparator<StudentIndexRow> comparator(Sort sort) {
+        Comparator<StudentIndexRow> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<StudentIndexRow> next = switch (order.getProperty()) {
+                case "id" -> Comparator.comparing(StudentIndexRow::getId);
+                case "nomorInduk" -> Comparator.comparing(StudentIndexRow::getNomorInduk);
+                case "namaDepan" -> Comparator.comparing(StudentIndexRow::getNamaDepan);
+                case "namaBelakang" -> Comparator.comparing(StudentIndexRow::getNamaBelakang,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+                case "tanggalLahir" -> Comparator.comparing(StudentIndexRow::getTanggalLahir);
+                case StudentRepository.SORT_RELEVANCE -> throw new InvalidStudentDataException(
+                    "Sort relevance hanya tersedia dengan app.search.backend=trigram");
+                default -> throw new InvalidStudentDataException("Sort tidak didukung: " + order.getProperty());
+            };
+            comparator = comparator.thenComparing(order.isDescending() ? next.reversed() : next);
+        }
+        return comparator.thenComparing(StudentIndexRow::getId);
+    }
+
+    /**
+     * Row holding only the cursor's sort key and id, to compare others against
+     */
+    private static StudentIndexRow cursorRow(StudentCursor cursor) {
+        Object value = cursor.getValue();
+        return switch (cursor.getSortField()) {
+            case "nomorInduk" -> new StudentIndexRow(cursor.getId(), (String) value, null, null, null);
+            case "namaDepan" -> new StudentIndexRow(cursor.getId(), null, (String) value, null, null);
+            case "namaBelakang" -> new StudentIndexRow(cursor.getId(), null, null, (String) value, null);
+            default -> new StudentIndexRow(cursor.getId(), null, null, null, (LocalDate) value);
+        };
+    }
+
+    private void add(StudentIndexRow row) {
+        int ordinal = rows.size();
+        rows.add(row);
+        ordinals.put(row.getNomorInduk(), ordinal);
+        addTrigrams(row.getNamaDepan(), ordinal);
+        addTrigrams(row.getNamaBelakang(), ordinal);
+    }
+
+    private void addTrigrams(String name, int ordinal) {
+        if (name == null) {
+            return;
+        }
+        for (int i = 0; i + 3 <= name.length(); i++) {
+            postings.computeIfAbsent(trigram(name, i), key -> new Postings()).add(ordinal);
+        }
+    }
+
+    private void remove(String nomorInduk) {
+        Integer ordinal = ordinals.remove(nomorInduk);
+        if (ordinal != null) {
+            rows.set(ordinal, null);
+            removed++;
+        }
+    }
+
+    /**
+     * Renumber the remaining students so removed ones leave the posting lists
+     */
+    private void compact() {
+        List<StudentIndexRow> remaining = rows.stream().filter(Objects::nonNull).toList();
+        rows.clear();
+        ordinals.clear();
+        postings.clear();
+        removed = 0;
+        remaining.forEach(this::add);
+    }
+
+    /**
+     * Three lower-cased characters packed into one key
+     */
+    private static long trigram(String text, int from) {
+        return (long) lower(text.charAt(from)) << 32
+            | (long) lower(text.charAt(from + 1)) << 16
+            | lower(text.charAt(from + 2));
+    }
+
+    /**
+     * LOWER() under the C locale: only ASCII letters change
+     */
+    private static char lower(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * Ordinals of the students whose names contain one trigram, in ascending order
+     */
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            // The trigram occurs more than once in this student's names
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+
+    /**
+     * LOWER(CONCAT('%', keyword, '%')) read as a PostgreSQL LIKE pattern
+     */
+    private static final class LikePattern {
+        private final Pattern regex;
+        private final List<String> literals;
+
+        private LikePattern(Pattern regex, List<String> literals) {
+            this.regex = regex;
+            this.literals = literals;
+        }
+
+        static LikePattern compile(String keyword) {
+            String like = "%" + keyword + "%";
+            StringBuilder regex = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            List<String> literals = new ArrayList<>();
+            for (int i = 0; i < like.length(); i++) {
+                char c = like.charAt(i);
+                if (c == '\\' && i + 1 < like.length()) {
+                    literal.append(lower(like.charAt(++i)));
+                } else if (c == '%' || c == '_') {
+                    endLiteral(literal, literals, regex);
+                    regex.append(c == '%' ? ".*" : ".");
+                } else {
+                    literal.append(lower(c));
+                }
+            }
+            endLiteral(literal, literals, regex);
+            // Without UNICODE_CASE only ASCII letters match case-insensitively, like LOWER() above
+            return new LikePattern(Pattern.compile(regex.toString(), Pattern.DOTALL | Pattern.CASE_INSENSITIVE), literals);
+        }
+
+        private static void endLiteral(StringBuilder literal, List<String> literals, StringBuilder regex) {
+            if (!literal.isEmpty()) {
+                literals.add(literal.toString());
+                regex.append(Pattern.quote(literal.toString()));
+                literal.setLength(0);
+            }
+        }
+
+        boolean matches(String name) {
+            return name != null && regex.matcher(name).matches();
+        }
+    }
+}
@@ -1,67 +1,278 @@
 package com.xtramile.intern_project.service;
 
+import com.xtramile.intern_project.dto.BirthDateRange;
+import com.xtramile.intern_project.dto.StudentBatchItemDTO;
+import com.xtramile.intern_project.dto.StudentBatchResultDTO;
+import com.xtramile.intern_project.dto.StudentCursor;
+import com.xtramile.intern_project.dto.StudentCursorPage;
 import com.xtramile.intern_project.dto.StudentDetailDTO;
+import com.xtramile.intern_project.dto.StudentExportRow;
+import com.xtramile.intern_project.dto.StudentField;
+import com.xtramile.intern_project.dto.StudentIndexRow;
+import com.xtramile.intern_project.dto.StudentPage;
+import com.xtramile.intern_project.dto.StudentQuery;
 import com.xtramile.intern_project.dto.StudentRequestDTO;
 import com.xtramile.intern_project.dto.StudentResponseDTO;
+import com.xtramile.intern_project.event.StudentChangedEvent;
 import com.xtramile.intern_project.exception.DuplicateStudentException;
 import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import com.xtramile.intern_project.exception.StudentModifiedException;
 import com.xtramile.intern_project.exception.StudentNotFoundException;
 import com.xtramile.intern_project.model.Student;
+import com.xtramile.intern_project.querycount.QueryBudget;
 import com.xtramile.intern_project.repository.StudentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class StudentService {
     
+    /**
+     * Maximum inserts attempted when the allocated nomor induk is already taken
+     */
+    static final int MAX_CREATE_ATTEMPTS = 5;
+    
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+    
+    /**
+     * PostgreSQL detail of a duplicate nomor induk, e.g. Key (nomor_induk)=(2026005) already exists
+     */
+    private static final Pattern DUPLICATE_NOMOR_INDUK = Pattern.compile("\\(nomor_induk\\)=\\(([^)]+)\\)");
+    
     private final StudentRepository studentRepository;
+    private final NomorIndukAllocator nomorIndukAllocator;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StudentCountService studentCountService;
+    private final StudentSearchBackend searchBackend;
+    private final int maxBatchSize;
+    private final Timer allocationTimer;
+    private final Timer batchAllocationTimer;
+    private final Timer searchTimer;
     
     @Autowired
-    public StudentService(StudentRepository studentRepository) {
+    public StudentService(StudentRepository studentRepository,
+                          NomorIndukAllocator nomorIndukAllocator,
+                          PlatformTransactionManager transactionManager,
+                          Validator validator,
+                          ApplicationEventPublisher eventPublisher,
+                          StudentCountService studentCountService,
+                          StudentSearchBackend searchBackend,
+                          @Value("${app.students.batch.max-size:1000}") int maxBatchSize,
+                          MeterRegistry meterRegistry) {
         this.studentRepository = studentRepository;
+        this.nomorIndukAllocator = nomorIndukAllocator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.studentCountService = studentCountService;
+        this.searchBackend = searchBackend;
+        this.maxBatchSize = maxBatchSize;
+        this.allocationTimer = allocationTimer(meterRegistry, "single");
+        this.batchAllocationTimer = allocationTimer(meterRegistry, "batch");
+        this.searchTimer = Timer.builder("students.search")
+            .description("Name searches answered by the search backend, without the count")
+            .register(meterRegistry);
+    }
+    
+    private static Timer allocationTimer(MeterRegistry meterRegistry, String mode) {
+        return Timer.builder("students.nomor-induk.allocation")
+            .description("Claiming nomor induk for new students")
+            .tag("mode", mode)
+            .register(meterRegistry);
     }
     
     /**
-     * Create new student with validation and auto-generated nomor induk
+     * Create new student with validation and auto-generated nomor induk.
+     * Each insert attempt runs in its own transaction: if the allocated nomor induk
+     * was taken behind the allocator's back (unique constraint violation), the
+     * attempt is rolled back and retried with the next free number.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public StudentDetailDTO create(StudentRequestDTO request) {
         // Validate age
         validateAge(request.getTanggalLahir());
         
-        // Generate nomor induk
-        String nomorInduk = generateNomorInduk();
-        
-        // Create student entity
-        Student student = new Student();
-        student.setNomorInduk(nomorInduk);
-        student.setNamaDepan(request.getNamaDepan());
-        student.setNamaBelakang(request.getNamaBelakang());
-        student.setTanggalLahir(request.getTanggalLahir());
+        for (int attempt = 1; ; attempt++) {
+            // Claim nomor induk
+            String nomorInduk = allocationTimer.record(() -> nomorIndukAllocator.allocate());
+            
+            // Create student entity
+            Student student = new Student();
+            student.setNomorInduk(nomorInduk);
+            student.setNamaDepan(request.getNamaDepan());
+            student.setNamaBelakang(request.getNamaBelakang());
+            student.setTanggalLahir(request.getTanggalLahir());
+            
+            try {
+                // Save to database
+                Student savedStudent = transactionTemplate.execute(status -> studentRepository.saveAndFlush(student));
+                eventPublisher.publishEvent(StudentChangedEvent.of(StudentChangedEvent.Type.CREATED, nomorInduk));
+                return StudentDetailDTO.fromEntity(savedStudent);
+            } catch (DataIntegrityViolationException e) {
+                if (!isUniqueViolation(e)) {
+                    nomorIndukAllocator.release(nomorInduk);
+                    throw e;
+                }
+                // The number really is in use, so it stays claimed; try the next one
+                if (attempt >= MAX_CREATE_ATTEMPTS) {
+                    throw new DuplicateStudentException(
+                        "Gagal mendapatkan nomor induk unik setelah " + attempt + " percobaan", e);
+                }
+            } catch (RuntimeException e) {
+                nomorIndukAllocator.release(nomorInduk);
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * Create many students at once. Every item is validated on its own and
+     * rejected items are reported back; the valid ones get their nomor induk in
+     * a single allocation and are inserted in one transaction as JDBC batches.
+     * On a nomor induk collision the transaction is retried with replacements.
+     * The query budget covers a full batch: the insert, a sequence call per 50
+     * ids and the allocator's first use.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @QueryBudget(25)
+    public StudentBatchResultDTO createBatch(List<StudentRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidStudentDataException("Data mahasiswa tidak boleh kosong");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new InvalidStudentDataException(
+                "Maksimal " + maxBatchSize + " mahasiswa per batch (diterima: " + requests.size() + ")");
+        }
         
-        // Save to database
-        Student savedStudent = studentRepository.save(student);
+        // Validate every item, keep the accepted positions
+        StudentBatchItemDTO[] results = new StudentBatchItemDTO[requests.size()];
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            List<String> errors = validate(requests.get(i));
+            if (errors.isEmpty()) {
+                accepted.add(i);
+            } else {
+                results[i] = StudentBatchItemDTO.rejected(i, errors);
+            }
+        }
         
-        return StudentDetailDTO.fromEntity(savedStudent);
+        List<String> nomorInduk = new ArrayList<>(allocate(accepted.size()));
+        for (int attempt = 1; ; attempt++) {
+            // Items beyond the year's capacity are rejected
+            while (accepted.size() > nomorInduk.size()) {
+                int index = accepted.remove(accepted.size() - 1);
+                results[index] = StudentBatchItemDTO.rejected(index, List.of(
+                    "Maximum number of students for year " + Year.now().getValue()
+                        + " has been reached (" + NomorIndukAllocator.MAX_SEQUENCE + ")"));
+            }
+            if (accepted.isEmpty()) {
+                return new StudentBatchResultDTO(Arrays.asList(results));
+            }
+            
+            List<Student> students = new ArrayList<>(accepted.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                StudentRequestDTO request = requests.get(accepted.get(i));
+                Student student = new Student();
+                student.setNomorInduk(nomorInduk.get(i));
+                student.setNamaDepan(request.getNamaDepan());
+                student.setNamaBelakang(request.getNamaBelakang());
+                student.setTanggalLahir(request.getTanggalLahir());
+                students.add(student);
+            }
+            
+            try {
+                List<Student> savedStudents = transactionTemplate.execute(status -> {
+                    List<Student> saved = studentRepository.saveAll(students);
+                    studentRepository.flush();
+                    return saved;
+                });
+                for (int i = 0; i < accepted.size(); i++) {
+                    int index = accepted.get(i);
+                    results[index] = StudentBatchItemDTO.created(index, StudentDetailDTO.fromEntity(savedStudents.get(i)));
+                }
+                eventPublisher.publishEvent(new StudentChangedEvent(StudentChangedEvent.Type.CREATED, List.copyOf(nomorInduk)));
+                return new StudentBatchResultDTO(Arrays.asList(results));
+            } catch (DataIntegrityViolationException e) {
+                if (!isUniqueViolation(e)) {
+                    nomorInduk.forEach(nomorIndukAllocator::release);
+                    throw e;
+                }
+                String taken = duplicateNomorInduk(e);
+                int position = taken != null ? nomorInduk.indexOf(taken) : -1;
+                if (attempt >= MAX_CREATE_ATTEMPTS) {
+                    if (position >= 0) {
+                        nomorInduk.stream().filter(ni -> !ni.equals(taken)).forEach(nomorIndukAllocator::release);
+                    }
+                    throw new DuplicateStudentException(
+                        "Gagal mendapatkan nomor induk unik setelah " + attempt + " percobaan", e);
+                }
+                if (position >= 0) {
+                    // Keep the taken number claimed, replace only that one
+                    nomorInduk.remove(position);
+                    nomorInduk.addAll(allocate(1));
+                } else {
+                    // Unknown which number collided, so none of them is handed out again
+                    nomorInduk = new ArrayList<>(allocate(accepted.size()));
+                }
+            } catch (RuntimeException e) {
+                nomorInduk.forEach(nomorIndukAllocator::release);
+                throw e;
+            }
+        }
+    }
+    
+    private List<String> allocate(int count) {
+        return batchAllocationTimer.record(() -> nomorIndukAllocator.allocate(count));
     }
     
     /**
      * Update existing student
      */
     public StudentDetailDTO update(String nomorInduk, StudentRequestDTO request) {
+        return update(nomorInduk, request, null);
+    }
+    
+    /**
+     * Update existing student if it still matches the If-Match header
+     * (null to update unconditionally)
+     */
+    public StudentDetailDTO update(String nomorInduk, StudentRequestDTO request, String ifMatch) {
         // Find existing student
-        Student student = studentRepository.findByNomorInduk(nomorInduk)
-            .orElseThrow(() -> new StudentNotFoundException(nomorInduk));
+        Student student = findForWrite(nomorInduk, ifMatch);
         
         // Validate age
         validateAge(request.getTanggalLahir());
@@ -71,8 +282,9 @@ public class StudentService {
         student.setNamaBelakang(request.getNamaBelakang());
         student.setTanggalLahir(request.getTanggalLahir());
         
-        // Save changes
-        Student updatedStudent = studentRepository.save(student);
+        // Save changes, flushed so the response (and its ETag) carries the new updatedAt
+        Student updatedStudent = studentRepository.saveAndFlush(student);
+        eventPublisher.publishEvent(StudentChangedEvent.of(StudentChangedEvent.Type.UPDATED, nomorInduk));
         
         return StudentDetailDTO.fromEntity(updatedStudent);
     }
@@ -81,115 +293,217 @@ public class StudentService {
      * Delete student by nomor induk
      */
     public void delete(String nomorInduk) {
-        Student student = studentRepository.findByNomorInduk(nomorInduk)
-            .orElseThrow(() -> new StudentNotFoundException(nomorInduk));
+        delete(nomorInduk, null);
+    }
+    
+    /**
+     * Delete student by nomor induk if it still matches the If-Match header
+     * (null to delete unconditionally)
+     */
+    public void delete(String nomorInduk, String ifMatch) {
+        Student student = findForWrite(nomorInduk, ifMatch);
         
         studentRepository.delete(student);
+        nomorIndukAllocator.reclaim(nomorInduk);
+        eventPublisher.publishEvent(StudentChangedEvent.of(StudentChangedEvent.Type.DELETED, nomorInduk));
+    }
+    
+    /**
+     * Student about to be written. With an If-Match header the row stays locked
+     * until commit, so nobody can change it between the check and the write.
+     */
+    private Student findForWrite(String nomorInduk, String ifMatch) {
+        if (ifMatch == null) {
+            return studentRepository.findByNomorInduk(nomorInduk)
+                .orElseThrow(() -> new StudentNotFoundException(nomorInduk));
+        }
+        Student student = studentRepository.findForUpdateByNomorInduk(nomorInduk)
+            .orElseThrow(() -> new StudentNotFoundException(nomorInduk));
+        if (!StudentETags.match(ifMatch, StudentETags.detail(StudentDetailDTO.fromEntity(student)))) {
+            throw new StudentModifiedException(nomorInduk);
+        }
+        return student;
     }
     
     /**
-     * Find student by nomor induk
+     * ETag of a student's detail response, from one indexed lookup that does
+     * not load the student
      */
     @Transactional(readOnly = true)
-    public StudentDetailDTO findByNomorInduk(String nomorInduk) {
-        Student student = studentRepository.findByNomorInduk(nomorInduk)
+    public String detailETag(String nomorInduk) {
+        return studentRepository.findUpdatedAtByNomorInduk(nomorInduk)
+            .map(modifiedAt -> StudentETags.detail(nomorInduk, modifiedAt))
             .orElseThrow(() -> new StudentNotFoundException(nomorInduk));
-        
-        return StudentDetailDTO.fromEntity(student);
     }
     
     /**
-     * Get all students with pagination (for list view)
+     * Write version of the students table, the same on every instance, for
+     * list and search ETags
      */
     @Transactional(readOnly = true)
-    public Page<StudentResponseDTO> findAll(Pageable pageable) {
-        Page<Student> students = studentRepository.findAll(pageable);
-        return students.map(StudentResponseDTO::fromEntity);
+    public String listVersion() {
+        return tableVersion();
+    }
+    
+    /**
+     * Table version read on the connection of the current transaction, so it
+     * comes from the database (primary or replica) that serves the rest of it.
+     * Read before the rows: a write committing in between leaves the page
+     * tagged older than it is, which only costs a 200 on the next poll.
+     */
+    private String tableVersion() {
+        return Long.toString(studentRepository.findTableVersion());
     }
     
     /**
-     * Search students by name with pagination
+     * Find student by nomor induk, reading only the requested fields (all of
+     * them, from the entity, for null)
      */
     @Transactional(readOnly = true)
-    public Page<StudentResponseDTO> search(String keyword, Pageable pageable) {
-        if (keyword == null || keyword.trim().isEmpty()) {
-            return findAll(pageable);
+    public StudentDetailDTO findByNomorInduk(String nomorInduk, Set<StudentField> fields) {
+        if (fields == null) {
+            return StudentDetailDTO.fromEntity(studentRepository.findByNomorInduk(nomorInduk)
+                .orElseThrow(() -> new StudentNotFoundException(nomorInduk)));
         }
-        
-        Page<Student> students = studentRepository.searchByName(keyword.trim(), pageable);
-        return students.map(StudentResponseDTO::fromEntity);
+        return studentRepository.findFieldsByNomorInduk(nomorInduk, fields, LocalDate.now())
+            .orElseThrow(() -> new StudentNotFoundException(nomorInduk));
     }
     
     /**
-     * Generate nomor induk with format: YYYY{sequence}
-     * Example: 2026001, 2026002, etc.
-     * Reuses deleted nomor induk if available (finds gaps in sequence)
+     * Page of the students the query selects, totals obtained with the given
+     * count strategy (null for the configured default)
      */
-    private String generateNomorInduk() {
-        int currentYear = Year.now().getValue();
-        String yearPrefix = String.valueOf(currentYear);
+    @Transactional(readOnly = true)
+    public StudentPage search(StudentQuery query, Pageable pageable, CountStrategy countStrategy) {
+        checkSort(query, pageable.getSort());
+        CountStrategy strategy = studentCountService.resolve(countStrategy);
+        String version = tableVersion();
+        String keyword = query.getKeyword();
+        BirthDateRange range = query.getRange();
+        Set<StudentField> fields = query.getFields();
         
-        // Get all existing nomor induk for this year
-        List<String> existingNomorInduk = studentRepository.findAllNomorIndukByPrefix(yearPrefix);
+        Slice<StudentResponseDTO> students;
+        if (keyword == null) {
+            students = fields == null
+                ? studentRepository.findRows(null, range, LocalDate.now(), pageable)
+                : studentRepository.findRows(null, range, LocalDate.now(), pageable, fields);
+        } else {
+            students = searchTimer.record(() -> fields == null
+                ? searchBackend.search(keyword, range, pageable)
+                : searchBackend.search(keyword, range, pageable, fields));
+        }
         
-        // Extract sequence numbers (last 3 digits)
-        Set<Integer> usedSequences = existingNomorInduk.stream()
-            .map(ni -> {
-                if (ni.startsWith(yearPrefix) && ni.length() == yearPrefix.length() + 3) {
-                    try {
-                        return Integer.parseInt(ni.substring(yearPrefix.length()));
-                    } catch (NumberFormatException e) {
-                        return null;
-                    }
-                }
-                return null;
-            })
-            .filter(seq -> seq != null && seq >= 1 && seq <= 999)
-            .collect(Collectors.toSet());
-        
-        // Find first available sequence (1-999)
-        int nextSequence = -1;
-        for (int seq = 1; seq <= 999; seq++) {
-            if (!usedSequences.contains(seq)) {
-                nextSequence = seq;
-                break;
-            }
+        if (strategy == CountStrategy.EXACT) {
+            // Count only when the page does not already show where the results end
+            Page<StudentResponseDTO> page = PageableExecutionUtils.getPage(students.getContent(), pageable,
+                () -> studentCountService.count(strategy, keyword, range));
+            return new StudentPage(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(),
+                page.hasNext(), strategy.toParameter(), version);
         }
         
-        // If no gap found, use next sequence after max
-        if (nextSequence == -1) {
-            if (usedSequences.isEmpty()) {
-                nextSequence = 1;
-            } else {
-                int maxSequence = usedSequences.stream().mapToInt(Integer::intValue).max().orElse(0);
-                nextSequence = maxSequence + 1;
-                if (nextSequence > 999) {
-                    throw new InvalidStudentDataException(
-                        "Maximum number of students for year " + currentYear + " has been reached (999)");
-                }
+        Long total = studentCountService.count(strategy, keyword, range);
+        if (total != null) {
+            // What the page itself shows beats a stale or estimated total
+            long seen = pageable.getOffset() + students.getNumberOfElements();
+            if (students.hasNext()) {
+                total = Math.max(total, seen + 1);
+            } else if (students.hasContent() || pageable.getOffset() == 0) {
+                total = seen;
+            }
+        }
+        return new StudentPage(students.getContent(), students.getNumber(),
+            students.getSize(), total, students.hasNext(), strategy.toParameter(), version);
+    }
+    
+    /**
+     * Rejects a sort the query's pages cannot be listed in, without touching
+     * the database
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void checkSort(StudentQuery query, Sort sort) {
+        for (Sort.Order order : sort) {
+            boolean relevance = StudentRepository.SORT_RELEVANCE.equals(order.getProperty());
+            if (relevance && !query.hasKeyword()) {
+                throw new InvalidStudentDataException("Sort relevance memerlukan keyword pencarian");
+            }
+            boolean supported = query.hasKeyword()
+                ? searchBackend.supportsSort(order.getProperty())
+                : StudentRepository.SORT_PROPERTIES.contains(order.getProperty());
+            if (relevance && !supported) {
+                throw new InvalidStudentDataException("Sort relevance hanya tersedia dengan app.search.backend=trigram");
             }
+            if (!supported) {
+                throw new InvalidStudentDataException("Sort tidak didukung: " + order.getProperty());
+            }
+        }
+    }
+    
+    /**
+     * Students the query selects after a keyset cursor (see
+     * {@link StudentCursor#of}). The cursor does not carry the query, so every
+     * page of a walk must be requested with the same one. A keyword is matched
+     * by the search backend, so a walk finds the students {@link #search} finds.
+     */
+    @Transactional(readOnly = true)
+    public StudentCursorPage findAfter(StudentQuery query, StudentCursor cursor, int size) {
+        if (size < 1) {
+            throw new InvalidStudentDataException("Ukuran halaman minimal 1");
         }
         
-        String sequenceStr = String.format("%03d", nextSequence);
-        String nomorInduk = yearPrefix + sequenceStr;
+        String version = tableVersion();
         
-        // Double check for uniqueness (in case of race condition)
-        if (studentRepository.existsByNomorInduk(nomorInduk)) {
-            // Retry with next sequence
-            nextSequence++;
-            if (nextSequence > 999) {
-                throw new InvalidStudentDataException(
-                    "Maximum number of students for year " + currentYear + " has been reached (999)");
+        // One extra row tells whether another page follows
+        List<StudentIndexRow> students = query.hasKeyword()
+            ? searchTimer.record(() -> searchBackend.searchAfter(cursor, query.getKeyword(), query.getRange(),
+                size + 1))
+            : studentRepository.findAfter(cursor, null, query.getRange(), size + 1);
+        boolean hasNext = students.size() > size;
+        List<StudentIndexRow> page = hasNext ? students.subList(0, size) : students;
+        String nextCursor = hasNext ? cursor.after(page.get(page.size() - 1)).encode() : null;
+        
+        List<StudentResponseDTO> content = query.getFields() == null
+            ? page.stream().map(StudentIndexRow::toResponseDTO).toList()
+            : studentRepository.completeRows(page, query.getFields(), LocalDate.now());
+        return new StudentCursorPage(content, size, cursor.isStart(), nextCursor, version);
+    }
+    
+    /**
+     * Write every student to the output as CSV or NDJSON, streaming rows from a
+     * database cursor so memory use does not depend on the number of students.
+     * Returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long export(String format, OutputStream output) throws IOException {
+        long rows = 0;
+        try (StudentExportWriter writer = StudentExportWriter.create(format, output);
+             Stream<StudentExportRow> students = studentRepository.streamAllForExport()) {
+            for (Iterator<StudentExportRow> it = students.iterator(); it.hasNext(); rows++) {
+                writer.write(it.next());
             }
-            sequenceStr = String.format("%03d", nextSequence);
-            nomorInduk = yearPrefix + sequenceStr;
-            
-            if (studentRepository.existsByNomorInduk(nomorInduk)) {
-                throw new DuplicateStudentException(nomorInduk);
+        }
+        return rows;
+    }
+    
+    /**
+     * Bean validation plus age rules for one batch or import item, as "field: message" strings
+     */
+    List<String> validate(StudentRequestDTO request) {
+        List<String> errors = new ArrayList<>();
+        if (request == null) {
+            errors.add("Data mahasiswa tidak boleh kosong");
+            return errors;
+        }
+        for (ConstraintViolation<StudentRequestDTO> violation : validator.validate(request)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (errors.isEmpty()) {
+            try {
+                validateAge(request.getTanggalLahir());
+            } catch (InvalidStudentDataException e) {
+                errors.add("tanggalLahir: " + e.getMessage());
             }
         }
-        
-        return nomorInduk;
+        return errors;
     }
     
     /**
@@ -216,4 +530,26 @@ public class StudentService {
                 "Usia mahasiswa maksimal 40 tahun (usia saat ini: " + age + " tahun)");
         }
     }
+    
+    static boolean isUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && UNIQUE_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    static String duplicateNomorInduk(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null) {
+                Matcher matcher = DUPLICATE_NOMOR_INDUK.matcher(cause.getMessage());
+                if (matcher.find()) {
+                    return matcher.group(1);
+                }
+            }
+        }
+        return null;
+    }
 }
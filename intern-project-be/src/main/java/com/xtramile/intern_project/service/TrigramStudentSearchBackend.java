@@ -0,0 +1,67 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.dto.BirthDateRange;
+import com.xtramile.intern_project.dto.StudentCursor;
+import com.xtramile.intern_project.dto.StudentField;
+import com.xtramile.intern_project.dto.StudentIndexRow;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import com.xtramile.intern_project.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * LIKE on the lower-cased full name, answered from the pg_trgm GIN index of
+ * migration V2 instead of a sequential scan. A keyword may span both names
+ * ("budi san"), and results can be ranked by word similarity.
+ * Keywords shorter than three characters contain no trigram, so they read the
+ * whole index and are no faster than the jpql backend.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.backend", havingValue = "trigram")
+public class TrigramStudentSearchBackend implements StudentSearchBackend {
+
+    private final StudentRepository studentRepository;
+
+    @Autowired
+    public TrigramStudentSearchBackend(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    @Override
+    public Slice<StudentResponseDTO> search(String keyword, BirthDateRange range, Pageable pageable) {
+        return studentRepository.searchByFullName(keyword, range, LocalDate.now(), pageable);
+    }
+
+    @Override
+    public Slice<StudentResponseDTO> search(String keyword, BirthDateRange range, Pageable pageable,
+                                            Set<StudentField> fields) {
+        return studentRepository.searchByFullName(keyword, range, LocalDate.now(), pageable, fields);
+    }
+
+    @Override
+    public List<StudentIndexRow> searchAfter(StudentCursor cursor, String keyword, BirthDateRange range, int limit) {
+        return studentRepository.findAfterByFullName(cursor, keyword, range, limit);
+    }
+
+    @Override
+    public long count(String keyword, BirthDateRange range) {
+        return studentRepository.countByFullName(keyword, range);
+    }
+
+    @Override
+    public long estimateCount(String keyword, BirthDateRange range) {
+        return studentRepository.estimateCountByFullName(keyword, range);
+    }
+
+    @Override
+    public boolean supportsSort(String property) {
+        return StudentRepository.SORT_RELEVANCE.equals(property) || StudentSearchBackend.super.supportsSort(property);
+    }
+}
@@ -0,0 +1,51 @@
+-- Baseline schema: what scripts/init-db.sql and ddl-auto=update used to create.
+-- Written with IF NOT EXISTS so it also applies cleanly to databases created
+-- that way (spring.flyway.baseline-on-migrate records them at version 0).
+
+-- ============================================
+-- STUDENTS TABLE
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS students (
+    id BIGSERIAL PRIMARY KEY,
+    nomor_induk VARCHAR(20) NOT NULL UNIQUE,
+    nama_depan VARCHAR(100) NOT NULL,
+    nama_belakang VARCHAR(100),
+    tanggal_lahir DATE NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Hibernate hands out ids from this sequence in blocks of 50 (pooled optimizer)
+ALTER SEQUENCE students_id_seq INCREMENT BY 50;
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_nomor_induk ON students(nomor_induk);
+CREATE INDEX IF NOT EXISTS idx_nama_depan ON students(nama_depan);
+CREATE INDEX IF NOT EXISTS idx_nama_belakang ON students(nama_belakang);
+CREATE INDEX IF NOT EXISTS idx_tanggal_lahir ON students(tanggal_lahir);
+
+-- ============================================
+-- NOMOR INDUK LEASES (app.nomor-induk.allocator=lease)
+-- ============================================
+
+CREATE TABLE IF NOT EXISTS nomor_induk_counters (
+    tahun INTEGER PRIMARY KEY,
+    next_sequence INTEGER NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS nomor_induk_leases (
+    id BIGSERIAL PRIMARY KEY,
+    node_id VARCHAR(255) NOT NULL,
+    tahun INTEGER NOT NULL,
+    range_start INTEGER NOT NULL,
+    range_end INTEGER NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_nomor_induk_leases_expires_at ON nomor_induk_leases(expires_at);
+
+CREATE TABLE IF NOT EXISTS nomor_induk_reclaimed (
+    tahun INTEGER NOT NULL,
+    sequence INTEGER NOT NULL,
+    PRIMARY KEY (tahun, sequence)
+);
@@ -0,0 +1,9 @@
+-- Trigram index for app.search.backend=trigram.
+-- The expression must stay identical to StudentRepositoryImpl.FULL_NAME,
+-- otherwise the planner cannot match it and falls back to a sequential scan.
+-- pg_trgm is a trusted extension (PostgreSQL 13+), so the database owner may create it.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_students_nama_lengkap_trgm
+    ON students USING gin ((lower(nama_depan || ' ' || coalesce(nama_belakang, ''))) gin_trgm_ops);
@@ -0,0 +1,28 @@
+-- Write version of the students table, the sum of all shards: every statement
+-- that writes students bumps one shard in the same transaction, so the version
+-- becomes visible together with the rows it describes, on the primary and on
+-- every replica, and is shared by all application instances. Writers are
+-- spread over 16 shard rows by backend pid so they rarely wait on each other's
+-- row lock.
+
+CREATE TABLE IF NOT EXISTS students_version (
+    shard SMALLINT PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO students_version (shard, version)
+SELECT shard, 0 FROM generate_series(0, 15) AS shard
+ON CONFLICT (shard) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_students_version() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE students_version SET version = version + 1 WHERE shard = pg_backend_pid() % 16;
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS students_version_bump ON students;
+CREATE TRIGGER students_version_bump
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON students
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_students_version();
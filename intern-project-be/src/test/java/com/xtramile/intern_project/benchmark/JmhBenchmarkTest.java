@@ -0,0 +1,77 @@
+package com.xtramile.intern_project.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the JMH benchmarks (classes named *Benchmark next to the code they
+ * measure), writes the results as JSON and prints them next to the committed
+ * baseline. Scores are only comparable between runs on the same machine.
+ *
+ * ./mvnw test -Pjmh
+ * ./mvnw test -Pjmh -Djmh.result=jmh-baseline.json    (to update the baseline)
+ * ./mvnw test -Pjmh -Djmh.include=Serialization       (a subset)
+ */
+@Tag("jmh")
+class JmhBenchmarkTest {
+
+    private static final Path BASELINE = Path.of("jmh-baseline.json");
+
+    @Test
+    void runBenchmarks() throws Exception {
+        Path result = Path.of(System.getProperty("jmh.result", "target/jmh-result.json"));
+        Map<String, Double> baseline = Files.exists(BASELINE) ? readScores(BASELINE) : Map.of();
+
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+            .include("com\\.xtramile\\.intern_project\\..*Benchmark\\..*" + System.getProperty("jmh.include", ""))
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(result.toString())
+            .build()).run();
+        assertThat(results).isNotEmpty();
+
+        System.out.println("==============================================");
+        System.out.println("JMH results (" + result + ") against " + BASELINE);
+        readScores(result).forEach((benchmark, score) -> {
+            Double before = baseline.get(benchmark);
+            System.out.printf("  %-90s %12.3f %s%n", benchmark, score,
+                before == null ? "(new)" : String.format("baseline %12.3f  %+6.1f%%", before, (score / before - 1) * 100));
+        });
+        System.out.println("==============================================");
+    }
+
+    /**
+     * Primary score per benchmark and parameter combination, from a JMH JSON result file
+     */
+    private static Map<String, Double> readScores(Path file) {
+        Map<String, Double> scores = new TreeMap<>();
+        for (JsonNode run : JsonMapper.builder().build().readTree(file.toFile())) {
+            StringBuilder name = new StringBuilder(run.get("benchmark").asString()
+                .replace("com.xtramile.intern_project.", ""));
+            JsonNode params = run.get("params");
+            if (params != null) {
+                params.properties().forEach(param -> name.append(' ').append(param.getKey())
+                    .append('=').append(param.getValue().asString()));
+            }
+            JsonNode metric = run.get("primaryMetric");
+            name.append(" (").append(metric.get("scoreUnit").asString()).append(')');
+            scores.put(name.toString(), metric.get("score").asDouble());
+        }
+        return scores;
+    }
+}
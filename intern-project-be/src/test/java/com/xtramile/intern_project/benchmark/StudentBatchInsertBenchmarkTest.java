@@ -0,0 +1,84 @@
+package com.xtramile.intern_project.benchmark;
+
+import com.xtramile.intern_project.model.Student;
+import com.xtramile.intern_project.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 10k student inserts one-by-one (one transaction each, as POST /api/students)
+ * versus batched (1000 per transaction, as POST /api/students/batch).
+ * Rows use synthetic BENCH nomor induk so the year's 999 limit does not apply.
+ *
+ * ./mvnw test -Pdb-benchmark -Dspring.datasource.url=jdbc:postgresql://localhost:5432/interndb
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "spring.datasource.url", matches = "jdbc:postgresql:.*")
+@SpringBootTest
+class StudentBatchInsertBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000);
+    private static final int BATCH = 1000;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM students WHERE nomor_induk LIKE 'BENCH%'");
+    }
+
+    @Test
+    void batchedVersusOneByOne() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            Student student = student("BENCH1-" + i);
+            transactionTemplate.execute(status -> studentRepository.saveAndFlush(student));
+        }
+        long oneByOneNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int from = 0; from < ROWS; from += BATCH) {
+            List<Student> students = new ArrayList<>(BATCH);
+            for (int i = from; i < Math.min(from + BATCH, ROWS); i++) {
+                students.add(student("BENCH2-" + i));
+            }
+            transactionTemplate.execute(status -> {
+                studentRepository.saveAll(students);
+                studentRepository.flush();
+                return null;
+            });
+        }
+        long batchedNanos = System.nanoTime() - start;
+
+        System.out.println("==============================================");
+        System.out.println("Student insert benchmark (" + ROWS + " rows)");
+        System.out.printf("  one-by-one: %,d ms (%,.0f rows/s)%n", oneByOneNanos / 1_000_000, ROWS / (oneByOneNanos / 1e9));
+        System.out.printf("  batched:    %,d ms (%,.0f rows/s)%n", batchedNanos / 1_000_000, ROWS / (batchedNanos / 1e9));
+        System.out.printf("  speedup:    %.1fx%n", (double) oneByOneNanos / batchedNanos);
+        System.out.println("==============================================");
+    }
+
+    private Student student(String nomorInduk) {
+        return new Student(nomorInduk, "Bench", "Mark", LocalDate.of(2004, 3, 15));
+    }
+}
@@ -0,0 +1,108 @@
+package com.xtramile.intern_project.benchmark;
+
+import com.xtramile.intern_project.dto.StudentCursor;
+import com.xtramile.intern_project.dto.StudentCursorPage;
+import com.xtramile.intern_project.dto.StudentQuery;
+import com.xtramile.intern_project.service.CountStrategy;
+import com.xtramile.intern_project.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Page 1 versus page 10,000 (size 50) with OFFSET pagination and with keyset
+ * pagination. Offset latency grows with depth, keyset latency stays flat.
+ * Rows use synthetic BENCH nomor induk so the year's 999 limit does not apply.
+ *
+ * ./mvnw test -Pdb-benchmark -Dspring.datasource.url=jdbc:postgresql://localhost:5432/interndb
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "spring.datasource.url", matches = "jdbc:postgresql:.*")
+@SpringBootTest
+class StudentKeysetPaginationBenchmarkTest {
+
+    private static final int SIZE = 50;
+    private static final int DEEP_PAGE = 10_000;
+    private static final int ROWS = (DEEP_PAGE + 1) * SIZE;
+    private static final int RUNS = 20;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void insertRows() {
+        jdbcTemplate.update("INSERT INTO students (id, nomor_induk, nama_depan, nama_belakang, tanggal_lahir, created_at, updated_at) "
+            + "SELECT nextval('students_id_seq'), 'BENCH' || g, 'Nama' || (g % 5000), 'Bench', DATE '2004-03-15', now(), now() "
+            + "FROM generate_series(1, ?) g", ROWS);
+        jdbcTemplate.execute("ANALYZE students");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM students WHERE nomor_induk LIKE 'BENCH%'");
+    }
+
+    @Test
+    void keysetLatencyDoesNotDependOnDepth() {
+        Sort sort = Sort.by("namaDepan", "id");
+        // Cursor a client holds after scrolling down to page 10,000
+        String deepCursor = walkTo(DEEP_PAGE);
+
+        double offsetFirst = median(() -> studentService.search(StudentQuery.ALL, PageRequest.of(0, SIZE, sort), CountStrategy.EXACT));
+        double offsetDeep = median(() -> studentService.search(StudentQuery.ALL, PageRequest.of(DEEP_PAGE, SIZE, sort), CountStrategy.EXACT));
+        double keysetFirst = median(() -> studentService.findAfter(StudentQuery.ALL,
+            StudentCursor.start("namaDepan", false), SIZE));
+        double keysetDeep = median(() -> studentService.findAfter(StudentQuery.ALL,
+            StudentCursor.decode(deepCursor), SIZE));
+
+        System.out.println("==============================================");
+        System.out.println("Student pagination benchmark (" + ROWS + " rows, size " + SIZE + ", median of " + RUNS + ")");
+        System.out.printf("  offset page 1:      %8.2f ms%n", offsetFirst);
+        System.out.printf("  offset page %,d: %8.2f ms%n", DEEP_PAGE, offsetDeep);
+        System.out.printf("  keyset page 1:      %8.2f ms%n", keysetFirst);
+        System.out.printf("  keyset page %,d: %8.2f ms%n", DEEP_PAGE, keysetDeep);
+        System.out.println("==============================================");
+
+        assertThat(keysetDeep).isLessThan(offsetDeep);
+    }
+
+    /**
+     * Follow next cursors from the first page up to the given page
+     */
+    private String walkTo(int page) {
+        String cursor = "";
+        for (int i = 0; i < page; i++) {
+            StudentCursorPage current = studentService.findAfter(StudentQuery.ALL,
+                StudentCursor.of(cursor, "namaDepan", false), SIZE);
+            cursor = current.getNextCursor();
+        }
+        assertThat(StudentCursor.decode(cursor).getSortField()).isEqualTo("namaDepan");
+        return cursor;
+    }
+
+    private static double median(Supplier<?> query) {
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2] / 1e6;
+    }
+}
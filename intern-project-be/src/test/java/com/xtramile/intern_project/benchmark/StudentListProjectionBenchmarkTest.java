@@ -0,0 +1,198 @@
+package com.xtramile.intern_project.benchmark;
+
+import com.sun.management.ThreadMXBean;
+import com.xtramile.intern_project.dto.BirthDateRange;
+import com.xtramile.intern_project.dto.StudentCursor;
+import com.xtramile.intern_project.dto.StudentPage;
+import com.xtramile.intern_project.dto.StudentQuery;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import com.xtramile.intern_project.model.Student;
+import com.xtramile.intern_project.service.CountStrategy;
+import com.xtramile.intern_project.service.StudentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * List pages read as managed Student entities mapped with fromEntity (before)
+ * versus the SQL projection onto StudentResponseDTO (after), at page sizes
+ * 100 and 1000: latency, pages per second and bytes allocated per page.
+ * Birth dates include 29 February so the age computed in SQL is compared
+ * with {@link Student#getUsia()} on leap days too, and age filters are checked
+ * against ages computed by PostgreSQL.
+ *
+ * ./mvnw test -Pdb-benchmark -Dspring.datasource.url=jdbc:postgresql://localhost:5432/interndb
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "spring.datasource.url", matches = "jdbc:postgresql:.*")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StudentListProjectionBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int RUNS = 50;
+    private static final int[] SIZES = {100, 1000};
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeAll
+    void insertRows() {
+        // Every fourth student born on 29 February 2004, the rest spread over 2002-2006
+        jdbcTemplate.update("INSERT INTO students (id, nomor_induk, nama_depan, nama_belakang, tanggal_lahir, created_at, updated_at) "
+            + "SELECT nextval('students_id_seq'), 'BENCH' || lpad(g::text, 6, '0'), 'Nama' || (g % 5000), "
+            + "CASE WHEN g % 3 = 0 THEN NULL ELSE 'Bench' END, "
+            + "CASE WHEN g % 4 = 0 THEN DATE '2004-02-29' ELSE DATE '2002-01-01' + (g % 1800) END, now(), now() "
+            + "FROM generate_series(1, ?) g", ROWS);
+        jdbcTemplate.execute("ANALYZE students");
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM students WHERE nomor_induk LIKE 'BENCH%'");
+    }
+
+    @Test
+    void listAndSearchPagesLeaveThePersistenceContextEmpty() {
+        PageRequest page = PageRequest.of(0, 100, Sort.by("nomorInduk"));
+        readOnly.executeWithoutResult(status -> {
+            studentService.search(StudentQuery.ALL, page, CountStrategy.EXACT);
+            studentService.search(StudentQuery.ALL, page, CountStrategy.NONE);
+            studentService.search(StudentQuery.keyword("Nama12"), page, CountStrategy.EXACT);
+            studentService.findAfter(StudentQuery.keyword("Nama12"), StudentCursor.start("nomorInduk", false), 100);
+
+            assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        });
+    }
+
+    @Test
+    void projectedRowsMatchTheEntity() {
+        readOnly.executeWithoutResult(status -> {
+            List<Student> entities = entityManager.createQuery(
+                    "SELECT s FROM Student s WHERE LOWER(s.namaDepan) LIKE '%nama%' "
+                        + "OR LOWER(s.namaBelakang) LIKE '%nama%' ORDER BY s.nomorInduk", Student.class)
+                .setMaxResults(1000)
+                .getResultList();
+            List<StudentResponseDTO> rows = studentService.search(StudentQuery.keyword("Nama"),
+                PageRequest.of(0, 1000, Sort.by("nomorInduk")), CountStrategy.NONE).getContent();
+
+            assertThat(rows).extracting(StudentResponseDTO::getNomorInduk)
+                .containsExactlyElementsOf(entities.stream().map(Student::getNomorInduk).toList());
+            for (int i = 0; i < rows.size(); i++) {
+                Student student = entities.get(i);
+                assertThat(rows.get(i).getNamaLengkap()).isEqualTo(student.getNamaLengkap());
+                assertThat(rows.get(i).getUsia())
+                    .isEqualTo(Period.between(student.getTanggalLahir(), LocalDate.now()).getYears());
+            }
+        });
+    }
+
+    @Test
+    void birthDateRangeIsReadFromTheIndexAndAgeFiltersMatchPostgres() {
+        List<String> plan = jdbcTemplate.queryForList(
+            "EXPLAIN SELECT nomor_induk FROM students WHERE tanggal_lahir >= ? AND tanggal_lahir <= ?",
+            String.class, LocalDate.of(2003, 6, 1), LocalDate.of(2003, 6, 30));
+        assertThat(String.join("\n", plan)).contains("idx_tanggal_lahir");
+
+        LocalDate today = LocalDate.now();
+        int leapDayAge = Period.between(LocalDate.of(2004, 2, 29), today).getYears();
+        for (int age = leapDayAge - 2; age <= leapDayAge + 1; age++) {
+            BirthDateRange range = BirthDateRange.of(age, age, null, null, today);
+            StudentPage page = studentService.search(StudentQuery.of(null, range, null),
+                PageRequest.of(0, 10, Sort.by("tanggalLahir")), CountStrategy.EXACT);
+            Long expected = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM students WHERE extract(year FROM age(current_date, tanggal_lahir)) = ?",
+                Long.class, age);
+
+            assertThat(page.getTotalItems()).as("age %d", age).isEqualTo(expected);
+            assertThat(page.getContent()).extracting(StudentResponseDTO::getUsia).containsOnly(age);
+        }
+    }
+
+    @Test
+    void projectionAllocatesLessPerPageThanEntities() {
+        System.out.println("==============================================");
+        System.out.println("Student list page benchmark (" + ROWS + " rows, median of " + RUNS + ")");
+        for (int size : SIZES) {
+            PageRequest page = PageRequest.of(10, size, Sort.by("nomorInduk"));
+            Supplier<List<StudentResponseDTO>> entities = () -> readOnly.execute(status -> entityManager
+                .createQuery("SELECT s FROM Student s ORDER BY s.nomorInduk", Student.class)
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(size)
+                .getResultList().stream()
+                .map(StudentResponseDTO::fromEntity)
+                .toList());
+            Supplier<List<StudentResponseDTO>> projection = () ->
+                studentService.search(StudentQuery.ALL, page, CountStrategy.NONE).getContent();
+
+            double[] before = measure(entities);
+            double[] after = measure(projection);
+
+            System.out.printf("  size %4d entities:   %8.2f ms %8.0f pages/s %10.0f bytes/page%n",
+                size, before[0], 1000 / before[0], before[1]);
+            System.out.printf("  size %4d projection: %8.2f ms %8.0f pages/s %10.0f bytes/page%n",
+                size, after[0], 1000 / after[0], after[1]);
+
+            assertThat(after[1]).isLessThan(before[1]);
+        }
+        System.out.println("==============================================");
+    }
+
+    /**
+     * Median latency in ms and median bytes allocated by this thread per call
+     */
+    private static double[] measure(Supplier<?> query) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        // Warm up
+        for (int i = 0; i < RUNS; i++) {
+            query.get();
+        }
+        long[] nanos = new long[RUNS];
+        long[] bytes = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+            bytes[i] = threads.getCurrentThreadAllocatedBytes() - allocated;
+        }
+        Arrays.sort(nanos);
+        Arrays.sort(bytes);
+        return new double[] {nanos[RUNS / 2] / 1e6, bytes[RUNS / 2]};
+    }
+}
@@ -0,0 +1,118 @@
+package com.xtramile.intern_project.benchmark;
+
+import com.xtramile.intern_project.InternProjectApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time from launching the JVM to the first 200 from GET /api/students, with
+ * the old startup (raw JDBC connectivity checks, Hibernate updating the
+ * schema) versus the prod profile (no checks, no schema introspection, lazy
+ * non-essential beans). Each start is a fresh JVM on the test class path;
+ * the class-data archive of the Docker image needs a packaged jar and is not
+ * part of this comparison.
+ *
+ * ./mvnw test -Pdb-benchmark -Dspring.datasource.url=jdbc:postgresql://localhost:5432/interndb
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "spring.datasource.url", matches = "jdbc:postgresql:.*")
+class StudentStartupBenchmarkTest {
+
+    private static final int RUNS = 5;
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    @Test
+    void prodProfileServesTheFirstRequestSooner() throws Exception {
+        long[] before = measure(List.of(
+            "--app.datasource.connectivity-check=true",
+            "--spring.jpa.hibernate.ddl-auto=update"));
+        long[] after = measure(List.of("--spring.profiles.active=prod"));
+
+        System.out.println("==============================================");
+        System.out.println("Time to first successful request (" + RUNS + " JVM starts each)");
+        print("connectivity checks + ddl-auto=update", before);
+        print("prod profile", after);
+        System.out.println("==============================================");
+
+        assertThat(after[RUNS / 2]).isLessThan(before[RUNS / 2]);
+    }
+
+    /**
+     * Sorted milliseconds from process start to the first 200, one per run
+     */
+    private static long[] measure(List<String> arguments) throws Exception {
+        long[] millis = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            millis[i] = timeToFirstRequest(arguments);
+        }
+        Arrays.sort(millis);
+        return millis;
+    }
+
+    private static long timeToFirstRequest(List<String> arguments) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+            ProcessHandle.current().info().command().orElse("java"),
+            "-cp", System.getProperty("java.class.path")));
+        for (String property : List.of("spring.datasource.url", "spring.datasource.username", "spring.datasource.password")) {
+            if (System.getProperty(property) != null) {
+                command.add("-D" + property + "=" + System.getProperty(property));
+            }
+        }
+        command.add(InternProjectApplication.class.getName());
+        command.add("--server.port=" + port);
+        command.addAll(arguments);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/students?size=1"))
+            .timeout(Duration.ofSeconds(10)).GET().build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .redirectError(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        try (HttpClient http = HttpClient.newHttpClient()) {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue());
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful request within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void print(String name, long[] millis) {
+        System.out.printf("  %-40s median %,6d ms  min %,6d ms  max %,6d ms%n",
+            name, millis[RUNS / 2], millis[0], millis[RUNS - 1]);
+    }
+}
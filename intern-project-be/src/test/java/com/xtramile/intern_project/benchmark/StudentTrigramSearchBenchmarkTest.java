@@ -0,0 +1,114 @@
+package com.xtramile.intern_project.benchmark;
+
+import com.xtramile.intern_project.dto.BirthDateRange;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import com.xtramile.intern_project.repository.StudentRepository;
+import com.xtramile.intern_project.service.JpqlStudentSearchBackend;
+import com.xtramile.intern_project.service.StudentSearchBackend;
+import com.xtramile.intern_project.service.TrigramStudentSearchBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Name search over 1M students with the jpql backend (LIKE per column, sequential
+ * scan) and the trigram backend (pg_trgm GIN index of migration V2).
+ * Names are random hex so that trigrams are selective, as real names are.
+ * That the index is used at all is checked in the default suite, by
+ * StudentTrigramIndexDatabaseTest.
+ *
+ * ./mvnw test -Pdb-benchmark -Dspring.datasource.url=jdbc:postgresql://localhost:5432/interndb
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "spring.datasource.url", matches = "jdbc:postgresql:.*")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StudentTrigramSearchBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int RUNS = 20;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by("namaDepan"));
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private StudentSearchBackend jpql;
+    private StudentSearchBackend trigram;
+    private String keyword;
+
+    @BeforeAll
+    void insertRows() {
+        jdbcTemplate.update("INSERT INTO students (id, nomor_induk, nama_depan, nama_belakang, tanggal_lahir, created_at, updated_at) "
+            + "SELECT nextval('students_id_seq'), 'BENCH' || g, initcap(substr(md5(g::text), 1, 8)), "
+            + "initcap(substr(md5((g * 7)::text), 1, 10)), DATE '2004-03-15', now(), now() "
+            + "FROM generate_series(1, ?) g", ROWS);
+        jdbcTemplate.execute("ANALYZE students");
+        jpql = new JpqlStudentSearchBackend(studentRepository);
+        trigram = new TrigramStudentSearchBackend(studentRepository);
+        // Six characters from the middle of one student's last name
+        keyword = jdbcTemplate.queryForObject(
+            "SELECT substr(nama_belakang, 3, 6) FROM students WHERE nomor_induk = 'BENCH500000'", String.class);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM students WHERE nomor_induk LIKE 'BENCH%'");
+    }
+
+    @Test
+    void trigramSearchIsFasterThanLikeOnEachColumn() {
+        Slice<StudentResponseDTO> expected = jpql.search(keyword, BirthDateRange.ALL, FIRST_PAGE);
+        assertThat(trigram.search(keyword, BirthDateRange.ALL, FIRST_PAGE).getContent())
+            .extracting(StudentResponseDTO::getNomorInduk)
+            .containsAll(expected.getContent().stream().map(StudentResponseDTO::getNomorInduk).toList());
+
+        double jpqlSearch = median(() -> jpql.search(keyword, BirthDateRange.ALL, FIRST_PAGE));
+        double trigramSearch = median(() -> trigram.search(keyword, BirthDateRange.ALL, FIRST_PAGE));
+        double jpqlCount = median(() -> jpql.count(keyword, BirthDateRange.ALL));
+        double trigramCount = median(() -> trigram.count(keyword, BirthDateRange.ALL));
+        double relevance = median(() -> trigram.search(keyword, BirthDateRange.ALL,
+            PageRequest.of(0, 10, Sort.by("relevance"))));
+
+        System.out.println("==============================================");
+        System.out.println("Student name search benchmark (" + ROWS + " rows, keyword '" + keyword
+            + "', median of " + RUNS + ")");
+        System.out.printf("  jpql page:          %8.2f ms%n", jpqlSearch);
+        System.out.printf("  trigram page:       %8.2f ms%n", trigramSearch);
+        System.out.printf("  jpql count:         %8.2f ms%n", jpqlCount);
+        System.out.printf("  trigram count:      %8.2f ms%n", trigramCount);
+        System.out.printf("  trigram relevance:  %8.2f ms%n", relevance);
+        System.out.println("==============================================");
+
+        assertThat(trigramSearch).isLessThan(jpqlSearch);
+        assertThat(trigramCount).isLessThan(jpqlCount);
+    }
+
+    private static double median(Supplier<?> query) {
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2] / 1e6;
+    }
+}
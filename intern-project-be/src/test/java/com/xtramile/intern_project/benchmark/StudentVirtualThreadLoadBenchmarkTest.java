@@ -0,0 +1,159 @@
+package com.xtramile.intern_project.benchmark;
+
+import com.xtramile.intern_project.InternProjectApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 5k concurrent clients listing students against the application started
+ * twice: request handling on Tomcat's platform threads (HikariCP queues
+ * everyone beyond its 10 connections for up to 30 s), then on virtual threads
+ * behind the database bulkhead. The response cache is off so every request
+ * reaches PostgreSQL. Reports throughput, latency percentiles and failures.
+ *
+ * ./mvnw test -Pdb-benchmark -Dspring.datasource.url=jdbc:postgresql://localhost:5432/interndb
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "spring.datasource.url", matches = "jdbc:postgresql:.*")
+class StudentVirtualThreadLoadBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 5000);
+    private static final int REQUESTS_PER_CLIENT = 4;
+    private static final int ROWS = 1000;
+
+    @Test
+    void virtualThreadsWithBulkheadVersusPlatformThreads() throws Exception {
+        Result platform = run("platform threads", false);
+        Result virtual = run("virtual threads + bulkhead", true);
+
+        System.out.println("==============================================");
+        System.out.println("Student list under load (" + CLIENTS + " concurrent clients, "
+            + REQUESTS_PER_CLIENT + " requests each)");
+        platform.print();
+        virtual.print();
+        System.out.println("==============================================");
+
+        // Queued requests either complete or are told when to retry; none time out in the pool
+        assertThat(virtual.failures()).isZero();
+        assertThat(virtual.ok()).isPositive();
+    }
+
+    private static Result run(String name, boolean virtualThreads) throws Exception {
+        // Command-line arguments, so they win over application.properties
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InternProjectApplication.class)
+                .run("--server.port=0",
+                    "--server.tomcat.max-connections=" + CLIENTS * 2,
+                    "--server.tomcat.accept-count=" + CLIENTS,
+                    "--spring.threads.virtual.enabled=" + virtualThreads,
+                    "--app.db.bulkhead.enabled=" + virtualThreads,
+                    "--app.cache.responses.enabled=false",
+                    "--logging.level.com.zaxxer.hikari=INFO",
+                    "--logging.level.org.postgresql=INFO",
+                    "--logging.level.com.xtramile=INFO")) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            jdbcTemplate.update("INSERT INTO students (id, nomor_induk, nama_depan, nama_belakang, tanggal_lahir, created_at, updated_at) "
+                + "SELECT nextval('students_id_seq'), 'BENCH' || g, 'Nama' || g, 'Bench', DATE '2004-03-15', now(), now() "
+                + "FROM generate_series(1, ?) g", ROWS);
+            try {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                return load(name, URI.create("http://localhost:" + port + "/api/students?size=20&count=none"));
+            } finally {
+                jdbcTemplate.update("DELETE FROM students WHERE nomor_induk LIKE 'BENCH%'");
+            }
+        }
+    }
+
+    private static Result load(String name, URI uri) throws InterruptedException {
+        int total = CLIENTS * REQUESTS_PER_CLIENT;
+        AtomicLongArray latencies = new AtomicLongArray(total);
+        AtomicInteger next = new AtomicInteger();
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        long nanos;
+
+        // Clients on virtual threads too, so the client side is not what limits concurrency
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                 .executor(clients)
+                 .connectTimeout(Duration.ofSeconds(30))
+                 .build()) {
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+            long start = System.nanoTime();
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            statuses.computeIfAbsent(response.statusCode(), s -> new AtomicInteger()).incrementAndGet();
+                        } catch (Exception e) {
+                            // Counted as a failure: neither 200 nor 503
+                        }
+                        latencies.set(next.getAndIncrement(), System.nanoTime() - sent);
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(10, TimeUnit.MINUTES);
+            nanos = System.nanoTime() - start;
+        }
+
+        long[] sorted = new long[total];
+        for (int i = 0; i < total; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        return new Result(name, total, nanos, sorted, statuses);
+    }
+
+    private record Result(String name, int total, long nanos, long[] latencies,
+                          Map<Integer, AtomicInteger> statuses) {
+
+        int ok() {
+            return count(200);
+        }
+
+        /**
+         * Server errors and broken connections; 503 with Retry-After is a controlled rejection
+         */
+        int failures() {
+            return total - ok() - count(503);
+        }
+
+        int count(int status) {
+            AtomicInteger count = statuses.get(status);
+            return count == null ? 0 : count.get();
+        }
+
+        void print() {
+            System.out.printf("  %-28s %,8.0f req/s  p50 %,7.1f ms  p99 %,8.1f ms  max %,8.1f ms  "
+                    + "200: %,d  503: %,d  failed: %,d%n",
+                name, total / (nanos / 1e9), percentile(0.50), percentile(0.99),
+                latencies[latencies.length - 1] / 1e6, ok(), count(503), failures());
+        }
+
+        double percentile(double p) {
+            return latencies[(int) Math.min(latencies.length - 1, Math.round(p * (latencies.length - 1)))] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.xtramile.intern_project.cache;
+
+import com.xtramile.intern_project.event.StudentChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentResponseCacheTest {
+
+    @Test
+    void filterServesRepeatedGetsFromCacheUntilTheStudentIsWritten() throws Exception {
+        StudentResponseCache cache = new StudentResponseCache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), noMeters());
+        StudentResponseCacheFilter filter = new StudentResponseCacheFilter(cache);
+        AtomicInteger controllerCalls = new AtomicInteger();
+
+        assertThat(get(filter, controllerCalls, "/api/students/2026001").getContentAsString()).isEqualTo("response 1");
+        assertThat(get(filter, controllerCalls, "/api/students/2026001").getContentAsString()).isEqualTo("response 1");
+        assertThat(get(filter, controllerCalls, "/api/students").getContentAsString()).isEqualTo("response 2");
+        assertThat(controllerCalls).hasValue(2);
+
+        // Another student's write leaves the detail alone but makes every list stale
+        cache.onStudentChanged(StudentChangedEvent.of(StudentChangedEvent.Type.UPDATED, "2026002"));
+        assertThat(get(filter, controllerCalls, "/api/students/2026001").getContentAsString()).isEqualTo("response 1");
+        assertThat(get(filter, controllerCalls, "/api/students").getContentAsString()).isEqualTo("response 3");
+
+        cache.onStudentChanged(StudentChangedEvent.of(StudentChangedEvent.Type.DELETED, "2026001"));
+        assertThat(get(filter, controllerCalls, "/api/students/2026001").getContentAsString()).isEqualTo("response 4");
+
+        assertThat(cache.stats().getHits()).isEqualTo(2);
+        assertThat(cache.stats().getInvalidations()).isEqualTo(1);
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/api/students/export"))).isTrue();
+        assertThat(filter.shouldNotFilter(new MockHttpServletRequest("PUT", "/api/students/2026001"))).isTrue();
+    }
+
+    @Test
+    void cachedResponseKeepsItsETagAndAnswersAConditionalRepeatWith304() throws Exception {
+        StudentResponseCache cache = new StudentResponseCache(DataSize.ofMegabytes(1), DataSize.ofKilobytes(64), noMeters());
+        StudentResponseCacheFilter filter = new StudentResponseCacheFilter(cache);
+        MockFilterChain controller = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse servletResponse) throws IOException {
+                servletResponse.setHeader(HttpHeaders.ETAG, "\"v1\"");
+                servletResponse.getOutputStream().write("response".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/students"), new MockHttpServletResponse(), controller);
+
+        MockHttpServletResponse plain = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/students"), plain, new MockFilterChain());
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/api/students");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, "\"v0\", \"v1\"");
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        filter.doFilter(conditional, notModified, new MockFilterChain());
+
+        assertThat(plain.getStatus()).isEqualTo(200);
+        assertThat(plain.getHeader(HttpHeaders.ETAG)).isEqualTo("\"v1\"");
+        assertThat(plain.getContentAsString()).isEqualTo("response");
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getHeader(HttpHeaders.ETAG)).isEqualTo("\"v1\"");
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+        assertThat(cache.stats().getHits()).isEqualTo(2);
+    }
+
+    @Test
+    void keyIgnoresParameterOrderAndTrailingSlash() {
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/students/search");
+        first.addParameter("keyword", "budi");
+        first.addParameter("page", "0");
+        MockHttpServletRequest second = new MockHttpServletRequest("GET", "/api/students/search/");
+        second.addParameter("page", "0");
+        second.addParameter("keyword", "budi");
+
+        assertThat(StudentResponseCacheFilter.key(first)).isEqualTo(StudentResponseCacheFilter.key(second));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntriesToStayWithinSize() {
+        StudentResponseCache cache = new StudentResponseCache(DataSize.ofBytes(1000), DataSize.ofBytes(1000), noMeters());
+        cache.put("a", entry(300, cache.generation()));
+        cache.put("b", entry(300, cache.generation()));
+        cache.get("a");
+        cache.put("c", entry(300, cache.generation()));
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.stats().getEvictions()).isEqualTo(1);
+        assertThat(cache.stats().getBytes()).isLessThanOrEqualTo(1000);
+
+        // Computed before a write committed: not stored at all
+        long before = cache.generation();
+        cache.onStudentChanged(StudentChangedEvent.of(StudentChangedEvent.Type.CREATED, "2026009"));
+        cache.put("d", entry(10, before));
+        assertThat(cache.get("d")).isNull();
+    }
+
+    @Test
+    void countersArePublishedAsMetersWhenARegistryIsPresent() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", meterRegistry);
+        StudentResponseCache cache = new StudentResponseCache(DataSize.ofBytes(1000), DataSize.ofBytes(1000),
+            beans.getBeanProvider(MeterRegistry.class));
+        cache.put("a", entry(600, cache.generation()));
+        cache.get("a");
+        cache.get("b");
+        cache.put("c", entry(600, cache.generation()));
+
+        assertThat(meterRegistry.get("student.response.cache.hits").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("student.response.cache.misses").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("student.response.cache.evictions").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("student.response.cache.entries").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("student.response.cache.bytes").gauge().value())
+            .isEqualTo(cache.stats().getBytes());
+    }
+
+    private static ObjectProvider<MeterRegistry> noMeters() {
+        return new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class);
+    }
+
+    private static StudentResponseCache.Entry entry(int size, long generation) {
+        return new StudentResponseCache.Entry(new byte[size], "application/json", null, null, generation, LocalDate.now());
+    }
+
+    private static MockHttpServletResponse get(StudentResponseCacheFilter filter, AtomicInteger controllerCalls,
+                                               String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", uri), response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse servletResponse) throws IOException {
+                servletResponse.setContentType("application/json");
+                servletResponse.getOutputStream()
+                    .write(("response " + controllerCalls.incrementAndGet()).getBytes(StandardCharsets.UTF_8));
+            }
+        }));
+        return response;
+    }
+}
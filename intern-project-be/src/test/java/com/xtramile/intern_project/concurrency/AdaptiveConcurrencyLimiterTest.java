@@ -0,0 +1,137 @@
+package com.xtramile.intern_project.concurrency;
+
+import com.xtramile.intern_project.controller.StudentController;
+import com.xtramile.intern_project.dto.ConcurrencyLimitStatsDTO;
+import com.xtramile.intern_project.exception.GlobalExceptionHandler;
+import com.xtramile.intern_project.service.StudentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void limitGrowsWhileLatencyHoldsAndShrinksWhenItRises() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 2, 100);
+
+        runSaturated(limit, 200, 5 * MILLIS);
+        int grown = limit.getLimit();
+        assertThat(grown).isGreaterThan(10);
+
+        // Database slows down tenfold: the limit follows within a few dozen requests
+        runSaturated(limit, 50, 50 * MILLIS);
+        assertThat(limit.getLimit()).isLessThan(grown / 2);
+
+        // Failures back off however fast they are
+        int beforeFailures = limit.getLimit();
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire();
+            limit.release(MILLIS, true);
+        }
+        assertThat(limit.getLimit()).isLessThan(beforeFailures);
+        assertThat(limit.stats().getFailed()).isEqualTo(5);
+    }
+
+    @Test
+    void limitStaysWithinBoundsAndDoesNotGrowWhileMostlyIdle() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 2, 16);
+
+        // One request at a time says nothing about whether 20 would be fine
+        for (int i = 0; i < 500; i++) {
+            limit.tryAcquire();
+            limit.release(5 * MILLIS, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(10);
+
+        runSaturated(limit, 500, 5 * MILLIS);
+        assertThat(limit.getLimit()).isEqualTo(16);
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(MILLIS, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void requestsBeyondTheLimitAreRejectedWithoutWaiting() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(3, 1, 10);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+
+        ConcurrencyLimitStatsDTO stats = limit.stats();
+        assertThat(stats.getInFlight()).isEqualTo(3);
+        assertThat(stats.getAccepted()).isEqualTo(3);
+        assertThat(stats.getRejected()).isEqualTo(1);
+        assertThat(limit.retryAfterSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    void saturatedReadsAnswer503WhileWritesKeepTheirOwnLimit() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", meterRegistry);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 1, 10,
+            beans.getBeanProvider(MeterRegistry.class));
+        StudentService studentService = mock(StudentService.class);
+        MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new StudentController(studentService))
+            .addInterceptors(new AdaptiveConcurrencyInterceptor(limiter))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+        limiter.limitFor("GET").tryAcquire();
+
+        mockMvc.perform(get("/api/students/2026001"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+            .andExpect(jsonPath("$.status").value(503));
+        verifyNoInteractions(studentService);
+
+        mockMvc.perform(delete("/api/students/2026001"))
+            .andExpect(status().isOk());
+        assertThat(limiter.stats().get("read").getRejected()).isEqualTo(1);
+        assertThat(limiter.stats().get("write").getAccepted()).isEqualTo(1);
+        assertThat(limiter.stats().get("write").getInFlight()).isZero();
+        assertThat(meterRegistry.get("concurrency.limit.rejected").tag("kind", "read").functionCounter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("concurrency.limit.accepted").tag("kind", "write").functionCounter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("concurrency.limit.in-flight").tag("kind", "read").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("concurrency.limit").tag("kind", "read").gauge().value()).isEqualTo(1);
+    }
+
+    /**
+     * Keeps the limit fully used: every completed request is replaced by a new one
+     */
+    private static void runSaturated(GradientConcurrencyLimit limit, int requests, long rttNanos) {
+        while (limit.tryAcquire()) {
+            // Fill up
+        }
+        for (int i = 0; i < requests; i++) {
+            limit.release(rttNanos, false);
+            while (limit.tryAcquire()) {
+                // Refill to the new limit
+            }
+        }
+        while (limit.stats().getInFlight() > 0) {
+            limit.release(rttNanos, false);
+        }
+    }
+}
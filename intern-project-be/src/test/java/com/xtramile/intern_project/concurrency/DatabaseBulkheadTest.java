@@ -0,0 +1,166 @@
+package com.xtramile.intern_project.concurrency;
+
+import com.xtramile.intern_project.config.DatabaseBulkheadConfig;
+import com.xtramile.intern_project.controller.StudentController;
+import com.xtramile.intern_project.dto.BulkheadStatsDTO;
+import com.xtramile.intern_project.dto.StudentDetailDTO;
+import com.xtramile.intern_project.dto.StudentQuery;
+import com.xtramile.intern_project.dto.StudentRequestDTO;
+import com.xtramile.intern_project.exception.GlobalExceptionHandler;
+import com.xtramile.intern_project.exception.ServiceBusyException;
+import com.xtramile.intern_project.model.Student;
+import com.xtramile.intern_project.service.CountStrategy;
+import com.xtramile.intern_project.service.StudentService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DatabaseBulkheadTest {
+
+    @Test
+    void waitersGetPermitsInArrivalOrder() throws Exception {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, Duration.ofSeconds(10), new SimpleMeterRegistry());
+        bulkhead.acquire();
+
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        List<Thread> waiters = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int arrival = i;
+            waiters.add(Thread.ofVirtual().start(() -> {
+                bulkhead.acquire();
+                order.add(arrival);
+                bulkhead.release();
+            }));
+            // Next waiter only once this one is queued
+            while (bulkhead.stats().getQueued() < i + 1) {
+                Thread.onSpinWait();
+            }
+        }
+        BulkheadStatsDTO busy = bulkhead.stats();
+        assertThat(busy.getInUse()).isEqualTo(1);
+        assertThat(busy.getQueued()).isEqualTo(20);
+
+        bulkhead.release();
+        for (Thread waiter : waiters) {
+            waiter.join();
+        }
+
+        assertThat(order).containsExactlyElementsOf(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9,
+            10, 11, 12, 13, 14, 15, 16, 17, 18, 19));
+        BulkheadStatsDTO idle = bulkhead.stats();
+        assertThat(idle.getInUse()).isZero();
+        assertThat(idle.getQueued()).isZero();
+        assertThat(idle.getAcquired()).isEqualTo(21);
+        assertThat(idle.getMaxWaitMillis()).isPositive();
+    }
+
+    @Test
+    void requestStillQueuedAfterMaxWaitIsRejected() {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, Duration.ofMillis(50), new SimpleMeterRegistry());
+        bulkhead.acquire();
+
+        assertThatThrownBy(bulkhead::acquire).isInstanceOf(ServiceBusyException.class);
+        assertThat(bulkhead.stats().getRejected()).isEqualTo(1);
+        assertThat(bulkhead.stats().getQueued()).isZero();
+    }
+
+    @Test
+    void studentEndpointAnswers503WithRetryAfterWhileTheDatabaseIsBusy() throws Exception {
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, Duration.ofMillis(50), new SimpleMeterRegistry());
+        StudentService target = mock(StudentService.class);
+        MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new StudentController(advised(target, bulkhead)))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+        bulkhead.acquire();
+
+        mockMvc.perform(get("/api/students/2026001"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        verifyNoInteractions(target);
+
+        // The permit is held while the service runs and given back before the response is written
+        bulkhead.release();
+        List<Integer> inUse = new ArrayList<>();
+        Student student = new Student("2026001", "Budi", "Santoso", LocalDate.of(2004, 3, 15));
+        student.setUpdatedAt(LocalDateTime.of(2026, 3, 1, 10, 15, 30));
+        when(target.findByNomorInduk("2026001", null)).thenAnswer(invocation -> {
+            inUse.add(bulkhead.stats().getInUse());
+            return StudentDetailDTO.fromEntity(student);
+        });
+        mockMvc.perform(get("/api/students/2026001"))
+            .andExpect(status().isOk());
+        assertThat(inUse).containsExactly(1);
+        assertThat(bulkhead.stats().getInUse()).isZero();
+    }
+
+    @Test
+    void onlyTransactionalServiceMethodsQueueAndExportsDoNot() throws Exception {
+        MethodMatcher methods = ((PointcutAdvisor) DatabaseBulkheadConfig.databaseBulkheadAdvisor(
+            new StaticListableBeanFactory().getBeanProvider(DatabaseBulkhead.class))).getPointcut().getMethodMatcher();
+
+        assertThat(methods.matches(StudentService.class.getMethod("search", StudentQuery.class, Pageable.class,
+            CountStrategy.class), StudentService.class)).isTrue();
+        assertThat(methods.matches(StudentService.class.getMethod("create", StudentRequestDTO.class),
+            StudentService.class)).isTrue();
+        assertThat(methods.matches(StudentService.class.getMethod("export", String.class, OutputStream.class),
+            StudentService.class)).isFalse();
+        // Runs no query of its own
+        assertThat(methods.matches(StudentService.class.getMethod("checkSort", StudentQuery.class, Sort.class),
+            StudentService.class)).isFalse();
+    }
+
+    @Test
+    void queueAndWaitsArePublishedAsMeters() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DatabaseBulkhead bulkhead = new DatabaseBulkhead(1, Duration.ofMillis(20), meterRegistry);
+        bulkhead.acquire();
+        assertThatThrownBy(bulkhead::acquire).isInstanceOf(ServiceBusyException.class);
+
+        assertThat(meterRegistry.get("db.bulkhead.in-use").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("db.bulkhead.queued").gauge().value()).isZero();
+        assertThat(meterRegistry.get("db.bulkhead.rejected").functionCounter().count()).isEqualTo(1);
+        Timer wait = meterRegistry.get("db.bulkhead.wait").timer();
+        assertThat(wait.count()).isEqualTo(2);
+        assertThat(wait.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(20);
+    }
+
+    /**
+     * The service behind the bulkhead advice, as DatabaseBulkheadConfig applies it
+     */
+    private static StudentService advised(StudentService target, DatabaseBulkhead bulkhead) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("databaseBulkhead", bulkhead);
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(DatabaseBulkheadConfig.databaseBulkheadAdvisor(beans.getBeanProvider(DatabaseBulkhead.class)));
+        return (StudentService) proxyFactory.getProxy();
+    }
+}
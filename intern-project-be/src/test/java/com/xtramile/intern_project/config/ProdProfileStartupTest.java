@@ -0,0 +1,40 @@
+package com.xtramile.intern_project.config;
+
+import com.xtramile.intern_project.controller.StudentController;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The prod profile starts without a database, migrations being a separate
+ * deployment step: no connection is opened while the context is refreshed,
+ * which is also what lets the Docker build record its class-data archive
+ * without one.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:postgresql://localhost:1/unreachable")
+@ActiveProfiles("prod")
+class ProdProfileStartupTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Test
+    void startsWithoutTouchingTheDatabaseAndDefersNonEssentialBeans() {
+        assertThat(((HikariDataSource) dataSource).getHikariPoolMXBean()).isNull();
+
+        assertThat(beanFactory.getBeanNamesForType(StudentController.class))
+            .allMatch(beanFactory::containsSingleton);
+        assertThat(beanFactory.containsSingleton("studentImportController")).isFalse();
+        assertThat(beanFactory.containsSingleton("cacheController")).isFalse();
+    }
+}
@@ -0,0 +1,39 @@
+package com.xtramile.intern_project.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the page, size and sort request parameters into a Pageable
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentControllerBenchmark {
+
+    private final String[] defaultSort = {"nomorInduk"};
+    private final String[] descendingSort = {"namaDepan", "desc"};
+
+    @Benchmark
+    public Pageable createPageableDefaultSort() {
+        return StudentController.createPageable(0, 10, defaultSort);
+    }
+
+    @Benchmark
+    public Pageable createPageableDescending() {
+        return StudentController.createPageable(3, 20, descendingSort);
+    }
+}
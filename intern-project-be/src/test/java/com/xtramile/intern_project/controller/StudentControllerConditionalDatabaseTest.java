@@ -0,0 +1,91 @@
+package com.xtramile.intern_project.controller;
+
+import com.xtramile.intern_project.InternProjectApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional writes against an embedded PostgreSQL, where the tags come from
+ * the timestamps the database actually stores.
+ */
+class StudentControllerConditionalDatabaseTest {
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext context;
+    private static MockMvc mockMvc;
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(InternProjectApplication.class).run(
+            "--server.port=0",
+            "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+            "--spring.datasource.username=postgres",
+            "--spring.datasource.password=postgres",
+            "--app.cache.responses.enabled=false",
+            "--logging.level.com.zaxxer.hikari=INFO",
+            "--logging.level.org.postgresql=INFO",
+            "--logging.level.com.xtramile=INFO");
+        context.getBean(JdbcTemplate.class).update("INSERT INTO students (id, nomor_induk, nama_depan, nama_belakang, "
+            + "tanggal_lahir, created_at, updated_at) VALUES (nextval('students_id_seq'), 'CD000001', 'Budi', 'Santoso', "
+            + "DATE '2004-03-15', now() - interval '1 day', now() - interval '1 day')");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @AfterAll
+    static void stopApplication() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void theTagReturnedByAnUpdateAllowsTheNextWrite() throws Exception {
+        String eTag = mockMvc.perform(get("/api/students/CD000001"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String updated = update(eTag, "Setiawan");
+        assertThat(updated).isNotEqualTo(eTag);
+        assertThat(mockMvc.perform(get("/api/students/CD000001"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(updated);
+
+        // The tag of the first update's response is the one the second must send
+        String updatedAgain = update(updated, "Rahardjo");
+        mockMvc.perform(put("/api/students/CD000001").header(HttpHeaders.IF_MATCH, updated)
+                .contentType(MediaType.APPLICATION_JSON).content(body("Santoso")))
+            .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/students/CD000001").header(HttpHeaders.IF_MATCH, updatedAgain))
+            .andExpect(status().isOk());
+    }
+
+    private static String update(String ifMatch, String namaBelakang) throws Exception {
+        return mockMvc.perform(put("/api/students/CD000001").header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MediaType.APPLICATION_JSON).content(body(namaBelakang)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private static String body(String namaBelakang) {
+        return "{\"namaDepan\":\"Budi\",\"namaBelakang\":\"" + namaBelakang + "\",\"tanggalLahir\":\"2004-03-15\"}";
+    }
+}
@@ -0,0 +1,160 @@
+package com.xtramile.intern_project.controller;
+
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import com.xtramile.intern_project.exception.GlobalExceptionHandler;
+import com.xtramile.intern_project.model.Student;
+import com.xtramile.intern_project.repository.StudentRepository;
+import com.xtramile.intern_project.service.StudentChangeTracker;
+import com.xtramile.intern_project.service.StudentService;
+import com.xtramile.intern_project.service.StudentServiceFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional requests against the real controller and service over a mocked
+ * repository, counting the queries each request costs.
+ */
+class StudentControllerConditionalTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 3, 1, 10, 15, 30, 123_456_000);
+
+    private StudentRepository studentRepository;
+    private MockMvc mockMvc;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = mock(StudentRepository.class);
+        StudentService studentService = StudentServiceFixture.over(studentRepository)
+            .jpqlSearch(new StudentChangeTracker()).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(new StudentController(studentService))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+        student = new Student("2026001", "Budi", "Santoso", LocalDate.of(2004, 3, 15));
+        student.setCreatedAt(UPDATED_AT.minusDays(1));
+        student.setUpdatedAt(UPDATED_AT);
+        when(studentRepository.findByNomorInduk("2026001")).thenReturn(Optional.of(student));
+        when(studentRepository.findForUpdateByNomorInduk("2026001")).thenReturn(Optional.of(student));
+        when(studentRepository.findUpdatedAtByNomorInduk("2026001")).thenReturn(Optional.of(UPDATED_AT));
+        when(studentRepository.findTableVersion()).thenReturn(7L);
+        when(studentRepository.findRows(any(), any(), any(), any()))
+            .thenReturn(new SliceImpl<>(List.of(StudentResponseDTO.fromEntity(student))));
+    }
+
+    @Test
+    void repeatDetailPollIsAnsweredWithoutLoadingTheStudent() throws Exception {
+        String eTag = mockMvc.perform(get("/api/students/2026001"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/students/2026001").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        }
+
+        // One full read for the first poll, none for the repeats
+        verify(studentRepository, times(1)).findByNomorInduk("2026001");
+        verify(studentRepository, times(3)).findUpdatedAtByNomorInduk("2026001");
+
+        // A changed student is read again in full
+        student.setUpdatedAt(UPDATED_AT.plusSeconds(1));
+        when(studentRepository.findUpdatedAtByNomorInduk("2026001")).thenReturn(Optional.of(student.getUpdatedAt()));
+        mockMvc.perform(get("/api/students/2026001").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+        verify(studentRepository, times(2)).findByNomorInduk("2026001");
+    }
+
+    @Test
+    void repeatListPollIsAnsweredFromTheTableVersionUntilAStudentChanges() throws Exception {
+        String eTag = mockMvc.perform(get("/api/students"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/students").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+        verify(studentRepository, times(1)).findRows(any(), any(), any(), any());
+
+        // A write on any instance moves the version kept by the database
+        when(studentRepository.findTableVersion()).thenReturn(8L);
+
+        mockMvc.perform(get("/api/students").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+        verify(studentRepository, times(2)).findRows(any(), any(), any(), any());
+    }
+
+    @Test
+    void invalidListParametersAreRejectedEvenWhenTheTagMatches() throws Exception {
+        String eTag = mockMvc.perform(get("/api/students"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        for (String parameters : List.of("page=-1", "size=0", "sort=password,asc", "minAge=30&maxAge=20",
+                "fields=alamat", "count=sometimes", "after=not-a-cursor", "after=&sort=createdAt", "after=&size=0",
+                "sort=relevance")) {
+            mockMvc.perform(get("/api/students?" + parameters).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isBadRequest());
+        }
+        // Relevance needs a keyword and the trigram backend
+        for (String keyword : List.of("", "budi")) {
+            mockMvc.perform(get("/api/students/search").param("keyword", keyword).param("sort", "relevance")
+                    .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isBadRequest());
+        }
+        verify(studentRepository, times(1)).findRows(any(), any(), any(), any());
+    }
+
+    @Test
+    void writesWithAStaleIfMatchAreRefused() throws Exception {
+        String eTag = mockMvc.perform(get("/api/students/2026001"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String body = "{\"namaDepan\":\"Budi\",\"namaBelakang\":\"Setiawan\",\"tanggalLahir\":\"2004-03-15\"}";
+
+        // Someone else updated the student in the meantime
+        student.setUpdatedAt(UPDATED_AT.plusMinutes(5));
+
+        mockMvc.perform(put("/api/students/2026001").header(HttpHeaders.IF_MATCH, eTag)
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/students/2026001").header(HttpHeaders.IF_MATCH, eTag))
+            .andExpect(status().isPreconditionFailed());
+        verify(studentRepository, never()).saveAndFlush(any());
+        verify(studentRepository, never()).delete(any());
+
+        // With the current tag both go through
+        String current = mockMvc.perform(get("/api/students/2026001"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        when(studentRepository.saveAndFlush(student)).thenReturn(student);
+        mockMvc.perform(put("/api/students/2026001").header(HttpHeaders.IF_MATCH, current)
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG));
+        mockMvc.perform(delete("/api/students/2026001").header(HttpHeaders.IF_MATCH, "*"))
+            .andExpect(status().isOk());
+        verify(studentRepository).delete(student);
+    }
+}
@@ -0,0 +1,218 @@
+package com.xtramile.intern_project.controller;
+
+import com.xtramile.intern_project.dto.ErrorResponseDTO;
+import com.xtramile.intern_project.dto.PagedResponse;
+import com.xtramile.intern_project.dto.StudentDetailDTO;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import com.xtramile.intern_project.exception.GlobalExceptionHandler;
+import com.xtramile.intern_project.json.StudentJsonHttpMessageConverter;
+import com.xtramile.intern_project.model.Student;
+import com.xtramile.intern_project.protobuf.StudentProtobufHttpMessageConverter;
+import com.xtramile.intern_project.protobuf.StudentProtobufReader;
+import com.xtramile.intern_project.repository.StudentRepository;
+import com.xtramile.intern_project.service.StudentChangeTracker;
+import com.xtramile.intern_project.service.StudentService;
+import com.xtramile.intern_project.service.StudentServiceFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The list, search and detail representations chosen by the Accept header,
+ * with the message converters the application registers, over a mocked repository.
+ */
+class StudentControllerContentNegotiationTest {
+
+    private static final String BROWSER_ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType PROTOBUF = MediaType.parseMediaType(
+        StudentProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF_VALUE);
+
+    private StudentRepository studentRepository;
+    private MockMvc mockMvc;
+    private Student student;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = mock(StudentRepository.class);
+        StudentChangeTracker changeTracker = new StudentChangeTracker();
+        StudentService studentService = StudentServiceFixture.over(studentRepository).jpqlSearch(changeTracker).build();
+
+        // As WebConfig registers them
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        HttpMessageConverters.forServer().registerDefaults()
+            .addCustomConverter(new StudentJsonHttpMessageConverter())
+            .addCustomConverter(new StudentProtobufHttpMessageConverter())
+            .build()
+            .forEach(converters::add);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StudentController(studentService))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(converters.toArray(HttpMessageConverter[]::new))
+            .build();
+
+        student = new Student("2026001", "Budi", "Santoso", LocalDate.of(2004, 3, 15));
+        student.setCreatedAt(LocalDateTime.of(2026, 2, 28, 10, 15, 30));
+        student.setUpdatedAt(LocalDateTime.of(2026, 3, 1, 10, 15, 30, 123_456_000));
+        when(studentRepository.findByNomorInduk("2026001")).thenReturn(Optional.of(student));
+        when(studentRepository.findForUpdateByNomorInduk("2026001")).thenReturn(Optional.of(student));
+        when(studentRepository.saveAndFlush(student)).thenReturn(student);
+        when(studentRepository.findRows(any(), any(), any(), any()))
+            .thenReturn(new SliceImpl<>(List.of(StudentResponseDTO.fromEntity(student),
+                new StudentResponseDTO("2026002", "Siti Rahayu", 20))));
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        mockMvc.perform(get("/api/students"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        for (String accept : List.of("*/*", BROWSER_ACCEPT, "application/json, text/plain, */*")) {
+            mockMvc.perform(get("/api/students").header(HttpHeaders.ACCEPT, accept))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+            mockMvc.perform(get("/api/students/2026001").header(HttpHeaders.ACCEPT, accept))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        }
+
+        // Writes return the same detail type, but never offer the binary formats
+        String body = "{\"namaDepan\":\"Budi\",\"namaBelakang\":\"Setiawan\",\"tanggalLahir\":\"2004-03-15\"}";
+        mockMvc.perform(put("/api/students/2026001").header(HttpHeaders.ACCEPT, "*/*")
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void cborAndSmileCarryTheSamePageAsJson() throws Exception {
+        PagedResponse<StudentResponseDTO> json = readPage(JsonMapper.builder().build(), MediaType.APPLICATION_JSON, "/api/students");
+
+        for (ObjectMapper mapper : List.of(CBORMapper.builder().build(), SmileMapper.builder().build())) {
+            MediaType mediaType = mapper instanceof CBORMapper ? MediaType.APPLICATION_CBOR : SMILE;
+            for (String path : List.of("/api/students", "/api/students/search?keyword=a")) {
+                PagedResponse<StudentResponseDTO> page = readPage(mapper, mediaType, path);
+                assertThat(page.getData()).usingRecursiveFieldByFieldElementComparator().isEqualTo(json.getData());
+                assertThat(page.getMeta()).usingRecursiveComparison().isEqualTo(json.getMeta());
+            }
+        }
+    }
+
+    @Test
+    void protobufPageAndDetail() throws Exception {
+        byte[] page = mockMvc.perform(get("/api/students").header(HttpHeaders.ACCEPT, PROTOBUF.toString()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(PROTOBUF))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+            .andReturn().getResponse().getContentAsByteArray();
+        assertThat(StudentProtobufReader.readPage(page).getData())
+            .extracting(StudentResponseDTO::getNomorInduk).containsExactly("2026001", "2026002");
+
+        byte[] detail = mockMvc.perform(get("/api/students/2026001").header(HttpHeaders.ACCEPT, "application/protobuf"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/protobuf"))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getContentAsByteArray();
+        StudentDetailDTO read = StudentProtobufReader.readDetailResponse(detail).getData();
+        assertThat(read).usingRecursiveComparison().isEqualTo(StudentDetailDTO.fromEntity(student));
+    }
+
+    @Test
+    void eachRepresentationHasItsOwnTag() throws Exception {
+        when(studentRepository.findUpdatedAtByNomorInduk("2026001")).thenReturn(Optional.of(student.getUpdatedAt()));
+        List<String> accepts = List.of(MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            SMILE.toString(), PROTOBUF.toString(), "application/protobuf");
+
+        for (String path : List.of("/api/students", "/api/students/search?keyword=a", "/api/students/2026001")) {
+            List<String> eTags = new ArrayList<>();
+            for (String accept : accepts) {
+                eTags.add(eTag(path, accept));
+            }
+            assertThat(eTags).doesNotHaveDuplicates();
+            // Whatever picks JSON gets the JSON tag
+            assertThat(eTag(path, BROWSER_ACCEPT)).isEqualTo(eTags.get(0));
+            assertThat(eTag(path, "application/cbor;q=0.5, application/json")).isEqualTo(eTags.get(0));
+
+            String cbor = eTags.get(1);
+            mockMvc.perform(get(path).header(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE)
+                    .header(HttpHeaders.IF_NONE_MATCH, cbor))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, cbor));
+            mockMvc.perform(get(path).header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.IF_NONE_MATCH, cbor))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTags.get(0)));
+        }
+
+        // A write is conditional on the student, so the tag of any of its representations will do
+        String body = "{\"namaDepan\":\"Budi\",\"namaBelakang\":\"Setiawan\",\"tanggalLahir\":\"2004-03-15\"}";
+        mockMvc.perform(put("/api/students/2026001")
+                .header(HttpHeaders.IF_MATCH, eTag("/api/students/2026001", SMILE.toString()))
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void errorsFollowTheRequestedRepresentation() throws Exception {
+        when(studentRepository.findByNomorInduk("2026404")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/students/2026404").header(HttpHeaders.ACCEPT, "*/*"))
+            .andExpect(status().isNotFound())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+
+        byte[] body = mockMvc.perform(get("/api/students/2026404").header(HttpHeaders.ACCEPT, PROTOBUF.toString()))
+            .andExpect(status().isNotFound())
+            .andExpect(content().contentType(PROTOBUF))
+            .andReturn().getResponse().getContentAsByteArray();
+        ErrorResponseDTO error = StudentProtobufReader.readError(body);
+        assertThat(error.getStatus()).isEqualTo(404);
+        assertThat(error.getPath()).isEqualTo("/api/students/2026404");
+        assertThat(error.getMessage()).contains("2026404");
+    }
+
+    @Test
+    void unsupportedRepresentationIsNotAcceptable() throws Exception {
+        mockMvc.perform(get("/api/students").header(HttpHeaders.ACCEPT, MediaType.APPLICATION_XML_VALUE))
+            .andExpect(status().isNotAcceptable());
+    }
+
+    private String eTag(String path, String accept) throws Exception {
+        return mockMvc.perform(get(path).header(HttpHeaders.ACCEPT, accept))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private PagedResponse<StudentResponseDTO> readPage(ObjectMapper mapper, MediaType mediaType, String path)
+            throws Exception {
+        byte[] body = mockMvc.perform(get(path).header(HttpHeaders.ACCEPT, mediaType.toString()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(mediaType))
+            .andReturn().getResponse().getContentAsByteArray();
+        return mapper.readValue(body, new TypeReference<PagedResponse<StudentResponseDTO>>() { });
+    }
+}
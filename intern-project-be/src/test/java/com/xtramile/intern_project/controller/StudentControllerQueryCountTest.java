@@ -0,0 +1,219 @@
+package com.xtramile.intern_project.controller;
+
+import com.xtramile.intern_project.InternProjectApplication;
+import com.xtramile.intern_project.querycount.QueryCounter;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.xtramile.intern_project.querycount.QueryCountAssertions.assertQueryCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The SQL statements each student endpoint runs against an embedded
+ * PostgreSQL, bounded so that an N+1 or an extra round trip fails the build.
+ * Only batch create grows with its input, by one sequence call per 50 ids.
+ */
+class StudentControllerQueryCountTest {
+
+    private static final int STUDENTS = 200;
+    private static final String STUDENT_BODY = "{\"namaDepan\":\"Hitung\",\"namaBelakang\":\"Kueri\",\"tanggalLahir\":\"2005-06-01\"}";
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate jdbcTemplate;
+    private static MockMvc mockMvc;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(InternProjectApplication.class).run(
+            "--server.port=0",
+            "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+            "--spring.datasource.username=postgres",
+            "--spring.datasource.password=postgres",
+            "--app.cache.responses.enabled=false",
+            "--app.pagination.count-strategy=exact",
+            "--logging.level.com.zaxxer.hikari=INFO",
+            "--logging.level.org.postgresql=INFO",
+            "--logging.level.com.xtramile=INFO");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO students (id, nomor_induk, nama_depan, nama_belakang, tanggal_lahir, created_at, updated_at) "
+            + "SELECT nextval('students_id_seq'), 'QC' || lpad(g::text, 6, '0'), 'Nama' || (g % 20), 'Kueri', "
+            + "DATE '2002-01-01' + (g % 1800), now(), now() FROM generate_series(1, ?) g", STUDENTS);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @AfterAll
+    static void stopApplication() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void listRunsOneQueryForThePageAndOneForTheTotal() throws Exception {
+        // Plus one for the table version the ETag carries
+        assertQueryCount(3, () -> mockMvc.perform(get("/api/students?page=2&size=50&sort=namaDepan,asc"))
+            .andExpect(status().isOk()));
+    }
+
+    @Test
+    void listWithAgeRangeRunsOneQueryForThePageAndOneForTheTotal() throws Exception {
+        assertQueryCount(3, () -> mockMvc.perform(get("/api/students?size=50&minAge=18&maxAge=22"))
+            .andExpect(status().isOk()));
+    }
+
+    @Test
+    void cursorPageRunsOneQueryBesidesTheTableVersion() throws Exception {
+        String firstPage = assertQueryCount(2, () -> mockMvc.perform(get("/api/students?after=&size=50"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+        String cursor = jsonMapper.readTree(firstPage).path("meta").path("nextCursor").asString();
+
+        assertQueryCount(2, () -> mockMvc.perform(get("/api/students").param("after", cursor).param("size", "50"))
+            .andExpect(status().isOk()));
+    }
+
+    @Test
+    void searchRunsOneQueryForThePageAndOneForTheTotal() throws Exception {
+        assertQueryCount(3, () -> mockMvc.perform(get("/api/students/search?keyword=Nama1&size=50"))
+            .andExpect(status().isOk()));
+    }
+
+    @Test
+    void detailRunsOneQuery() throws Exception {
+        assertQueryCount(1, () -> mockMvc.perform(get("/api/students/QC000001"))
+            .andExpect(status().isOk()));
+    }
+
+    @Test
+    void sparseListAndSearchSelectOnlyTheRequestedFields() throws Exception {
+        Sparse list = sparse("/api/students?size=50&fields=nomorInduk,namaDepan", 3);
+        assertThat(list.sql()).contains("nama_depan")
+            .doesNotContain("nama_belakang", "tanggal_lahir", "created_at", "updated_at");
+        assertThat(list.fields()).containsExactly("nomorInduk", "namaDepan");
+
+        // The keyword is matched on both names, but only usia is selected
+        Sparse search = sparse("/api/students/search?keyword=Nama1&size=50&fields=usia", 3);
+        assertThat(search.sql()).doesNotContain("nomor_induk", "created_at", "updated_at");
+        assertThat(search.fields()).containsExactly("usia");
+
+        mockMvc.perform(get("/api/students?fields=nomorInduk,password")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void sparseCursorPagesReadTimestampsOnlyWhenRequested() throws Exception {
+        Sparse names = sparse("/api/students?after=&size=50&fields=namaLengkap,usia", 2);
+        assertThat(names.fields()).containsExactly("namaLengkap", "usia");
+
+        // Index rows carry no timestamps: one more query, by primary key, for the page
+        Sparse timestamps = sparse("/api/students?after=&size=50&fields=createdAt,nomorInduk", 3);
+        assertThat(timestamps.fields()).containsExactly("nomorInduk", "createdAt");
+        assertThat(timestamps.body().path("data")).hasSize(50);
+    }
+
+    @Test
+    void sparseDetailSelectsOnlyTheRequestedFieldsAndKeepsTheETag() throws Exception {
+        Sparse detail = sparse("/api/students/QC000004?fields=namaDepan,updatedAt", 1);
+        assertThat(detail.sql()).contains("nama_depan").doesNotContain("nama_belakang", "tanggal_lahir");
+        assertThat(detail.body().path("data").propertyNames()).containsExactly("namaDepan", "updatedAt");
+
+        String fullETag = mockMvc.perform(get("/api/students/QC000004"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String sparseETag = mockMvc.perform(get("/api/students/QC000004?fields=usia"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(sparseETag).isNotNull().isEqualTo(fullETag);
+    }
+
+    @Test
+    void createRunsTheInsertOnly() throws Exception {
+        // Sequence call and insert, plus loading the year's taken ids on the allocator's first use
+        assertQueryCount(3, () -> mockMvc.perform(post("/api/students")
+                .contentType(MediaType.APPLICATION_JSON).content(STUDENT_BODY))
+            .andExpect(status().isCreated()));
+    }
+
+    @Test
+    void batchCreateRunsOneInsertPerJdbcBatch() throws Exception {
+        String batch = IntStream.range(0, 120).mapToObj(i -> STUDENT_BODY)
+            .collect(Collectors.joining(",", "[", "]"));
+
+        // Insert prepared once for all JDBC batches, a sequence call per 50 ids, the allocator's first use
+        String response = assertQueryCount(1 + 3 + 1, () -> mockMvc.perform(post("/api/students/batch")
+                .contentType(MediaType.APPLICATION_JSON).content(batch))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString());
+        JsonNode data = jsonMapper.readTree(response).path("data");
+        assertThat(data.path("created").asInt()).isEqualTo(120);
+    }
+
+    @Test
+    void updateReadsAndWritesOnce() throws Exception {
+        assertQueryCount(2, () -> mockMvc.perform(put("/api/students/QC000002")
+                .contentType(MediaType.APPLICATION_JSON).content(STUDENT_BODY))
+            .andExpect(status().isOk()));
+    }
+
+    @Test
+    void deleteReadsAndDeletesOnce() throws Exception {
+        assertQueryCount(2, () -> mockMvc.perform(delete("/api/students/QC000003"))
+            .andExpect(status().isOk()));
+    }
+
+    /**
+     * Response of a GET running at most {@code maxStatements} statements, with the SQL of the first
+     * one reading students
+     */
+    private Sparse sparse(String url, int maxStatements) throws Exception {
+        QueryCounter.Scope scope = QueryCounter.open("test");
+        String body;
+        try {
+            body = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        } finally {
+            scope.close();
+        }
+        assertThat(scope.getCount()).as(scope::describe).isLessThanOrEqualTo(maxStatements);
+        String sql = scope.getStatements().stream()
+            .map(QueryCounter.Statement::sql)
+            .filter(statement -> !statement.contains("students_version"))
+            .findFirst().orElseThrow();
+        return new Sparse(jsonMapper.readTree(body), sql);
+    }
+
+    private record Sparse(JsonNode body, String sql) {
+
+        /**
+         * Fields of the first student of the page
+         */
+        Collection<String> fields() {
+            return body.path("data").get(0).propertyNames();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.xtramile.intern_project.controller;
+
+import com.xtramile.intern_project.dto.StudentImportStatusDTO;
+import com.xtramile.intern_project.exception.GlobalExceptionHandler;
+import com.xtramile.intern_project.service.StudentImportJob;
+import com.xtramile.intern_project.service.StudentImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class StudentImportControllerTest {
+
+    private static final String ID = "5f0c7a1e-import";
+
+    private StudentImportService studentImportService;
+    private StudentImportJob job;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        studentImportService = mock(StudentImportService.class);
+        job = mock(StudentImportJob.class);
+        when(job.getId()).thenReturn(ID);
+        when(job.toStatusDTO()).thenReturn(new StudentImportStatusDTO(ID, "RUNNING", "csv", 0, 0, 0, 0,
+            LocalDateTime.now(), null, null, false));
+        when(studentImportService.findById(ID)).thenReturn(job);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StudentImportController(studentImportService))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+    }
+
+    @Test
+    void importIsAcceptedWithTheLocationOfItsStatus() throws Exception {
+        when(studentImportService.startImport(eq(StudentImportService.FORMAT_CSV), any())).thenReturn(job);
+
+        mockMvc.perform(post("/api/students/imports").contentType("text/csv").content("namaDepan,tanggalLahir\n"))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/students/imports/" + ID))
+            .andExpect(jsonPath("$.data.status").value("RUNNING"));
+    }
+
+    @Test
+    void errorReportIsRefusedWhileTheImportRuns() throws Exception {
+        when(job.isFinished()).thenReturn(false);
+
+        mockMvc.perform(get("/api/students/imports/" + ID + "/errors"))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    void finishedImportWithoutRejectedRowsHasNoErrorReport() throws Exception {
+        when(job.isFinished()).thenReturn(true);
+        when(job.getErrorReport()).thenReturn(null);
+
+        mockMvc.perform(get("/api/students/imports/" + ID + "/errors"))
+            .andExpect(status().isNoContent());
+    }
+}
@@ -0,0 +1,121 @@
+package com.xtramile.intern_project.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.Status;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Readiness from mocked pools: a pool is checked by borrowing a connection,
+ * which must not take longer than the timeout, unless all its connections are
+ * already busy serving requests.
+ */
+class ConnectionPoolHealthIndicatorTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(200);
+
+    @Test
+    void upWhenEveryPoolHandsOutAValidConnection() throws SQLException {
+        HikariDataSource primary = pool("primary", null);
+        HikariDataSource replica = pool("replica-1", mxBean(3, 2, 0, 5));
+        Connection connection = validConnection();
+        when(primary.getConnection()).thenReturn(connection);
+        when(replica.getConnection()).thenReturn(connection);
+
+        Health health = new ConnectionPoolHealthIndicator(List.of(primary, replica), TIMEOUT).health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(health.getDetails()).containsOnlyKeys("primary", "replica-1");
+        assertThat(details(health, "replica-1"))
+            .containsEntry("active", 3).containsEntry("idle", 2).containsEntry("status", "available");
+    }
+
+    @Test
+    void downWhenAPoolCannotConnect() throws SQLException {
+        HikariDataSource primary = pool("primary", null);
+        HikariDataSource replica = pool("replica-1", null);
+        Connection connection = validConnection();
+        when(primary.getConnection()).thenReturn(connection);
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        Health health = new ConnectionPoolHealthIndicator(List.of(primary, replica), TIMEOUT).health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(details(health, "replica-1"))
+            .containsEntry("status", "unavailable").containsEntry("error", "Connection refused");
+    }
+
+    @Test
+    void downAfterTheTimeoutInsteadOfHikarisConnectionTimeout() throws SQLException {
+        HikariDataSource primary = pool("primary", mxBean(0, 0, 0, 0));
+        CountDownLatch databaseDown = new CountDownLatch(1);
+        when(primary.getConnection()).thenAnswer(invocation -> {
+            databaseDown.await();
+            throw new SQLException("Connection is not available, request timed out after 30000ms");
+        });
+
+        long start = System.nanoTime();
+        Health health = new ConnectionPoolHealthIndicator(List.of(primary), TIMEOUT).health();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        databaseDown.countDown();
+
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(millis).isLessThan(5000);
+        assertThat(details(health, "primary")).containsEntry("error", "No connection within 200 ms");
+    }
+
+    @Test
+    void saturatedPoolIsUpWithoutWaitingForAConnection() throws SQLException {
+        HikariDataSource primary = pool("primary", mxBean(10, 0, 25, 10));
+
+        Health health = new ConnectionPoolHealthIndicator(List.of(primary), TIMEOUT).health();
+
+        assertThat(health.getStatus()).isEqualTo(Status.UP);
+        assertThat(details(health, "primary"))
+            .containsEntry("pending", 25).containsEntry("status", "saturated");
+        verify(primary, never()).getConnection();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> details(Health health, String pool) {
+        return (Map<String, Object>) health.getDetails().get(pool);
+    }
+
+    private static HikariDataSource pool(String name, HikariPoolMXBean mxBean) {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        when(pool.getPoolName()).thenReturn(name);
+        when(pool.getMaximumPoolSize()).thenReturn(10);
+        when(pool.getHikariPoolMXBean()).thenReturn(mxBean);
+        return pool;
+    }
+
+    private static HikariPoolMXBean mxBean(int active, int idle, int pending, int total) {
+        HikariPoolMXBean mxBean = mock(HikariPoolMXBean.class);
+        when(mxBean.getActiveConnections()).thenReturn(active);
+        when(mxBean.getIdleConnections()).thenReturn(idle);
+        when(mxBean.getThreadsAwaitingConnection()).thenReturn(pending);
+        when(mxBean.getTotalConnections()).thenReturn(total);
+        return mxBean;
+    }
+
+    private static Connection validConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        return connection;
+    }
+}
@@ -0,0 +1,92 @@
+package com.xtramile.intern_project.datasource;
+
+import com.xtramile.intern_project.InternProjectApplication;
+import com.xtramile.intern_project.exception.StudentNotFoundException;
+import com.xtramile.intern_project.service.StudentService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two embedded PostgreSQL databases stand in for primary and replica.
+ * Nothing replicates between them, so each student is inserted into only one
+ * of them and whichever database answers a read is visible from what it finds.
+ */
+class ReadReplicaRoutingDatabaseTest {
+
+    private static final String ON_PRIMARY = "ROUTEP01";
+    private static final String ON_REPLICA = "ROUTER01";
+
+    private static EmbeddedPostgres primary;
+    private static EmbeddedPostgres replica;
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        primary = EmbeddedPostgres.start();
+        replica = EmbeddedPostgres.start();
+        Flyway.configure().dataSource(replica.getPostgresDatabase()).load().migrate();
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(InternProjectApplication.class).run(
+            "--server.port=0",
+            "--spring.datasource.url=" + primary.getJdbcUrl("postgres", "postgres"),
+            "--spring.datasource.username=postgres",
+            "--spring.datasource.password=postgres",
+            "--app.datasource.replica-urls=" + replica.getJdbcUrl("postgres", "postgres"),
+            "--app.datasource.read-your-writes-window=PT1S",
+            "--app.cache.responses.enabled=false",
+            "--logging.level.com.zaxxer.hikari=INFO",
+            "--logging.level.org.postgresql=INFO",
+            "--logging.level.com.xtramile=INFO");
+
+        insert(new JdbcTemplate(primary.getPostgresDatabase()), ON_PRIMARY);
+        insert(new JdbcTemplate(replica.getPostgresDatabase()), ON_REPLICA);
+    }
+
+    @AfterAll
+    static void stopApplication() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (primary != null) {
+            primary.close();
+        }
+        if (replica != null) {
+            replica.close();
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsReadTheReplicaUnlessReadsArePinnedToThePrimary() {
+        StudentService studentService = context.getBean(StudentService.class);
+        ReadYourWrites readYourWrites = context.getBean(ReadYourWrites.class);
+
+        assertThat(studentService.findByNomorInduk(ON_REPLICA, null).getNamaDepan()).isEqualTo("Replica");
+        assertThatThrownBy(() -> studentService.findByNomorInduk(ON_PRIMARY, null))
+            .isInstanceOf(StudentNotFoundException.class);
+
+        // A client holding the read-your-writes cookie
+        readYourWrites.pinCurrentThread();
+        try {
+            assertThat(studentService.findByNomorInduk(ON_PRIMARY, null).getNamaDepan()).isEqualTo("Primary");
+        } finally {
+            readYourWrites.unpinCurrentThread();
+        }
+        assertThatThrownBy(() -> studentService.findByNomorInduk(ON_PRIMARY, null))
+            .isInstanceOf(StudentNotFoundException.class);
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String nomorInduk) {
+        jdbcTemplate.update("INSERT INTO students (id, nomor_induk, nama_depan, nama_belakang, tanggal_lahir, created_at, updated_at) "
+            + "VALUES (nextval('students_id_seq'), ?, ?, 'Routing', DATE '2004-03-15', now(), now())",
+            nomorInduk, nomorInduk.equals(ON_PRIMARY) ? "Primary" : "Replica");
+    }
+}
@@ -0,0 +1,153 @@
+package com.xtramile.intern_project.datasource;
+
+import com.xtramile.intern_project.controller.StudentController;
+import com.xtramile.intern_project.dto.StudentDetailDTO;
+import com.xtramile.intern_project.exception.GlobalExceptionHandler;
+import com.xtramile.intern_project.service.StudentService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Routing through the same stack DataSourceConfig builds: transaction manager,
+ * lazy connection proxy, routing DataSource, with mocked pools in place of
+ * the primary and replica databases.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    @Test
+    void readOnlyTransactionsGoToReplicasInTurnAndWritesToThePrimary() throws SQLException {
+        HikariDataSource primary = pool(null);
+        List<HikariDataSource> replicas = List.of(pool(null), pool(null));
+        DataSource dataSource = routing(primary, replicas, ReplicaSelection.ROUND_ROBIN, new ReadYourWrites(Duration.ZERO));
+
+        for (int i = 0; i < 4; i++) {
+            runStatement(dataSource, true);
+        }
+        runStatement(dataSource, false);
+
+        verify(replicas.get(0), times(2)).getConnection();
+        verify(replicas.get(1), times(2)).getConnection();
+        verify(primary, times(1)).getConnection();
+    }
+
+    @Test
+    void leastInFlightPicksTheReplicaWithFewestActiveConnections() throws SQLException {
+        List<HikariDataSource> replicas = List.of(pool(5), pool(1), pool(3));
+        DataSource dataSource = routing(pool(null), replicas, ReplicaSelection.LEAST_IN_FLIGHT,
+            new ReadYourWrites(Duration.ZERO));
+
+        for (int i = 0; i < 3; i++) {
+            runStatement(dataSource, true);
+        }
+
+        verify(replicas.get(1), times(3)).getConnection();
+    }
+
+    @Test
+    void onlyReadsFromAPinnedThreadGoToThePrimary() throws Exception {
+        HikariDataSource primary = pool(null);
+        HikariDataSource replica = pool(null);
+        ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5));
+        DataSource dataSource = routing(primary, List.of(replica), ReplicaSelection.ROUND_ROBIN, readYourWrites);
+
+        readYourWrites.pinCurrentThread();
+        runStatement(dataSource, true);
+        readYourWrites.unpinCurrentThread();
+        verify(primary, times(1)).getConnection();
+
+        // Another thread, while this one is pinned
+        readYourWrites.pinCurrentThread();
+        Thread other = new Thread(() -> runStatement(dataSource, true));
+        other.start();
+        other.join();
+        readYourWrites.unpinCurrentThread();
+        verify(replica, times(1)).getConnection();
+        verify(primary, times(1)).getConnection();
+    }
+
+    @Test
+    void clientThatWroteReadsFromThePrimaryWhileItHoldsTheCookie() throws Exception {
+        ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5));
+        List<Boolean> fromPrimary = new ArrayList<>();
+        StudentService studentService = mock(StudentService.class);
+        when(studentService.findByNomorInduk("2026001", null)).thenAnswer(invocation -> {
+            fromPrimary.add(readYourWrites.readsFromPrimary());
+            return new StudentDetailDTO("2026001", "Budi", "Santoso", "Budi Santoso", LocalDate.of(2004, 3, 15), 21,
+                LocalDateTime.of(2026, 1, 5, 10, 0), LocalDateTime.of(2026, 1, 5, 10, 0));
+        });
+        MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new StudentController(studentService))
+            .addInterceptors(new ReadYourWritesInterceptor(readYourWrites))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+        String cookie = mockMvc.perform(delete("/api/students/2026002"))
+            .andReturn().getResponse().getHeader(HttpHeaders.SET_COOKIE);
+        assertThat(cookie).startsWith("read-primary=1; Path=/api; Max-Age=5;").contains("HttpOnly", "SameSite=Lax");
+        mockMvc.perform(get("/api/students/2026001").cookie(new Cookie(ReadYourWritesInterceptor.COOKIE, "1")));
+        mockMvc.perform(get("/api/students/2026001"));
+
+        assertThat(fromPrimary).containsExactly(true, false);
+    }
+
+    private static DataSource routing(HikariDataSource primary, List<HikariDataSource> replicas,
+                                      ReplicaSelection selection, ReadYourWrites readYourWrites) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(primary, replicas, selection, readYourWrites));
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+
+    private static void runStatement(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        transaction.executeWithoutResult(status -> {
+            try {
+                DataSourceUtils.getConnection(dataSource).createStatement();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * A pool handing out mock connections, with that many active connections (null: not started yet)
+     */
+    private static HikariDataSource pool(Integer activeConnections) throws SQLException {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        if (activeConnections != null) {
+            HikariPoolMXBean mxBean = mock(HikariPoolMXBean.class);
+            when(mxBean.getActiveConnections()).thenReturn(activeConnections);
+            when(pool.getHikariPoolMXBean()).thenReturn(mxBean);
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,122 @@
+package com.xtramile.intern_project.datasource;
+
+import com.jayway.jsonpath.JsonPath;
+import com.xtramile.intern_project.InternProjectApplication;
+import com.xtramile.intern_project.service.StudentETags;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two embedded PostgreSQL databases as primary and replica. Nothing
+ * replicates between them, so a student created through the application
+ * exists on the primary only, like a write the replica has not caught up with.
+ */
+class ReadYourWritesDatabaseTest {
+
+    private static EmbeddedPostgres primary;
+    private static EmbeddedPostgres replica;
+    private static ConfigurableApplicationContext context;
+    private static MockMvc mockMvc;
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        primary = EmbeddedPostgres.start();
+        replica = EmbeddedPostgres.start();
+        Flyway.configure().dataSource(replica.getPostgresDatabase()).load().migrate();
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(InternProjectApplication.class).run(
+            "--server.port=0",
+            "--spring.datasource.url=" + primary.getJdbcUrl("postgres", "postgres"),
+            "--spring.datasource.username=postgres",
+            "--spring.datasource.password=postgres",
+            "--app.datasource.replica-urls=" + replica.getJdbcUrl("postgres", "postgres"),
+            "--app.datasource.read-your-writes-window=PT30S",
+            "--app.cache.responses.enabled=false",
+            "--logging.level.com.zaxxer.hikari=INFO",
+            "--logging.level.org.postgresql=INFO",
+            "--logging.level.com.xtramile=INFO");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @AfterAll
+    static void stopApplication() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (primary != null) {
+            primary.close();
+        }
+        if (replica != null) {
+            replica.close();
+        }
+    }
+
+    @Test
+    void onlyTheClientThatWroteReadsFromThePrimary() throws Exception {
+        MockHttpServletResponse created = mockMvc.perform(post("/api/students")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"namaDepan\":\"Budi\",\"namaBelakang\":\"Santoso\",\"tanggalLahir\":\"2004-03-15\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse();
+        String nomorInduk = JsonPath.read(created.getContentAsString(), "$.data.nomorInduk");
+        Cookie cookie = created.getCookie(ReadYourWritesInterceptor.COOKIE);
+        assertThat(cookie).isNotNull();
+
+        // Right after the write, another client still reads from the replica
+        mockMvc.perform(get("/api/students/" + nomorInduk))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/students/" + nomorInduk).cookie(cookie))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void listIsTaggedWithTheVersionOfTheDatabaseThatServedIt() throws Exception {
+        Cookie cookie = mockMvc.perform(post("/api/students")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"namaDepan\":\"Siti\",\"namaBelakang\":\"Rahayu\",\"tanggalLahir\":\"2005-07-01\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getCookie(ReadYourWritesInterceptor.COOKIE);
+        String replicaTag = listTag(replica);
+        String primaryTag = listTag(primary);
+        assertThat(replicaTag).isNotEqualTo(primaryTag);
+
+        // The replica has not seen the write, so neither has its page
+        for (String path : new String[] {"/api/students", "/api/students?after=", "/api/students/search?keyword=Siti"}) {
+            mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, replicaTag));
+            mockMvc.perform(get(path).cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, primaryTag));
+        }
+        mockMvc.perform(get("/api/students").header(HttpHeaders.IF_NONE_MATCH, replicaTag))
+            .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/students").header(HttpHeaders.IF_NONE_MATCH, replicaTag).cookie(cookie))
+            .andExpect(status().isOk());
+    }
+
+    private static String listTag(EmbeddedPostgres database) {
+        Long version = new JdbcTemplate(database.getPostgresDatabase())
+            .queryForObject("SELECT SUM(version) FROM students_version", Long.class);
+        return StudentETags.representation(StudentETags.list(Long.toString(version)), MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,87 @@
+package com.xtramile.intern_project.dto;
+
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Age bounds turned into birth dates must select exactly the students whose
+ * age, counted like {@link com.xtramile.intern_project.model.Student#getUsia()},
+ * is within the bounds: checked for every birth date over 45 years, on days
+ * around 29 February.
+ */
+class BirthDateRangeTest {
+
+    private static final List<LocalDate> TODAYS = List.of(
+        LocalDate.of(2024, 2, 28), LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 1),
+        LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 1), LocalDate.of(2026, 6, 15),
+        LocalDate.of(2026, 12, 31), LocalDate.of(2027, 1, 1));
+
+    private static final Integer[][] AGE_BOUNDS = {
+        {20, 20}, {17, 40}, {null, 22}, {21, null}, {0, 0}, {0, null}};
+
+    @Test
+    void ageBoundsSelectExactlyTheStudentsOfThatAge() {
+        for (LocalDate today : TODAYS) {
+            for (Integer[] bounds : AGE_BOUNDS) {
+                BirthDateRange range = BirthDateRange.of(bounds[0], bounds[1], null, null, today);
+                for (LocalDate born = today.minusYears(45); !born.isAfter(today); born = born.plusDays(1)) {
+                    int age = Period.between(born, today).getYears();
+                    boolean expected = (bounds[0] == null || age >= bounds[0])
+                        && (bounds[1] == null || age <= bounds[1]);
+                    assertThat(range.contains(born))
+                        .as("today %s, born %s, age %d..%d", today, born, bounds[0], bounds[1])
+                        .isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void leapDayBirthdayFallsOnFirstMarchInCommonYears() {
+        LocalDate born = LocalDate.of(2004, 2, 29);
+
+        // Still 20 on 28 February 2025, 21 from 1 March
+        assertThat(BirthDateRange.of(21, null, null, null, LocalDate.of(2025, 2, 28)).contains(born)).isFalse();
+        assertThat(BirthDateRange.of(21, null, null, null, LocalDate.of(2025, 3, 1)).contains(born)).isTrue();
+        assertThat(BirthDateRange.of(null, 20, null, null, LocalDate.of(2025, 2, 28)).contains(born)).isTrue();
+        assertThat(BirthDateRange.of(null, 20, null, null, LocalDate.of(2025, 3, 1)).contains(born)).isFalse();
+
+        // On 29 February itself the birthday is that day
+        BirthDateRange exactly20 = BirthDateRange.of(20, 20, null, null, LocalDate.of(2024, 2, 29));
+        assertThat(exactly20.contains(born)).isTrue();
+        assertThat(exactly20.getFrom()).isEqualTo(LocalDate.of(2003, 3, 1));
+        assertThat(exactly20.getTo()).isEqualTo(born);
+    }
+
+    @Test
+    void birthDateAndAgeBoundsAreIntersected() {
+        LocalDate today = LocalDate.of(2026, 6, 15);
+
+        BirthDateRange range = BirthDateRange.of(18, 25, LocalDate.of(2003, 1, 1), LocalDate.of(2010, 1, 1), today);
+
+        assertThat(range.getFrom()).isEqualTo(LocalDate.of(2003, 1, 1));
+        assertThat(range.getTo()).isEqualTo(LocalDate.of(2008, 6, 15));
+        assertThat(BirthDateRange.of(null, null, null, null, today)).isSameAs(BirthDateRange.ALL);
+        assertThat(BirthDateRange.ALL.isUnbounded()).isTrue();
+        assertThat(range.key()).isEqualTo("2003-01-01..2008-06-15");
+    }
+
+    @Test
+    void contradictoryBoundsAreRejected() {
+        LocalDate today = LocalDate.of(2026, 6, 15);
+
+        assertThatThrownBy(() -> BirthDateRange.of(-1, null, null, null, today))
+            .isInstanceOf(InvalidStudentDataException.class);
+        assertThatThrownBy(() -> BirthDateRange.of(30, 20, null, null, today))
+            .isInstanceOf(InvalidStudentDataException.class);
+        assertThatThrownBy(() -> BirthDateRange.of(null, null, LocalDate.of(2005, 1, 1), LocalDate.of(2004, 1, 1), today))
+            .isInstanceOf(InvalidStudentDataException.class);
+    }
+}
@@ -0,0 +1,76 @@
+package com.xtramile.intern_project.dto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a student detail response and of list pages of
+ * 10, 100 and 1000 students, to bytes as the message converter writes them
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    @State(Scope.Benchmark)
+    public static class Detail {
+
+        private ApiResponse<StudentDetailDTO> response;
+
+        @Setup
+        public void setUp() {
+            LocalDateTime timestamp = LocalDateTime.of(2026, 1, 5, 10, 0);
+            response = ApiResponse.success("Student retrieved successfully", new StudentDetailDTO("2026001", "Budi",
+                "Santoso", "Budi Santoso", LocalDate.of(2004, 3, 15), 21, timestamp, timestamp));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        @Param({"10", "100", "1000"})
+        private int pageSize;
+
+        private PagedResponse<StudentResponseDTO> response;
+
+        @Setup
+        public void setUp() {
+            List<StudentResponseDTO> students = new ArrayList<>(pageSize);
+            for (int i = 1; i <= pageSize; i++) {
+                students.add(new StudentResponseDTO(String.format("2026%03d", i % 1000), "Nama" + i + " Santoso", 18 + i % 10));
+            }
+            response = PagedResponse.success("Students retrieved successfully", students, 0, pageSize, 5000,
+                (5000 + pageSize - 1) / pageSize, true, false);
+        }
+    }
+
+    @Benchmark
+    public byte[] detailResponse(Detail detail) {
+        return JSON_MAPPER.writeValueAsBytes(detail.response);
+    }
+
+    @Benchmark
+    public byte[] pagedResponse(Page page) {
+        return JSON_MAPPER.writeValueAsBytes(page.response);
+    }
+}
@@ -0,0 +1,32 @@
+package com.xtramile.intern_project.dto;
+
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StudentFieldTest {
+
+    @Test
+    void parsesTheJsonNamesIntoResponseOrder() {
+        assertThat(StudentField.parse(" usia,nomorInduk , namaLengkap,usia,"))
+            .containsExactly(StudentField.NOMOR_INDUK, StudentField.NAMA_LENGKAP, StudentField.USIA);
+        assertThat(StudentField.parse("namaDepan,namaBelakang,namaLengkap,tanggalLahir,usia,createdAt,updatedAt,nomorInduk"))
+            .containsExactly(StudentField.values());
+        assertThat(StudentField.parse(null)).isNull();
+    }
+
+    @Test
+    void rejectsNamesOutsideTheWhitelist() {
+        for (String fields : List.of("nomorInduk,id", "NomorInduk", "nama_lengkap", "", " , ")) {
+            assertThatThrownBy(() -> StudentField.parse(fields))
+                .as(fields)
+                .isInstanceOf(InvalidStudentDataException.class);
+        }
+        assertThatThrownBy(() -> StudentField.parse("nomorInduk,password"))
+            .hasMessageStartingWith("Field tidak didukung: password");
+    }
+}
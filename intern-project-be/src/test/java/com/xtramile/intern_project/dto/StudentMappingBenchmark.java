@@ -0,0 +1,54 @@
+package com.xtramile.intern_project.dto;
+
+import com.xtramile.intern_project.model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping and the age computation both of them call
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentMappingBenchmark {
+
+    private Student student;
+
+    @Setup
+    public void setUp() {
+        student = new Student("2026001", "Budi", "Santoso", LocalDate.of(2004, 3, 15));
+        student.setId(1L);
+        student.setCreatedAt(LocalDateTime.of(2026, 1, 5, 10, 0));
+        student.setUpdatedAt(LocalDateTime.of(2026, 1, 5, 10, 0));
+    }
+
+    @Benchmark
+    public Integer studentGetUsia() {
+        return student.getUsia();
+    }
+
+    @Benchmark
+    public StudentResponseDTO responseFromEntity() {
+        return StudentResponseDTO.fromEntity(student);
+    }
+
+    @Benchmark
+    public StudentDetailDTO detailFromEntity() {
+        return StudentDetailDTO.fromEntity(student);
+    }
+}
@@ -0,0 +1,174 @@
+package com.xtramile.intern_project.json;
+
+import com.xtramile.intern_project.dto.ApiResponse;
+import com.xtramile.intern_project.dto.PagedResponse;
+import com.xtramile.intern_project.dto.PartialStudentDetailDTO;
+import com.xtramile.intern_project.dto.PartialStudentResponseDTO;
+import com.xtramile.intern_project.dto.StudentBatchResultDTO;
+import com.xtramile.intern_project.dto.StudentDetailDTO;
+import com.xtramile.intern_project.dto.StudentField;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The converter's bytes against Jackson's for the same responses
+ */
+class StudentJsonHttpMessageConverterTest {
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    // Escapes, multi-byte UTF-8, a surrogate pair and unpaired surrogates
+    private static final List<String> NAMES = List.of("Budi Santoso", "Siti \"Ina\" Rahayu", "C:\\dir/sub",
+        "tab\tnew\nline\r\b\f\u0000\u001f\u007f", "Ådne Øvergård", "李小龙", "Emoji \uD83D\uDE00 end",
+        "lone \uD83D here", "\uDE00first", "last\uD83D", "line\u2028separator", "");
+
+    private final StudentJsonHttpMessageConverter converter = new StudentJsonHttpMessageConverter();
+
+    @Test
+    void offsetPagesMatchJackson() throws Exception {
+        List<StudentResponseDTO> students = new ArrayList<>();
+        for (int i = 0; i < NAMES.size(); i++) {
+            students.add(new StudentResponseDTO(String.format("2026%03d", i), NAMES.get(i), i % 3 == 0 ? null : 17 + i));
+        }
+        students.add(new StudentResponseDTO(null, null, null));
+        students.add(null);
+        PagedResponse<StudentResponseDTO> page = PagedResponse.success("Students retrieved successfully", students,
+            3, 20, 9_876_543_210L, Integer.MAX_VALUE, true, true, "exact");
+
+        assertSameAsJackson(page);
+
+        page.getMeta().setTotalItems(null);
+        page.getMeta().setTotalPages(null);
+        page.getMeta().setCountStrategy("none");
+        page.getMeta().setPageSize(-1);
+        assertSameAsJackson(page);
+
+        page.setData(null);
+        page.setMeta(null);
+        page.setMessage(null);
+        page.setTimestamp(null);
+        assertSameAsJackson(page);
+    }
+
+    @Test
+    void cursorPagesMatchJackson() throws Exception {
+        assertSameAsJackson(PagedResponse.cursor("Students retrieved successfully",
+            List.of(new StudentResponseDTO("2026001", "Budi Santoso", 21)), 10, true, "eyJrIjoiMjAyNjAwMSJ9"));
+        assertSameAsJackson(PagedResponse.cursor("Students retrieved successfully", List.of(), 10, false, null));
+    }
+
+    @Test
+    void pagesLargerThanTheBufferMatchJackson() throws Exception {
+        List<StudentResponseDTO> students = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            students.add(new StudentResponseDTO(String.format("2026%03d", i % 1000), NAMES.get(i % NAMES.size()) + i,
+                18 + i % 10));
+        }
+        PagedResponse<StudentResponseDTO> page = PagedResponse.success("Students retrieved successfully", students,
+            0, 1000, 5000L, 5, true, false, "cached");
+
+        byte[] bytes = assertSameAsJackson(page);
+        assertThat(bytes.length).isGreaterThan(Utf8JsonOutput.BUFFER_SIZE * 4);
+
+        // A single value longer than the buffer
+        page.setMessage("x".repeat(Utf8JsonOutput.BUFFER_SIZE * 2) + "é".repeat(Utf8JsonOutput.BUFFER_SIZE));
+        assertSameAsJackson(page);
+    }
+
+    @Test
+    void detailsMatchJackson() throws Exception {
+        for (LocalDateTime updatedAt : List.of(
+                LocalDateTime.of(2026, 3, 1, 0, 0),
+                LocalDateTime.of(2026, 3, 1, 9, 5, 7, 100_000_000),
+                LocalDateTime.of(2026, 12, 31, 23, 59, 59, 120_000),
+                LocalDateTime.of(2026, 1, 5, 10, 15, 30, 1),
+                LocalDateTime.of(2026, 1, 5, 10, 15, 30, 999_999_999),
+                LocalDateTime.of(10, 1, 1, 0, 0),
+                LocalDateTime.of(12026, 1, 1, 0, 0, 0, 100),
+                LocalDateTime.of(-5, 1, 1, 0, 0))) {
+            ApiResponse<StudentDetailDTO> response = ApiResponse.success("Student retrieved successfully",
+                new StudentDetailDTO("2026001", "Budi", "Santoso", "Budi Santoso", updatedAt.toLocalDate().minusYears(20),
+                    21, updatedAt.minusDays(1), updatedAt));
+            response.setTimestamp(updatedAt);
+            assertSameAsJackson(response);
+        }
+
+        assertSameAsJackson(ApiResponse.success("Student retrieved successfully",
+            new StudentDetailDTO("2026002", "Siti", null, "Siti", null, null, null, null)));
+        assertSameAsJackson(ApiResponse.<StudentDetailDTO>error("Student not found"));
+        assertSameAsJackson(ApiResponse.success("Student retrieved successfully",
+            new StudentDetailDTO("2026003", NAMES.get(3), NAMES.get(7), NAMES.get(6), LocalDate.of(2004, 2, 29), 0,
+                LocalDateTime.now(), LocalDateTime.now())));
+    }
+
+    @Test
+    void narrowedStudentsMatchJackson() throws Exception {
+        StudentDetailDTO full = new StudentDetailDTO("2026001", NAMES.get(1), NAMES.get(6), NAMES.get(3),
+            LocalDate.of(2004, 2, 29), 22, LocalDateTime.of(2026, 1, 5, 10, 15, 30, 120_000_000),
+            LocalDateTime.of(2026, 3, 1, 9, 5, 7));
+        StudentDetailDTO sparse = new StudentDetailDTO(null, "Siti", null, null, null, null, null, null);
+        for (Set<StudentField> fields : List.of(
+                EnumSet.of(StudentField.NOMOR_INDUK, StudentField.NAMA_LENGKAP),
+                EnumSet.of(StudentField.USIA),
+                EnumSet.of(StudentField.NAMA_DEPAN, StudentField.TANGGAL_LAHIR, StudentField.UPDATED_AT),
+                EnumSet.allOf(StudentField.class))) {
+            List<StudentResponseDTO> students = new ArrayList<>();
+            students.add(new PartialStudentResponseDTO(PartialStudentDetailDTO.of(full, fields)));
+            students.add(new PartialStudentResponseDTO(PartialStudentDetailDTO.of(sparse, fields)));
+            assertSameAsJackson(PagedResponse.success("Students retrieved successfully", students,
+                0, 10, 2L, 1, false, false, "exact"));
+            assertSameAsJackson(PagedResponse.cursor("Students retrieved successfully", students, 10, false, null));
+
+            assertSameAsJackson(ApiResponse.<StudentDetailDTO>success("Student found",
+                PartialStudentDetailDTO.of(full, fields)));
+            assertSameAsJackson(ApiResponse.<StudentDetailDTO>success("Student found",
+                PartialStudentDetailDTO.of(sparse, fields)));
+        }
+
+        assertThat(JSON_MAPPER.writeValueAsString(new PartialStudentResponseDTO(PartialStudentDetailDTO.of(full,
+                EnumSet.of(StudentField.NOMOR_INDUK, StudentField.USIA)))))
+            .isEqualTo("{\"nomorInduk\":\"2026001\",\"usia\":22}");
+    }
+
+    @Test
+    void writesOnlyTheStudentPagesAndDetails() {
+        assertThat(converter.canWrite(ResolvableType.forClassWithGenerics(PagedResponse.class, StudentResponseDTO.class),
+            PagedResponse.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(ResolvableType.forClassWithGenerics(ApiResponse.class, StudentDetailDTO.class),
+            ApiResponse.class, MediaType.ALL)).isTrue();
+
+        assertThat(converter.canWrite(ResolvableType.forClassWithGenerics(ApiResponse.class, StudentBatchResultDTO.class),
+            ApiResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(ResolvableType.forClass(ApiResponse.class), ApiResponse.class,
+            MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(ResolvableType.forClassWithGenerics(PagedResponse.class, StudentResponseDTO.class),
+            PagedResponse.class, MediaType.APPLICATION_CBOR)).isFalse();
+        assertThat(converter.canRead(ResolvableType.forClassWithGenerics(ApiResponse.class, StudentDetailDTO.class),
+            MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    private static byte[] assertSameAsJackson(Object response) throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        StudentJsonHttpMessageConverter.write(response, stream);
+        byte[] expected = JSON_MAPPER.writeValueAsBytes(response);
+        assertThat(new String(stream.toByteArray(), StandardCharsets.UTF_8))
+            .isEqualTo(new String(expected, StandardCharsets.UTF_8));
+        assertThat(Arrays.equals(stream.toByteArray(), expected)).isTrue();
+        return expected;
+    }
+}
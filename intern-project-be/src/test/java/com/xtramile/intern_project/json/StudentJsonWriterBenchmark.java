@@ -0,0 +1,103 @@
+package com.xtramile.intern_project.json;
+
+import com.xtramile.intern_project.dto.ApiResponse;
+import com.xtramile.intern_project.dto.PagedResponse;
+import com.xtramile.intern_project.dto.StudentDetailDTO;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StudentJsonHttpMessageConverter against Jackson for a student detail
+ * response and list pages of 10, 100 and 1000 students, both writing to a
+ * stream as the message converters do
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentJsonWriterBenchmark {
+
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    @State(Scope.Thread)
+    public static class Detail {
+
+        private final ByteArrayOutputStream stream = new ByteArrayOutputStream(1024);
+        private ApiResponse<StudentDetailDTO> response;
+
+        @Setup
+        public void setUp() {
+            LocalDateTime timestamp = LocalDateTime.of(2026, 1, 5, 10, 0);
+            response = ApiResponse.success("Student retrieved successfully", new StudentDetailDTO("2026001", "Budi",
+                "Santoso", "Budi Santoso", LocalDate.of(2004, 3, 15), 21, timestamp, timestamp));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Page {
+
+        @Param({"10", "100", "1000"})
+        private int pageSize;
+
+        private final ByteArrayOutputStream stream = new ByteArrayOutputStream(128 * 1024);
+        private PagedResponse<StudentResponseDTO> response;
+
+        @Setup
+        public void setUp() {
+            List<StudentResponseDTO> students = new ArrayList<>(pageSize);
+            for (int i = 1; i <= pageSize; i++) {
+                students.add(new StudentResponseDTO(String.format("2026%03d", i % 1000), "Nama" + i + " Santoso", 18 + i % 10));
+            }
+            response = PagedResponse.success("Students retrieved successfully", students, 0, pageSize, 5000,
+                (5000 + pageSize - 1) / pageSize, true, false);
+        }
+    }
+
+    @Benchmark
+    public int jacksonDetail(Detail detail) {
+        detail.stream.reset();
+        JSON_MAPPER.writeValue(detail.stream, detail.response);
+        return detail.stream.size();
+    }
+
+    @Benchmark
+    public int preEncodedDetail(Detail detail) throws IOException {
+        detail.stream.reset();
+        StudentJsonHttpMessageConverter.write(detail.response, detail.stream);
+        return detail.stream.size();
+    }
+
+    @Benchmark
+    public int jacksonPage(Page page) {
+        page.stream.reset();
+        JSON_MAPPER.writeValue(page.stream, page.response);
+        return page.stream.size();
+    }
+
+    @Benchmark
+    public int preEncodedPage(Page page) throws IOException {
+        page.stream.reset();
+        StudentJsonHttpMessageConverter.write(page.response, page.stream);
+        return page.stream.size();
+    }
+}
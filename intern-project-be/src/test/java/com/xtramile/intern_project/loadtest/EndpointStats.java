@@ -0,0 +1,52 @@
+package com.xtramile.intern_project.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and outcomes of the requests to one endpoint during a load run
+ */
+class EndpointStats {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    /**
+     * @param latencyNanos from the moment the request was scheduled, not sent, so a server that falls
+     *                     behind is charged for the time requests waited (no coordinated omission)
+     */
+    synchronized void record(long latencyNanos, boolean error) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    synchronized int getCount() {
+        return count;
+    }
+
+    synchronized int getErrors() {
+        return errors;
+    }
+
+    synchronized double errorRate() {
+        return count == 0 ? 0 : (double) errors / count;
+    }
+
+    /**
+     * Latency in milliseconds below which the given fraction of requests completed
+     */
+    synchronized double percentileMillis(double fraction) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.min(count - 1, Math.ceil(fraction * count) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
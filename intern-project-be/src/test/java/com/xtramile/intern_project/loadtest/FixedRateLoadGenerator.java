@@ -0,0 +1,78 @@
+package com.xtramile.intern_project.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load: requests start at a fixed arrival rate whether or not
+ * earlier ones have completed, each on its own virtual thread, the way
+ * independent users arrive. A closed loop of N clients would instead slow
+ * down with the server and hide exactly the queueing that hurts users.
+ */
+class FixedRateLoadGenerator {
+
+    /**
+     * One request; {@code onSuccess} gets the body of a 2xx response
+     */
+    record Call(String endpoint, HttpRequest request, Consumer<String> onSuccess) {
+    }
+
+    private final HttpClient http;
+    private final double ratePerSecond;
+
+    FixedRateLoadGenerator(HttpClient http, double ratePerSecond) {
+        this.http = http;
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    /**
+     * Starts {@code ratePerSecond * duration} calls from {@code calls}, then
+     * waits for the last of them; results per endpoint in order of first use
+     */
+    Map<String, EndpointStats> run(Duration duration, Supplier<Call> calls) throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        long period = (long) (1e9 / ratePerSecond);
+        long total = (long) (duration.toNanos() / (double) period);
+
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (long i = 0; i < total; i++) {
+                long scheduled = start + i * period;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Call call = calls.get();
+                EndpointStats endpoint = stats.computeIfAbsent(call.endpoint(), name -> new EndpointStats());
+                requests.submit(() -> execute(call, endpoint, scheduled));
+            }
+            requests.shutdown();
+            requests.awaitTermination(5, TimeUnit.MINUTES);
+        }
+        return stats;
+    }
+
+    private void execute(Call call, EndpointStats endpoint, long scheduled) {
+        boolean error = true;
+        try {
+            HttpResponse<String> response = http.send(call.request(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 == 2) {
+                error = false;
+                call.onSuccess().accept(response.body());
+            }
+        } catch (Exception e) {
+            // Timeouts and broken connections count as errors
+        }
+        endpoint.record(System.nanoTime() - scheduled, error);
+    }
+}
@@ -0,0 +1,191 @@
+package com.xtramile.intern_project.loadtest;
+
+import com.xtramile.intern_project.InternProjectApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The whole stack (Tomcat, Spring MVC, Jackson, Hibernate, HikariCP,
+ * PostgreSQL) under a fixed arrival rate of list, search, detail, create,
+ * update and delete requests. Runs against an embedded PostgreSQL unless
+ * -Dspring.datasource.url points to one. Reports latency percentiles,
+ * throughput and error rate per endpoint, and fails when an endpoint's p99
+ * or error rate exceeds its threshold.
+ *
+ * ./mvnw test -Pload-test
+ *   -Dload.students=10000     students seeded before the run
+ *   -Dload.rate=200           requests started per second
+ *   -Dload.warmup=PT10S       load before measuring (results discarded)
+ *   -Dload.duration=PT60S     measured load
+ *   -Dload.mix=list:40,search:20,detail:25,create:5,update:5,delete:5
+ *   -Dload.max-p99-ms=500     p99 threshold, per endpoint with -Dload.max-p99-ms.search=...
+ *   -Dload.max-error-rate=0.01
+ */
+@Tag("load")
+class StudentLoadTest {
+
+    private static final int STUDENTS = Integer.getInteger("load.students", 10_000);
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "200"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT60S"));
+    private static final String MIX = System.getProperty("load.mix", "list:40,search:20,detail:25,create:5,update:5,delete:5");
+    private static final double MAX_P99_MILLIS = Double.parseDouble(System.getProperty("load.max-p99-ms", "500"));
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+
+    private static final String CREATE_BODY = "{\"namaDepan\":\"Beban\",\"namaBelakang\":\"Uji\",\"tanggalLahir\":\"2005-06-01\"}";
+    private static final String UPDATE_BODY = "{\"namaDepan\":\"Diperbarui\",\"namaBelakang\":\"Beban\",\"tanggalLahir\":\"2004-03-15\"}";
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final ConcurrentLinkedQueue<String> created = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void studentEndpointsStayWithinLatencyAndErrorThresholds() throws Exception {
+        boolean embedded = System.getProperty("spring.datasource.url") == null;
+        try (EmbeddedPostgres postgres = embedded ? EmbeddedPostgres.start() : null) {
+            // Command-line arguments, so they win over application.properties
+            List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--logging.level.com.zaxxer.hikari=INFO",
+                "--logging.level.org.postgresql=INFO",
+                "--logging.level.com.xtramile=INFO"));
+            if (postgres != null) {
+                arguments.add("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"));
+                arguments.add("--spring.datasource.username=postgres");
+                arguments.add("--spring.datasource.password=postgres");
+            }
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InternProjectApplication.class)
+                    .run(arguments.toArray(String[]::new))) {
+                JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                seed(jdbcTemplate);
+                try {
+                    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                    run(URI.create("http://localhost:" + port + "/api/students"));
+                } finally {
+                    jdbcTemplate.update("DELETE FROM students WHERE nomor_induk LIKE 'LOAD%'");
+                    jdbcTemplate.batchUpdate("DELETE FROM students WHERE nomor_induk = ?",
+                        created.stream().map(nomorInduk -> new Object[] {nomorInduk}).toList());
+                }
+            }
+        }
+    }
+
+    private void run(URI students) throws InterruptedException {
+        List<String> endpoints = new ArrayList<>();
+        List<Integer> cumulativeWeights = new ArrayList<>();
+        int totalWeight = 0;
+        for (String entry : MIX.split(",")) {
+            String[] endpointAndWeight = entry.trim().split(":");
+            totalWeight += Integer.parseInt(endpointAndWeight[1]);
+            endpoints.add(endpointAndWeight[0]);
+            cumulativeWeights.add(totalWeight);
+        }
+        int weights = totalWeight;
+
+        try (HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build()) {
+            FixedRateLoadGenerator generator = new FixedRateLoadGenerator(http, RATE);
+            generator.run(WARMUP, () -> nextCall(students, endpoints, cumulativeWeights, weights));
+            Map<String, EndpointStats> stats = generator.run(DURATION,
+                () -> nextCall(students, endpoints, cumulativeWeights, weights));
+
+            report(stats);
+            stats.forEach((endpoint, endpointStats) -> {
+                double maxP99 = Double.parseDouble(System.getProperty("load.max-p99-ms." + endpoint,
+                    String.valueOf(MAX_P99_MILLIS)));
+                assertThat(endpointStats.percentileMillis(0.99)).as("%s p99 (ms)", endpoint).isLessThanOrEqualTo(maxP99);
+                assertThat(endpointStats.errorRate()).as("%s error rate", endpoint).isLessThanOrEqualTo(MAX_ERROR_RATE);
+            });
+        }
+    }
+
+    private FixedRateLoadGenerator.Call nextCall(URI students, List<String> endpoints, List<Integer> cumulativeWeights,
+                                                 int totalWeight) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(totalWeight);
+        int index = 0;
+        while (pick >= cumulativeWeights.get(index)) {
+            index++;
+        }
+        String endpoint = endpoints.get(index);
+        String seeded = String.format("LOAD%07d", 1 + random.nextInt(STUDENTS));
+
+        switch (endpoint) {
+            case "list":
+                return call(endpoint, get(students, "?page=" + random.nextInt(50) + "&size=20&sort=namaDepan,asc"));
+            case "search":
+                return call(endpoint, get(students, "/search?keyword=Nama" + random.nextInt(1000) + "&size=20"));
+            case "detail":
+                return call(endpoint, get(students, "/" + seeded));
+            case "update":
+                return call(endpoint, json(students, "/" + seeded).PUT(HttpRequest.BodyPublishers.ofString(UPDATE_BODY)).build());
+            case "create":
+                return create(students);
+            case "delete":
+                // Only students created by this run, so the year's 999 numbers are not used up;
+                // nothing to delete yet means another create
+                String nomorInduk = created.poll();
+                return nomorInduk == null ? create(students) : call(endpoint,
+                    HttpRequest.newBuilder(URI.create(students + "/" + nomorInduk)).timeout(Duration.ofSeconds(30)).DELETE().build());
+            default:
+                throw new IllegalArgumentException("Unknown endpoint in load.mix: " + endpoint);
+        }
+    }
+
+    private FixedRateLoadGenerator.Call create(URI students) {
+        return new FixedRateLoadGenerator.Call("create",
+            json(students, "").POST(HttpRequest.BodyPublishers.ofString(CREATE_BODY)).build(),
+            body -> created.add(jsonMapper.readTree(body).get("data").get("nomorInduk").asString()));
+    }
+
+    private static FixedRateLoadGenerator.Call call(String endpoint, HttpRequest request) {
+        return new FixedRateLoadGenerator.Call(endpoint, request, body -> { });
+    }
+
+    private static HttpRequest get(URI students, String pathAndQuery) {
+        return HttpRequest.newBuilder(URI.create(students + pathAndQuery)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static HttpRequest.Builder json(URI students, String path) {
+        return HttpRequest.newBuilder(URI.create(students + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json");
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO students (id, nomor_induk, nama_depan, nama_belakang, tanggal_lahir, created_at, updated_at) "
+            + "SELECT nextval('students_id_seq'), 'LOAD' || lpad(g::text, 7, '0'), 'Nama' || (g % 1000), "
+            + "CASE WHEN g % 3 = 0 THEN NULL ELSE 'Beban' END, DATE '2002-01-01' + (g % 1800), now(), now() "
+            + "FROM generate_series(1, ?) g", STUDENTS);
+        jdbcTemplate.execute("ANALYZE students");
+    }
+
+    private static void report(Map<String, EndpointStats> stats) {
+        System.out.println("==============================================");
+        System.out.printf("Student API load test (%,d students, %.0f req/s for %s)%n", STUDENTS, RATE, DURATION);
+        System.out.printf("  %-8s %8s %9s %9s %9s %9s %8s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+        stats.forEach((endpoint, endpointStats) -> System.out.printf("  %-8s %,8d %9.1f %9.1f %9.1f %9.1f %7.2f%%%n",
+            endpoint, endpointStats.getCount(), endpointStats.getCount() / (DURATION.toNanos() / 1e9),
+            endpointStats.percentileMillis(0.50), endpointStats.percentileMillis(0.99),
+            endpointStats.percentileMillis(0.999), endpointStats.errorRate() * 100));
+        System.out.println("==============================================");
+    }
+}
@@ -0,0 +1,90 @@
+package com.xtramile.intern_project.protobuf;
+
+import com.xtramile.intern_project.dto.PagedResponse;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and client-side decoding of list pages of 10, 100 and 1000
+ * students in each representation the list endpoint offers. The payload
+ * size of each is printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    private static final TypeReference<PagedResponse<StudentResponseDTO>> PAGE_TYPE = new TypeReference<>() { };
+
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        @Param({"json", "cbor", "smile", "protobuf"})
+        private String format;
+
+        @Param({"10", "100", "1000"})
+        private int pageSize;
+
+        private ObjectMapper mapper;
+        private PagedResponse<StudentResponseDTO> response;
+        private byte[] bytes;
+
+        @Setup
+        public void setUp() throws IOException {
+            mapper = switch (format) {
+                case "json" -> JsonMapper.builder().build();
+                case "cbor" -> CBORMapper.builder().build();
+                case "smile" -> SmileMapper.builder().build();
+                default -> null;
+            };
+            List<StudentResponseDTO> students = new ArrayList<>(pageSize);
+            for (int i = 1; i <= pageSize; i++) {
+                students.add(new StudentResponseDTO(String.format("2026%03d", i % 1000), "Nama" + i + " Santoso", 18 + i % 10));
+            }
+            response = PagedResponse.success("Students retrieved successfully", students, 0, pageSize, 5000,
+                (5000 + pageSize - 1) / pageSize, true, false);
+            bytes = encode(this);
+            System.out.printf("%n%s page of %d: %d bytes%n", format, pageSize, bytes.length);
+        }
+    }
+
+    @Benchmark
+    public byte[] encodePage(Page page) throws IOException {
+        return encode(page);
+    }
+
+    @Benchmark
+    public PagedResponse<StudentResponseDTO> decodePage(Page page) throws IOException {
+        return page.mapper != null
+            ? page.mapper.readValue(page.bytes, PAGE_TYPE)
+            : StudentProtobufReader.readPage(page.bytes);
+    }
+
+    private static byte[] encode(Page page) throws IOException {
+        return page.mapper != null
+            ? page.mapper.writeValueAsBytes(page.response)
+            : StudentProtobufHttpMessageConverter.encode(page.response);
+    }
+}
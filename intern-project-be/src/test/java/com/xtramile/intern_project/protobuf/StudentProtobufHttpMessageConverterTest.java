@@ -0,0 +1,134 @@
+package com.xtramile.intern_project.protobuf;
+
+import com.google.protobuf.UnknownFieldSet;
+import com.xtramile.intern_project.dto.ApiResponse;
+import com.xtramile.intern_project.dto.ErrorResponseDTO;
+import com.xtramile.intern_project.dto.PagedResponse;
+import com.xtramile.intern_project.dto.PartialStudentDetailDTO;
+import com.xtramile.intern_project.dto.PartialStudentResponseDTO;
+import com.xtramile.intern_project.dto.StudentBatchResultDTO;
+import com.xtramile.intern_project.dto.StudentDetailDTO;
+import com.xtramile.intern_project.dto.StudentField;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentProtobufHttpMessageConverterTest {
+
+    private static final MediaType PROTOBUF = MediaType.parseMediaType(
+        StudentProtobufHttpMessageConverter.APPLICATION_X_PROTOBUF_VALUE);
+
+    private final StudentProtobufHttpMessageConverter converter = new StudentProtobufHttpMessageConverter();
+
+    @Test
+    void offsetPageRoundTrips() throws Exception {
+        List<StudentResponseDTO> students = List.of(
+            new StudentResponseDTO("2026001", "Budi Santoso", 21),
+            new StudentResponseDTO("2026002", "Siti Rahayu", null),
+            new StudentResponseDTO("2026003", "Ådne Øvergård", 19));
+        PagedResponse<StudentResponseDTO> page = PagedResponse.success("Students retrieved successfully", students,
+            2, 3, 42L, 14, true, true, "exact");
+
+        PagedResponse<StudentResponseDTO> read = StudentProtobufReader.readPage(StudentProtobufHttpMessageConverter.encode(page));
+
+        assertThat(read.getStatus()).isEqualTo("success");
+        assertThat(read.getMessage()).isEqualTo("Students retrieved successfully");
+        assertThat(read.getTimestamp()).isEqualTo(page.getTimestamp());
+        assertThat(read.getData()).usingRecursiveFieldByFieldElementComparator().isEqualTo(students);
+        assertThat(read.getMeta()).usingRecursiveComparison().isEqualTo(page.getMeta());
+    }
+
+    @Test
+    void cursorPageHasNoOffsetFields() throws Exception {
+        PagedResponse<StudentResponseDTO> page = PagedResponse.cursor("Students retrieved successfully", List.of(),
+            10, false, "eyJrIjoiMjAyNjAxMCJ9");
+
+        PagedResponse<StudentResponseDTO> read = StudentProtobufReader.readPage(StudentProtobufHttpMessageConverter.encode(page));
+
+        assertThat(read.getData()).isEmpty();
+        assertThat(read.getMeta().getCurrentPage()).isNull();
+        assertThat(read.getMeta().getTotalItems()).isNull();
+        assertThat(read.getMeta().getTotalPages()).isNull();
+        assertThat(read.getMeta().getNextCursor()).isEqualTo("eyJrIjoiMjAyNjAxMCJ9");
+        assertThat(read.getMeta().isHasNext()).isTrue();
+        assertThat(read.getMeta().getPageSize()).isEqualTo(10);
+    }
+
+    @Test
+    void detailRoundTripsWithTheDatesAsInJson() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 3, 1, 10, 15, 0, 123_456_000);
+        ApiResponse<StudentDetailDTO> response = ApiResponse.success("Student found", new StudentDetailDTO("2026001",
+            "Budi", "Santoso", "Budi Santoso", LocalDate.of(2004, 3, 15), 21, updatedAt.minusDays(1), updatedAt));
+
+        byte[] bytes = StudentProtobufHttpMessageConverter.encode(response);
+        ApiResponse<StudentDetailDTO> read = StudentProtobufReader.readDetailResponse(bytes);
+
+        assertThat(read.getData()).usingRecursiveComparison().isEqualTo(response.getData());
+        assertThat(read.getTimestamp()).isEqualTo(response.getTimestamp());
+
+        JsonNode json = JsonMapper.builder().build().valueToTree(response);
+        UnknownFieldSet detail = UnknownFieldSet.parseFrom(UnknownFieldSet.parseFrom(bytes).getField(3)
+            .getLengthDelimitedList().get(0));
+        assertThat(detail.getField(5).getLengthDelimitedList().get(0).toStringUtf8())
+            .isEqualTo(json.get("data").get("tanggalLahir").asString());
+        assertThat(detail.getField(8).getLengthDelimitedList().get(0).toStringUtf8())
+            .isEqualTo(json.get("data").get("updatedAt").asString());
+    }
+
+    @Test
+    void narrowedStudentsCarryOnlyTheRequestedFields() throws Exception {
+        StudentDetailDTO full = new StudentDetailDTO("2026001", "Budi", "Santoso", "Budi Santoso",
+            LocalDate.of(2004, 3, 15), 21, LocalDateTime.of(2026, 1, 5, 10, 15, 30), LocalDateTime.of(2026, 3, 1, 9, 0));
+        Set<StudentField> fields = EnumSet.of(StudentField.NOMOR_INDUK, StudentField.NAMA_DEPAN,
+            StudentField.TANGGAL_LAHIR, StudentField.UPDATED_AT);
+        PagedResponse<StudentResponseDTO> page = PagedResponse.cursor("Students retrieved successfully",
+            List.of(new PartialStudentResponseDTO(PartialStudentDetailDTO.of(full, fields))), 10, false, null);
+
+        PagedResponse<StudentResponseDTO> read = StudentProtobufReader.readPage(StudentProtobufHttpMessageConverter.encode(page));
+
+        PartialStudentResponseDTO student = (PartialStudentResponseDTO) read.getData().get(0);
+        assertThat(student.getStudent().getFields()).isEqualTo(fields);
+        assertThat(student.getStudent()).usingRecursiveComparison()
+            .isEqualTo(((PartialStudentResponseDTO) page.getData().get(0)).getStudent());
+        assertThat(student.getNamaLengkap()).isNull();
+        assertThat(student.getUsia()).isNull();
+
+        ApiResponse<StudentDetailDTO> detail = ApiResponse.success("Student found",
+            PartialStudentDetailDTO.of(full, EnumSet.of(StudentField.NAMA_LENGKAP, StudentField.USIA)));
+        assertThat(StudentProtobufReader.readDetailResponse(StudentProtobufHttpMessageConverter.encode(detail)).getData())
+            .usingRecursiveComparison()
+            .isEqualTo(new StudentDetailDTO(null, null, null, "Budi Santoso", null, 21, null, null));
+    }
+
+    @Test
+    void writesOnlyTheTypesOfTheSchema() {
+        assertThat(converter.canWrite(ResolvableType.forClassWithGenerics(PagedResponse.class, StudentResponseDTO.class),
+            PagedResponse.class, PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(ResolvableType.forClassWithGenerics(ApiResponse.class, StudentDetailDTO.class),
+            ApiResponse.class, PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(ResolvableType.forClass(ErrorResponseDTO.class), ErrorResponseDTO.class, PROTOBUF))
+            .isTrue();
+
+        assertThat(converter.canWrite(ResolvableType.forClassWithGenerics(ApiResponse.class, StudentBatchResultDTO.class),
+            ApiResponse.class, PROTOBUF)).isFalse();
+        assertThat(converter.canWrite(ResolvableType.forClass(PagedResponse.class), PagedResponse.class, PROTOBUF))
+            .isFalse();
+        assertThat(converter.canWrite(ResolvableType.forClassWithGenerics(PagedResponse.class, StudentResponseDTO.class),
+            PagedResponse.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canRead(ResolvableType.forClass(PagedResponse.class), PROTOBUF)).isFalse();
+
+        // Only offered where a mapping lists the protobuf types
+        assertThat(converter.getSupportedMediaTypes(PagedResponse.class)).isEmpty();
+    }
+}
@@ -0,0 +1,171 @@
+package com.xtramile.intern_project.protobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import com.xtramile.intern_project.dto.ApiResponse;
+import com.xtramile.intern_project.dto.ErrorResponseDTO;
+import com.xtramile.intern_project.dto.PagedResponse;
+import com.xtramile.intern_project.dto.PartialStudentDetailDTO;
+import com.xtramile.intern_project.dto.PartialStudentResponseDTO;
+import com.xtramile.intern_project.dto.StudentDetailDTO;
+import com.xtramile.intern_project.dto.StudentField;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Client-side decoding of the messages in src/main/proto/student.proto back
+ * into the DTOs, written from the schema rather than from the converter. A
+ * field the schema does not know fails the read.
+ */
+public final class StudentProtobufReader {
+
+    // Student message fields by number
+    private static final StudentField[] STUDENT_FIELDS = {null, StudentField.NOMOR_INDUK, StudentField.NAMA_LENGKAP,
+        StudentField.USIA, StudentField.NAMA_DEPAN, StudentField.NAMA_BELAKANG, StudentField.TANGGAL_LAHIR,
+        StudentField.CREATED_AT, StudentField.UPDATED_AT};
+
+    private static final Set<StudentField> DETAIL_ONLY_FIELDS = EnumSet.of(StudentField.NAMA_DEPAN,
+        StudentField.NAMA_BELAKANG, StudentField.TANGGAL_LAHIR, StudentField.CREATED_AT, StudentField.UPDATED_AT);
+
+    private StudentProtobufReader() {
+    }
+
+    public static PagedResponse<StudentResponseDTO> readPage(byte[] bytes) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(bytes);
+        PagedResponse<StudentResponseDTO> page = new PagedResponse<>();
+        page.setTimestamp(null);
+        List<StudentResponseDTO> data = new ArrayList<>();
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> page.setStatus(input.readString());
+                case 2 -> page.setMessage(input.readString());
+                case 3 -> {
+                    int limit = input.pushLimit(input.readRawVarint32());
+                    data.add(readStudent(input));
+                    input.popLimit(limit);
+                }
+                case 4 -> {
+                    int limit = input.pushLimit(input.readRawVarint32());
+                    page.setMeta(readMeta(input));
+                    input.popLimit(limit);
+                }
+                case 5 -> page.setTimestamp(LocalDateTime.parse(input.readString()));
+                default -> throw new IOException("Unknown StudentPage field " + WireFormat.getTagFieldNumber(tag));
+            }
+        }
+        page.setData(data);
+        return page;
+    }
+
+    public static ApiResponse<StudentDetailDTO> readDetailResponse(byte[] bytes) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(bytes);
+        ApiResponse<StudentDetailDTO> response = new ApiResponse<>();
+        response.setTimestamp(null);
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> response.setStatus(input.readString());
+                case 2 -> response.setMessage(input.readString());
+                case 3 -> {
+                    int limit = input.pushLimit(input.readRawVarint32());
+                    response.setData(readStudentDetail(input));
+                    input.popLimit(limit);
+                }
+                case 4 -> response.setTimestamp(LocalDateTime.parse(input.readString()));
+                default -> throw new IOException("Unknown StudentDetailResponse field " + WireFormat.getTagFieldNumber(tag));
+            }
+        }
+        return response;
+    }
+
+    public static ErrorResponseDTO readError(byte[] bytes) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(bytes);
+        ErrorResponseDTO error = new ErrorResponseDTO();
+        error.setTimestamp(null);
+        List<String> errors = new ArrayList<>();
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> error.setTimestamp(LocalDateTime.parse(input.readString()));
+                case 2 -> error.setStatus(input.readInt32());
+                case 3 -> error.setError(input.readString());
+                case 4 -> error.setMessage(input.readString());
+                case 5 -> error.setPath(input.readString());
+                case 6 -> errors.add(input.readString());
+                default -> throw new IOException("Unknown ErrorResponse field " + WireFormat.getTagFieldNumber(tag));
+            }
+        }
+        error.setErrors(errors.isEmpty() ? null : errors);
+        return error;
+    }
+
+    /**
+     * Items carrying any of fields 4 to 8 are read as narrowed with ?fields=,
+     * holding the fields present
+     */
+    private static StudentResponseDTO readStudent(CodedInputStream input) throws IOException {
+        StudentDetailDTO student = new StudentDetailDTO();
+        Set<StudentField> fields = EnumSet.noneOf(StudentField.class);
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            int field = WireFormat.getTagFieldNumber(tag);
+            switch (field) {
+                case 1 -> student.setNomorInduk(input.readString());
+                case 2 -> student.setNamaLengkap(input.readString());
+                case 3 -> student.setUsia(input.readInt32());
+                case 4 -> student.setNamaDepan(input.readString());
+                case 5 -> student.setNamaBelakang(input.readString());
+                case 6 -> student.setTanggalLahir(LocalDate.parse(input.readString()));
+                case 7 -> student.setCreatedAt(LocalDateTime.parse(input.readString()));
+                case 8 -> student.setUpdatedAt(LocalDateTime.parse(input.readString()));
+                default -> throw new IOException("Unknown Student field " + field);
+            }
+            fields.add(STUDENT_FIELDS[field]);
+        }
+        if (Collections.disjoint(fields, DETAIL_ONLY_FIELDS)) {
+            return new StudentResponseDTO(student.getNomorInduk(), student.getNamaLengkap(), student.getUsia());
+        }
+        return new PartialStudentResponseDTO(PartialStudentDetailDTO.of(student, fields));
+    }
+
+    private static PagedResponse.PageMeta readMeta(CodedInputStream input) throws IOException {
+        PagedResponse.PageMeta meta = new PagedResponse.PageMeta();
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> meta.setCurrentPage(input.readInt32());
+                case 2 -> meta.setTotalItems(input.readInt64());
+                case 3 -> meta.setTotalPages(input.readInt32());
+                case 4 -> meta.setPageSize(input.readInt32());
+                case 5 -> meta.setHasNext(input.readBool());
+                case 6 -> meta.setHasPrevious(input.readBool());
+                case 7 -> meta.setNextCursor(input.readString());
+                case 8 -> meta.setCountStrategy(input.readString());
+                default -> throw new IOException("Unknown PageMeta field " + WireFormat.getTagFieldNumber(tag));
+            }
+        }
+        return meta;
+    }
+
+    private static StudentDetailDTO readStudentDetail(CodedInputStream input) throws IOException {
+        StudentDetailDTO student = new StudentDetailDTO();
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1 -> student.setNomorInduk(input.readString());
+                case 2 -> student.setNamaDepan(input.readString());
+                case 3 -> student.setNamaBelakang(input.readString());
+                case 4 -> student.setNamaLengkap(input.readString());
+                case 5 -> student.setTanggalLahir(LocalDate.parse(input.readString()));
+                case 6 -> student.setUsia(input.readInt32());
+                case 7 -> student.setCreatedAt(LocalDateTime.parse(input.readString()));
+                case 8 -> student.setUpdatedAt(LocalDateTime.parse(input.readString()));
+                default -> throw new IOException("Unknown StudentDetail field " + WireFormat.getTagFieldNumber(tag));
+            }
+        }
+        return student;
+    }
+}
@@ -0,0 +1,92 @@
+package com.xtramile.intern_project.querycount;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryBudgetsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryBudgets budgets = new QueryBudgets(3, 2, meterRegistry);
+
+    @Test
+    void statementsCountInEveryOpenScopeAndAnOffenceIsReportedOnce() {
+        QueryCounter.Scope request = QueryCounter.open("GET /api/students", 3);
+        QueryCounter.Scope service = QueryCounter.open("StudentService.search", 2);
+        for (int i = 0; i < 3; i++) {
+            QueryCounter.record("select * from students where id=?");
+        }
+        service.close();
+        budgets.check(service);
+        QueryCounter.record("select count(*) from students");
+        request.close();
+        budgets.check(request);
+
+        assertThat(service.getCount()).isEqualTo(3);
+        assertThat(request.getCount()).isEqualTo(4);
+        // Only what ran past the budget is kept
+        assertThat(service.describe()).contains("StudentService.search ran 3 SQL statement(s), those after the first 2:",
+            "1x select * from students where id=?");
+        assertThat(request.getStatements()).extracting(QueryCounter.Statement::sql)
+            .containsExactly("select count(*) from students");
+        // Only the service method, the innermost scope over budget
+        assertThat(meterRegistry.find("sql.budget.exceeded").counters()).hasSize(1);
+        assertThat(meterRegistry.get("sql.budget.exceeded").tag("scope", "StudentService.search").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void scopeWithinBudgetOnlyCounts() {
+        QueryCounter.Scope request = QueryCounter.open("GET /api/students", 3);
+        QueryCounter.Scope test = QueryCounter.open("test");
+        QueryCounter.record("select * from students where id=?");
+        QueryCounter.record("select count(*) from students");
+        test.close();
+        request.close();
+        budgets.check(request);
+
+        assertThat(request.getCount()).isEqualTo(2);
+        assertThat(request.getStatements()).isEmpty();
+        // A test's scope keeps every statement
+        assertThat(test.getStatements()).hasSize(2);
+        assertThat(meterRegistry.find("sql.budget.exceeded").counters()).isEmpty();
+    }
+
+    @Test
+    void statementsOutsideAnyScopeAreNotCounted() {
+        QueryCounter.record("select 1");
+        QueryCounter.Scope scope = QueryCounter.open("test");
+        scope.close();
+
+        assertThat(scope.getCount()).isZero();
+    }
+
+    @Test
+    void scopesMustBeClosedInReverseOrder() {
+        QueryCounter.Scope outer = QueryCounter.open("outer");
+        QueryCounter.Scope inner = QueryCounter.open("inner");
+
+        assertThatThrownBy(outer::close).isInstanceOf(IllegalStateException.class);
+        inner.close();
+        outer.close();
+    }
+
+    @Test
+    void annotatedMethodsUseTheirOwnBudget() throws NoSuchMethodException {
+        assertThat(budgets.forServiceMethod(Budgeted.class.getMethod("batch"))).isEqualTo(25);
+        assertThat(budgets.forServiceMethod(Budgeted.class.getMethod("single"))).isEqualTo(2);
+        assertThat(budgets.forRequest(Budgeted.class.getMethod("single"))).isEqualTo(3);
+    }
+
+    static class Budgeted {
+
+        @QueryBudget(25)
+        public void batch() {
+        }
+
+        public void single() {
+        }
+    }
+}
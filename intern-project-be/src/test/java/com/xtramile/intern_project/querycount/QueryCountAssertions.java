@@ -0,0 +1,39 @@
+package com.xtramile.intern_project.querycount;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upper bounds on the SQL statements a piece of code runs on the calling
+ * thread, for tests that pin the query cost of an endpoint or service method.
+ * Counts whatever Hibernate runs, whether or not query budgets are enabled.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    /**
+     * Run {@code action} and fail, listing every statement and where it was run
+     * from, when it ran more than {@code maxStatements} SQL statements
+     */
+    public static <T> T assertQueryCount(int maxStatements, Action<T> action) throws Exception {
+        T result;
+        QueryCounter.Scope scope = QueryCounter.open("test");
+        try {
+            result = action.run();
+        } finally {
+            scope.close();
+        }
+        assertThat(scope.getCount()).as(scope::describe).isLessThanOrEqualTo(maxStatements);
+        return result;
+    }
+
+    /**
+     * Code whose statements are counted
+     */
+    @FunctionalInterface
+    public interface Action<T> {
+
+        T run() throws Exception;
+    }
+}
@@ -0,0 +1,105 @@
+package com.xtramile.intern_project.querymonitor;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fast-path cost of repository monitoring: a call under the slow query
+ * threshold through a proxy with the {@link RepositoryMonitorInterceptor},
+ * against the same proxy with a pass-through interceptor instead. The repository does no I/O and runs one
+ * "statement" per call through the same hook as the statement inspector, so
+ * the difference is the whole overhead a real query pays.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepositoryMonitorBenchmark {
+
+    private static final List<String> PAGE = List.of("2026001", "2026002", "2026003");
+
+    private StudentLookup unmonitored;
+    private StudentLookup monitored;
+
+    @Setup
+    public void setUp() {
+        unmonitored = proxy(false);
+        monitored = proxy(true);
+    }
+
+    @Benchmark
+    public Optional<String> findOneUnmonitored() {
+        return unmonitored.findByNomorInduk("2026001");
+    }
+
+    @Benchmark
+    public Optional<String> findOneMonitored() {
+        return monitored.findByNomorInduk("2026001");
+    }
+
+    @Benchmark
+    public List<String> findPageUnmonitored() {
+        return unmonitored.findPage("Budi");
+    }
+
+    @Benchmark
+    public List<String> findPageMonitored() {
+        return monitored.findPage("Budi");
+    }
+
+    private static StudentLookup proxy(boolean monitor) {
+        ProxyFactory proxyFactory = new ProxyFactory(new InMemoryStudentLookup());
+        proxyFactory.addInterface(StudentLookup.class);
+        if (monitor) {
+            SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofMillis(100), 100, 10, null);
+            proxyFactory.addAdvice(new RepositoryMonitorInterceptor("StudentLookup",
+                new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), slowQueryLog));
+        } else {
+            // Repository proxies always run a chain of advice (transactions, Boot's timer, ...)
+            proxyFactory.addAdvice((MethodInterceptor) MethodInvocation::proceed);
+        }
+        return (StudentLookup) proxyFactory.getProxy();
+    }
+
+    public interface StudentLookup {
+
+        Optional<String> findByNomorInduk(String nomorInduk);
+
+        List<String> findPage(String keyword);
+    }
+
+    static class InMemoryStudentLookup implements StudentLookup {
+
+        @Override
+        public Optional<String> findByNomorInduk(String nomorInduk) {
+            RepositoryCall.record("select s1_0.id from students s1_0 where s1_0.nomor_induk=?");
+            return Optional.of(nomorInduk);
+        }
+
+        @Override
+        public List<String> findPage(String keyword) {
+            RepositoryCall.record("select s1_0.nomor_induk from students s1_0 where s1_0.nama_depan like ?");
+            return PAGE;
+        }
+    }
+}
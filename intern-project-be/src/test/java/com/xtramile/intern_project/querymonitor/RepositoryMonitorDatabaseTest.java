@@ -0,0 +1,114 @@
+package com.xtramile.intern_project.querymonitor;
+
+import com.xtramile.intern_project.InternProjectApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Repository monitoring against an embedded PostgreSQL, with every call
+ * counted as slow and explained.
+ */
+class RepositoryMonitorDatabaseTest {
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext context;
+    private static MockMvc mockMvc;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(InternProjectApplication.class).run(
+            "--server.port=0",
+            "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+            "--spring.datasource.username=postgres",
+            "--spring.datasource.password=postgres",
+            "--app.cache.responses.enabled=false",
+            "--app.repository-monitor.slow-threshold=PT0S",
+            "--app.repository-monitor.explain-every=1",
+            "--logging.level.com.zaxxer.hikari=INFO",
+            "--logging.level.org.postgresql=INFO",
+            "--logging.level.com.xtramile=INFO",
+            "--logging.level.com.xtramile.intern_project.querymonitor=ERROR");
+        context.getBean(JdbcTemplate.class).update("INSERT INTO students (id, nomor_induk, nama_depan, nama_belakang, "
+            + "tanggal_lahir, created_at, updated_at) SELECT nextval('students_id_seq'), 'RM' || lpad(g::text, 6, '0'), "
+            + "'Budi' || g, 'Santoso', DATE '2003-01-01' + g, now(), now() FROM generate_series(1, 30) g");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @AfterAll
+    static void stopApplication() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void slowCallsAreCapturedWithTheirSqlAndPlanButNotTheirValues() throws Exception {
+        mockMvc.perform(get("/api/students/search?keyword=Budi1&size=5")).andExpect(status().isOk());
+
+        JsonNode findRows = null;
+        // The plan is filled in in the background
+        for (int attempt = 0; attempt < 50; attempt++) {
+            findRows = findSlowQuery("StudentRepository.findRows");
+            if (findRows != null && !findRows.path("statements").get(0).path("plan").isNull()) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+
+        assertThat(findRows).isNotNull();
+        assertThat(findRows.path("rows").asInt()).isEqualTo(5);
+        assertThat(findRows.path("arguments").toString()).contains("String(5)").doesNotContain("Budi1");
+        JsonNode statement = findRows.path("statements").get(0);
+        assertThat(statement.path("sql").asString()).contains("?").doesNotContain("Budi1");
+        assertThat(statement.path("plan").asString()).contains("Scan");
+    }
+
+    @Test
+    void rowsAndLatencyAreRecordedPerRepositoryMethod() throws Exception {
+        mockMvc.perform(get("/api/students/RM000001")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/students/RM999999")).andExpect(status().isNotFound());
+
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        assertThat(meterRegistry.get("repository.rows").tag("repository", "StudentRepository")
+            .tag("method", "findByNomorInduk").summary().totalAmount()).isGreaterThanOrEqualTo(1);
+        Timer invocations = meterRegistry.get("spring.data.repository.invocations")
+            .tag("repository", "StudentRepository").tag("method", "findByNomorInduk").timer();
+        assertThat(invocations.count()).isGreaterThanOrEqualTo(2);
+        assertThat(invocations.takeSnapshot().histogramCounts()).isNotEmpty();
+    }
+
+    private JsonNode findSlowQuery(String method) throws Exception {
+        String response = mockMvc.perform(get("/api/admin/queries/slow?limit=100"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        for (JsonNode slowQuery : jsonMapper.readTree(response).path("data")) {
+            if (slowQuery.path("method").asString().equals(method)) {
+                return slowQuery;
+            }
+        }
+        return null;
+    }
+}
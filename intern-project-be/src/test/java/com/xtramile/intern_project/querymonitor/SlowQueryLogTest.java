@@ -0,0 +1,82 @@
+package com.xtramile.intern_project.querymonitor;
+
+import com.xtramile.intern_project.dto.BirthDateRange;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryLogTest {
+
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ofMillis(100), 3, 0, null);
+
+    @Test
+    void keepsTheMostRecentSlowQueriesNewestFirst() {
+        for (int i = 1; i <= 5; i++) {
+            capture("StudentRepository.call" + i, "select " + i);
+        }
+
+        assertThat(slowQueryLog.recent(10)).extracting(SlowQuery::getMethod)
+            .containsExactly("StudentRepository.call5", "StudentRepository.call4", "StudentRepository.call3");
+        assertThat(slowQueryLog.recent(2)).extracting(SlowQuery::getMethod)
+            .containsExactly("StudentRepository.call5", "StudentRepository.call4");
+    }
+
+    @Test
+    void keepsOnlyTheFirstStatementsOfACall() {
+        RepositoryCall call = RepositoryCall.start();
+        for (int i = 0; i < 7; i++) {
+            RepositoryCall.record("select " + i);
+        }
+        call.end();
+        slowQueryLog.capture("StudentRepository.findAll", new Object[0], 150_000_000, 20, call);
+
+        SlowQuery slowQuery = slowQueryLog.recent(1).get(0);
+        assertThat(slowQuery.getStatementCount()).isEqualTo(7);
+        assertThat(slowQuery.getStatements()).hasSize(RepositoryCall.MAX_STATEMENTS).startsWith("select 0");
+        assertThat(slowQuery.getPlans()).isNull();
+    }
+
+    @Test
+    void statementsOutsideARepositoryCallAreIgnored() {
+        RepositoryCall.record("select 1");
+        RepositoryCall call = RepositoryCall.start();
+        call.end();
+
+        assertThat(call.getStatementCount()).isZero();
+    }
+
+    @Test
+    void argumentValuesAreRedacted() {
+        List<String> redacted = SlowQueryLog.redact(new Object[] {
+            "Budi", new ArrayList<>(List.of("2026001", "2026002")), BirthDateRange.of(18, 25, null, null, LocalDate.now()),
+            PageRequest.of(2, 20), null});
+
+        assertThat(redacted).containsExactly("String(4)", "ArrayList(2)", "BirthDateRange",
+            PageRequest.of(2, 20).toString(), "null");
+        assertThat(String.join(" ", redacted)).doesNotContain("Budi", "2026001");
+    }
+
+    @Test
+    void placeholdersAreNumberedOutsideStringLiterals() {
+        SlowQueryLog.Numbered numbered = SlowQueryLog.numberPlaceholders(
+            "select s.id from students s where s.nama_depan like ('%'||?||'%') escape '' and s.tanggal_lahir<=? "
+                + "and s.nama_belakang<>'?' fetch first ? rows only");
+
+        assertThat(numbered.sql()).isEqualTo("select s.id from students s where s.nama_depan like ('%'||$1||'%') "
+            + "escape '' and s.tanggal_lahir<=$2 and s.nama_belakang<>'?' fetch first $3 rows only");
+        assertThat(numbered.parameters()).isEqualTo(3);
+    }
+
+    private void capture(String method, String sql) {
+        RepositoryCall call = RepositoryCall.start();
+        RepositoryCall.record(sql);
+        call.end();
+        slowQueryLog.capture(method, new Object[0], 150_000_000, 1, call);
+    }
+}
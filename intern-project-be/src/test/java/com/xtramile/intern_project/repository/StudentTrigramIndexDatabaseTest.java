@@ -0,0 +1,78 @@
+package com.xtramile.intern_project.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The full-name match of the trigram search backend against the index of
+ * migration V2, on an embedded PostgreSQL migrated by Flyway: if
+ * {@link StudentRepositoryImpl#FULL_NAME} and the indexed expression drift
+ * apart, the planner cannot use the index at all.
+ */
+class StudentTrigramIndexDatabaseTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().migrate();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO students (id, nomor_induk, nama_depan, nama_belakang, tanggal_lahir, "
+                + "created_at, updated_at) SELECT nextval('students_id_seq'), 'TRGM' || g, 'Budi' || g, 'Santoso', "
+                + "DATE '2004-03-15', now(), now() FROM generate_series(1, 20) g");
+        }
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void fullNameMatchIsAnsweredFromTheTrigramIndex() throws Exception {
+        assertThat(plan("SELECT nomor_induk FROM students WHERE " + StudentRepositoryImpl.FULL_NAME + " LIKE ?"))
+            .contains("idx_students_nama_lengkap_trgm")
+            .doesNotContain("Seq Scan");
+        assertThat(plan("SELECT count(*) FROM students WHERE " + StudentRepositoryImpl.FULL_NAME + " LIKE ?"))
+            .contains("idx_students_nama_lengkap_trgm");
+    }
+
+    /**
+     * Plan of the query with "%budi san%" bound, sequential scans ruled out as
+     * far as the planner allows, so that a handful of rows cannot hide a
+     * missing index
+     */
+    private static String plan(String sql) throws Exception {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+            }
+            List<String> lines = new ArrayList<>();
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                explain.setString(1, "%budi san%");
+                try (ResultSet plan = explain.executeQuery()) {
+                    while (plan.next()) {
+                        lines.add(plan.getString(1));
+                    }
+                }
+            }
+            return String.join("\n", lines);
+        }
+    }
+}
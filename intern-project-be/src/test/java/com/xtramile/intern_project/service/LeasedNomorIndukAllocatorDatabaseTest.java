@@ -0,0 +1,181 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.repository.NomorIndukLeaseRepository;
+import com.xtramile.intern_project.repository.NomorIndukLeaseRepository.Lease;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Duration;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link LeasedNomorIndukAllocator} and the statements of
+ * {@link NomorIndukLeaseRepository} against an embedded PostgreSQL migrated by
+ * Flyway. Allocators built over the same database stand in for backend
+ * instances.
+ */
+class LeasedNomorIndukAllocatorDatabaseTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final Duration GRACE = Duration.ofMinutes(1);
+
+    private final int year = Year.now().getValue();
+
+    private static EmbeddedPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static NomorIndukLeaseRepository leaseRepository;
+
+    @BeforeAll
+    static void migrate() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().migrate();
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+        leaseRepository = new NomorIndukLeaseRepository(new NamedParameterJdbcTemplate(jdbcTemplate));
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.update("DELETE FROM students");
+        jdbcTemplate.update("DELETE FROM nomor_induk_leases");
+        jdbcTemplate.update("DELETE FROM nomor_induk_reclaimed");
+        jdbcTemplate.update("DELETE FROM nomor_induk_counters");
+    }
+
+    @Test
+    void instancesAllocatingConcurrentlyNeverShareANumber() throws Exception {
+        List<LeasedNomorIndukAllocator> instances = List.of(allocator(5), allocator(5));
+        int threadsPerInstance = 8;
+        int perThread = 25;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadsPerInstance * instances.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+        try {
+            for (LeasedNomorIndukAllocator instance : instances) {
+                for (int t = 0; t < threadsPerInstance; t++) {
+                    Callable<List<String>> allocations = () -> {
+                        start.await();
+                        List<String> numbers = new ArrayList<>();
+                        for (int i = 0; i < perThread; i++) {
+                            numbers.add(instance.allocate());
+                        }
+                        return numbers;
+                    };
+                    results.add(executor.submit(allocations));
+                }
+            }
+            start.countDown();
+
+            List<String> allocated = new ArrayList<>();
+            for (Future<List<String>> result : results) {
+                allocated.addAll(result.get());
+            }
+            assertThat(allocated)
+                .hasSize(threadsPerInstance * instances.size() * perThread)
+                .doesNotHaveDuplicates()
+                .allMatch(number -> number.startsWith(String.valueOf(year)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void seedingPutsGapsBelowExistingNumbersIntoThePool() {
+        insertStudent(nomorInduk(1));
+        insertStudent(nomorInduk(3));
+
+        LeasedNomorIndukAllocator allocator = allocator(5);
+
+        assertThat(allocator.allocate()).isEqualTo(nomorInduk(2));
+        assertThat(allocator.allocate()).isEqualTo(nomorInduk(4));
+    }
+
+    @Test
+    void reclaimedNumberIsHandedOutAgainByAnotherInstance() {
+        LeasedNomorIndukAllocator first = allocator(5);
+        for (int i = 0; i < 3; i++) {
+            insertStudent(first.allocate());
+        }
+
+        // The student holding the second number is deleted
+        jdbcTemplate.update("DELETE FROM students WHERE nomor_induk = ?", nomorInduk(2));
+        first.reclaim(nomorInduk(2));
+
+        LeasedNomorIndukAllocator second = allocator(5);
+        assertThat(second.allocate()).isEqualTo(nomorInduk(2));
+        // Past the pool, a block after the first instance's
+        assertThat(second.allocate()).isEqualTo(nomorInduk(6));
+    }
+
+    @Test
+    void sweepDropsExpiredAndUsedUpLeasesAndReclaimsOnlyUnusedNumbers() {
+        leaseRepository.seedYear(year);
+
+        // Used up, not expired: every number made it into students
+        Lease usedUp = leaseRepository.leaseBlock(year, 3, 999, "node-a", TTL);
+        insertStudents(usedUp.rangeStart(), usedUp.rangeEnd());
+        // Partly used, not expired: its owner may still hand out the rest
+        Lease inUse = leaseRepository.leaseBlock(year, 3, 999, "node-b", TTL);
+        insertStudent(nomorInduk(inUse.rangeStart()));
+        // Partly used, expired past the grace: its owner is gone
+        Lease abandoned = leaseRepository.leaseBlock(year, 3, 999, "node-c", TTL);
+        insertStudent(nomorInduk(abandoned.rangeStart()));
+        jdbcTemplate.update("UPDATE nomor_induk_leases SET expires_at = CURRENT_TIMESTAMP - INTERVAL '1 hour' WHERE id = ?",
+            abandoned.id());
+
+        int reclaimed = leaseRepository.sweepExpired(GRACE);
+
+        assertThat(reclaimed).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM nomor_induk_leases", Long.class))
+            .containsExactly(inUse.id());
+        assertThat(jdbcTemplate.queryForList("SELECT sequence FROM nomor_induk_reclaimed ORDER BY sequence", Integer.class))
+            .containsExactly(abandoned.rangeStart() + 1, abandoned.rangeStart() + 2);
+
+        // The abandoned numbers go out again before any new block
+        LeasedNomorIndukAllocator allocator = allocator(5);
+        assertThat(allocator.allocate()).isEqualTo(nomorInduk(abandoned.rangeStart() + 1));
+        assertThat(allocator.allocate()).isEqualTo(nomorInduk(abandoned.rangeStart() + 2));
+        assertThat(allocator.allocate()).isEqualTo(nomorInduk(abandoned.rangeEnd()));
+    }
+
+    private static LeasedNomorIndukAllocator allocator(int blockSize) {
+        return new LeasedNomorIndukAllocator(leaseRepository, blockSize, TTL, GRACE);
+    }
+
+    private String nomorInduk(int sequence) {
+        return NomorIndukAllocator.format(year, sequence);
+    }
+
+    private void insertStudents(int rangeStart, int rangeEnd) {
+        for (int sequence = rangeStart; sequence < rangeEnd; sequence++) {
+            insertStudent(nomorInduk(sequence));
+        }
+    }
+
+    private static void insertStudent(String nomorInduk) {
+        jdbcTemplate.update("INSERT INTO students (id, nomor_induk, nama_depan, nama_belakang, tanggal_lahir, created_at, updated_at) "
+            + "VALUES (nextval('students_id_seq'), ?, 'Lease', 'Test', DATE '2004-03-15', now(), now())", nomorInduk);
+    }
+}
@@ -0,0 +1,69 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.repository.NomorIndukLeaseRepository;
+import com.xtramile.intern_project.repository.NomorIndukLeaseRepository.Lease;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeasedNomorIndukAllocatorTest {
+
+    private final int year = Year.now().getValue();
+
+    private NomorIndukLeaseRepository leaseRepository;
+    private LeasedNomorIndukAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        leaseRepository = mock(NomorIndukLeaseRepository.class);
+        allocator = new LeasedNomorIndukAllocator(leaseRepository, 20, Duration.ofMinutes(10), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void servesWholeBlockFromMemoryAfterOneLease() {
+        when(leaseRepository.leaseReclaimed(eq(year), anyInt(), anyString(), any())).thenReturn(List.of());
+        when(leaseRepository.leaseBlock(eq(year), eq(20), eq(999), anyString(), any()))
+            .thenReturn(new Lease(1L, 41, 61))
+            .thenReturn(new Lease(2L, 81, 101));
+
+        List<String> allocated = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            allocated.add(allocator.allocate());
+        }
+
+        assertThat(allocated.get(0)).isEqualTo(year + "041");
+        assertThat(allocated.get(19)).isEqualTo(year + "060");
+        assertThat(allocated.get(20)).isEqualTo(year + "081");
+        verify(leaseRepository, times(1)).seedYear(year);
+        verify(leaseRepository, times(2)).leaseBlock(eq(year), anyInt(), anyInt(), anyString(), any());
+    }
+
+    @Test
+    void prefersReclaimedNumbersAndReturnsUnusedOnShutdown() {
+        when(leaseRepository.leaseReclaimed(eq(year), anyInt(), anyString(), any()))
+            .thenReturn(List.of(new Lease(7L, 3, 4), new Lease(8L, 9, 10)));
+
+        assertThat(allocator.allocate()).isEqualTo(year + "003");
+        allocator.release(year + "003");
+
+        allocator.returnLeases();
+
+        verify(leaseRepository).reclaim(year, List.of(3, 9));
+        verify(leaseRepository).deleteLeases(List.of(7L, 8L));
+        verify(leaseRepository, times(0)).leaseBlock(anyInt(), anyInt(), anyInt(), anyString(), any());
+    }
+}
@@ -0,0 +1,69 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.repository.StudentRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nomor induk allocation with 10, 500 and 998 students already in the year
+ * (998 leaves only the last sequence free, the longest scan; at 999 the year
+ * is full and allocation is refused). {@code allocateAndRelease} is the
+ * steady state on the bitset; {@code firstAllocationOfYear} includes reading
+ * and parsing the year's existing numbers, as every create did before the
+ * bitset allocator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NomorIndukAllocatorBenchmark {
+
+    @Param({"10", "500", "998"})
+    private int existingStudents;
+
+    private StudentRepository studentRepository;
+    private BitsetNomorIndukAllocator allocator;
+
+    @Setup
+    public void setUp() {
+        int year = Year.now().getValue();
+        List<String> existing = new ArrayList<>(existingStudents);
+        for (int sequence = 1; sequence <= existingStudents; sequence++) {
+            existing.add(NomorIndukAllocator.format(year, sequence));
+        }
+        // findAllNomorIndukByPrefix is the only repository call the allocator makes
+        studentRepository = (StudentRepository) Proxy.newProxyInstance(StudentRepository.class.getClassLoader(),
+            new Class<?>[] {StudentRepository.class}, (proxy, method, args) -> existing);
+        allocator = new BitsetNomorIndukAllocator(studentRepository);
+        allocator.release(allocator.allocate());
+    }
+
+    @Benchmark
+    public String allocateAndRelease() {
+        String nomorInduk = allocator.allocate();
+        allocator.release(nomorInduk);
+        return nomorInduk;
+    }
+
+    @Benchmark
+    public String firstAllocationOfYear() {
+        return new BitsetNomorIndukAllocator(studentRepository).allocate();
+    }
+}
@@ -0,0 +1,82 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.dto.BirthDateRange;
+import com.xtramile.intern_project.dto.StudentPage;
+import com.xtramile.intern_project.dto.StudentQuery;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import com.xtramile.intern_project.event.StudentChangedEvent;
+import com.xtramile.intern_project.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentCountServiceTest {
+
+    private StudentRepository studentRepository;
+    private StudentChangeTracker changeTracker;
+    private StudentCountService countService;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = mock(StudentRepository.class);
+        changeTracker = new StudentChangeTracker();
+        countService = new StudentCountService(studentRepository, new JpqlStudentSearchBackend(studentRepository),
+            changeTracker, "exact");
+    }
+
+    @Test
+    void cachedCountIsReusedUntilTheNextWrite() {
+        when(studentRepository.count()).thenReturn(42L, 43L);
+        when(studentRepository.countRows("budi", BirthDateRange.ALL)).thenReturn(3L);
+
+        assertThat(countService.count(CountStrategy.CACHED, null)).isEqualTo(42L);
+        assertThat(countService.count(CountStrategy.CACHED, null)).isEqualTo(42L);
+        assertThat(countService.count(CountStrategy.CACHED, "budi")).isEqualTo(3L);
+        verify(studentRepository, times(1)).count();
+
+        changeTracker.onStudentChanged(StudentChangedEvent.of(StudentChangedEvent.Type.CREATED, "2026001"));
+
+        assertThat(countService.count(CountStrategy.CACHED, null)).isEqualTo(43L);
+        verify(studentRepository, times(2)).count();
+    }
+
+    @Test
+    void estimatedCountUsesPlannerStatisticsAndFallsBackWithoutThem() {
+        when(studentRepository.estimateCount(null, BirthDateRange.ALL)).thenReturn(1_000_000L);
+        when(studentRepository.estimateCount("budi", BirthDateRange.ALL)).thenReturn(-1L);
+        when(studentRepository.countRows("budi", BirthDateRange.ALL)).thenReturn(7L);
+
+        assertThat(countService.count(CountStrategy.ESTIMATED, null)).isEqualTo(1_000_000L);
+        assertThat(countService.count(CountStrategy.ESTIMATED, "budi")).isEqualTo(7L);
+        assertThat(countService.count(CountStrategy.NONE, null)).isNull();
+        verify(studentRepository, never()).count();
+    }
+
+    @Test
+    void pageSkipsCountQueryAndCorrectsEstimateFromWhatItSaw() {
+        StudentService studentService = StudentServiceFixture.over(studentRepository).countService(countService).build();
+        StudentResponseDTO student = new StudentResponseDTO("2026001", "Budi Santoso", 22);
+        when(studentRepository.findRows(any(), any(), any(), any()))
+            .thenReturn(new SliceImpl<>(List.of(student), PageRequest.of(2, 10), false));
+        when(studentRepository.estimateCount(null, BirthDateRange.ALL)).thenReturn(5L);
+
+        StudentPage page = studentService.search(StudentQuery.ALL, PageRequest.of(2, 10), CountStrategy.ESTIMATED);
+
+        // Last page at offset 20 holds one row, so there are exactly 21 students whatever the estimate says
+        assertThat(page.getTotalItems()).isEqualTo(21L);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.getCountStrategy()).isEqualTo("estimated");
+        verify(studentRepository, never()).countRows(any(), any());
+    }
+}
@@ -0,0 +1,99 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.InternProjectApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports far more rows than fit in the heap from an embedded PostgreSQL, so
+ * the export goes through the real JDBC cursor, fetch size and read-only
+ * transaction. Runs in its own surefire execution with a heap just large
+ * enough for the application (see pom.xml), so buffering the export
+ * anywhere, driver included, ends in an OutOfMemoryError.
+ */
+class StudentExportLowMemoryTest {
+
+    private static final long ROWS = 1_000_000;
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(InternProjectApplication.class).run(
+            "--server.port=0",
+            "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+            "--spring.datasource.username=postgres",
+            "--spring.datasource.password=postgres",
+            "--app.cache.responses.enabled=false",
+            "--logging.level.com.zaxxer.hikari=INFO",
+            "--logging.level.org.postgresql=INFO",
+            "--logging.level.com.xtramile=INFO");
+        context.getBean(JdbcTemplate.class).update("INSERT INTO students (id, nomor_induk, nama_depan, nama_belakang, "
+            + "tanggal_lahir, created_at, updated_at) SELECT nextval('students_id_seq'), 'LEGACY' || i, "
+            + "rpad('Mahasiswa Nomor ' || i, 95, ' Lama'), rpad('Angkatan ' || i, 95, ' Sekali'), DATE '2004-03-15', "
+            + "now(), now() FROM generate_series(1, " + ROWS + ") AS i");
+    }
+
+    @AfterAll
+    static void stopApplication() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void exportStreamsRowsWithoutHoldingThem() throws Exception {
+        long maxMemory = Runtime.getRuntime().maxMemory();
+        assertThat(maxMemory).isLessThan(128L * 1024 * 1024);
+        StudentService studentService = context.getBean(StudentService.class);
+
+        for (String format : new String[] {StudentExportWriter.FORMAT_CSV, StudentExportWriter.FORMAT_NDJSON}) {
+            CountingOutputStream output = new CountingOutputStream();
+
+            long rows = studentService.export(format, output);
+
+            assertThat(rows).isEqualTo(ROWS);
+            assertThat(output.lines).isEqualTo(StudentExportWriter.FORMAT_CSV.equals(format) ? ROWS + 1 : ROWS);
+            // Far more than the heap, so it cannot have been held in memory
+            assertThat(output.bytes).isGreaterThan(2 * maxMemory);
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long bytes;
+        long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            bytes += length;
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
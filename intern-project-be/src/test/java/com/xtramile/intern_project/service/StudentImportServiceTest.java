@@ -0,0 +1,173 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import com.xtramile.intern_project.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.context.ApplicationEventPublisher;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentImportServiceTest {
+
+    private final String yearPrefix = String.valueOf(Year.now().getValue());
+    private final String birthDate = LocalDate.now().minusYears(20).toString();
+
+    private Connection connection;
+    private final List<String> copied = new ArrayList<>();
+    private StudentImportService importService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        when(studentRepository.findAllNomorIndukByPrefix(anyString())).thenReturn(List.of());
+        NomorIndukAllocator allocator = new BitsetNomorIndukAllocator(studentRepository);
+        StudentService studentService = StudentServiceFixture.over(studentRepository).allocator(allocator).build();
+
+        connection = mock(Connection.class);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createArrayOf(anyString(), any())).thenReturn(mock(Array.class));
+        // students_id_seq increments by 50; nextval hands out 50, 100, 150, ...
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            if (sql.contains("increment_by")) {
+                return statement(List.of("50"));
+            }
+            if (sql.contains("nextval")) {
+                return statement(List.of("50", "100", "150"));
+            }
+            return statement(List.of("2015001"));
+        });
+        CopyManager copyManager = mock(CopyManager.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString(), any(Reader.class))).thenAnswer(invocation -> {
+            Reader reader = invocation.getArgument(1);
+            StringWriter data = new StringWriter();
+            reader.transferTo(data);
+            copied.addAll(data.toString().lines().toList());
+            return (long) copied.size();
+        });
+
+        importService = new StudentImportService(dataSource, studentService, allocator,
+            JsonMapper.builder().build(), mock(ApplicationEventPublisher.class), 2, 20);
+    }
+
+    @Test
+    void csvRowsAreCopiedInChunksAndRejectedRowsReported() throws Exception {
+        String csv = "nama_depan,nama_belakang,tanggal_lahir,nomor_induk\n"
+            + "Budi,Santoso," + birthDate + ",\n"
+            + "\"Siti Aminah\",," + birthDate + ",\n"
+            + ",Kosong," + birthDate + ",\n"
+            + "Ahmad,Lama," + birthDate + ",2015001\n"
+            + "Dewi,Lestari,15-03-2004,\n"
+            + "Rina,Wati," + birthDate + ",\n";
+
+        StudentImportJob job = importService.importStudents(StudentImportService.FORMAT_CSV, input(csv));
+
+        assertThat(job.getStatus()).isEqualTo(StudentImportJob.Status.COMPLETED);
+        assertThat(job.toStatusDTO().getRowsRead()).isEqualTo(6);
+        assertThat(job.getRowsImported()).isEqualTo(3);
+        assertThat(job.getRowsRejected()).isEqualTo(3);
+        assertThat(copied).hasSize(3);
+        assertThat(copied.get(0)).startsWith("1,\"" + yearPrefix + "001\",\"Budi\",\"Santoso\"," + birthDate + ",");
+        assertThat(copied.get(1)).startsWith("2,\"" + yearPrefix + "002\",\"Siti Aminah\",," + birthDate + ",");
+        assertThat(copied.get(2)).startsWith("1,\"" + yearPrefix + "003\",\"Rina\",\"Wati\",");
+        verify(connection, times(2)).commit();
+
+        List<String> report = Files.readAllLines(job.getErrorReport());
+        assertThat(report.get(0)).isEqualTo("line,errors,raw");
+        assertThat(report.get(1)).startsWith("4,\"namaDepan: ");
+        assertThat(report.get(2)).startsWith("6,\"tanggalLahir: Format tanggal harus YYYY-MM-DD\"");
+        // Taken legacy numbers are only found when their chunk is written
+        assertThat(report.get(3)).startsWith("5,\"nomorInduk: Nomor induk 2015001 sudah terdaftar\"");
+    }
+
+    @Test
+    void ndjsonLinesAreParsedAndBrokenLinesRejected() throws Exception {
+        String ndjson = "{\"namaDepan\":\"Budi\",\"namaBelakang\":\"Santoso\",\"tanggalLahir\":\"" + birthDate + "\"}\n"
+            + "{not json\n";
+
+        StudentImportJob job = importService.importStudents(StudentImportService.FORMAT_NDJSON, input(ndjson));
+
+        assertThat(job.getRowsImported()).isEqualTo(1);
+        assertThat(job.getRowsRejected()).isEqualTo(1);
+        assertThat(Files.readAllLines(job.getErrorReport()).get(1)).startsWith("2,\"Baris JSON tidak valid");
+        verify(connection, times(1)).commit();
+    }
+
+    @Test
+    void startedImportRunsInTheBackgroundAndFinishesWithItsReportWritten() throws Exception {
+        String csv = "namaDepan,tanggalLahir\n"
+            + "Budi," + birthDate + "\n"
+            + ",\n";
+
+        StudentImportJob job = importService.startImport(StudentImportService.FORMAT_CSV, input(csv));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(job.getStatus()).isEqualTo(StudentImportJob.Status.COMPLETED);
+        assertThat(job.getRowsImported()).isEqualTo(1);
+        assertThat(copied).hasSize(1);
+        assertThat(Files.readAllLines(job.getErrorReport())).hasSize(2);
+    }
+
+    @Test
+    void startImportRejectsABadCsvHeaderBeforeStarting() {
+        assertThatThrownBy(() -> importService.startImport(StudentImportService.FORMAT_CSV,
+                input("nama,lahir\nBudi," + birthDate + "\n")))
+            .isInstanceOf(InvalidStudentDataException.class);
+        assertThat(importService.findAll()).isEmpty();
+    }
+
+    @Test
+    void splitCsvLineHandlesQuotedCommasAndQuotes() {
+        assertThat(StudentImportService.splitCsvLine("a,\"b, c\",\"d \"\"e\"\"\",")).containsExactly("a", "b, c", "d \"e\"", "");
+    }
+
+    private static ByteArrayInputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PreparedStatement statement(List<String> values) throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        int[] row = {-1};
+        when(resultSet.next()).thenAnswer(invocation -> ++row[0] < values.size());
+        when(resultSet.getLong(eq(1))).thenAnswer(invocation -> Long.parseLong(values.get(row[0])));
+        when(resultSet.getString(eq(1))).thenAnswer(invocation -> values.get(row[0]));
+        when(statement.executeQuery()).thenReturn(resultSet);
+        return statement;
+    }
+}
@@ -0,0 +1,242 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.dto.BirthDateRange;
+import com.xtramile.intern_project.dto.StudentField;
+import com.xtramile.intern_project.dto.StudentIndexRow;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import com.xtramile.intern_project.event.StudentChangedEvent;
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import com.xtramile.intern_project.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Property test: for random students and random keywords (including LIKE
+ * wildcards and escapes) the index finds exactly the students that
+ * {@code LOWER(nama) LIKE LOWER(CONCAT('%', :keyword, '%'))} finds, here
+ * evaluated by a straightforward LIKE matcher.
+ */
+class StudentSearchIndexTest {
+
+    private static final String NAME_CHARACTERS = "abcdeABCDE -";
+    private static final String KEYWORD_CHARACTERS = "abcdeAB -%_\\";
+    private static final int SEEDS = 50;
+    private static final int KEYWORDS_PER_SEED = 40;
+
+    @Test
+    void matchesLikeSemanticsForRandomStudentsAndKeywords() {
+        for (long seed = 0; seed < SEEDS; seed++) {
+            Random random = new Random(seed);
+            List<StudentIndexRow> students = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                students.add(randomStudent(random, i));
+            }
+            StudentRepository studentRepository = mock(StudentRepository.class);
+            when(studentRepository.streamAllForIndex()).thenReturn(students.stream());
+            StudentSearchIndex index = new StudentSearchIndex(studentRepository, mock(PlatformTransactionManager.class));
+            index.build();
+
+            checkRandomKeywords(index, students, random, seed);
+
+            // Delete some students and rename others, then check again
+            List<String> deleted = new ArrayList<>();
+            List<String> updated = new ArrayList<>();
+            List<StudentIndexRow> renamed = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                StudentIndexRow student = students.remove(random.nextInt(students.size()));
+                if (i % 2 == 0) {
+                    deleted.add(student.getNomorInduk());
+                } else {
+                    updated.add(student.getNomorInduk());
+                    renamed.add(new StudentIndexRow(student.getId(), student.getNomorInduk(),
+                        randomName(random), random.nextBoolean() ? null : randomName(random), student.getTanggalLahir()));
+                }
+            }
+            students.addAll(renamed);
+            when(studentRepository.findIndexRowsByNomorInduk(any())).thenReturn(renamed);
+            index.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.DELETED, deleted));
+            index.onStudentChanged(new StudentChangedEvent(StudentChangedEvent.Type.UPDATED, updated));
+
+            checkRandomKeywords(index, students, random, seed);
+        }
+    }
+
+    @Test
+    void pagesFollowTheRequestedSortWithNullLastNamesWherePostgresPutsThem() {
+        List<StudentIndexRow> students = List.of(
+            new StudentIndexRow(1L, "2026001", "Budi", "Santoso", LocalDate.of(2004, 3, 15)),
+            new StudentIndexRow(2L, "2026002", "Budiman", null, LocalDate.of(2005, 7, 22)),
+            new StudentIndexRow(3L, "2026003", "Abdul", "Budiono", LocalDate.of(2004, 11, 10)),
+            new StudentIndexRow(4L, "2026004", "Siti", "Nurhaliza", LocalDate.of(2005, 1, 18)));
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        when(studentRepository.streamAllForIndex()).thenReturn(students.stream());
+        StudentSearchIndex index = new StudentSearchIndex(studentRepository, mock(PlatformTransactionManager.class));
+        index.build();
+
+        Slice<StudentResponseDTO> ascending = index.search("budi", BirthDateRange.ALL,
+            PageRequest.of(0, 2, Sort.by("namaBelakang")));
+        Slice<StudentResponseDTO> descending = index.search("budi", BirthDateRange.ALL,
+            PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "namaBelakang")));
+
+        assertThat(ascending.getContent()).extracting(StudentResponseDTO::getNomorInduk).containsExactly("2026003", "2026001");
+        assertThat(ascending.hasNext()).isTrue();
+        assertThat(descending.getContent()).extracting(StudentResponseDTO::getNomorInduk).containsExactly("2026002", "2026001");
+        assertThat(index.count("budi", BirthDateRange.ALL)).isEqualTo(3);
+        assertThatThrownBy(() -> index.search("budi", BirthDateRange.ALL, PageRequest.of(0, 2, Sort.by("relevance"))))
+            .isInstanceOf(InvalidStudentDataException.class);
+    }
+
+    @Test
+    void birthDateRangeNarrowsTheKeywordMatches() {
+        List<StudentIndexRow> students = List.of(
+            new StudentIndexRow(1L, "2026001", "Budi", "Santoso", LocalDate.of(2004, 2, 29)),
+            new StudentIndexRow(2L, "2026002", "Budiman", null, LocalDate.of(2004, 3, 1)),
+            new StudentIndexRow(3L, "2026003", "Abdul", "Budiono", LocalDate.of(2000, 11, 10)),
+            new StudentIndexRow(4L, "2026004", "Siti", "Nurhaliza", LocalDate.of(2004, 2, 29)));
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        when(studentRepository.streamAllForIndex()).thenReturn(students.stream());
+        StudentSearchIndex index = new StudentSearchIndex(studentRepository, mock(PlatformTransactionManager.class));
+        index.build();
+
+        // On 1 March 2025 the leap-day student has just turned 21, the one born 1 March 2004 too
+        BirthDateRange age21 = BirthDateRange.of(21, 21, null, null, LocalDate.of(2025, 3, 1));
+        BirthDateRange age20 = BirthDateRange.of(20, 20, null, null, LocalDate.of(2025, 2, 28));
+
+        assertThat(index.search("budi", age21, PageRequest.of(0, 10, Sort.by("nomorInduk"))).getContent())
+            .extracting(StudentResponseDTO::getNomorInduk).containsExactly("2026001", "2026002");
+        assertThat(index.count("budi", age20)).isEqualTo(2);
+        assertThat(index.count("budi", BirthDateRange.of(null, null, null, LocalDate.of(2001, 1, 1),
+            LocalDate.of(2025, 3, 1)))).isEqualTo(1);
+    }
+
+    @Test
+    void narrowedSearchHandsThePageRowsToTheRepository() {
+        List<StudentIndexRow> students = List.of(
+            new StudentIndexRow(1L, "2026001", "Budi", "Santoso", LocalDate.of(2004, 3, 15)),
+            new StudentIndexRow(2L, "2026002", "Budiman", null, LocalDate.of(2005, 7, 22)),
+            new StudentIndexRow(3L, "2026003", "Abdul", "Budiono", LocalDate.of(2004, 11, 10)));
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        when(studentRepository.streamAllForIndex()).thenReturn(students.stream());
+        StudentSearchIndex index = new StudentSearchIndex(studentRepository, mock(PlatformTransactionManager.class));
+        index.build();
+        Set<StudentField> fields = EnumSet.of(StudentField.NOMOR_INDUK, StudentField.CREATED_AT);
+        List<StudentResponseDTO> completed = List.of(new StudentResponseDTO("2026003", null, null));
+        when(studentRepository.completeRows(any(), eq(fields), any())).thenReturn(completed);
+
+        Slice<StudentResponseDTO> page = index.search("budi", BirthDateRange.ALL,
+            PageRequest.of(0, 2, Sort.by("namaDepan")), fields);
+
+        assertThat(page.getContent()).isEqualTo(completed);
+        assertThat(page.hasNext()).isTrue();
+        verify(studentRepository).completeRows(argThat(rows -> rows.stream().map(StudentIndexRow::getId).toList()
+            .equals(List.of(3L, 1L))), eq(fields), any());
+    }
+
+    private static void checkRandomKeywords(StudentSearchIndex index, List<StudentIndexRow> students,
+                                            Random random, long seed) {
+        Pageable all = PageRequest.of(0, students.size() + 1, Sort.by("namaDepan"));
+        for (int i = 0; i < KEYWORDS_PER_SEED; i++) {
+            String keyword = i % 2 == 0 ? randomKeyword(random) : pieceOfName(students, random);
+            List<String> expected = students.stream()
+                .filter(student -> like(student.getNamaDepan(), keyword) || like(student.getNamaBelakang(), keyword))
+                .sorted(Comparator.comparing(StudentIndexRow::getNamaDepan).thenComparing(StudentIndexRow::getId))
+                .map(StudentIndexRow::getNomorInduk)
+                .toList();
+
+            List<String> actual = index.search(keyword, BirthDateRange.ALL, all).getContent().stream()
+                .map(StudentResponseDTO::getNomorInduk).toList();
+
+            assertThat(actual).as("seed %d, keyword '%s'", seed, keyword).isEqualTo(expected);
+            assertThat(index.count(keyword, BirthDateRange.ALL)).as("seed %d, keyword '%s'", seed, keyword)
+                .isEqualTo(expected.size());
+        }
+    }
+
+    /**
+     * LOWER(name) LIKE LOWER(CONCAT('%', keyword, '%')) with PostgreSQL's default backslash escape
+     */
+    private static boolean like(String name, String keyword) {
+        return name != null && like(lower(name), 0, lower("%" + keyword + "%"), 0);
+    }
+
+    private static boolean like(String value, int i, String pattern, int j) {
+        if (j == pattern.length()) {
+            return i == value.length();
+        }
+        char c = pattern.charAt(j);
+        if (c == '%') {
+            for (int k = i; k <= value.length(); k++) {
+                if (like(value, k, pattern, j + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (i == value.length()) {
+            return false;
+        }
+        if (c == '_') {
+            return like(value, i + 1, pattern, j + 1);
+        }
+        if (c == '\\' && j + 1 < pattern.length()) {
+            c = pattern.charAt(++j);
+        }
+        return value.charAt(i) == c && like(value, i + 1, pattern, j + 1);
+    }
+
+    private static String lower(String text) {
+        StringBuilder lower = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            lower.append(c >= 'A' && c <= 'Z' ? (char) (c + 32) : c);
+        }
+        return lower.toString();
+    }
+
+    private static StudentIndexRow randomStudent(Random random, int i) {
+        return new StudentIndexRow((long) i + 1, String.format("2026%03d", i + 1), randomName(random),
+            random.nextInt(4) == 0 ? null : randomName(random), LocalDate.of(2004, 1, 1).plusDays(random.nextInt(700)));
+    }
+
+    private static String randomName(Random random) {
+        return randomText(random, NAME_CHARACTERS, 2 + random.nextInt(10));
+    }
+
+    private static String randomKeyword(Random random) {
+        return randomText(random, KEYWORD_CHARACTERS, 1 + random.nextInt(5));
+    }
+
+    private static String pieceOfName(List<StudentIndexRow> students, Random random) {
+        String name = students.get(random.nextInt(students.size())).getNamaDepan();
+        int from = random.nextInt(name.length());
+        return name.substring(from, Math.min(name.length(), from + 2 + random.nextInt(4)));
+    }
+
+    private static String randomText(Random random, String characters, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(characters.charAt(random.nextInt(characters.length())));
+        }
+        return text.toString();
+    }
+}
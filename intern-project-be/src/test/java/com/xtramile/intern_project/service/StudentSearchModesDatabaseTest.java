@@ -0,0 +1,122 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.InternProjectApplication;
+import com.xtramile.intern_project.dto.StudentCursor;
+import com.xtramile.intern_project.dto.StudentCursorPage;
+import com.xtramile.intern_project.dto.StudentQuery;
+import com.xtramile.intern_project.dto.StudentResponseDTO;
+import com.xtramile.intern_project.repository.StudentRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Page mode and cursor mode ({@code ?after=}) of a keyword search against an
+ * embedded PostgreSQL, for every search backend: both must find the same
+ * students, whatever the backend matches.
+ */
+class StudentSearchModesDatabaseTest {
+
+    private static final List<String> KEYWORDS = List.of("budi", "budi san", "an", "SAN", "i_a");
+
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext context;
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        // Command-line arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(InternProjectApplication.class).run(
+            "--server.port=0",
+            "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+            "--spring.datasource.username=postgres",
+            "--spring.datasource.password=postgres",
+            "--app.cache.responses.enabled=false",
+            "--logging.level.com.zaxxer.hikari=INFO",
+            "--logging.level.org.postgresql=INFO",
+            "--logging.level.com.xtramile=INFO");
+        String[][] names = {
+            {"Budi", "Santoso"}, {"Budi", "Sanjaya"}, {"Budi", null}, {"Budiman", "Putra"}, {"Ani", "Budiarti"},
+            {"Siti", "Aminah"}, {"Sania", "Rahayu"}, {"Dewi", "Lestari"}, {"Hasan", null}, {"Rina", "Susanti"}};
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (int i = 0; i < names.length; i++) {
+            jdbcTemplate.update("INSERT INTO students (id, nomor_induk, nama_depan, nama_belakang, tanggal_lahir, "
+                    + "created_at, updated_at) VALUES (nextval('students_id_seq'), ?, ?, ?, ?, now(), now())",
+                String.format("SM%03d", i), names[i][0], names[i][1], Date.valueOf("2004-03-" + (10 + i % 4)));
+        }
+    }
+
+    @AfterAll
+    static void stopApplication() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"jpql", "trigram", "memory"})
+    void pageAndCursorModeFindTheSameStudents(String backend) {
+        StudentService studentService = studentService(backend);
+
+        for (String keyword : KEYWORDS) {
+            StudentQuery query = StudentQuery.keyword(keyword);
+            for (String field : StudentCursor.SORT_FIELDS) {
+                for (Sort.Direction direction : Sort.Direction.values()) {
+                    List<String> page = studentService.search(query,
+                            PageRequest.of(0, 100, Sort.by(direction, field)), CountStrategy.NONE)
+                        .getContent().stream().map(StudentResponseDTO::getNomorInduk).toList();
+
+                    List<String> walked = new ArrayList<>();
+                    StudentCursor cursor = StudentCursor.start(field, direction.isDescending());
+                    while (cursor != null) {
+                        StudentCursorPage cursorPage = studentService.findAfter(query, cursor, 2);
+                        cursorPage.getContent().forEach(student -> walked.add(student.getNomorInduk()));
+                        cursor = cursorPage.hasNext() ? StudentCursor.decode(cursorPage.getNextCursor()) : null;
+                    }
+
+                    assertThat(walked).as("%s %s %s %s", backend, keyword, field, direction)
+                        .doesNotHaveDuplicates()
+                        .containsExactlyInAnyOrderElementsOf(page);
+                }
+            }
+        }
+
+        // Only a match on the full name spans both names
+        List<StudentResponseDTO> spanning = studentService.findAfter(StudentQuery.keyword("budi san"),
+            StudentCursor.start("nomorInduk", false), 10).getContent();
+        assertThat(spanning).extracting(StudentResponseDTO::getNomorInduk)
+            .containsExactlyElementsOf("trigram".equals(backend) ? List.of("SM000", "SM001") : List.of());
+    }
+
+    private static StudentService studentService(String backend) {
+        StudentRepository studentRepository = context.getBean(StudentRepository.class);
+        StudentSearchBackend searchBackend = switch (backend) {
+            case "jpql" -> new JpqlStudentSearchBackend(studentRepository);
+            case "trigram" -> new TrigramStudentSearchBackend(studentRepository);
+            default -> {
+                StudentSearchIndex index = new StudentSearchIndex(studentRepository,
+                    context.getBean(PlatformTransactionManager.class));
+                index.build();
+                yield index;
+            }
+        };
+        return StudentServiceFixture.over(studentRepository).search(searchBackend, new StudentChangeTracker()).build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.dto.StudentBatchItemDTO;
+import com.xtramile.intern_project.dto.StudentBatchResultDTO;
+import com.xtramile.intern_project.dto.StudentRequestDTO;
+import com.xtramile.intern_project.model.Student;
+import com.xtramile.intern_project.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentServiceBatchTest {
+
+    private final String yearPrefix = String.valueOf(Year.now().getValue());
+
+    private StudentRepository studentRepository;
+    private StudentService studentService;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = mock(StudentRepository.class);
+        when(studentRepository.findAllNomorIndukByPrefix(anyString())).thenReturn(List.of(yearPrefix + "002"));
+        studentService = StudentServiceFixture.over(studentRepository)
+            .allocator(new BitsetNomorIndukAllocator(studentRepository)).build();
+    }
+
+    @Test
+    void invalidItemsAreRejectedPerIndexAndValidOnesSavedInOneCall() {
+        when(studentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        StudentBatchResultDTO result = studentService.createBatch(List.of(
+            valid("Budi"),
+            new StudentRequestDTO("", "Santoso", LocalDate.now().minusYears(20)),
+            new StudentRequestDTO("Siti", null, LocalDate.now().minusYears(10)),
+            valid("Ahmad")));
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(2);
+        List<StudentBatchItemDTO> items = result.getItems();
+        assertThat(items.get(0).getData().getNomorInduk()).isEqualTo(yearPrefix + "001");
+        assertThat(items.get(1).getStatus()).isEqualTo(StudentBatchItemDTO.STATUS_REJECTED);
+        assertThat(items.get(1).getErrors()).anyMatch(error -> error.startsWith("namaDepan: "));
+        assertThat(items.get(2).getErrors()).containsExactly("tanggalLahir: Usia mahasiswa minimal 17 tahun (usia saat ini: 10 tahun)");
+        assertThat(items.get(3).getData().getNomorInduk()).isEqualTo(yearPrefix + "003");
+        verify(studentRepository, times(1)).saveAll(anyList());
+        verify(studentRepository, times(1)).flush();
+    }
+
+    @Test
+    void collidingNomorIndukIsReplacedAndBatchRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        List<List<String>> attempts = new ArrayList<>();
+        when(studentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Student> students = invocation.getArgument(0);
+            attempts.add(students.stream().map(Student::getNomorInduk).toList());
+            if (calls.incrementAndGet() == 1) {
+                throw new DataIntegrityViolationException("could not execute batch", new SQLException(
+                    "ERROR: duplicate key value violates unique constraint \"idx_nomor_induk\"\n"
+                        + "  Detail: Key (nomor_induk)=(" + yearPrefix + "003) already exists.", "23505"));
+            }
+            return students;
+        });
+
+        StudentBatchResultDTO result = studentService.createBatch(List.of(valid("Budi"), valid("Ahmad")));
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(attempts.get(0)).containsExactly(yearPrefix + "001", yearPrefix + "003");
+        assertThat(attempts.get(1)).containsExactly(yearPrefix + "001", yearPrefix + "004");
+    }
+
+    private StudentRequestDTO valid(String namaDepan) {
+        return new StudentRequestDTO(namaDepan, "Santoso", LocalDate.now().minusYears(20));
+    }
+}
@@ -0,0 +1,125 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.dto.StudentDetailDTO;
+import com.xtramile.intern_project.dto.StudentRequestDTO;
+import com.xtramile.intern_project.model.Student;
+import com.xtramile.intern_project.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int CREATES_PER_THREAD = 25;
+
+    private final String yearPrefix = String.valueOf(Year.now().getValue());
+    private final Set<String> table = ConcurrentHashMap.newKeySet();
+    private final AtomicLong ids = new AtomicLong();
+
+    private StudentRepository studentRepository;
+    private StudentService studentService;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = mock(StudentRepository.class);
+        when(studentRepository.findAllNomorIndukByPrefix(anyString())).thenAnswer(invocation ->
+            table.stream().filter(ni -> ni.startsWith(invocation.getArgument(0))).sorted().toList());
+        when(studentRepository.saveAndFlush(any(Student.class))).thenAnswer(invocation -> {
+            Student student = invocation.getArgument(0);
+            if (!table.add(student.getNomorInduk())) {
+                throw new DataIntegrityViolationException("duplicate key",
+                    new SQLException("duplicate key value violates unique constraint", "23505"));
+            }
+            student.setId(ids.incrementAndGet());
+            return student;
+        });
+
+        NomorIndukAllocator allocator = new BitsetNomorIndukAllocator(studentRepository);
+        studentService = StudentServiceFixture.over(studentRepository).allocator(allocator).build();
+    }
+
+    @Test
+    void concurrentCreatesNeverProduceDuplicatesAndDoNotQueryPerCreate() throws Exception {
+        table.add(yearPrefix + "001");
+        table.add(yearPrefix + "004");
+
+        // Warm up: the first create loads the year's used sequences, reusing the gap at 002
+        assertThat(studentService.create(request()).getNomorInduk()).isEqualTo(yearPrefix + "002");
+
+        // Another instance takes numbers the allocator does not know about
+        table.add(yearPrefix + "003");
+        table.add(yearPrefix + "005");
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<String> created = new ArrayList<>();
+                for (int i = 0; i < CREATES_PER_THREAD; i++) {
+                    StudentDetailDTO student = studentService.create(request());
+                    created.add(student.getNomorInduk());
+                }
+                return created;
+            }));
+        }
+        start.countDown();
+
+        List<String> created = new ArrayList<>();
+        for (Future<List<String>> future : futures) {
+            created.addAll(future.get());
+        }
+        executor.shutdown();
+
+        assertThat(created).hasSize(THREADS * CREATES_PER_THREAD).doesNotHaveDuplicates();
+        assertThat(table).hasSize(5 + THREADS * CREATES_PER_THREAD);
+        assertThat(created).doesNotContain(yearPrefix + "003", yearPrefix + "005");
+
+        // One SELECT for the whole year, no per-create existence checks
+        verify(studentRepository, times(1)).findAllNomorIndukByPrefix(yearPrefix);
+        verify(studentRepository, never()).existsByNomorInduk(anyString());
+    }
+
+    @Test
+    void deletedNomorIndukIsReusedWithoutReloading() {
+        String first = studentService.create(request()).getNomorInduk();
+        String second = studentService.create(request()).getNomorInduk();
+        Student existing = new Student(first, "Budi", "Santoso", LocalDate.now().minusYears(20));
+        when(studentRepository.findByNomorInduk(first)).thenReturn(java.util.Optional.of(existing));
+
+        studentService.delete(first);
+        table.remove(first);
+
+        assertThat(second).isEqualTo(yearPrefix + "002");
+        assertThat(studentService.create(request()).getNomorInduk()).isEqualTo(first);
+        verify(studentRepository, times(1)).findAllNomorIndukByPrefix(yearPrefix);
+    }
+
+    private StudentRequestDTO request() {
+        return new StudentRequestDTO("Budi", "Santoso", LocalDate.now().minusYears(20));
+    }
+}
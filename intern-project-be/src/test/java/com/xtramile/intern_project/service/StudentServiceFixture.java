@@ -0,0 +1,62 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.repository.StudentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * StudentService over a repository for unit tests, every other collaborator
+ * a mock unless the test supplies its own
+ */
+public final class StudentServiceFixture {
+
+    private final StudentRepository studentRepository;
+    private NomorIndukAllocator nomorIndukAllocator = mock(NomorIndukAllocator.class);
+    private StudentCountService studentCountService = mock(StudentCountService.class);
+    private StudentSearchBackend searchBackend = mock(StudentSearchBackend.class);
+
+    private StudentServiceFixture(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    public static StudentServiceFixture over(StudentRepository studentRepository) {
+        return new StudentServiceFixture(studentRepository);
+    }
+
+    public StudentServiceFixture allocator(NomorIndukAllocator nomorIndukAllocator) {
+        this.nomorIndukAllocator = nomorIndukAllocator;
+        return this;
+    }
+
+    public StudentServiceFixture countService(StudentCountService studentCountService) {
+        this.studentCountService = studentCountService;
+        return this;
+    }
+
+    /**
+     * The jpql search backend over the repository, with exact counts, as the
+     * application runs by default
+     */
+    public StudentServiceFixture jpqlSearch(StudentChangeTracker changeTracker) {
+        return search(new JpqlStudentSearchBackend(studentRepository), changeTracker);
+    }
+
+    /**
+     * The given search backend, with exact counts
+     */
+    public StudentServiceFixture search(StudentSearchBackend searchBackend, StudentChangeTracker changeTracker) {
+        this.searchBackend = searchBackend;
+        this.studentCountService = new StudentCountService(studentRepository, searchBackend, changeTracker, "exact");
+        return this;
+    }
+
+    public StudentService build() {
+        return new StudentService(studentRepository, nomorIndukAllocator, mock(PlatformTransactionManager.class),
+            Validation.buildDefaultValidatorFactory().getValidator(), mock(ApplicationEventPublisher.class),
+            studentCountService, searchBackend, 1000, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,94 @@
+package com.xtramile.intern_project.service;
+
+import com.xtramile.intern_project.dto.BirthDateRange;
+import com.xtramile.intern_project.dto.StudentCursor;
+import com.xtramile.intern_project.dto.StudentCursorPage;
+import com.xtramile.intern_project.dto.StudentIndexRow;
+import com.xtramile.intern_project.dto.StudentQuery;
+import com.xtramile.intern_project.exception.InvalidStudentDataException;
+import com.xtramile.intern_project.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentServiceKeysetTest {
+
+    private StudentRepository studentRepository;
+    private StudentSearchBackend searchBackend;
+    private StudentService studentService;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = mock(StudentRepository.class);
+        searchBackend = mock(StudentSearchBackend.class);
+        studentService = StudentServiceFixture.over(studentRepository)
+            .search(searchBackend, new StudentChangeTracker())
+            .build();
+    }
+
+    @Test
+    void nextCursorPointsAfterLastRowOfThePage() {
+        // A keyword is matched by the search backend, as in page mode
+        when(searchBackend.searchAfter(any(), eq("budi"), eq(BirthDateRange.ALL), eq(3))).thenReturn(List.of(
+            student(11L, "Budi", "Santoso"), student(4L, "Budi", null), student(20L, "Budiman", "Putra")));
+
+        StudentCursorPage page = studentService.findAfter(StudentQuery.keyword(" budi "),
+            StudentCursor.of("", "namaBelakang", false), 2);
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.isFirst()).isTrue();
+        StudentCursor next = StudentCursor.decode(page.getNextCursor());
+        assertThat(next.getSortField()).isEqualTo("namaBelakang");
+        assertThat(next.isDescending()).isFalse();
+        assertThat(next.getValue()).isNull();
+        assertThat(next.getId()).isEqualTo(4L);
+    }
+
+    @Test
+    void lastPageHasNoNextCursorAndCursorIsPassedToRepository() {
+        String after = StudentCursor.start("tanggalLahir", true).after(student(7L, "Siti", "Aminah")).encode();
+        when(studentRepository.findAfter(any(), eq(null), eq(BirthDateRange.ALL), eq(11))).thenReturn(List.of(student(3L, "Dewi", "Lestari")));
+
+        StudentCursorPage page = studentService.findAfter(StudentQuery.ALL,
+            StudentCursor.of(after, "nomorInduk", false), 10);
+
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.isFirst()).isFalse();
+        ArgumentCaptor<StudentCursor> cursor = ArgumentCaptor.forClass(StudentCursor.class);
+        verify(studentRepository).findAfter(cursor.capture(), eq(null), eq(BirthDateRange.ALL), eq(11));
+        // The token's ordering wins over the sort parameter
+        assertThat(cursor.getValue().getSortField()).isEqualTo("tanggalLahir");
+        assertThat(cursor.getValue().isDescending()).isTrue();
+        assertThat(cursor.getValue().getValue()).isEqualTo(LocalDate.of(2004, 3, 15));
+        assertThat(cursor.getValue().getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void unsupportedSortAndTamperedTokensAreRejected() {
+        assertThatThrownBy(() -> StudentCursor.of("", "createdAt", false))
+            .isInstanceOf(InvalidStudentDataException.class);
+        assertThatThrownBy(() -> StudentCursor.of("not-a-cursor", "nomorInduk", false))
+            .isInstanceOf(InvalidStudentDataException.class);
+        assertThatThrownBy(() -> studentService.findAfter(StudentQuery.ALL, StudentCursor.start("nomorInduk", false), 0))
+            .isInstanceOf(InvalidStudentDataException.class);
+        String nullKeyOnNonNullable = Base64.getUrlEncoder().encodeToString("namaDepan|asc|5|n".getBytes());
+        assertThatThrownBy(() -> StudentCursor.decode(nullKeyOnNonNullable))
+            .isInstanceOf(InvalidStudentDataException.class);
+    }
+
+    private StudentIndexRow student(long id, String namaDepan, String namaBelakang) {
+        return new StudentIndexRow(id, "2026" + String.format("%03d", id), namaDepan, namaBelakang, LocalDate.of(2004, 3, 15));
+    }
+}
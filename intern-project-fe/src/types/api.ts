@@ -17,6 +17,8 @@ export interface PagedResponse<T> {
     pageSize: number;
     hasNext: boolean;
     hasPrevious: boolean;
+    nextCursor?: string; // Cursor mode (?after=) only; page numbers and totals are omitted then
+    countStrategy?: 'exact' | 'cached' | 'estimated' | 'none'; // How totalItems was obtained
   };
   timestamp?: string;
 }